@@ -0,0 +1,80 @@
+package com.auth_service.configuration;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer configuration for user lifecycle events.
+ * 
+ * <p>This configuration class sets up:
+ * <ul>
+ *   <li>A producer for the pre-serialized JSON payloads stored in the user outbox</li>
+ *   <li>Acknowledgment from all in-sync replicas and idempotent delivery</li>
+ *   <li>Scheduling support for the outbox relay</li>
+ * </ul>
+ * 
+ */
+@Configuration
+@EnableScheduling
+public class KafkaProducerConfig {
+
+    /**
+     * The Kafka bootstrap servers address.
+     * Configured via application.yml property.
+     */
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    /**
+     * Creates the Kafka producer factory for user events.
+     * 
+     * <p>Configuration includes:
+     * <ul>
+     *   <li>String serializer for message keys (user ID)</li>
+     *   <li>String serializer for values, which are already JSON</li>
+     *   <li>Acknowledgment from all in-sync replicas (acks=all)</li>
+     *   <li>Idempotence enabled so broker-side retries cannot duplicate or reorder messages</li>
+     * </ul>
+     * 
+     * @return the configured ProducerFactory
+     */
+    @Bean
+    public ProducerFactory<String, String> userEventProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+
+        // Kafka broker connection
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+
+        // Serialization configuration
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+
+        // Reliability configuration
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    /**
+     * Creates the KafkaTemplate used by the outbox relay.
+     * 
+     * @return the configured KafkaTemplate
+     */
+    @Bean
+    public KafkaTemplate<String, String> userEventKafkaTemplate() {
+        return new KafkaTemplate<>(userEventProducerFactory());
+    }
+
+}
@@ -5,8 +5,10 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import com.auth_service.dto.LoginRequest;
 import com.auth_service.dto.RegisterRequest;
 import com.auth_service.exception.EmailAlreadyExistsException;
+import com.auth_service.exception.TooManyLoginAttemptsException;
 import com.auth_service.service.AuthService;
 
 /**
@@ -108,6 +111,10 @@ public class AuthController {
      * <p>This endpoint validates user credentials and returns a JWT token upon successful authentication.
      * The token can be used for subsequent authenticated requests.
      * 
+     * <p>Repeated failures for the same email or client address are throttled and
+     * answered with 429 Too Many Requests and a {@code Retry-After} header.
+     * 
+     * @param request the HTTP request, used to resolve the client address
      * @param loginRequest the login request containing email and password
      * @return ResponseEntity containing the JWT token and success message
      */
@@ -125,13 +132,18 @@ public class AuthController {
             responseCode = "401",
             description = "Invalid credentials"
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Too many failed login attempts"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "400",
             description = "Invalid request data"
         )
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponse> login(HttpServletRequest request,
+                                               @RequestBody LoginRequest loginRequest) {
         if (loginRequest == null) {
             log.error("Login request is null");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -141,12 +153,19 @@ public class AuthController {
         log.info("Login request received for email: {}", loginRequest.getEmail());
 
         try {
-            String token = authService.login(loginRequest);
+            String token = authService.login(loginRequest, resolveClientIp(request));
             
             log.info("Login successful for email: {}", loginRequest.getEmail());
             
             return ResponseEntity.ok(new LoginResponse("SUCCESS", "Login successful", token));
             
+        } catch (TooManyLoginAttemptsException e) {
+            log.warn("Login throttled for email: {} - retry after {} second(s)",
+                    loginRequest.getEmail(), e.getRetryAfterSeconds());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new LoginResponse("ERROR", e.getMessage(), null));
+            
         } catch (UsernameNotFoundException e) {
             log.warn("Login failed: User not found - {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -169,6 +188,25 @@ public class AuthController {
         }
     }
 
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Resolves the originating client address of the request.
+     * 
+     * <p>The remote address is rewritten by Tomcat's remote IP valve (see
+     * {@code server.forward-headers-strategy}): only when the request comes from a
+     * trusted internal proxy such as the gateway, and then from the right-most
+     * {@code X-Forwarded-For} entry that is not itself a trusted proxy. Entries a
+     * client adds to the header on its own are never used, so the address cannot be
+     * rotated to escape the per-IP limit or spoofed to lock another client out.
+     * 
+     * @param request the HTTP request
+     * @return the client address, or null if it cannot be determined
+     */
+    private String resolveClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
     /**
      * Standard API response structure for registration endpoint.
      * 
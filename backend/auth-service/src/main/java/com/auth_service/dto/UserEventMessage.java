@@ -0,0 +1,77 @@
+package com.auth_service.dto;
+
+import com.auth_service.enums.UserEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message published to the {@code user-events} topic when a user changes.
+ * 
+ * <p>Carries the user's profile as of the change, so consumers can refresh their
+ * caches without calling back into the auth service. The password is never included.
+ * Consumers should ignore messages whose {@code version} is not newer than the one
+ * they already hold, since delivery is at-least-once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEventMessage {
+
+    /**
+     * Globally unique event identifier.
+     */
+    private String eventId;
+
+    /**
+     * Type of lifecycle event.
+     */
+    private UserEventType eventType;
+
+    /**
+     * Identifier of the affected user.
+     */
+    private Long userId;
+
+    /**
+     * Profile version after the change (matches the version in issued tokens).
+     */
+    private Long version;
+
+    /**
+     * User's email address.
+     */
+    private String email;
+
+    /**
+     * User's first name.
+     */
+    private String name;
+
+    /**
+     * User's last name.
+     */
+    private String lastName;
+
+    /**
+     * User's role (ADMIN or CLIENT).
+     */
+    private String role;
+
+    /**
+     * User's address.
+     */
+    private String address;
+
+    /**
+     * User's phone number.
+     */
+    private String phone;
+
+    /**
+     * Time the change happened, in epoch milliseconds.
+     */
+    private Long occurredAt;
+}
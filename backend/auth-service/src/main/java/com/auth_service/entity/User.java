@@ -3,6 +3,8 @@ package com.auth_service.entity;
 import com.auth_service.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -18,9 +20,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * 
  * <p>The password field is excluded from JSON serialization for security purposes.
  * 
+ * <p>Users are kept in the "user" second-level cache region, sized and expired
+ * in {@code ehcache.xml}, so lookups by ID skip the database.
+ * 
  * @see UserRole
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "users")
 @Getter
 @Setter
@@ -94,4 +101,13 @@ public class User {
      */
     @Column(name = "phone", length = 20)
     private String phone;
+
+    /**
+     * Version of the user's profile.
+     * Incremented by Hibernate on every update; embedded in issued tokens so that
+     * downstream services can tell whether their profile snapshot is current.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.auth_service.entity;
+
+import com.auth_service.enums.UserEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for a user lifecycle event.
+ * 
+ * <p>Each entry is inserted in the same transaction as the change to the
+ * {@code users} table it describes, so an event exists if and only if the change
+ * was committed. A scheduled relay publishes pending entries to Kafka and stamps
+ * them with {@code publishedAt}.
+ * 
+ * @see UserEventType
+ */
+@Entity
+@Table(name = "user_outbox",
+        indexes = @Index(name = "idx_user_outbox_published_id", columnList = "published_at, id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOutboxEvent {
+
+    /**
+     * Unique identifier of the outbox entry.
+     * Auto-generated by the database; defines publication order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Globally unique event identifier, used by consumers to discard duplicates.
+     */
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    /**
+     * Identifier of the user the event refers to; used as the Kafka message key.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Type of lifecycle event.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private UserEventType eventType;
+
+    /**
+     * Serialized event message, captured at the time of the change.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Time the event was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Time the event was published to Kafka; null while pending.
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Sets the creation timestamp before the entry is persisted.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.auth_service.enums;
+
+/**
+ * Enumeration of user lifecycle events published by the auth service.
+ * 
+ * <p>Events are written to the user outbox in the same transaction as the change
+ * to the {@code users} table and relayed to Kafka afterwards.
+ */
+public enum UserEventType {
+    
+    /**
+     * A new user was registered.
+     */
+    CREATED,
+    
+    /**
+     * An existing user's profile, role or credentials changed.
+     */
+    UPDATED,
+    
+    /**
+     * A user was removed.
+     */
+    DELETED
+}
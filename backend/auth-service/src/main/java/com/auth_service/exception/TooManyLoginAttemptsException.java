@@ -0,0 +1,34 @@
+package com.auth_service.exception;
+
+/**
+ * Exception thrown when a login attempt is rejected because the email or client address
+ * has exceeded the allowed number of failed attempts within the throttling window.
+ * This exception is raised before any database lookup or password verification takes place.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    /**
+     * Number of seconds the caller should wait before attempting to log in again.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new TooManyLoginAttemptsException with the specified retry delay.
+     *
+     * @param retryAfterSeconds the number of seconds until the next attempt is allowed
+     */
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super(String.format("Too many failed login attempts. Try again in %d second(s)", retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds the caller should wait before retrying.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
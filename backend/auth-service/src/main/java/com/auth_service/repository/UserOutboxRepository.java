@@ -0,0 +1,50 @@
+package com.auth_service.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.auth_service.entity.UserOutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for {@link UserOutboxEvent} database operations.
+ * 
+ * <p>Provides the queries used by the outbox relay to claim pending events
+ * and to purge events that have already been published.
+ */
+@Repository
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEvent, Long> {
+    
+    /**
+     * Claims a batch of pending events in publication order.
+     * 
+     * <p>Rows are locked for the surrounding transaction and rows already locked by
+     * another auth-service instance are skipped, so concurrent relays never publish
+     * the same batch twice.
+     * 
+     * @param pageable the maximum number of events to claim
+     * @return pending events ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM UserOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<UserOutboxEvent> findPendingForUpdate(Pageable pageable);
+
+    /**
+     * Deletes published events older than the given cutoff.
+     * 
+     * @param cutoff events published before this time are removed
+     * @return the number of removed events
+     */
+    @Modifying
+    @Query("DELETE FROM UserOutboxEvent e WHERE e.publishedAt IS NOT NULL AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
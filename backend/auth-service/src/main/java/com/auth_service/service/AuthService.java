@@ -3,6 +3,7 @@ package com.auth_service.service;
 import com.auth_service.dto.LoginRequest;
 import com.auth_service.dto.RegisterRequest;
 import com.auth_service.exception.EmailAlreadyExistsException;
+import com.auth_service.exception.TooManyLoginAttemptsException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -20,13 +21,16 @@ public interface AuthService {
      * Authenticates a user and returns a JWT token.
      * 
      * @param loginRequest the login request containing email and password
+     * @param clientIp the address of the client issuing the request, used for throttling (may be null)
      * @return JWT token string
+     * @throws TooManyLoginAttemptsException if the email or client address is temporarily blocked
      * @throws UsernameNotFoundException if user is not found
      * @throws BadCredentialsException if credentials are invalid
      * @throws IllegalArgumentException if request is invalid
      */
-    String login(LoginRequest loginRequest) 
-            throws UsernameNotFoundException, BadCredentialsException, IllegalArgumentException;
+    String login(LoginRequest loginRequest, String clientIp) 
+            throws TooManyLoginAttemptsException, UsernameNotFoundException, BadCredentialsException,
+            IllegalArgumentException;
 
     /**
      * Registers a new user in the system.
@@ -0,0 +1,39 @@
+package com.auth_service.service;
+
+import com.auth_service.exception.TooManyLoginAttemptsException;
+
+/**
+ * Service interface for login brute-force throttling.
+ *
+ * <p>Tracks failed login attempts per email and per client address so that
+ * credential-stuffing traffic is rejected before it reaches the database or
+ * the password encoder.
+ *
+ */
+public interface LoginAttemptService {
+
+    /**
+     * Verifies that a login attempt is currently allowed for the given email and client address.
+     *
+     * @param email the email the caller is trying to log in with
+     * @param clientIp the address of the client issuing the request (may be null)
+     * @throws TooManyLoginAttemptsException if either key is currently blocked
+     */
+    void checkAllowed(String email, String clientIp) throws TooManyLoginAttemptsException;
+
+    /**
+     * Records a failed login attempt for the given email and client address.
+     *
+     * @param email the email used in the failed attempt
+     * @param clientIp the address of the client issuing the request (may be null)
+     */
+    void loginFailed(String email, String clientIp);
+
+    /**
+     * Records a successful login, clearing the failure history for the email.
+     *
+     * @param email the email that logged in successfully
+     */
+    void loginSucceeded(String email);
+
+}
@@ -0,0 +1,34 @@
+package com.auth_service.service;
+
+import com.auth_service.entity.User;
+import com.auth_service.enums.UserEventType;
+
+/**
+ * Service interface for publishing user lifecycle events.
+ * 
+ * <p>Events are recorded in a transactional outbox and relayed to Kafka
+ * asynchronously, so downstream caches can be invalidated without ever
+ * missing a committed change.
+ * 
+ */
+public interface UserEventService {
+
+    /**
+     * Records a user event in the outbox.
+     * 
+     * <p>Must be called inside the transaction that modifies the user, so the
+     * event is committed or rolled back together with the change.
+     * 
+     * @param user the user after the change (or before deletion)
+     * @param eventType the type of lifecycle event
+     */
+    void recordUserEvent(User user, UserEventType eventType);
+
+    /**
+     * Publishes pending outbox events to Kafka and marks them as published.
+     * 
+     * @return the number of events published
+     */
+    int publishPendingEvents();
+
+}
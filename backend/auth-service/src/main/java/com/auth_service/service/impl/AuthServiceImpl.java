@@ -14,7 +14,11 @@ import com.auth_service.entity.User;
 import com.auth_service.repository.UserRepository;
 import com.auth_service.util.JwtUtil;
 import com.auth_service.service.AuthService;
+import com.auth_service.service.LoginAttemptService;
+import com.auth_service.service.UserEventService;
+import com.auth_service.enums.UserEventType;
 import com.auth_service.exception.EmailAlreadyExistsException;
+import com.auth_service.exception.TooManyLoginAttemptsException;
 import org.modelmapper.ModelMapper;
 
 /**
@@ -23,6 +27,7 @@ import org.modelmapper.ModelMapper;
  * <p>This service handles:
  * <ul>
  *   <li>User login with email and password authentication</li>
+ *   <li>Brute-force throttling of failed logins per email and client IP</li>
  *   <li>User registration with email uniqueness validation</li>
  *   <li>JWT token generation upon successful authentication</li>
  * </ul>
@@ -41,6 +46,8 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
+    private final LoginAttemptService loginAttemptService;
+    private final UserEventService userEventService;
 
     /**
      * Authenticates a user with email and password, and returns a JWT token upon success.
@@ -48,19 +55,25 @@ public class AuthServiceImpl implements AuthService {
      * <p>This method:
      * <ol>
      *   <li>Validates the login request</li>
+     *   <li>Rejects the attempt if the email or client IP is throttled</li>
      *   <li>Retrieves the user by email</li>
      *   <li>Verifies the provided password</li>
-     *   <li>Generates and returns a JWT token</li>
+     *   <li>Generates and returns a JWT token with an embedded profile snapshot</li>
      * </ol>
      * 
+     * <p>The throttle check runs before the database lookup and the BCrypt verification,
+     * so blocked attempts cost neither a query nor a hash computation.
+     * 
      * @param loginRequest the login request containing email and password
+     * @param clientIp the address of the client issuing the request (may be null)
      * @return JWT token string for authenticated user
+     * @throws TooManyLoginAttemptsException if the email or client IP is temporarily blocked
      * @throws UsernameNotFoundException if no user exists with the provided email
      * @throws BadCredentialsException if the provided password is incorrect
      * @throws IllegalArgumentException if the login request is null or contains invalid data
      */
     @Override
-    public String login(LoginRequest loginRequest) {
+    public String login(LoginRequest loginRequest, String clientIp) {
         // Validate input first to avoid null pointer access
         validateLoginRequest(loginRequest);
 
@@ -68,10 +81,14 @@ public class AuthServiceImpl implements AuthService {
         log.debug("Login request received for email: {}", email);
         log.info("Processing login attempt for email: {}", email);
 
+        // Reject throttled callers before any database or BCrypt work
+        loginAttemptService.checkAllowed(email, clientIp);
+
         // Retrieve user from database
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("Login failed: User not found with email: {}", email);
+                    loginAttemptService.loginFailed(email, clientIp);
                     return new UsernameNotFoundException(
                             String.format("User not found with email: %s", email));
                 });
@@ -81,15 +98,14 @@ public class AuthServiceImpl implements AuthService {
         // Verify password
         if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
             log.warn("Login failed: Invalid password for email: {}", email);
+            loginAttemptService.loginFailed(email, clientIp);
             throw new BadCredentialsException("Invalid email or password");
         }
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(
-                user.getId(),
-                user.getEmail(),
-                user.getRole()
-        );
+        loginAttemptService.loginSucceeded(email);
+
+        // Generate JWT token carrying a profile snapshot for downstream services
+        String token = jwtUtil.generateToken(user);
 
         log.info("Login successful for email: {} with user ID: {} and role: {}", 
                 email, user.getId(), user.getRole());
@@ -107,9 +123,11 @@ public class AuthServiceImpl implements AuthService {
      *   <li>Encodes the password using BCrypt</li>
      *   <li>Maps the request to a User entity</li>
      *   <li>Persists the user to the database</li>
+     *   <li>Records a CREATED event in the user outbox</li>
      * </ol>
      * 
-     * <p>This method is transactional, ensuring data consistency.
+     * <p>This method is transactional, ensuring the user and its outbox event
+     * are committed together.
      * 
      * @param registerRequest the registration request containing user details
      * @return success message indicating successful registration
@@ -141,6 +159,9 @@ public class AuthServiceImpl implements AuthService {
         // Save user to database
         User savedUser = userRepository.save(user);
 
+        // Announce the new user to downstream caches via the outbox
+        userEventService.recordUserEvent(savedUser, UserEventType.CREATED);
+
         log.info("User successfully registered with email: {}, user ID: {}, and role: {}", 
                 email, savedUser.getId(), savedUser.getRole());
 
@@ -0,0 +1,286 @@
+package com.auth_service.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.auth_service.exception.TooManyLoginAttemptsException;
+import com.auth_service.service.LoginAttemptService;
+
+/**
+ * Implementation of {@link LoginAttemptService} backed by in-memory sliding windows.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Counting failed login attempts per email and per client IP within a sliding window</li>
+ *   <li>Blocking a key once it exceeds the allowed failures, with a delay that doubles
+ *       for every further failure up to a configured maximum</li>
+ *   <li>Bounding memory by evicting the least recently used keys beyond a fixed capacity</li>
+ *   <li>Publishing counters for blocked attempts and gauges for tracked keys</li>
+ * </ul>
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code auth.login-throttle.max-attempts}: failures per email allowed inside the window before blocking</li>
+ *   <li>{@code auth.login-throttle.ip-max-attempts}: failures per client IP allowed inside the window before blocking</li>
+ *   <li>{@code auth.login-throttle.window-ms}: length of the sliding window in milliseconds</li>
+ *   <li>{@code auth.login-throttle.base-delay-ms}: block duration applied on the first excess failure</li>
+ *   <li>{@code auth.login-throttle.max-delay-ms}: upper bound for the progressive block duration</li>
+ *   <li>{@code auth.login-throttle.max-entries}: maximum number of keys tracked per dimension</li>
+ * </ul>
+ *
+ * <p>State is local to each auth-service instance; it is intended to shed abusive
+ * traffic cheaply, not to act as an exact distributed counter.
+ *
+ */
+@Service
+@Slf4j
+public class LoginAttemptServiceImpl implements LoginAttemptService {
+
+    private static final String KEY_TYPE_EMAIL = "email";
+    private static final String KEY_TYPE_IP = "ip";
+
+    private final long windowMillis;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    private final AttemptStore emailAttempts;
+    private final AttemptStore ipAttempts;
+
+    private final Counter blockedByEmail;
+    private final Counter blockedByIp;
+
+    /**
+     * Constructs the login attempt service with the configured throttling limits.
+     *
+     * @param maxAttempts failures per email allowed inside the window before blocking
+     * @param ipMaxAttempts failures per client IP allowed inside the window before blocking
+     * @param windowMillis length of the sliding window in milliseconds
+     * @param baseDelayMillis block duration applied on the first excess failure
+     * @param maxDelayMillis upper bound for the progressive block duration
+     * @param maxEntries maximum number of keys tracked per dimension
+     * @param meterRegistry the registry used to publish throttling metrics
+     */
+    public LoginAttemptServiceImpl(@Value("${auth.login-throttle.max-attempts:5}") int maxAttempts,
+                                   @Value("${auth.login-throttle.ip-max-attempts:20}") int ipMaxAttempts,
+                                   @Value("${auth.login-throttle.window-ms:900000}") long windowMillis,
+                                   @Value("${auth.login-throttle.base-delay-ms:1000}") long baseDelayMillis,
+                                   @Value("${auth.login-throttle.max-delay-ms:900000}") long maxDelayMillis,
+                                   @Value("${auth.login-throttle.max-entries:100000}") int maxEntries,
+                                   MeterRegistry meterRegistry) {
+        if (maxAttempts <= 0 || ipMaxAttempts <= 0 || windowMillis <= 0 || baseDelayMillis <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Login throttle limits must be positive");
+        }
+
+        this.windowMillis = windowMillis;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = Math.max(maxDelayMillis, baseDelayMillis);
+
+        this.emailAttempts = new AttemptStore(maxEntries, maxAttempts);
+        this.ipAttempts = new AttemptStore(maxEntries, ipMaxAttempts);
+
+        this.blockedByEmail = Counter.builder("auth.login.blocked")
+                .description("Login attempts rejected by the brute-force throttle")
+                .tag("key", KEY_TYPE_EMAIL)
+                .register(meterRegistry);
+        this.blockedByIp = Counter.builder("auth.login.blocked")
+                .description("Login attempts rejected by the brute-force throttle")
+                .tag("key", KEY_TYPE_IP)
+                .register(meterRegistry);
+
+        meterRegistry.gauge("auth.login.throttle.tracked",
+                List.of(Tag.of("key", KEY_TYPE_EMAIL)), emailAttempts, AttemptStore::size);
+        meterRegistry.gauge("auth.login.throttle.tracked",
+                List.of(Tag.of("key", KEY_TYPE_IP)), ipAttempts, AttemptStore::size);
+
+        log.info("Login throttle initialized: {} attempt(s) per email, {} per IP in {} ms, delay {}-{} ms, capacity {} key(s)",
+                maxAttempts, ipMaxAttempts, windowMillis, baseDelayMillis, this.maxDelayMillis, maxEntries);
+    }
+
+    /**
+     * Verifies that neither the email nor the client IP is currently blocked.
+     *
+     * @param email the email the caller is trying to log in with
+     * @param clientIp the address of the client issuing the request (may be null)
+     * @throws TooManyLoginAttemptsException if either key is currently blocked
+     */
+    @Override
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+
+        long emailWait = emailAttempts.remainingBlock(normalizeEmail(email), now);
+        if (emailWait > 0) {
+            blockedByEmail.increment();
+            log.warn("Login blocked by throttle for email: {} ({} ms remaining)", email, emailWait);
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(emailWait));
+        }
+
+        long ipWait = ipAttempts.remainingBlock(clientIp, now);
+        if (ipWait > 0) {
+            blockedByIp.increment();
+            log.warn("Login blocked by throttle for client IP: {} ({} ms remaining)", clientIp, ipWait);
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(ipWait));
+        }
+    }
+
+    /**
+     * Records a failed attempt against both the email and the client IP.
+     *
+     * @param email the email used in the failed attempt
+     * @param clientIp the address of the client issuing the request (may be null)
+     */
+    @Override
+    public void loginFailed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        emailAttempts.recordFailure(normalizeEmail(email), now);
+        ipAttempts.recordFailure(clientIp, now);
+    }
+
+    /**
+     * Clears the failure history of the email after a successful login.
+     *
+     * <p>The client IP history is kept, so a single valid account cannot be used
+     * to reset the counter of an address that is spraying other accounts.
+     *
+     * @param email the email that logged in successfully
+     */
+    @Override
+    public void loginSucceeded(String email) {
+        emailAttempts.reset(normalizeEmail(email));
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Normalizes an email so that case and surrounding whitespace do not create separate keys.
+     *
+     * @param email the raw email
+     * @return the normalized email, or null if blank
+     */
+    private String normalizeEmail(String email) {
+        return StringUtils.hasText(email) ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Computes the block duration for a key with the given number of failures in the window.
+     *
+     * @param failures the number of failures currently inside the window
+     * @param maxAttempts the number of failures allowed before blocking
+     * @return the block duration in milliseconds, or 0 if the key is below the limit
+     */
+    private long blockDurationFor(int failures, int maxAttempts) {
+        if (failures < maxAttempts) {
+            return 0;
+        }
+        int excess = Math.min(failures - maxAttempts, 30);
+        return Math.min(baseDelayMillis << excess, maxDelayMillis);
+    }
+
+    /**
+     * Converts a wait in milliseconds to a whole number of seconds, rounding up.
+     *
+     * @param waitMillis the wait in milliseconds
+     * @return the wait in seconds (at least 1)
+     */
+    private long toRetryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    // ==================== Attempt Store ====================
+
+    /**
+     * Failure history of a single key.
+     */
+    private static final class AttemptWindow {
+        private final ArrayDeque<Long> failures = new ArrayDeque<>();
+        private long blockedUntil;
+    }
+
+    /**
+     * Bounded, access-ordered map of attempt windows for one key dimension.
+     *
+     * <p>Once the capacity is reached the least recently used key is evicted.
+     * Access is synchronized on the store; every operation is O(1) amortized,
+     * which is negligible next to the BCrypt verification it protects.
+     */
+    private final class AttemptStore {
+
+        private final Map<String, AttemptWindow> windows;
+        private final int maxAttempts;
+
+        private AttemptStore(int capacity, int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AttemptWindow> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized long remainingBlock(String key, long now) {
+            if (key == null) {
+                return 0;
+            }
+            AttemptWindow window = windows.get(key);
+            if (window == null) {
+                return 0;
+            }
+            prune(window, now);
+            if (window.failures.isEmpty() && window.blockedUntil <= now) {
+                windows.remove(key);
+                return 0;
+            }
+            return Math.max(0, window.blockedUntil - now);
+        }
+
+        private synchronized void recordFailure(String key, long now) {
+            if (key == null) {
+                return;
+            }
+            AttemptWindow window = windows.computeIfAbsent(key, k -> new AttemptWindow());
+            prune(window, now);
+            window.failures.addLast(now);
+
+            // Failures beyond the point where the delay saturates carry no extra information
+            while (window.failures.size() > maxAttempts + 31) {
+                window.failures.pollFirst();
+            }
+
+            long block = blockDurationFor(window.failures.size(), maxAttempts);
+            if (block > 0) {
+                window.blockedUntil = Math.max(window.blockedUntil, now + block);
+            }
+        }
+
+        private synchronized void reset(String key) {
+            if (key != null) {
+                windows.remove(key);
+            }
+        }
+
+        private synchronized int size() {
+            return windows.size();
+        }
+
+        private void prune(AttemptWindow window, long now) {
+            long threshold = now - windowMillis;
+            Iterator<Long> iterator = window.failures.iterator();
+            while (iterator.hasNext() && iterator.next() < threshold) {
+                iterator.remove();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.auth_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth_service.dto.UserEventMessage;
+import com.auth_service.entity.User;
+import com.auth_service.entity.UserOutboxEvent;
+import com.auth_service.enums.UserEventType;
+import com.auth_service.repository.UserOutboxRepository;
+import com.auth_service.service.UserEventService;
+
+/**
+ * Implementation of {@link UserEventService} based on a transactional outbox.
+ * 
+ * <p>This service handles:
+ * <ul>
+ *   <li>Writing user events to the {@code user_outbox} table inside the caller's transaction</li>
+ *   <li>Relaying pending events to the {@code user-events} Kafka topic on a fixed delay</li>
+ *   <li>Purging published events after a retention period</li>
+ * </ul>
+ * 
+ * <p>Messages are keyed by user ID, so all events for one user land on the same
+ * partition in order. Delivery is at-least-once: an event is marked as published
+ * only after the broker acknowledged it.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code user-events.topic}: destination topic</li>
+ *   <li>{@code user-events.relay.batch-size}: maximum events published per relay run</li>
+ *   <li>{@code user-events.relay.interval-ms}: delay between relay runs</li>
+ *   <li>{@code user-events.relay.send-timeout-ms}: maximum wait for a broker acknowledgment</li>
+ *   <li>{@code user-events.relay.retention-hours}: how long published events are kept</li>
+ * </ul>
+ * 
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventServiceImpl implements UserEventService {
+
+    private final UserOutboxRepository userOutboxRepository;
+    private final KafkaTemplate<String, String> userEventKafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${user-events.topic:user-events}")
+    private String topic;
+
+    @Value("${user-events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${user-events.relay.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    @Value("${user-events.relay.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * Records a user event in the outbox as part of the current transaction.
+     * 
+     * @param user the user after the change (or before deletion)
+     * @param eventType the type of lifecycle event
+     * @throws IllegalStateException if no transaction is active
+     * @throws IllegalArgumentException if the user or event type is null
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUserEvent(User user, UserEventType eventType) {
+        if (user == null || user.getId() == null) {
+            log.error("Cannot record user event: user or user ID is null");
+            throw new IllegalArgumentException("User with an ID is required to record an event");
+        }
+
+        if (eventType == null) {
+            log.error("Cannot record user event: event type is null");
+            throw new IllegalArgumentException("Event type is required");
+        }
+
+        String eventId = UUID.randomUUID().toString();
+
+        UserEventMessage message = UserEventMessage.builder()
+                .eventId(eventId)
+                .eventType(eventType)
+                .userId(user.getId())
+                .version(user.getVersion())
+                .email(user.getEmail())
+                .name(user.getName())
+                .lastName(user.getLastName())
+                .role(user.getRole() != null ? user.getRole().name() : null)
+                .address(user.getAddress())
+                .phone(user.getPhone())
+                .occurredAt(System.currentTimeMillis())
+                .build();
+
+        try {
+            UserOutboxEvent event = UserOutboxEvent.builder()
+                    .eventId(eventId)
+                    .userId(user.getId())
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(message))
+                    .build();
+
+            userOutboxRepository.save(event);
+
+            log.debug("Recorded {} event {} for user ID: {}", eventType, eventId, user.getId());
+
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} event for user ID: {}", eventType, user.getId(), e);
+            throw new IllegalStateException("Failed to serialize user event", e);
+        }
+    }
+
+    /**
+     * Publishes a batch of pending outbox events to Kafka.
+     * 
+     * <p>Runs on a fixed delay. Each event is sent synchronously and marked as
+     * published only once acknowledged; the batch stops at the first failure so
+     * that per-user ordering is preserved, and the rest is retried on the next run.
+     * 
+     * @return the number of events published
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${user-events.relay.interval-ms:1000}")
+    @Transactional
+    public int publishPendingEvents() {
+        List<UserOutboxEvent> pending = userOutboxRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        log.debug("Relaying {} pending user event(s)", pending.size());
+
+        int published = 0;
+        for (UserOutboxEvent event : pending) {
+            try {
+                userEventKafkaTemplate.send(topic, String.valueOf(event.getUserId()), event.getPayload())
+                        .get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+
+                event.setPublishedAt(LocalDateTime.now());
+                published++;
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while relaying user event {}", event.getEventId());
+                break;
+
+            } catch (Exception e) {
+                log.warn("Failed to relay user event {} for user ID: {} - will retry: {}",
+                        event.getEventId(), event.getUserId(), e.getMessage());
+                break;
+            }
+        }
+
+        log.info("Relayed {} of {} pending user event(s) to topic '{}'", published, pending.size(), topic);
+
+        return published;
+    }
+
+    /**
+     * Removes published events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${user-events.relay.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgePublishedEvents() {
+        int removed = userOutboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+
+        if (removed > 0) {
+            log.info("Purged {} published user event(s) from outbox", removed);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.auth_service.util;
 
+import com.auth_service.entity.User;
 import com.auth_service.enums.UserRole;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Utility class for JWT (JSON Web Token) operations.
@@ -25,6 +28,7 @@ import java.util.Date;
  * <ul>
  *   <li>Subject: user's email address</li>
  *   <li>Claims: userId and role</li>
+ *   <li>Optional profile claim: a versioned snapshot of the user's profile</li>
  *   <li>Issued at: token creation timestamp</li>
  *   <li>Expiration: token expiration timestamp</li>
  * </ul>
@@ -39,6 +43,16 @@ import java.util.Date;
 @Component
 @Slf4j
 public class JwtUtil {
+
+    /**
+     * Name of the claim carrying the profile snapshot.
+     */
+    public static final String PROFILE_CLAIM = "profile";
+
+    /**
+     * Format version of the profile snapshot; bumped whenever its layout changes.
+     */
+    public static final int PROFILE_SNAPSHOT_FORMAT = 1;
     
     private final Key key;
     private final long expiration;
@@ -87,6 +101,66 @@ public class JwtUtil {
      * @throws IllegalArgumentException if any parameter is null or invalid
      */
     public String generateToken(Long userId, String email, UserRole role) {
+        return buildToken(userId, email, role, null);
+    }
+
+    /**
+     * Generates a JWT token for the specified user, embedding a profile snapshot.
+     * 
+     * <p>In addition to the claims of {@link #generateToken(Long, String, UserRole)}, the
+     * token carries a {@code profile} claim with:
+     * <ul>
+     *   <li>v: snapshot format version</li>
+     *   <li>ver: the user's profile version at issuance</li>
+     *   <li>at: issuance timestamp in milliseconds</li>
+     *   <li>name, lastName, address, phone: profile fields</li>
+     * </ul>
+     * 
+     * <p>The gateway forwards the snapshot to downstream services, which can then
+     * build carts and orders without calling back into the auth service.
+     * 
+     * @param user the authenticated user
+     * @return a signed JWT token string
+     * @throws IllegalArgumentException if the user or any required field is null or invalid
+     */
+    public String generateToken(User user) {
+        if (user == null) {
+            log.error("Invalid user provided");
+            throw new IllegalArgumentException("User cannot be null");
+        }
+
+        return buildToken(user.getId(), user.getEmail(), user.getRole(), buildProfileSnapshot(user));
+    }
+
+    /**
+     * Builds the profile snapshot claim for a user.
+     * 
+     * @param user the user whose profile is captured
+     * @return the snapshot as an ordered claim map
+     */
+    private Map<String, Object> buildProfileSnapshot(User user) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("v", PROFILE_SNAPSHOT_FORMAT);
+        profile.put("ver", user.getVersion() != null ? user.getVersion() : 0L);
+        profile.put("at", System.currentTimeMillis());
+        profile.put("name", user.getName());
+        profile.put("lastName", user.getLastName());
+        profile.put("address", user.getAddress());
+        profile.put("phone", user.getPhone());
+        return profile;
+    }
+
+    /**
+     * Validates the token inputs and signs the token.
+     * 
+     * @param userId the user's unique identifier
+     * @param email the user's email address (used as subject)
+     * @param role the user's role
+     * @param profile the optional profile snapshot claim (may be null)
+     * @return a signed JWT token string
+     * @throws IllegalArgumentException if any required parameter is null or invalid
+     */
+    private String buildToken(Long userId, String email, UserRole role, Map<String, Object> profile) {
         log.debug("Generating JWT token for user ID: {}, email: {}, role: {}", 
                 userId, email, role);
 
@@ -110,14 +184,18 @@ public class JwtUtil {
             Date issuedAt = new Date(now);
             Date expirationDate = new Date(now + expiration);
 
-            String token = Jwts.builder()
+            var builder = Jwts.builder()
                     .subject(email)
                     .claim("userId", userId)
                     .claim("role", role.name())
                     .issuedAt(issuedAt)
-                    .expiration(expirationDate)
-                    .signWith(key)
-                    .compact();
+                    .expiration(expirationDate);
+
+            if (profile != null) {
+                builder.claim(PROFILE_CLAIM, profile);
+            }
+
+            String token = builder.signWith(key).compact();
 
             log.info("JWT token generated successfully for user ID: {}, email: {}", 
                     userId, email);
@@ -1,5 +1,7 @@
 package com.gateway_service.filter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -19,6 +21,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Map;
 
 /**
  * Gateway filter factory for JWT-based authentication.
@@ -35,6 +39,7 @@ import javax.crypto.SecretKey;
  *   <li>X-USER-ID - The authenticated user's ID</li>
  *   <li>X-USER-EMAIL - The authenticated user's email</li>
  *   <li>X-USER-ROLE - The authenticated user's role</li>
+ *   <li>X-USER-PROFILE - Base64url-encoded JSON profile snapshot, when the token carries one</li>
  *   <li>X-FORWARDED-AUTH - Flag indicating authentication was performed</li>
  * </ul>
  * 
@@ -49,18 +54,24 @@ public class JwtAuthFilterGatewayFilterFactory
     private static final String HEADER_USER_ID = "X-USER-ID";
     private static final String HEADER_USER_EMAIL = "X-USER-EMAIL";
     private static final String HEADER_USER_ROLE = "X-USER-ROLE";
+    private static final String HEADER_USER_PROFILE = "X-USER-PROFILE";
     private static final String HEADER_FORWARDED_AUTH = "X-FORWARDED-AUTH";
+    private static final String PROFILE_CLAIM = "profile";
 
     private final SecretKey key;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs the JWT authentication filter factory.
      * 
      * @param secret the JWT signing secret from configuration
+     * @param objectMapper the JSON mapper used to encode the profile snapshot header
      */
-    public JwtAuthFilterGatewayFilterFactory(@Value("${jwt.secret}") String secret) {
+    public JwtAuthFilterGatewayFilterFactory(@Value("${jwt.secret}") String secret,
+                                             ObjectMapper objectMapper) {
         super(Config.class);
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.objectMapper = objectMapper;
         log.info("JWT authentication filter initialized");
     }
 
@@ -124,7 +135,8 @@ public class JwtAuthFilterGatewayFilterFactory
                         email, userId, role, path);
 
                 // Add user identity headers and forward request
-                ServerHttpRequest mutatedRequest = addUserHeaders(exchange.getRequest(), userId, email, role);
+                String profile = encodeProfile(claims, path);
+                ServerHttpRequest mutatedRequest = addUserHeaders(exchange.getRequest(), userId, email, role, profile);
 
                 return chain.filter(exchange.mutate().request(mutatedRequest).build());
 
@@ -193,21 +205,56 @@ public class JwtAuthFilterGatewayFilterFactory
         return true;
     }
 
+    /**
+     * Encodes the profile snapshot claim, if present, as a header-safe value.
+     * 
+     * <p>The claim is re-serialized to JSON and Base64url-encoded so that non-ASCII
+     * names and addresses survive transport in an HTTP header.
+     * 
+     * @param claims the verified token claims
+     * @param path the request path for logging
+     * @return the encoded snapshot, or null if the token carries none
+     */
+    private String encodeProfile(Claims claims, String path) {
+        Map<?, ?> profile = claims.get(PROFILE_CLAIM, Map.class);
+        if (profile == null) {
+            return null;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(profile);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode profile snapshot for path: {} - {}", path, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Adds user identity headers to the request for downstream services.
      * 
+     * <p>Any profile header supplied by the client is dropped; only a snapshot taken
+     * from the verified token is forwarded.
+     * 
      * @param request the original request
      * @param userId the user ID
      * @param email the user email
      * @param role the user role
+     * @param profile the encoded profile snapshot (may be null)
      * @return the mutated request with added headers
      */
-    private ServerHttpRequest addUserHeaders(ServerHttpRequest request, String userId, String email, String role) {
+    private ServerHttpRequest addUserHeaders(ServerHttpRequest request, String userId, String email,
+                                             String role, String profile) {
         return request.mutate()
                 .header(HEADER_USER_ID, userId)
                 .header(HEADER_USER_EMAIL, email)
                 .header(HEADER_USER_ROLE, role)
                 .header(HEADER_FORWARDED_AUTH, "true")
+                .headers(headers -> {
+                    headers.remove(HEADER_USER_PROFILE);
+                    if (profile != null) {
+                        headers.set(HEADER_USER_PROFILE, profile);
+                    }
+                })
                 .build();
     }
 
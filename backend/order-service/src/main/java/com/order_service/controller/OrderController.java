@@ -21,6 +21,7 @@ import com.order_service.entity.Order;
 import com.order_service.exception.OrderCreationException;
 import com.order_service.exception.OrderNotFoundException;
 import com.order_service.model.CurrentUser;
+import com.order_service.model.UserProfile;
 import com.order_service.service.OrderService;
 
 /**
@@ -80,7 +81,7 @@ public class OrderController {
         }
 
         try {
-            Order newOrder = orderService.createOrder(user.getUserId());
+            Order newOrder = orderService.createOrder(user.getUserId(), user.getProfile());
 
             log.info("Order created successfully with ID: {} for user ID: {}", 
                     newOrder.getOrderId(), user.getUserId());
@@ -391,6 +392,7 @@ public class OrderController {
      * <ul>
      *   <li>Spring Security Authentication object (if available)</li>
      *   <li>HTTP request headers as fallback (X-USER-EMAIL, X-USER-ROLE, X-USER-ID)</li>
+     *   <li>The profile snapshot request attribute, if the gateway forwarded one</li>
      * </ul>
      * 
      * @param auth the Spring Security authentication object
@@ -410,9 +412,13 @@ public class OrderController {
         String userIdHeader = request.getHeader("X-USER-ID");
         Long userId = (userIdHeader != null) ? Long.valueOf(userIdHeader) : null;
 
-        log.debug("Built CurrentUser - email: {}, role: {}, userId: {}", email, role, userId);
+        // Extract profile snapshot decoded by HeaderAuthenticationFilter
+        UserProfile profile = (UserProfile) request.getAttribute(UserProfile.REQUEST_ATTRIBUTE);
 
-        return new CurrentUser(email, role, userId);
+        log.debug("Built CurrentUser - email: {}, role: {}, userId: {}, profile snapshot: {}",
+                email, role, userId, profile != null);
+
+        return new CurrentUser(email, role, userId, profile);
     }
 
     // ==================== Response Record ====================
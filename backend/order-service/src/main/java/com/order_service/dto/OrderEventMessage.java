@@ -0,0 +1,79 @@
+package com.order_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message published to the {@code order-events} topic when an order is placed.
+ *
+ * <p>Carries the products and quantities of the order, so consumers can follow
+ * sales without calling back into the order service. Customer details are never
+ * included. Delivery is at-least-once; consumers that must not count an order
+ * twice should discard repeated {@code eventId}s.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventMessage {
+
+    /**
+     * Globally unique event identifier.
+     */
+    private String eventId;
+
+    /**
+     * Type of order event.
+     */
+    private EventType eventType;
+
+    /**
+     * Identifier of the order.
+     */
+    private Long orderId;
+
+    /**
+     * Products of the order with their quantities.
+     */
+    private List<Item> items;
+
+    /**
+     * Time the order was placed, in epoch milliseconds.
+     */
+    private Long occurredAt;
+
+    /**
+     * Enum representing the order events published.
+     *
+     * <ul>
+     *   <li>CREATED - The order has been placed</li>
+     * </ul>
+     */
+    public enum EventType {
+        CREATED
+    }
+
+    /**
+     * A product of the order and the quantity ordered.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * Identifier of the product in the catalog.
+         */
+        private Long idProduct;
+
+        /**
+         * Quantity of the product ordered.
+         */
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for user lifecycle events published by Auth Service.
+ * 
+ * <p>Received from the {@code user-events} topic whenever a user is created,
+ * updated or deleted. Carries the user's profile as of the change.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEventMessage {
+
+    /**
+     * Event type published when a user is created.
+     */
+    public static final String CREATED = "CREATED";
+
+    /**
+     * Event type published when a user is updated.
+     */
+    public static final String UPDATED = "UPDATED";
+
+    /**
+     * Event type published when a user is deleted.
+     */
+    public static final String DELETED = "DELETED";
+
+    /**
+     * Globally unique event identifier.
+     */
+    private String eventId;
+
+    /**
+     * Type of lifecycle event (CREATED, UPDATED or DELETED).
+     */
+    private String eventType;
+
+    /**
+     * Identifier of the affected user.
+     */
+    private Long userId;
+
+    /**
+     * Profile version after the change.
+     */
+    private Long version;
+
+    /**
+     * The email address of the user.
+     */
+    private String email;
+
+    /**
+     * The first name of the user.
+     */
+    private String name;
+
+    /**
+     * The last name of the user.
+     */
+    private String lastName;
+
+    /**
+     * The role of the user (e.g., ADMIN, CLIENT).
+     */
+    private String role;
+
+    /**
+     * The shipping address of the user.
+     */
+    private String address;
+
+    /**
+     * The phone number of the user.
+     */
+    private String phone;
+
+    /**
+     * Time the change happened, in epoch milliseconds.
+     */
+    private Long occurredAt;
+
+}
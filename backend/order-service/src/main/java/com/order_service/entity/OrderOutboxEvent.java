@@ -0,0 +1,75 @@
+package com.order_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for an order event.
+ *
+ * <p>Each entry is inserted in the same transaction as the order it describes, so
+ * an event exists if and only if the order was committed. A scheduled relay
+ * publishes pending entries to Kafka and stamps them with {@code publishedAt}.
+ *
+ * @see Order
+ */
+@Entity
+@Table(name = "order_outbox",
+        indexes = @Index(name = "idx_order_outbox_published_id", columnList = "published_at, id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutboxEvent {
+
+    /**
+     * Unique identifier of the outbox entry.
+     * Auto-generated by the database; defines publication order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Globally unique event identifier, used by consumers to discard duplicates.
+     */
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    /**
+     * Identifier of the order the event refers to; used as the Kafka message key.
+     */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * Serialized event message, captured at the time of the change.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Time the event was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Time the event was published to Kafka; null while pending.
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Sets the creation timestamp before the entry is persisted.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  *   <li>X-USER-ID - User's unique identifier</li>
  *   <li>X-USER-EMAIL - User's email address</li>
  *   <li>X-USER-ROLE - User's role (ADMIN, CLIENT)</li>
+ *   <li>X-USER-PROFILE - Profile snapshot issued with the user's token</li>
  * </ul>
  * 
  * @see feign.RequestInterceptor
@@ -30,6 +31,7 @@ public class FeignAuthInterceptor implements RequestInterceptor {
     private static final String HEADER_USER_ID = "X-USER-ID";
     private static final String HEADER_USER_EMAIL = "X-USER-EMAIL";
     private static final String HEADER_USER_ROLE = "X-USER-ROLE";
+    private static final String HEADER_USER_PROFILE = "X-USER-PROFILE";
 
     /**
      * Applies authentication headers to the outgoing Feign request.
@@ -56,6 +58,7 @@ public class FeignAuthInterceptor implements RequestInterceptor {
         String userId = request.getHeader(HEADER_USER_ID);
         String email = request.getHeader(HEADER_USER_EMAIL);
         String role = request.getHeader(HEADER_USER_ROLE);
+        String profile = request.getHeader(HEADER_USER_PROFILE);
 
         // Forward headers if present
         if (userId != null) {
@@ -73,6 +76,11 @@ public class FeignAuthInterceptor implements RequestInterceptor {
             log.debug("Forwarding header {} = {}", HEADER_USER_ROLE, role);
         }
 
+        if (profile != null) {
+            template.header(HEADER_USER_PROFILE, profile);
+            log.debug("Forwarding header {}", HEADER_USER_PROFILE);
+        }
+
         log.debug("Feign request headers applied for target: {}", template.url());
     }
 
@@ -0,0 +1,22 @@
+package com.order_service.listener;
+
+import com.order_service.dto.UserEventMessage;
+
+/**
+ * Callback for components that keep local copies of user data.
+ * 
+ * <p>Every bean implementing this interface is notified by {@link UserEventListener}
+ * when Auth Service announces a user change, and should evict or refresh
+ * whatever it caches for that user. Delivery is at-least-once, so
+ * implementations must be idempotent.
+ */
+public interface UserChangeHandler {
+
+    /**
+     * Handles a user lifecycle event.
+     * 
+     * @param event the user event received from Auth Service
+     */
+    void onUserChanged(UserEventMessage event);
+
+}
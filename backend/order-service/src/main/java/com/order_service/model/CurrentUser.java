@@ -39,4 +39,9 @@ public class CurrentUser {
      */
     private Long userId;
 
+    /**
+     * Profile snapshot forwarded by the gateway, or null if none was provided.
+     */
+    private UserProfile profile;
+
 }
@@ -0,0 +1,98 @@
+package com.order_service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of the authenticated user's profile, propagated by the API Gateway.
+ * 
+ * <p>The auth-service embeds this snapshot in issued tokens; the gateway forwards it
+ * in the {@code X-USER-PROFILE} header (Base64url-encoded JSON) and
+ * {@code HeaderAuthenticationFilter} decodes it into a request attribute.
+ * Email and role are taken from the verified identity headers.
+ * 
+ * <p>Services use the snapshot instead of calling the auth-service, and fall back
+ * to a remote lookup when it is absent, of an unknown format, or too old.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserProfile {
+
+    /**
+     * Request attribute under which the decoded snapshot is stored.
+     */
+    public static final String REQUEST_ATTRIBUTE = "com.order_service.userProfile";
+
+    /**
+     * Snapshot format understood by this service.
+     */
+    public static final int SUPPORTED_FORMAT = 1;
+
+    /**
+     * Format version of the snapshot.
+     */
+    @JsonProperty("v")
+    private Integer format;
+
+    /**
+     * Version of the user's profile when the snapshot was taken.
+     */
+    @JsonProperty("ver")
+    private Long version;
+
+    /**
+     * Time the snapshot was taken, in epoch milliseconds.
+     */
+    @JsonProperty("at")
+    private Long capturedAt;
+
+    /**
+     * The email address of the user (from the verified identity headers).
+     */
+    private String email;
+
+    /**
+     * The role of the user (from the verified identity headers).
+     */
+    private String role;
+
+    /**
+     * The first name of the user.
+     */
+    private String name;
+
+    /**
+     * The last name of the user.
+     */
+    private String lastName;
+
+    /**
+     * The shipping address of the user.
+     */
+    private String address;
+
+    /**
+     * The phone number of the user.
+     */
+    private String phone;
+
+    /**
+     * Checks whether the snapshot can be used in place of a remote lookup.
+     * 
+     * @param maxAgeMillis the maximum accepted snapshot age in milliseconds
+     * @param now the current time in epoch milliseconds
+     * @return true if the snapshot has a supported format and is younger than the maximum age
+     */
+    public boolean isFresh(long maxAgeMillis, long now) {
+        return format != null
+                && format == SUPPORTED_FORMAT
+                && capturedAt != null
+                && now - capturedAt <= maxAgeMillis;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.order_service.service;
+
+import com.order_service.entity.Order;
+
+/**
+ * Service interface for publishing order events.
+ *
+ * <p>Events are recorded in a transactional outbox and relayed to Kafka
+ * asynchronously, so downstream consumers see every committed order and
+ * never one that was rolled back.
+ */
+public interface OrderEventService {
+
+    /**
+     * Records the creation of an order in the outbox.
+     *
+     * <p>Must be called inside the transaction that saves the order, so the
+     * event is committed or rolled back together with it.
+     *
+     * @param order the saved order, with its items
+     */
+    void recordOrderCreated(Order order);
+
+    /**
+     * Publishes pending outbox events to Kafka and marks them as published.
+     *
+     * @return the number of events published
+     */
+    int publishPendingEvents();
+
+}
@@ -0,0 +1,174 @@
+package com.order_service.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.order_service.dto.OrderEventMessage;
+import com.order_service.entity.Order;
+import com.order_service.entity.OrderOutboxEvent;
+import com.order_service.repository.OrderOutboxRepository;
+
+/**
+ * Implementation of {@link OrderEventService} based on a transactional outbox.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Writing order events to the {@code order_outbox} table inside the caller's transaction</li>
+ *   <li>Relaying pending events to the {@code order-events} Kafka topic on a fixed delay</li>
+ *   <li>Purging published events after a retention period</li>
+ * </ul>
+ *
+ * <p>Messages are keyed by order ID. Delivery is at-least-once: an event is
+ * marked as published only after the broker acknowledged it.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code order-events.topic}: destination topic</li>
+ *   <li>{@code order-events.relay.batch-size}: maximum events published per relay run</li>
+ *   <li>{@code order-events.relay.interval-ms}: delay between relay runs</li>
+ *   <li>{@code order-events.relay.send-timeout-ms}: maximum wait for a broker acknowledgment</li>
+ *   <li>{@code order-events.relay.retention-hours}: how long published events are kept</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventServiceImpl implements OrderEventService {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final KafkaTemplate<String, String> orderEventKafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order-events.topic:order-events}")
+    private String topic;
+
+    @Value("${order-events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order-events.relay.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    @Value("${order-events.relay.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * Records an order creation event in the outbox as part of the current transaction.
+     *
+     * @param order the saved order, with its items
+     * @throws IllegalStateException if no transaction is active
+     * @throws IllegalArgumentException if the order has no ID
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Order order) {
+        if (order == null || order.getOrderId() == null) {
+            log.error("Cannot record order event: order or order ID is null");
+            throw new IllegalArgumentException("Order with an ID is required to record an event");
+        }
+
+        String eventId = UUID.randomUUID().toString();
+
+        List<OrderEventMessage.Item> items = order.getItems() == null ? List.of() : order.getItems().stream()
+                .map(item -> new OrderEventMessage.Item(item.getIdProduct(), item.getQuantity()))
+                .toList();
+
+        OrderEventMessage message = OrderEventMessage.builder()
+                .eventId(eventId)
+                .eventType(OrderEventMessage.EventType.CREATED)
+                .orderId(order.getOrderId())
+                .items(items)
+                .occurredAt(System.currentTimeMillis())
+                .build();
+
+        try {
+            OrderOutboxEvent event = OrderOutboxEvent.builder()
+                    .eventId(eventId)
+                    .orderId(order.getOrderId())
+                    .payload(objectMapper.writeValueAsString(message))
+                    .build();
+
+            orderOutboxRepository.save(event);
+
+            log.debug("Recorded order created event {} for order ID: {}", eventId, order.getOrderId());
+
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize order created event for order ID: {}", order.getOrderId(), e);
+            throw new IllegalStateException("Failed to serialize order event", e);
+        }
+    }
+
+    /**
+     * Publishes a batch of pending outbox events to Kafka.
+     *
+     * <p>Runs on a fixed delay. Each event is sent synchronously and marked as
+     * published only once acknowledged; the batch stops at the first failure and
+     * the rest is retried on the next run.
+     *
+     * @return the number of events published
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${order-events.relay.interval-ms:1000}")
+    @Transactional
+    public int publishPendingEvents() {
+        List<OrderOutboxEvent> pending = orderOutboxRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        log.debug("Relaying {} pending order event(s)", pending.size());
+
+        int published = 0;
+        for (OrderOutboxEvent event : pending) {
+            try {
+                orderEventKafkaTemplate.send(topic, String.valueOf(event.getOrderId()), event.getPayload())
+                        .get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+
+                event.setPublishedAt(LocalDateTime.now());
+                published++;
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while relaying order event {}", event.getEventId());
+                break;
+
+            } catch (Exception e) {
+                log.warn("Failed to relay order event {} for order ID: {} - will retry: {}",
+                        event.getEventId(), event.getOrderId(), e.getMessage());
+                break;
+            }
+        }
+
+        log.info("Relayed {} of {} pending order event(s) to topic '{}'", published, pending.size(), topic);
+
+        return published;
+    }
+
+    /**
+     * Removes published events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${order-events.relay.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgePublishedEvents() {
+        int removed = orderOutboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+
+        if (removed > 0) {
+            log.info("Purged {} published order event(s) from outbox", removed);
+        }
+    }
+
+}
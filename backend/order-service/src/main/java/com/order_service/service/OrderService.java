@@ -6,6 +6,7 @@ import com.order_service.dto.OrderResponse;
 import com.order_service.entity.Order;
 import com.order_service.exception.OrderCreationException;
 import com.order_service.exception.OrderNotFoundException;
+import com.order_service.model.UserProfile;
 
 /**
  * Service interface for order management operations.
@@ -18,12 +19,16 @@ public interface OrderService {
     /**
      * Creates a new order for the specified user based on their current cart.
      * 
+     * <p>When a fresh profile snapshot is supplied, the order's customer details are
+     * taken from it and the auth-service is not called.
+     * 
      * @param idUser the unique identifier of the user placing the order
+     * @param profile the profile snapshot forwarded by the gateway (may be null)
      * @return the created Order entity
      * @throws IllegalArgumentException if the user ID is null or invalid
      * @throws OrderCreationException if the order cannot be created
      */
-    Order createOrder(Long idUser) throws IllegalArgumentException, OrderCreationException;
+    Order createOrder(Long idUser, UserProfile profile) throws IllegalArgumentException, OrderCreationException;
 
     /**
      * Updates an order status to PROCESSING.
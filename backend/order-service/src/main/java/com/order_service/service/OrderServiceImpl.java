@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -23,6 +24,7 @@ import com.order_service.entity.Order.StatusOrder;
 import com.order_service.entity.OrderItem;
 import com.order_service.exception.OrderCreationException;
 import com.order_service.exception.OrderNotFoundException;
+import com.order_service.model.UserProfile;
 import com.order_service.repository.OrderRepository;
 
 /**
@@ -50,6 +52,14 @@ public class OrderServiceImpl implements OrderService {
     private final UserServiceClient userServiceClient;
     private final ShopServiceClient shopServiceClient;
     private final ModelMapper modelMapper;
+    private final UserVersionRegistry userVersionRegistry;
+    private final OrderEventService orderEventService;
+
+    /**
+     * Maximum age of a profile snapshot that may replace a lookup in the user service.
+     */
+    @Value("${user-profile.max-age-ms:3600000}")
+    private long profileMaxAgeMillis;
 
     /**
      * Creates a new order for the specified user based on their current cart.
@@ -58,20 +68,23 @@ public class OrderServiceImpl implements OrderService {
      * <ol>
      *   <li>Validates the user ID</li>
      *   <li>Retrieves the user's cart from the shop service</li>
-     *   <li>Retrieves user details from the user service</li>
+     *   <li>Resolves user details from the profile snapshot, or from the user service
+     *       if the snapshot is absent or stale</li>
      *   <li>Maps cart items to order items with calculated prices</li>
      *   <li>Creates and persists the order with PENDING status</li>
+     *   <li>Records an order created event in the outbox, in the same transaction</li>
      *   <li>Cleans the user's cart after successful order creation</li>
      * </ol>
      * 
      * @param idUser the unique identifier of the user placing the order
+     * @param profile the profile snapshot forwarded by the gateway (may be null)
      * @return the created Order entity
      * @throws IllegalArgumentException if the user ID is null or invalid
      * @throws OrderCreationException if the order cannot be created due to external service failure
      */
     @Override
     @Transactional
-    public Order createOrder(Long idUser) {
+    public Order createOrder(Long idUser, UserProfile profile) {
         log.debug("Create order request received for user ID: {}", idUser);
 
         // Validate input
@@ -92,14 +105,8 @@ public class OrderServiceImpl implements OrderService {
             log.debug("Cart retrieved with {} item(s), total: {}", 
                     cart.getCartItems().size(), cart.getTotal());
 
-            // Retrieve user details from user service
-            log.debug("Fetching user details for user ID: {}", idUser);
-            UserResponse user = userServiceClient.getUserById(idUser);
-
-            if (user == null) {
-                log.warn("Order creation failed: User not found for ID: {}", idUser);
-                throw new OrderCreationException("Cannot create order: User not found");
-            }
+            // Resolve user details from the snapshot, or from the user service as a fallback
+            UserResponse user = resolveUser(idUser, profile);
 
             log.debug("User retrieved: {}", user.getEmail());
 
@@ -126,6 +133,9 @@ public class OrderServiceImpl implements OrderService {
             Order savedOrder = orderRepository.save(order);
             log.debug("Order persisted with ID: {}", savedOrder.getOrderId());
 
+            // Announce the order once the transaction commits
+            orderEventService.recordOrderCreated(savedOrder);
+
             // Clean cart after successful order creation
             clearCart(idUser);
             log.debug("Cart cleaned for user ID: {}", idUser);
@@ -405,6 +415,45 @@ public class OrderServiceImpl implements OrderService {
         return Math.round(value * ROUNDING_FACTOR) / ROUNDING_FACTOR;
     }
 
+    /**
+     * Resolves the customer details for an order.
+     * 
+     * <p>A fresh profile snapshot is used directly, unless a user event announced a
+     * newer profile version since the token was issued; otherwise the user is fetched
+     * from the user service.
+     * 
+     * @param idUser the user ID
+     * @param profile the profile snapshot (may be null)
+     * @return the user details
+     * @throws OrderCreationException if the user cannot be found
+     */
+    private UserResponse resolveUser(Long idUser, UserProfile profile) {
+        if (profile != null
+                && profile.isFresh(profileMaxAgeMillis, System.currentTimeMillis())
+                && userVersionRegistry.isCurrent(idUser, profile.getVersion())) {
+            log.debug("Using profile snapshot (version: {}) for user ID: {}", profile.getVersion(), idUser);
+            return UserResponse.builder()
+                    .id(idUser)
+                    .name(profile.getName())
+                    .lastName(profile.getLastName())
+                    .email(profile.getEmail())
+                    .role(profile.getRole())
+                    .address(profile.getAddress())
+                    .phone(profile.getPhone())
+                    .build();
+        }
+
+        log.debug("Profile snapshot absent or stale, fetching user details for user ID: {}", idUser);
+        UserResponse user = userServiceClient.getUserById(idUser);
+
+        if (user == null) {
+            log.warn("Order creation failed: User not found for ID: {}", idUser);
+            throw new OrderCreationException("Cannot create order: User not found");
+        }
+
+        return user;
+    }
+
     /**
      * Fetches the cart from the Shopping Service and unwraps the API response.
      * 
@@ -0,0 +1,71 @@
+package com.order_service.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.order_service.dto.UserEventMessage;
+import com.order_service.listener.UserChangeHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the latest known profile version of each user from Auth Service events.
+ * 
+ * <p>Profile snapshots carried in tokens are only as current as the token. When a
+ * user changes after the token was issued, this registry learns the newer version
+ * from the {@code user-events} topic and {@link OrderServiceImpl} stops trusting
+ * the older snapshot, falling back to a lookup in the user service.
+ * 
+ * <p>Only users that changed since this instance started are tracked, so the
+ * registry stays proportional to the rate of profile changes, not to the user base.
+ */
+@Component
+@Slf4j
+public class UserVersionRegistry implements UserChangeHandler {
+
+    /**
+     * Version recorded for deleted users; no snapshot can be current against it.
+     */
+    private static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    private final Map<Long, Long> latestVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Records the version carried by an UPDATED or DELETED event.
+     * 
+     * <p>CREATED events are ignored: a new user has no older snapshot to invalidate.
+     * 
+     * @param event the user event received from Auth Service
+     */
+    @Override
+    public void onUserChanged(UserEventMessage event) {
+        if (UserEventMessage.DELETED.equals(event.getEventType())) {
+            latestVersions.put(event.getUserId(), DELETED_VERSION);
+            log.debug("User ID: {} marked as deleted", event.getUserId());
+            return;
+        }
+
+        if (UserEventMessage.UPDATED.equals(event.getEventType()) && event.getVersion() != null) {
+            latestVersions.merge(event.getUserId(), event.getVersion(), Math::max);
+            log.debug("User ID: {} now at profile version {}", event.getUserId(), event.getVersion());
+        }
+    }
+
+    /**
+     * Checks whether a snapshot version is at least as new as the latest known version.
+     * 
+     * @param userId the user ID
+     * @param snapshotVersion the version carried by the snapshot (may be null)
+     * @return true if no newer version is known for the user
+     */
+    public boolean isCurrent(Long userId, Long snapshotVersion) {
+        Long latest = latestVersions.get(userId);
+        if (latest == null) {
+            return true;
+        }
+        return snapshotVersion != null && snapshotVersion >= latest;
+    }
+
+}
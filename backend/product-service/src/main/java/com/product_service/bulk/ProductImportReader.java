@@ -0,0 +1,345 @@
+package com.product_service.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product_service.entity.Product;
+
+/**
+ * Incremental reader of product rows from a CSV or NDJSON stream.
+ *
+ * <p>Rows are read one at a time, so an import of any size holds a single row in
+ * memory. A row that cannot be imported is still returned, with the reason in
+ * {@link ImportRow#error()}, so the caller can report it and continue.
+ *
+ * <p>CSV input follows RFC 4180: a header row names the columns, fields may be
+ * quoted, and quoted fields may contain separators, doubled quotes and line
+ * breaks. NDJSON input holds one JSON object per line; blank lines are skipped.
+ * Both formats use the attribute names of {@link Product}: {@code name},
+ * {@code description}, {@code price}, {@code category}, {@code stock} and
+ * {@code imageUrl}. Columns are matched ignoring case and underscores, and unknown columns
+ * are ignored.
+ */
+public final class ProductImportReader {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_FIELD_LENGTH = 1 << 20;
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private int previous = -1;
+    private Map<String, Integer> columns;
+
+    /**
+     * One row of the import.
+     *
+     * @param line the line the row starts on, counting the header
+     * @param name the product name
+     * @param description the description, or null
+     * @param price the price
+     * @param category the category
+     * @param stock the stock, or null to leave it unchanged
+     * @param imageUrl the image URL, or null
+     * @param error why the row cannot be imported, or null if it is valid
+     */
+    public record ImportRow(long line, String name, String description, Double price,
+                            Product.Category category, Integer stock, String imageUrl, String error) {
+    }
+
+    private ProductImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates a reader of CSV input with a header row.
+     *
+     * @param reader the character stream
+     * @return the import reader
+     */
+    public static ProductImportReader csv(Reader reader) {
+        return new ProductImportReader(reader, null);
+    }
+
+    /**
+     * Creates a reader of NDJSON input.
+     *
+     * @param reader the character stream
+     * @param objectMapper the mapper each line is parsed with
+     * @return the import reader
+     */
+    public static ProductImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new ProductImportReader(reader, objectMapper);
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return the row, or null at the end of the input
+     * @throws IOException if the input cannot be read or its CSV header is invalid
+     */
+    public ImportRow next() throws IOException {
+        return objectMapper != null ? nextJson() : nextCsv();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private ImportRow nextJson() throws IOException {
+        while (true) {
+            long start = line;
+            String text = readLine();
+            if (text == null) {
+                return null;
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return invalid(start, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return invalid(start, null, "Expected a JSON object");
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey().toLowerCase(Locale.ROOT).replace("_", ""), field.getValue().asText());
+                }
+            });
+            return toRow(start, fields);
+        }
+    }
+
+    private ImportRow nextCsv() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price") || !columns.containsKey("category")) {
+                throw new IOException("CSV header must name the columns name, price and category");
+            }
+        }
+
+        while (true) {
+            long start = line;
+            List<String> record;
+            try {
+                record = readRecord();
+            } catch (IllegalStateException e) {
+                return invalid(start, null, e.getMessage());
+            }
+            if (record == null) {
+                return null;
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            columns.forEach((column, index) -> {
+                if (index < record.size() && !record.get(index).isEmpty()) {
+                    fields.put(column, record.get(index));
+                }
+            });
+            return toRow(start, fields);
+        }
+    }
+
+    /**
+     * Validates the fields of a row, keyed by lower-case column name.
+     */
+    private static ImportRow toRow(long line, Map<String, String> fields) {
+        String name = trimToNull(fields.get("name"));
+        if (name == null) {
+            return invalid(line, null, "Name is required");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return invalid(line, name, "Name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+
+        Double price;
+        try {
+            price = Double.valueOf(fields.getOrDefault("price", "").trim());
+        } catch (NumberFormatException e) {
+            return invalid(line, name, "Price must be a number");
+        }
+        if (!(price > 0) || price.isInfinite()) {
+            return invalid(line, name, "Price must be a positive value");
+        }
+
+        Product.Category category;
+        try {
+            category = Product.Category.valueOf(fields.getOrDefault("category", "").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return invalid(line, name, "Category must be one of AAA, AA, A");
+        }
+
+        Integer stock = null;
+        String stockText = trimToNull(fields.get("stock"));
+        if (stockText != null) {
+            try {
+                stock = Integer.valueOf(stockText);
+            } catch (NumberFormatException e) {
+                return invalid(line, name, "Stock must be an integer");
+            }
+            if (stock < 0) {
+                return invalid(line, name, "Stock must be a non-negative value");
+            }
+        }
+
+        return new ImportRow(line, name, fields.get("description"), price, category, stock,
+                trimToNull(fields.get("imageurl")), null);
+    }
+
+    private static ImportRow invalid(long line, String name, String error) {
+        return new ImportRow(line, name, null, null, null, null, null, error);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Reads one CSV record, or null at the end of the input.
+     *
+     * @throws IllegalStateException if a quoted field is not terminated or too long;
+     *         the rest of the input is consumed
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalStateException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append((char) c);
+            }
+
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IllegalStateException("Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads one line without its terminator, or null at the end of the input.
+     */
+    private String readLine() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        while (c >= 0 && c != '\n') {
+            if (c != '\r') {
+                text.append((char) c);
+            }
+            if (text.length() > MAX_FIELD_LENGTH) {
+                while (c >= 0 && c != '\n') {
+                    c = read();
+                }
+                return "";
+            }
+            c = read();
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads one character, counting lines; a CR LF pair counts as one line break.
+     */
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        int c = buffer[position++];
+        if (c == '\n' && previous != '\r' || c == '\r') {
+            line++;
+        }
+        previous = c;
+        return c;
+    }
+
+    /**
+     * Pushes back the character just read; only used for a character after CR.
+     */
+    private void unread(int c) {
+        if (c >= 0) {
+            position--;
+            if (c == '\r') {
+                line--;
+            }
+            previous = '\r';
+        }
+    }
+
+}
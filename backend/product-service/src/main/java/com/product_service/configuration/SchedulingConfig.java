@@ -0,0 +1,49 @@
+package com.product_service.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler configuration for the Product Service.
+ * 
+ * <p>This configuration provides two schedulers:
+ * <ul>
+ *   <li>{@code taskScheduler}: the default scheduler, sized by {@code spring.task.scheduling},
+ *       running the periodic rebuilds, checkpoints and compactions</li>
+ *   <li>{@code stockTaskScheduler}: a dedicated scheduler for the short, frequent tasks
+ *       stock correctness depends on, selected with {@code @Scheduled(scheduler = ...)}</li>
+ * </ul>
+ * 
+ * <p>The flash-sale write-back and the change sequencer run every few hundred
+ * milliseconds, so a facet recount or availability rebuild holding the default
+ * pool for seconds must not delay them.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code scheduling.stock-pool-size}: number of threads of the stock scheduler</li>
+ * </ul>
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String STOCK_TASK_SCHEDULER = "stockTaskScheduler";
+
+    /**
+     * Declared explicitly, since defining any other scheduler disables the auto-configured one.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(STOCK_TASK_SCHEDULER)
+    public ThreadPoolTaskScheduler stockTaskScheduler(@Value("${scheduling.stock-pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("stock-scheduling-");
+        return scheduler;
+    }
+}
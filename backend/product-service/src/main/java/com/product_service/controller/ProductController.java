@@ -1,36 +1,90 @@
 package com.product_service.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.product_service.dto.BoughtTogether;
+import com.product_service.dto.CatalogChangePage;
+import com.product_service.dto.ImportReport;
+import com.product_service.dto.PriceUpdateRequest;
+import com.product_service.dto.PriceUpdateResult;
+import com.product_service.dto.ProductFacets;
+import com.product_service.dto.ProductQuery;
+import com.product_service.dto.ProductSearchResult;
+import com.product_service.dto.ProductSuggestion;
+import com.product_service.dto.StockBatchRequest;
+import com.product_service.dto.StockBatchResult;
+import com.product_service.dto.StockLineRequest;
+import com.product_service.dto.TopSeller;
+import com.product_service.exception.ProductConflictException;
 import com.product_service.exception.ProductNotFoundException;
 import com.product_service.exception.ProductOperationException;
 import com.product_service.model.CurrentUser;
+import com.product_service.model.ProductVersion;
+import com.product_service.model.SerializedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import com.product_service.entity.Product;
+import com.product_service.search.ProductSearchIndex;
+import com.product_service.service.AutocompleteService;
+import com.product_service.service.CoPurchaseService;
+import com.product_service.service.FlashSaleService;
+import com.product_service.service.ProductExportService;
+import com.product_service.service.ProductFacetService;
+import com.product_service.service.ProductImportService;
+import com.product_service.service.ProductPriceService;
+import com.product_service.service.ProductResponseCacheService;
+import com.product_service.service.ProductSearchService;
 import com.product_service.service.ProductService;
+import com.product_service.service.ShardedStockService;
+import com.product_service.service.TopSellersService;
 
 /**
  * REST controller for product management operations.
  * 
  * <p>This controller provides endpoints for:
  * <ul>
- *   <li>Retrieving all products (CLIENT access)</li>
+ *   <li>Retrieving filtered, sorted pages of the catalog (CLIENT access)</li>
+ *   <li>Full-text product search (CLIENT access)</li>
+ *   <li>Product name autocomplete (CLIENT access)</li>
+ *   <li>Category facets and price histograms (CLIENT access)</li>
+ *   <li>Live top sellers leaderboard (CLIENT access)</li>
+ *   <li>Products frequently bought together with a product (CLIENT access)</li>
+ *   <li>Catalog changes since a change sequence number (CLIENT access)</li>
+ *   <li>Retrieving a product by name (CLIENT access)</li>
  *   <li>Retrieving a product by ID (public access)</li>
  *   <li>Updating product stock (CLIENT access)</li>
+ *   <li>Reserving and restoring stock for several products at once (CLIENT access)</li>
  *   <li>Saving new products (ADMIN access)</li>
  *   <li>Bulk saving products (ADMIN access)</li>
+ *   <li>Streaming CSV and NDJSON catalog imports (ADMIN access)</li>
+ *   <li>Streaming NDJSON catalog exports (ADMIN access)</li>
+ *   <li>Bulk price updates by category or product list (ADMIN access)</li>
+ *   <li>Switching products in and out of flash-sale mode (ADMIN access)</li>
+ *   <li>Promoting products to sharded stock and demoting them (ADMIN access)</li>
  * </ul>
  * 
  * <p>All endpoints except findProductById require authentication. 
@@ -44,46 +98,419 @@ import com.product_service.service.ProductService;
 @SecurityRequirement(name = "bearerAuth")
 public class ProductController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    private static final int DEFAULT_TOP_SELLERS_LIMIT = 10;
+    private static final int MAX_TOP_SELLERS_LIMIT = 100;
+    private static final int DEFAULT_BOUGHT_TOGETHER_LIMIT = 10;
+    private static final int MAX_BOUGHT_TOGETHER_LIMIT = 20;
+    private static final int DEFAULT_CHANGES_SIZE = 100;
+    private static final int MAX_CHANGES_SIZE = 1000;
+    private static final String MEDIA_TYPE_CSV = "text/csv";
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final AutocompleteService autocompleteService;
+    private final ProductFacetService productFacetService;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final ProductResponseCacheService productResponseCacheService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductPriceService productPriceService;
+    private final TopSellersService topSellersService;
+    private final CoPurchaseService coPurchaseService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all available products from the catalog.
+     * Retrieves one page of the product catalog.
      * 
-     * <p>This endpoint is restricted to CLIENT users.
+     * <p>This endpoint is restricted to CLIENT users. Pages are addressed by the
+     * {@code cursor} returned with the previous page (keyset pagination) or by a
+     * zero-based {@code page} number (offset pagination); without either the first
+     * page is returned. Products can be filtered by category, price range and
+     * availability and sorted by ID, price or name. The total count is only
+     * computed with {@code includeTotal=true}, and callers that only need catalog
+     * data can skip the stock lookup with {@code includeStock=false}.
      * 
-     * @return ResponseEntity containing the list of all products or error message
+     * <p>The first pages of each filter and order are written from JSON kept by
+     * the {@link ProductResponseCacheService}. Every page carries a strong ETag.
+     * 
+     * @param category only products of this category
+     * @param minPrice inclusive lower price bound
+     * @param maxPrice inclusive upper price bound
+     * @param inStock true for products with stock, false for products without
+     * @param sort the sort field: id, price or name
+     * @param direction the sort direction: asc or desc
+     * @param size the page size
+     * @param page the zero-based page number for offset pagination
+     * @param cursor the cursor of the previous page for keyset pagination
+     * @param includeTotal whether the total number of matching products is counted
+     * @param includeStock whether the current stock of each product is included
+     * @return ResponseEntity containing the page of products or error message
      */
-    @Operation(summary = "Get all products", description = "Retrieves all available products from the catalog")
+    @Operation(summary = "Get products", description = "Retrieves a filtered, sorted page of the product catalog")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid page request"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
-    public ResponseEntity<ApiResponse<List<Product>>> findAllProducts() {
-        log.info("Get all products request received");
+    public ResponseEntity<?> findProducts(
+            @RequestParam(value = "category", required = false) Product.Category category,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "inStock", required = false) Boolean inStock,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(value = "includeStock", defaultValue = "true") boolean includeStock) {
+        log.info("Get products request received");
+
+        ProductQuery.SortField sortField = parseEnum(ProductQuery.SortField.class, sort);
+        Sort.Direction sortDirection = parseEnum(Sort.Direction.class, direction);
+
+        String error = null;
+        if (sortField == null) {
+            error = "Sort must be one of: id, price, name";
+        } else if (sortDirection == null) {
+            error = "Direction must be asc or desc";
+        } else if (size < 1 || size > MAX_PAGE_SIZE) {
+            error = "Page size must be between 1 and " + MAX_PAGE_SIZE;
+        } else if (page != null && page < 0) {
+            error = "Page number must be a non-negative value";
+        } else if (page != null && cursor != null) {
+            error = "Use either a page number or a cursor, not both";
+        } else if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            error = "Minimum price must not exceed maximum price";
+        }
+        if (error != null) {
+            log.error("Get products failed: {}", error);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", error, null));
+        }
+
+        ProductQuery query = ProductQuery.builder()
+                .category(category)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .sort(sortField)
+                .direction(sortDirection)
+                .size(size)
+                .page(page)
+                .cursor(cursor)
+                .includeTotal(includeTotal)
+                .includeStock(includeStock)
+                .build();
 
         try {
-            List<Product> products = productService.findAllProducts();
+            SerializedResponse response = productResponseCacheService.getPage(query, products -> products.getItems().isEmpty()
+                    ? new ApiResponse<>("SUCCESS", "No products found", products)
+                    : new ApiResponse<>("SUCCESS", "Products retrieved successfully", products));
 
-            if (products.isEmpty()) {
-                log.debug("No products found in catalog");
-                return ResponseEntity.ok(
-                        new ApiResponse<>("SUCCESS", "No products found", products));
-            }
+            log.info("Successfully retrieved catalog page");
 
-            log.info("Successfully retrieved {} product(s)", products.size());
+            return serialized(response);
 
-            return ResponseEntity.ok(
-                    new ApiResponse<>("SUCCESS", "Products retrieved successfully", products));
+        } catch (ProductOperationException e) {
+            log.error("Get products failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
 
         } catch (Exception e) {
-            log.error("Unexpected error while retrieving all products", e);
+            log.error("Unexpected error while retrieving products", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving products", null));
         }
     }
 
+    /**
+     * Searches product names and descriptions.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Hits are ranked by relevance
+     * and can be filtered by category, price range and availability. Searches are
+     * answered from an in-memory index and never reach the database.
+     * 
+     * @param text the query text
+     * @param category only products of this category
+     * @param minPrice inclusive lower price bound
+     * @param maxPrice inclusive upper price bound
+     * @param inStock true for products with stock, false for products without
+     * @param limit the maximum number of hits returned
+     * @return ResponseEntity containing the ranked hits or error message
+     */
+    @Operation(summary = "Search products", description = "Full-text search over product names and descriptions")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid search request"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<ProductSearchResult>> searchProducts(
+            @RequestParam("q") String text,
+            @RequestParam(value = "category", required = false) Product.Category category,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "inStock", required = false) Boolean inStock,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        log.info("Search products request received: {}", text);
+
+        String error = null;
+        if (text == null || text.isBlank()) {
+            error = "Search text is required";
+        } else if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            error = "Limit must be between 1 and " + MAX_PAGE_SIZE;
+        } else if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            error = "Minimum price must not exceed maximum price";
+        }
+        if (error != null) {
+            log.error("Search products failed: {}", error);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", error, null));
+        }
+
+        try {
+            ProductSearchResult result = productSearchService.search(text,
+                    new ProductSearchIndex.Filter(category, minPrice, maxPrice, inStock), limit);
+
+            log.info("Search for '{}' matched {} product(s)", text, result.getTotal());
+
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS",
+                    result.getTotal() == 0 ? "No products found" : "Search completed successfully", result));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while searching products: {}", text, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while searching products", null));
+        }
+    }
+
+    /**
+     * Suggests product names for a typed prefix.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. A name matches when one of
+     * its words starts with the prefix, ignoring case and accents; the last word
+     * of the prefix may be incomplete. Suggestions are ranked by availability and
+     * answered from an in-memory index, so the endpoint can be called on every keystroke.
+     * 
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions returned
+     * @return ResponseEntity containing the suggestions or error message
+     */
+    @Operation(summary = "Suggest product names", description = "Prefix autocomplete over product names")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Suggestions retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ProductSuggestion>>> suggestProducts(
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_SUGGEST_LIMIT) int limit) {
+        log.debug("Suggest products request received: {}", prefix);
+
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            log.error("Suggest products failed: invalid limit {}", limit);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Limit must be between 1 and " + MAX_SUGGEST_LIMIT, null));
+        }
+
+        try {
+            List<ProductSuggestion> suggestions = autocompleteService.suggest(prefix, limit);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS",
+                    "Retrieved " + suggestions.size() + " suggestion(s)", suggestions));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while suggesting products: {}", prefix, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while suggesting products", null));
+        }
+    }
+
+    /**
+     * Retrieves product counts per category, availability and price bucket.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Counts are maintained in
+     * memory as products and stock change and are reconciled with the catalog
+     * periodically, so they may briefly lag behind concurrent updates.
+     * 
+     * @param category only this category; every category when omitted
+     * @return ResponseEntity containing the facets or error message
+     */
+    @Operation(summary = "Get catalog facets", description = "Product counts per category, availability and price bucket")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Facets retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid category"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/facets")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<ProductFacets>> getFacets(
+            @RequestParam(value = "category", required = false) Product.Category category) {
+        log.info("Get facets request received for category: {}", category);
+
+        try {
+            ProductFacets facets = productFacetService.getFacets(category);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Facets retrieved successfully", facets));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving facets", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving facets", null));
+        }
+    }
+
+    /**
+     * Retrieves the products with the most units sold recently.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Units are counted in memory
+     * from order events over a sliding window, so the leaderboard is approximate:
+     * each count may exceed the true number by at most its reported overestimate.
+     * 
+     * @param category only this category; every category when omitted
+     * @param limit the maximum number of products returned
+     * @return ResponseEntity containing the top sellers or error message
+     */
+    @Operation(summary = "Get top sellers", description = "Products with the most units sold within the recent window")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Top sellers retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid category or limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/top-sellers")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<TopSeller>>> getTopSellers(
+            @RequestParam(value = "category", required = false) Product.Category category,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_TOP_SELLERS_LIMIT) int limit) {
+        log.debug("Get top sellers request received for category: {}", category);
+
+        if (limit < 1 || limit > MAX_TOP_SELLERS_LIMIT) {
+            log.error("Get top sellers failed: invalid limit {}", limit);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Limit must be between 1 and " + MAX_TOP_SELLERS_LIMIT, null));
+        }
+
+        try {
+            List<TopSeller> topSellers = topSellersService.getTopSellers(category, limit);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS",
+                    "Retrieved " + topSellers.size() + " top seller(s)", topSellers));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving top sellers", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving top sellers", null));
+        }
+    }
+
+    /**
+     * Retrieves the products most often ordered together with a product.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Pairs are counted in memory
+     * from order events with approximate counters, so the number of orders may be
+     * slightly overestimated; pairs ordered together only rarely are not listed.
+     * 
+     * @param idProduct the product ID
+     * @param limit the maximum number of products returned
+     * @return ResponseEntity containing the companions or error message
+     */
+    @Operation(summary = "Get products bought together", description = "Products most often ordered together with a product")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Companions retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{idProduct}/bought-together")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<BoughtTogether>>> getBoughtTogether(
+            @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_BOUGHT_TOGETHER_LIMIT) int limit) {
+        log.debug("Get bought together request received for product ID: {}", idProduct);
+
+        if (limit < 1 || limit > MAX_BOUGHT_TOGETHER_LIMIT) {
+            log.error("Get bought together failed: invalid limit {}", limit);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Limit must be between 1 and " + MAX_BOUGHT_TOGETHER_LIMIT, null));
+        }
+
+        try {
+            List<BoughtTogether> companions = coPurchaseService.getBoughtTogether(idProduct, limit);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS",
+                    "Retrieved " + companions.size() + " product(s) bought together", companions));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving products bought together with ID: {}", idProduct, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving products bought together", null));
+        }
+    }
+
+    /**
+     * Retrieves the products changed after a change sequence number.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Every product write (creation,
+     * update, stock change) gets a monotonically increasing sequence number. A
+     * consumer starts with {@code since=0}, applies the returned products and
+     * tombstones, and polls again with {@code nextSince}; pages follow immediately
+     * while {@code hasMore} is true.
+     * 
+     * @param since the sequence number the consumer has synchronized up to
+     * @param size the maximum number of changes read
+     * @return ResponseEntity containing the page of changes or error message
+     */
+    @Operation(summary = "Get catalog changes", description = "Products changed after a change sequence number, with tombstones")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Changes retrieved"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid change request"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<CatalogChangePage>> findChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_CHANGES_SIZE) int size) {
+        log.info("Get catalog changes request received after sequence: {}", since);
+
+        if (since < 0) {
+            log.error("Get catalog changes failed: Invalid sequence number: {}", since);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Sequence number must be a non-negative value", null));
+        }
+        if (size < 1 || size > MAX_CHANGES_SIZE) {
+            log.error("Get catalog changes failed: Invalid size: {}", size);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Size must be between 1 and " + MAX_CHANGES_SIZE, null));
+        }
+
+        try {
+            CatalogChangePage changes = productService.findChanges(since, size);
+
+            log.info("Successfully retrieved {} catalog change(s)", changes.getItems().size());
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", "Changes retrieved successfully", changes));
+
+        } catch (ProductOperationException e) {
+            log.error("Get catalog changes failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving catalog changes", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving catalog changes", null));
+        }
+    }
+
     /**
      * Updates the stock quantity for a specific product.
      * 
@@ -209,10 +636,56 @@ public class ProductController {
         }
     }
 
+    /**
+     * Reserves (decreases) stock for several products in one transaction.
+     * 
+     * <p>Products are locked in ascending ID order. In ALL_OR_NOTHING mode (the default)
+     * a single failed line rolls back the whole batch; in BEST_EFFORT mode successful
+     * lines are kept. The response always contains one result per product.
+     * 
+     * @param request the lines to reserve and the batch mode
+     * @return ResponseEntity containing the per-product results or error message
+     */
+    @Operation(summary = "Reserve stock in batch", description = "Decreases the stock of several products in a single transaction")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch applied (fully or, in best-effort mode, partially)"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request or batch rolled back")
+    })
+    @PutMapping("/update/stock")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<StockBatchResult>> reserveStockBatch(@RequestBody StockBatchRequest request) {
+        return applyStockBatch(request, "reserve", productService::reserveStockBatch);
+    }
+
+    /**
+     * Restores (increases) stock for several products in one transaction.
+     * 
+     * <p>This endpoint is used when a cart with several items is cleared.
+     * Products are locked in ascending ID order and the same modes as the
+     * batch reservation apply.
+     * 
+     * @param request the lines to restore and the batch mode
+     * @return ResponseEntity containing the per-product results or error message
+     */
+    @Operation(summary = "Restore stock in batch", description = "Increases the stock of several products in a single transaction")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch applied (fully or, in best-effort mode, partially)"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request or batch rolled back")
+    })
+    @PutMapping("/restore/stock")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<StockBatchResult>> restoreStockBatch(@RequestBody StockBatchRequest request) {
+        return applyStockBatch(request, "restore", productService::restoreStockBatch);
+    }
+
     /**
      * Saves a new product to the catalog.
      * 
-     * <p>This endpoint is restricted to ADMIN users only.
+     * <p>This endpoint is restricted to ADMIN users only. A product with an ID
+     * updates the existing one and must carry the {@code version} it was read at;
+     * if the product changed since, the update is refused with 409 Conflict.
+     * The stock may be omitted: a new product then starts with none and an update
+     * keeps its stock, which is how products in flash-sale or sharded mode are edited.
      * 
      * @param product the product entity to save
      * @return ResponseEntity containing the saved product or error message
@@ -220,8 +693,9 @@ public class ProductController {
     @Operation(summary = "Save a new product", description = "Adds a new product to the catalog (Admin only)")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Product saved"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product data"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product data or update without a version"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Product changed since the version given")
     })
     @PostMapping("/save")
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -241,7 +715,7 @@ public class ProductController {
                     .body(new ApiResponse<>("ERROR", "Product price must be a positive value", null));
         }
 
-        if (product.getStock() == null || product.getStock() < 0) {
+        if (product.getStock() != null && product.getStock() < 0) {
             log.error("Save product failed: Invalid stock for product: {}", product.getName());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>("ERROR", "Product stock must be a non-negative value", null));
@@ -255,6 +729,11 @@ public class ProductController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse<>("SUCCESS", "Product saved successfully", savedProduct));
 
+        } catch (ProductConflictException e) {
+            log.warn("Save product refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
         } catch (ProductOperationException e) {
             log.error("Save product failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -270,7 +749,9 @@ public class ProductController {
     /**
      * Saves a list of products to the catalog in bulk.
      * 
-     * <p>This endpoint is restricted to ADMIN users only.
+     * <p>This endpoint is restricted to ADMIN users only. Updates must carry their
+     * {@code version}; if one product changed since, no product is saved and the
+     * request is refused with 409 Conflict.
      * 
      * @param products the list of product entities to save
      * @return ResponseEntity containing the list of saved products or error message
@@ -278,8 +759,9 @@ public class ProductController {
     @Operation(summary = "Bulk save products", description = "Adds multiple products to the catalog (Admin only)")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Products saved"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product data"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product data or update without a version"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "A product changed since the version given")
     })
     @PostMapping("/save/list")
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -301,6 +783,11 @@ public class ProductController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse<>("SUCCESS", "Products saved successfully", savedProducts));
 
+        } catch (ProductConflictException e) {
+            log.warn("Bulk save products refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
         } catch (ProductOperationException e) {
             log.error("Bulk save products failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -313,10 +800,319 @@ public class ProductController {
         }
     }
 
+    /**
+     * Imports products from a CSV or NDJSON request body.
+     * 
+     * <p>This endpoint is restricted to ADMIN users only. The body is read as a
+     * stream and written in chunked transactions, so it may hold any number of
+     * rows. Rows are matched to existing products by name; a match is updated and
+     * any other row creates a product. CSV bodies start with a header row naming
+     * the columns: name, price and category are required, description, stock and
+     * imageUrl are optional. Rows that cannot be imported are listed in the report
+     * with their line number.
+     * 
+     * @param request the HTTP request whose body is imported
+     * @return ResponseEntity containing the import report or error message
+     */
+    @Operation(summary = "Import products", description = "Upserts products by name from a streamed CSV or NDJSON body (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished; see the report for failed rows"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unreadable import"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping(value = "/import", consumes = {MEDIA_TYPE_CSV, MEDIA_TYPE_NDJSON})
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportReport>> importProducts(HttpServletRequest request) {
+        ProductImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        log.info("Import products request received in format: {}", format);
+
+        try (Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            ImportReport report = productImportService.importProducts(body, format);
+
+            log.info("Import finished: {} inserted, {} updated, {} failed",
+                    report.getInserted(), report.getUpdated(), report.getFailed());
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", "Import finished", report));
+
+        } catch (ProductOperationException e) {
+            log.error("Import products failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while importing products", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while importing products", null));
+        }
+    }
+
+    /**
+     * Exports the whole catalog as NDJSON.
+     * 
+     * <p>This endpoint is restricted to ADMIN users only. Products are written one
+     * JSON object per line, in ascending ID order and with their current stock, as
+     * they are read from the database, so the response can be of any size. With
+     * {@code gzip=true} the body is compressed and sent with
+     * {@code Content-Encoding: gzip}. An error after the first bytes were sent
+     * aborts the response instead of completing it.
+     * 
+     * @param gzip whether the body is gzip-compressed
+     * @param response the HTTP response the products are written to
+     * @throws IOException if the response cannot be written after it was committed
+     */
+    @Operation(summary = "Export products", description = "Streams the whole catalog as NDJSON, optionally gzip-compressed (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Catalog exported"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping(value = "/export", produces = MEDIA_TYPE_NDJSON)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void exportProducts(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("Export products request received, gzip: {}", gzip);
+
+        response.setContentType(MEDIA_TYPE_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog.ndjson\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try {
+            long count;
+            if (gzip) {
+                try (GZIPOutputStream body = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+                    count = productExportService.exportProducts(body);
+                }
+            } else {
+                count = productExportService.exportProducts(response.getOutputStream());
+            }
+
+            log.info("Successfully exported {} product(s)", count);
+
+        } catch (Exception e) {
+            log.error("Unexpected error while exporting products", e);
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ApiResponse<>("ERROR", "An unexpected error occurred while exporting products", null));
+        }
+    }
+
+    /**
+     * Applies a price rule to many products at once.
+     * 
+     * <p>This endpoint is restricted to ADMIN users only. The rule either changes
+     * prices by a percentage or sets them to a value, for the products of a
+     * category, a list of product IDs, or the listed products of a category. It is
+     * applied with one UPDATE statement per batch of products, each batch in its
+     * own transaction, and caches and indexes follow every committed batch. If a
+     * batch fails, the result is returned with 500 and the last product ID the
+     * committed batches cover; the request is resumed by sending it again with
+     * that ID as {@code afterId}.
+     * 
+     * @param request the products and the price rule
+     * @return ResponseEntity containing the number of products updated or error message
+     */
+    @Operation(summary = "Bulk update prices", description = "Changes prices by percentage or to a value for a category or list of products (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Prices updated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid price rule"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Update stopped on a failing batch; resume after the returned lastId")
+    })
+    @PutMapping("/price")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<PriceUpdateResult>> updatePrices(@RequestBody PriceUpdateRequest request) {
+        log.info("Bulk price update request received");
+
+        try {
+            PriceUpdateResult result = productPriceService.updatePrices(request);
+
+            if (!result.isCompleted()) {
+                log.error("Bulk price update stopped after {} product(s) at product ID {}",
+                        result.getRowsAffected(), result.getLastId());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new ApiResponse<>("ERROR", "Bulk price update stopped after " + result.getRowsAffected()
+                                + " product(s); " + (result.getLastId() != null
+                                        ? "resume it with afterId " + result.getLastId()
+                                        : "no batch was committed"), result));
+            }
+
+            log.info("Successfully updated the price of {} product(s)", result.getRowsAffected());
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", "Prices updated successfully", result));
+
+        } catch (ProductOperationException e) {
+            log.error("Bulk price update failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while updating prices in bulk", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while updating prices", null));
+        }
+    }
+
+    /**
+     * Switches a product into flash-sale mode.
+     * 
+     * <p>While in this mode the product's stock is reserved from an in-memory ledger
+     * and written back to the database periodically. This endpoint is restricted to ADMIN users.
+     * 
+     * @param idProduct the unique identifier of the product
+     * @return ResponseEntity containing the product or error message
+     */
+    @Operation(summary = "Enable flash-sale mode", description = "Serves the product's stock from the in-memory flash-sale ledger (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Flash-sale mode enabled"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PutMapping("/flash-sale/{idProduct}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<Product>> enableFlashSale(
+            @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct) {
+        return switchStockMode(idProduct, "flash-sale enabled", () -> flashSaleService.enableFlashSale(idProduct));
+    }
+
+    /**
+     * Switches a product back from flash-sale mode to regular database stock.
+     * 
+     * <p>This endpoint is restricted to ADMIN users.
+     * 
+     * @param idProduct the unique identifier of the product
+     * @return ResponseEntity containing the product or error message
+     */
+    @Operation(summary = "Disable flash-sale mode", description = "Writes the ledger stock back and returns the product to database stock (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Flash-sale mode disabled"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @DeleteMapping("/flash-sale/{idProduct}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<Product>> disableFlashSale(
+            @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct) {
+        return switchStockMode(idProduct, "flash-sale disabled", () -> flashSaleService.disableFlashSale(idProduct));
+    }
+
+    /**
+     * Promotes a product to sharded stock, splitting its stock across several slot rows.
+     * 
+     * <p>Reservations then spread their row locks over the slots. This endpoint is
+     * restricted to ADMIN users.
+     * 
+     * @param idProduct the unique identifier of the product
+     * @param slots the number of slot rows
+     * @return ResponseEntity containing the product or error message
+     */
+    @Operation(summary = "Promote to sharded stock", description = "Splits the product's stock across several slot rows (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product promoted"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid slot count or product mode"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PutMapping("/stock-shards/{idProduct}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<Product>> promoteShardedStock(
+            @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct,
+            @Parameter(description = "Number of stock slots") @RequestParam(value = "slots", defaultValue = "8") int slots) {
+        return switchStockMode(idProduct, "sharded across " + slots + " slot(s)",
+                () -> shardedStockService.promote(idProduct, slots));
+    }
+
+    /**
+     * Demotes a product from sharded stock, folding its slots back into the product row.
+     * 
+     * <p>This endpoint is restricted to ADMIN users.
+     * 
+     * @param idProduct the unique identifier of the product
+     * @return ResponseEntity containing the product or error message
+     */
+    @Operation(summary = "Demote from sharded stock", description = "Folds the product's stock slots back into the product row (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product demoted"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @DeleteMapping("/stock-shards/{idProduct}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<Product>> demoteShardedStock(
+            @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct) {
+        return switchStockMode(idProduct, "sharded stock removed", () -> shardedStockService.demote(idProduct));
+    }
+
+    /**
+     * Retrieves a product by its name.
+     * 
+     * <p>This endpoint is restricted to CLIENT users. Names are compared ignoring
+     * case, accents and repeated whitespace, through an index on the hash of the
+     * normalized name.
+     * 
+     * @param name the product name
+     * @return ResponseEntity containing the product or error message
+     */
+    @Operation(summary = "Get product by name", description = "Retrieves a single product by its name, ignoring case, accents and whitespace")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing name"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    @GetMapping("/by-name")
+    @PreAuthorize("hasAnyAuthority('CLIENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Product>> findProductByName(@RequestParam("name") String name) {
+        log.info("Get product by name request received: {}", name);
+
+        if (name == null || name.isBlank()) {
+            log.error("Get product by name failed: Name is blank");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Name cannot be empty", null));
+        }
+
+        try {
+            Product product = productService.findProductByName(name);
+
+            log.info("Successfully retrieved product with ID: {}", product.getId());
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", "Product retrieved successfully", product));
+
+        } catch (ProductNotFoundException e) {
+            log.error("Get product by name failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while retrieving product with name: {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while retrieving the product", null));
+        }
+    }
+
     /**
      * Retrieves a product by its unique identifier.
      * 
      * <p>This endpoint is publicly accessible (no authentication required).
+     * The response is written from JSON kept by the {@link ProductResponseCacheService}
+     * until the product changes, with a strong ETag built from the product version and
+     * stock, and a Last-Modified date when the stock is held by the inventory row.
+     * 
+     * <p>Requests carrying If-None-Match or If-Modified-Since are checked against the
+     * product's version and stock alone, read without loading the catalog data, and
+     * answered with 304 Not Modified when the client's copy is current.
      * 
      * @param request the HTTP request containing optional user headers
      * @param idProduct the unique identifier of the product to retrieve
@@ -328,7 +1124,7 @@ public class ProductController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{idProduct}")
-    public ResponseEntity<ApiResponse<Product>> findProductById(
+    public ResponseEntity<?> findProductById(
             HttpServletRequest request,
             @Parameter(description = "Product ID") @PathVariable("idProduct") Long idProduct) {
 
@@ -342,12 +1138,24 @@ public class ProductController {
         }
 
         try {
-            Product product = productService.findProductById(idProduct);
+            ProductVersion version = isConditional(request)
+                    ? productResponseCacheService.getProductVersion(idProduct)
+                    : null;
+            if (version != null && isNotModified(request, version.etag(), version.lastModified())) {
+                log.debug("Product with ID: {} not modified", idProduct);
+                ResponseEntity.BodyBuilder notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag());
+                if (version.lastModified() != null) {
+                    notModified.lastModified(version.lastModified());
+                }
+                return notModified.build();
+            }
+
+            SerializedResponse response = productResponseCacheService.getProduct(idProduct,
+                    product -> new ApiResponse<>("SUCCESS", "Product retrieved successfully", product));
 
             log.info("Successfully retrieved product with ID: {}", idProduct);
 
-            return ResponseEntity.ok(
-                    new ApiResponse<>("SUCCESS", "Product retrieved successfully", product));
+            return serialized(response);
 
         } catch (ProductNotFoundException e) {
             log.warn("Product not found with ID: {}", idProduct);
@@ -363,6 +1171,70 @@ public class ProductController {
 
     // ==================== Private Helper Methods ====================
 
+    /**
+     * Writes a serialized response as is, tagged with its ETag. Spring answers
+     * 304 Not Modified instead when the request's If-None-Match matches the tag.
+     * 
+     * @param response the serialized response body and its ETag
+     * @return ResponseEntity carrying the JSON bytes
+     */
+    private ResponseEntity<byte[]> serialized(SerializedResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag());
+        if (response.lastModified() != null) {
+            builder.lastModified(response.lastModified());
+        }
+        return builder.body(response.body());
+    }
+
+    /**
+     * Tells whether a request carries a conditional GET header.
+     * 
+     * @param request the HTTP request
+     * @return true if If-None-Match or If-Modified-Since is present
+     */
+    private boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates the conditional GET headers of a request against the current
+     * validators of a resource. If-Modified-Since is only considered without
+     * If-None-Match, and is ignored when it cannot be parsed.
+     * 
+     * @param request the HTTP request
+     * @param etag the current strong ETag
+     * @param lastModified the current modification time, or null if unknown
+     * @return true if the client's copy is current
+     */
+    private boolean isNotModified(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Builds a CurrentUser object from authentication and request headers.
      * 
@@ -394,6 +1266,130 @@ public class ProductController {
         return new CurrentUser(email, role, userId);
     }
 
+    /**
+     * Switches the stock mode of a product and maps the outcome to a response.
+     * 
+     * @param idProduct the unique identifier of the product
+     * @param description description of the switch used in logs and messages
+     * @param modeSwitch the service call performing the switch
+     * @return ResponseEntity containing the product or error message
+     */
+    private ResponseEntity<ApiResponse<Product>> switchStockMode(Long idProduct, String description, Runnable modeSwitch) {
+        log.info("Stock mode request received for product ID: {} - {}", idProduct, description);
+
+        // Validate product ID
+        if (idProduct == null || idProduct <= 0) {
+            log.error("Stock mode switch failed: Invalid product ID: {}", idProduct);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Invalid product ID", null));
+        }
+
+        try {
+            modeSwitch.run();
+            Product product = productService.findProductById(idProduct);
+
+            log.info("Stock mode switched for product ID: {} - {}", idProduct, description);
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>("SUCCESS", "Stock mode switched successfully: " + description, product));
+
+        } catch (ProductNotFoundException e) {
+            log.warn("Product not found with ID: {}", idProduct);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (ProductOperationException e) {
+            log.error("Stock mode switch failed for product ID: {} - {}", idProduct, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while switching stock mode for product ID: {}", idProduct, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while switching stock mode", null));
+        }
+    }
+
+    /**
+     * Validates a batch stock request, applies it and maps the outcome to a response.
+     * 
+     * @param request the batch request to apply
+     * @param operation the operation name used in logs and messages
+     * @param batch the service method applying the batch
+     * @return ResponseEntity containing the per-product results or error message
+     */
+    private ResponseEntity<ApiResponse<StockBatchResult>> applyStockBatch(
+            StockBatchRequest request, String operation, Function<StockBatchRequest, StockBatchResult> batch) {
+
+        log.info("Batch {} stock request received", operation);
+
+        // Validate input parameters
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            log.error("Batch {} stock failed: No items provided", operation);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", "Stock items cannot be empty", null));
+        }
+
+        for (StockLineRequest line : request.getItems()) {
+            if (line == null || line.getIdProduct() == null || line.getIdProduct() <= 0) {
+                log.error("Batch {} stock failed: Invalid product ID in line: {}", operation, line);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>("ERROR", "Invalid product ID", null));
+            }
+            if (line.getQuantity() == null || line.getQuantity() < 0) {
+                log.error("Batch {} stock failed: Invalid quantity in line: {}", operation, line);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>("ERROR", "Invalid quantity value", null));
+            }
+        }
+
+        try {
+            StockBatchResult result = batch.apply(request);
+
+            if (result.getApplied() == 0 && result.getFailed() > 0) {
+                log.warn("Batch {} stock not applied: {} line(s) failed", operation, result.getFailed());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>("ERROR", "Stock batch could not be applied", result));
+            }
+
+            String message = result.isComplete()
+                    ? "Stock batch applied successfully"
+                    : String.format("Stock batch partially applied: %d of %d product(s)",
+                            result.getApplied(), result.getApplied() + result.getFailed());
+
+            log.info("Batch {} stock completed. Applied: {}, Failed: {}",
+                    operation, result.getApplied(), result.getFailed());
+
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", message, result));
+
+        } catch (ProductOperationException e) {
+            log.error("Batch {} stock failed - {}", operation, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Unexpected error while applying batch {} stock", operation, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>("ERROR", "An unexpected error occurred while updating stock", null));
+        }
+    }
+
+    /**
+     * Parses a request parameter into an enum constant, ignoring case.
+     * 
+     * @param type the enum type
+     * @param value the raw parameter value
+     * @return the matching constant, or null if none matches
+     */
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value.trim())) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
     // ==================== Response Record ====================
 
     /**
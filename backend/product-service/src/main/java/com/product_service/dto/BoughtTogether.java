@@ -0,0 +1,32 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a product frequently bought together with another one.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoughtTogether {
+
+    /**
+     * The companion product ID.
+     */
+    private Long idProduct;
+
+    /**
+     * The companion product name, or null if the product no longer exists.
+     */
+    private String name;
+
+    /**
+     * Estimated number of orders containing both products; never below the true number.
+     */
+    private Long orders;
+
+}
@@ -0,0 +1,38 @@
+package com.product_service.dto;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one entry of a catalog delta.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogChange {
+
+    /**
+     * Sequence number of the product's latest change in the delta.
+     */
+    private long seq;
+
+    /**
+     * The ID of the changed product.
+     */
+    private Long idProduct;
+
+    /**
+     * True if the product no longer exists; consumers remove it.
+     */
+    private boolean deleted;
+
+    /**
+     * The current state of the product with its stock, or null for a deleted product.
+     */
+    private Product product;
+
+}
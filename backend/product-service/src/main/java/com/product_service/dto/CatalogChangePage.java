@@ -0,0 +1,35 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one page of catalog changes.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogChangePage {
+
+    /**
+     * The changed products, one entry per product, in sequence order.
+     */
+    private List<CatalogChange> items;
+
+    /**
+     * The sequence number to pass as {@code since} for the next page; the same
+     * value as requested when there are no new changes.
+     */
+    private long nextSince;
+
+    /**
+     * Whether more changes follow this page.
+     */
+    private boolean hasMore;
+
+}
@@ -0,0 +1,40 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the product counts of one category.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacet {
+
+    /**
+     * The category.
+     */
+    private Product.Category category;
+
+    /**
+     * Number of products in the category.
+     */
+    private int total;
+
+    /**
+     * Number of products in the category with stock.
+     */
+    private int inStock;
+
+    /**
+     * Price histogram of the category, cheapest bucket first.
+     */
+    private List<PriceBucket> priceBuckets;
+
+}
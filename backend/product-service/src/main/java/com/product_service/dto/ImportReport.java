@@ -0,0 +1,69 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing the outcome of a streaming catalog import.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+
+    /**
+     * Number of data rows read from the input.
+     */
+    private long rowsRead;
+
+    /**
+     * Number of products created.
+     */
+    private long inserted;
+
+    /**
+     * Number of existing products updated, matched by name.
+     */
+    private long updated;
+
+    /**
+     * Number of rows that were not imported.
+     */
+    private long failed;
+
+    /**
+     * Time spent reading and writing, in milliseconds.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Rows read per second over the whole import.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * Rows that were not imported, in input order; capped at a configured maximum.
+     */
+    private List<ImportRowError> errors;
+
+    /**
+     * Whether more rows failed than are listed in errors.
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * Whether the whole input was read; false if reading stopped on an unreadable stream.
+     */
+    private boolean completed;
+
+    /**
+     * Why reading stopped early, or null if the whole input was read.
+     */
+    private String abortReason;
+
+}
@@ -0,0 +1,32 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing a row of a catalog import that was not imported.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowError {
+
+    /**
+     * Line of the input the row starts on, counting the CSV header.
+     */
+    private long line;
+
+    /**
+     * Name of the product on the row, or null if it could not be read.
+     */
+    private String name;
+
+    /**
+     * Why the row was not imported.
+     */
+    private String message;
+
+}
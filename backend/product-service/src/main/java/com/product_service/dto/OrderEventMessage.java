@@ -0,0 +1,79 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for order events published by Order Service.
+ *
+ * <p>Received from the {@code order-events} topic whenever an order is placed.
+ * Carries the products and quantities of the order; customer details are never
+ * included. Delivery is at-least-once, so the same {@code eventId} may be
+ * received more than once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventMessage {
+
+    /**
+     * Globally unique event identifier.
+     */
+    private String eventId;
+
+    /**
+     * Type of order event.
+     */
+    private EventType eventType;
+
+    /**
+     * Identifier of the order.
+     */
+    private Long orderId;
+
+    /**
+     * Products of the order with their quantities.
+     */
+    private List<Item> items;
+
+    /**
+     * Time the order was placed, in epoch milliseconds.
+     */
+    private Long occurredAt;
+
+    /**
+     * Enum representing the order events published.
+     *
+     * <ul>
+     *   <li>CREATED - The order has been placed</li>
+     * </ul>
+     */
+    public enum EventType {
+        CREATED
+    }
+
+    /**
+     * A product of the order and the quantity ordered.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * Identifier of the product in the catalog.
+         */
+        private Long idProduct;
+
+        /**
+         * Quantity of the product ordered.
+         */
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,37 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one bucket of a price histogram.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceBucket {
+
+    /**
+     * Inclusive lower price bound.
+     */
+    private Double minPrice;
+
+    /**
+     * Exclusive upper price bound, or null for the last bucket.
+     */
+    private Double maxPrice;
+
+    /**
+     * Number of products in the bucket.
+     */
+    private int count;
+
+    /**
+     * Number of products in the bucket with stock.
+     */
+    private int inStock;
+
+}
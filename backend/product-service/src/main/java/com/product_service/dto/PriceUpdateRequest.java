@@ -0,0 +1,66 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a bulk price update.
+ * 
+ * <p>The rule applies to the products of a category, to a list of products, or
+ * to the products of the list that belong to the category when both are given.
+ * At least one of them is required.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceUpdateRequest {
+
+    /**
+     * Only products of this category, or null for any category.
+     */
+    private Product.Category category;
+
+    /**
+     * Only these products, or null for every product of the category.
+     */
+    private List<Long> idProducts;
+
+    /**
+     * How the value changes the price.
+     */
+    private Mode mode;
+
+    /**
+     * The percentage change (above -100) or the new absolute price (positive).
+     */
+    private Double value;
+
+    /**
+     * Only products with a greater ID, or null for all of them. Set to the
+     * {@code lastId} of an update that stopped early to resume it without
+     * applying the rule twice to the products already updated.
+     */
+    private Long afterId;
+
+    /**
+     * Enumeration of price rules.
+     * 
+     * <ul>
+     *   <li>PERCENTAGE - the price changes by a percentage, rounded to two decimals</li>
+     *   <li>ABSOLUTE - the price is set to the value</li>
+     * </ul>
+     */
+    public enum Mode {
+        /** The price changes by a percentage, rounded to two decimals */
+        PERCENTAGE,
+        /** The price is set to the value */
+        ABSOLUTE
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing the outcome of a bulk price update.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceUpdateResult {
+
+    /**
+     * Number of products whose price was updated.
+     */
+    private long rowsAffected;
+
+    /**
+     * Number of batches the update was applied in, each in its own transaction.
+     */
+    private int batches;
+
+    /**
+     * Time spent applying the update, in milliseconds.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Whether every batch was applied. If not, the batches up to {@link #lastId}
+     * stay committed and the update is resumed by repeating the request with
+     * {@code afterId} set to it.
+     */
+    private boolean completed;
+
+    /**
+     * Highest product ID covered by the committed batches, or the request's
+     * {@code afterId} if no batch was committed.
+     */
+    private Long lastId;
+
+}
@@ -0,0 +1,34 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for catalog facets: counts per category, availability and price.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacets {
+
+    /**
+     * Number of products in the returned categories.
+     */
+    private int total;
+
+    /**
+     * Number of products in the returned categories with stock.
+     */
+    private int inStock;
+
+    /**
+     * Counts per category.
+     */
+    private List<CategoryFacet> categories;
+
+}
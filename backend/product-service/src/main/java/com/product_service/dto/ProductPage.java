@@ -0,0 +1,50 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one page of the product catalog.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPage {
+
+    /**
+     * The products of the page, in the requested order.
+     */
+    private List<Product> items;
+
+    /**
+     * The requested page size.
+     */
+    private int size;
+
+    /**
+     * The zero-based page number, or null for keyset pages.
+     */
+    private Integer page;
+
+    /**
+     * Cursor of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Total number of matching products, or null if it was not requested.
+     */
+    private Long totalElements;
+
+    /**
+     * Total number of pages, or null if the total was not requested.
+     */
+    private Integer totalPages;
+
+}
@@ -0,0 +1,107 @@
+package com.product_service.dto;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Data Transfer Object describing a page request on the product catalog.
+ * 
+ * <p>Pages are addressed either by a keyset cursor returned with the previous
+ * page or by a zero-based page number. Cursors stay cheap at any depth; page
+ * numbers are meant for shallow, random access.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductQuery {
+
+    /**
+     * Only products of this category, or all categories when null.
+     */
+    private Product.Category category;
+
+    /**
+     * Inclusive lower price bound, or unbounded when null.
+     */
+    private Double minPrice;
+
+    /**
+     * Inclusive upper price bound, or unbounded when null.
+     */
+    private Double maxPrice;
+
+    /**
+     * True for products with stock, false for products without, null for both.
+     */
+    private Boolean inStock;
+
+    /**
+     * The field the page is ordered by; ties are broken by product ID.
+     */
+    @Builder.Default
+    private SortField sort = SortField.ID;
+
+    /**
+     * The sort direction.
+     */
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    /**
+     * Maximum number of products in the page.
+     */
+    private int size;
+
+    /**
+     * Zero-based page number for offset pagination; ignored when a cursor is given.
+     */
+    private Integer page;
+
+    /**
+     * Opaque cursor of the previous page for keyset pagination.
+     */
+    private String cursor;
+
+    /**
+     * Whether the total number of matching products is counted.
+     */
+    private boolean includeTotal;
+
+    /**
+     * Whether the current stock of each product is filled in.
+     */
+    private boolean includeStock;
+
+    /**
+     * Enumeration of the fields the catalog can be sorted by.
+     */
+    public enum SortField {
+        /** Product ID (insertion order) */
+        ID("id"),
+        /** Product price */
+        PRICE("price"),
+        /** Product name */
+        NAME("name");
+
+        private final String attribute;
+
+        SortField(String attribute) {
+            this.attribute = attribute;
+        }
+
+        /**
+         * Returns the entity attribute backing this sort field.
+         * 
+         * @return the attribute name
+         */
+        public String getAttribute() {
+            return attribute;
+        }
+    }
+
+}
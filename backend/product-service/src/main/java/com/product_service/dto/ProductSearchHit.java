@@ -0,0 +1,48 @@
+package com.product_service.dto;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single ranked product search hit.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHit {
+
+    /**
+     * The product ID.
+     */
+    private Long idProduct;
+
+    /**
+     * The product name.
+     */
+    private String name;
+
+    /**
+     * The product category.
+     */
+    private Product.Category category;
+
+    /**
+     * The product price.
+     */
+    private Double price;
+
+    /**
+     * Whether the product currently has stock.
+     */
+    private boolean inStock;
+
+    /**
+     * Relevance score of the hit; only comparable within one query.
+     */
+    private float score;
+
+}
@@ -0,0 +1,34 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result of a product search.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResult {
+
+    /**
+     * The query text as received.
+     */
+    private String query;
+
+    /**
+     * Number of products matching the query and the filters.
+     */
+    private int total;
+
+    /**
+     * The best hits, most relevant first.
+     */
+    private List<ProductSearchHit> hits;
+
+}
@@ -0,0 +1,27 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for an autocomplete suggestion.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestion {
+
+    /**
+     * The product ID.
+     */
+    private Long idProduct;
+
+    /**
+     * The product name as displayed.
+     */
+    private String name;
+
+}
@@ -0,0 +1,46 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a batch stock reservation or restoration.
+ * 
+ * <p>All lines are applied in a single transaction. Lines referring to the
+ * same product are merged before being applied.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockBatchRequest {
+
+    /**
+     * How failures of individual lines affect the rest of the batch.
+     * Defaults to {@link Mode#ALL_OR_NOTHING} when omitted.
+     */
+    private Mode mode;
+
+    /**
+     * The product/quantity lines to apply.
+     */
+    private List<StockLineRequest> items;
+
+    /**
+     * Enumeration of batch application modes.
+     * 
+     * <ul>
+     *   <li>ALL_OR_NOTHING - any failed line rolls back the whole batch</li>
+     *   <li>BEST_EFFORT - successful lines are kept, failed lines are reported</li>
+     * </ul>
+     */
+    public enum Mode {
+        /** Any failed line rolls back the whole batch */
+        ALL_OR_NOTHING,
+        /** Successful lines are kept, failed lines are reported */
+        BEST_EFFORT
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.product_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing the outcome of a batch stock operation.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockBatchResult {
+
+    /**
+     * The mode the batch was applied with.
+     */
+    private StockBatchRequest.Mode mode;
+
+    /**
+     * Number of lines that were applied and committed.
+     */
+    private int applied;
+
+    /**
+     * Number of lines that failed or were rolled back.
+     */
+    private int failed;
+
+    /**
+     * Per-product results, ordered by product ID (the order locks were taken in).
+     */
+    private List<StockLineResult> results;
+
+    /**
+     * Checks whether every line of the batch was applied.
+     * 
+     * @return true if no line failed
+     */
+    public boolean isComplete() {
+        return failed == 0;
+    }
+
+}
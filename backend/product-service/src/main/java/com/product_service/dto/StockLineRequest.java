@@ -0,0 +1,27 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single line of a batch stock operation.
+ * 
+ * <p>Identifies the product and the quantity to reserve or restore.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLineRequest {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private Long idProduct;
+
+    /**
+     * The quantity to reserve or restore.
+     */
+    private Integer quantity;
+
+}
@@ -0,0 +1,43 @@
+package com.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing the outcome of one product in a batch stock operation.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLineResult {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private Long idProduct;
+
+    /**
+     * The total quantity requested for the product in the batch.
+     */
+    private Integer quantity;
+
+    /**
+     * Whether the line was applied and committed.
+     */
+    private boolean success;
+
+    /**
+     * The stock of the product after the operation, or the available stock
+     * when the line failed (null if the product does not exist or the batch was rolled back).
+     */
+    private Integer stock;
+
+    /**
+     * Explanation of the outcome for failed lines.
+     */
+    private String message;
+
+}
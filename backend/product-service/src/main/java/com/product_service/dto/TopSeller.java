@@ -0,0 +1,43 @@
+package com.product_service.dto;
+
+import com.product_service.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a product of the top sellers leaderboard.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TopSeller {
+
+    /**
+     * The product ID.
+     */
+    private Long idProduct;
+
+    /**
+     * The product name, or null if the product no longer exists.
+     */
+    private String name;
+
+    /**
+     * The category the units were sold in.
+     */
+    private Product.Category category;
+
+    /**
+     * Estimated units sold within the window; never below the true number.
+     */
+    private Long unitsSold;
+
+    /**
+     * Maximum overestimate included in {@code unitsSold}.
+     */
+    private Long maxOverestimate;
+
+}
@@ -1,19 +1,40 @@
 package com.product_service.entity;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.product_service.search.NameHash;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 /**
  * Entity class representing a product in the catalog.
  * 
  * <p>This entity maps to the 'products' table and contains
- * all product-related information including name, description,
- * price, category, and stock quantity.
+ * the catalog information of a product: name, description,
+ * price and category. The mutable stock quantity is kept in
+ * the separate {@link ProductInventory} entity.
  * 
  * <p>Product names must be unique across the catalog.
+ *
+ * <p>Products are kept in the "product" second-level cache region, sized and
+ * expired in {@code ehcache.xml}. Writes through the entity manager keep the
+ * region current; bulk or native updates must evict the affected products
+ * through {@link com.product_service.service.ProductCacheService}.
  */
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_category_id", columnList = "category, id"),
+        @Index(name = "idx_products_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_products_category_name", columnList = "category, name, id"),
+        @Index(name = "idx_products_name_hash", columnList = "name_hash")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,9 +51,10 @@ public class Product {
 
     /**
      * Name of the product.
-     * Must be unique and non-null.
+     * Must be unique and non-null. Bounded in length so it can be indexed
+     * for name-sorted catalog pages.
      */
-    @Column(columnDefinition = "TEXT", nullable = false, unique = true)
+    @Column(length = 255, nullable = false, unique = true)
     private String name;
 
     /**
@@ -59,9 +81,10 @@ public class Product {
 
     /**
      * Current stock quantity available.
-     * Must be a non-null non-negative value.
+     * Not stored in the products table: stock lives in {@link ProductInventory}
+     * and is only filled in when a read asks for it.
      */
-    @Column(nullable = false)
+    @Transient
     private Integer stock;
 
     /**
@@ -71,6 +94,42 @@ public class Product {
     @Column(columnDefinition = "TEXT")
     private String imageUrl;
 
+    /**
+     * Version of the catalog data, incremented by every update of the row.
+     * Used for optimistic locking and as the basis of the product's ETag.
+     * Required when saving a product with an ID: it must be the version the
+     * product was read at, and a product saved without one is taken for new.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Time the catalog data was last written.
+     * Set by Hibernate on every insert and update.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Hash of the normalized name, see {@link NameHash}.
+     * Derived from the name on every insert and update; indexed for lookups and
+     * duplicate checks by name. Not part of the API representation.
+     */
+    @JsonIgnore
+    @Column(name = "name_hash")
+    private Long nameHash;
+
+    /**
+     * Derives the name hash from the name before the row is written.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateNameHash() {
+        nameHash = name != null ? NameHash.of(name) : null;
+    }
+
     /**
      * Enumeration of product categories.
      * 
@@ -0,0 +1,46 @@
+package com.product_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity class representing one entry of the catalog change log.
+ * 
+ * <p>This entity maps to the append-only 'product_changes' table. Every write to
+ * a product (creation, update, stock change) adds a row in the writing
+ * transaction, without a sequence number. Committed rows are numbered afterwards
+ * by a single sequencer, so sequence numbers become visible in increasing order
+ * and a consumer that has read up to a number never misses a lower one.
+ */
+@Entity
+@Table(name = "product_changes", indexes = {
+        @Index(name = "uk_product_changes_seq", columnList = "seq", unique = true),
+        @Index(name = "idx_product_changes_product_seq", columnList = "product_id, seq")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChange {
+
+    /**
+     * Unique identifier of the log entry.
+     * Auto-generated using database identity strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identifier of the changed product.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Change sequence number, or null until the sequencer has numbered the entry.
+     */
+    @Column(name = "seq")
+    private Long seq;
+
+}
@@ -0,0 +1,67 @@
+package com.product_service.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Entity class representing the mutable stock of a product.
+ * 
+ * <p>This entity maps to the narrow 'product_inventory' table, keyed by the
+ * product ID. Keeping stock out of the 'products' row means stock changes
+ * never rewrite or lock the product's TEXT columns, and catalog reads do not
+ * touch inventory unless they ask for stock.
+ */
+@Entity
+@Table(name = "product_inventory")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductInventory {
+
+    /**
+     * Identifier of the product this stock belongs to.
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Current stock quantity available.
+     * Must be a non-null non-negative value.
+     */
+    @Column(nullable = false)
+    private Integer stock;
+
+    /**
+     * Flash-sale ledger stock already applied to {@link #stock}, or null when the
+     * product is not in flash-sale mode.
+     * Write-backs add the ledger's change since this value and replace it in one
+     * statement, so stock changed by other writers meanwhile is kept.
+     */
+    @Column(name = "ledger_stock")
+    private Integer ledgerStock;
+
+    /**
+     * Time the stock was last written.
+     * Set by Hibernate when the entity is saved and by every stock update query.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Creates the inventory row of a product.
+     * 
+     * @param productId identifier of the product
+     * @param stock the stock quantity
+     */
+    public ProductInventory(Long productId, Integer stock) {
+        this.productId = productId;
+        this.stock = stock;
+    }
+
+}
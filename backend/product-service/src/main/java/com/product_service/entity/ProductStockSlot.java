@@ -0,0 +1,60 @@
+package com.product_service.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity class representing one slot of a product's sharded stock.
+ * 
+ * <p>This entity maps to the 'product_stock_slots' table. A product promoted to
+ * sharded stock has its stock split across several slot rows, so concurrent
+ * reservations lock different rows instead of all queuing on one. The product's
+ * stock is the sum of its slots.
+ */
+@Entity
+@Table(name = "product_stock_slots")
+@IdClass(ProductStockSlot.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockSlot {
+
+    /**
+     * Identifier of the product this slot belongs to.
+     */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /**
+     * Index of the slot, from 0 to the product's slot count minus one.
+     */
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    /**
+     * Stock held by this slot.
+     * Must be a non-null non-negative value.
+     */
+    @Column(nullable = false)
+    private Integer stock;
+
+    /**
+     * Composite primary key of a stock slot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long productId;
+
+        private Integer slot;
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.product_service.event;
+
+import java.util.List;
+
+import com.product_service.entity.Product;
+
+/**
+ * Published when products are created or their catalog data changes.
+ * 
+ * <p>Listeners receive it after the saving transaction commits; the products
+ * carry the stock they were saved with.
+ * 
+ * @param products the saved products
+ */
+public record ProductsSavedEvent(List<Product> products) {
+}
@@ -0,0 +1,15 @@
+package com.product_service.event;
+
+import java.util.Map;
+
+/**
+ * Published when reservations or restorations change the stock of products.
+ * 
+ * <p>Listeners receive it after the transaction commits. Stock values are the
+ * ones observed right after the change; a listener that needs exact values
+ * under concurrent updates must read them back.
+ * 
+ * @param stocks the resulting stock by product ID
+ */
+public record StockChangedEvent(Map<Long, Integer> stocks) {
+}
@@ -0,0 +1,29 @@
+package com.product_service.exception;
+
+/**
+ * Exception thrown when a product update is based on a version that is no longer current.
+ * This exception indicates that the product was changed by another request after the
+ * client read it; the client should read the product again before retrying.
+ */
+public class ProductConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new ProductConflictException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ProductConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ProductConflictException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause of this exception
+     */
+    public ProductConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
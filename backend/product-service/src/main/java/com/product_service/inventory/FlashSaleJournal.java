@@ -0,0 +1,340 @@
+package com.product_service.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only, group-committed journal of flash-sale ledger states.
+ * 
+ * <p>Every record holds the absolute state of one product (version and
+ * available stock), so replaying the journal is idempotent: for each product
+ * the record with the newest version wins. Callers append a record and then
+ * wait until it is durable; a single background thread collects the records
+ * appended during a short interval, writes them in one call and forces them
+ * to disk, releasing all waiting callers at once.
+ * 
+ * <p>Record layout (21 bytes): type (1), product ID (8), version (4),
+ * available stock (4), CRC32 of the preceding 17 bytes (4). Replay stops at
+ * the first truncated or corrupted record.
+ */
+@Slf4j
+public final class FlashSaleJournal implements AutoCloseable {
+
+    /** Record type holding the current state of a product in flash-sale mode. */
+    public static final byte STATE = 1;
+
+    /** Record type marking a product that left flash-sale mode. */
+    public static final byte RETIRED = 2;
+
+    private static final int RECORD_SIZE = 21;
+    private static final int INITIAL_BUFFER_SIZE = RECORD_SIZE * 1024;
+
+    private final Path path;
+    private final long flushIntervalMillis;
+    private final Object writeLock = new Object();
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * A single journal record.
+     * 
+     * @param type the record type ({@link #STATE} or {@link #RETIRED})
+     * @param productId the product ID
+     * @param version the ledger version of the product
+     * @param available the available stock
+     */
+    public record Entry(byte type, long productId, int version, int available) {}
+
+    /**
+     * Creates a journal stored at the given path.
+     * 
+     * @param path the journal file
+     * @param flushIntervalMillis how long the flusher gathers records before each write
+     */
+    public FlashSaleJournal(Path path, long flushIntervalMillis) {
+        this.path = path;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * Replays the existing journal, opens it for appending and starts the flusher.
+     * 
+     * @return the valid records found in the journal, in file order
+     * @throws IOException if the journal cannot be read or opened
+     */
+    public synchronized List<Entry> open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        long validLength = 0;
+        if (Files.exists(path)) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+            while (content.remaining() >= RECORD_SIZE) {
+                Entry entry = decode(content);
+                if (entry == null) {
+                    break;
+                }
+                entries.add(entry);
+                validLength += RECORD_SIZE;
+            }
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > validLength) {
+            log.warn("Discarding {} trailing byte(s) of flash-sale journal {}", channel.size() - validLength, path);
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "flash-sale-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        return entries;
+    }
+
+    /**
+     * Appends a record to the journal buffer.
+     * 
+     * @param entry the record to append
+     * @return the sequence number to pass to {@link #awaitDurable(long, long)}
+     */
+    public synchronized long append(Entry entry) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        encode(buffer, entry);
+        appendedSequence++;
+        notifyAll();
+        return appendedSequence;
+    }
+
+    /**
+     * Waits until the record with the given sequence number has been forced to disk.
+     * 
+     * @param sequence the sequence number returned by {@link #append(Entry)}
+     * @param timeoutMillis the maximum time to wait
+     * @throws IOException if the journal failed or the wait timed out
+     */
+    public synchronized void awaitDurable(long sequence, long timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (durableSequence < sequence) {
+            if (failure != null) {
+                throw new IOException("Flash-sale journal is not writable", failure);
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IOException("Timed out waiting for flash-sale journal flush");
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for flash-sale journal flush", e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal with a compact snapshot.
+     * 
+     * <p>The snapshot is taken while appends are blocked, so every record still
+     * buffered is covered by it and every later record goes to the new file.
+     * 
+     * @param snapshot supplies the records describing the current ledger state
+     * @throws IOException if the new journal cannot be written
+     */
+    public void rotate(Supplier<List<Entry>> snapshot) throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                List<Entry> entries = snapshot.get();
+                ByteBuffer content = ByteBuffer.allocate(Math.max(RECORD_SIZE, entries.size() * RECORD_SIZE));
+                for (Entry entry : entries) {
+                    encode(content, entry);
+                }
+                content.flip();
+
+                Path next = path.resolveSibling(path.getFileName() + ".next");
+                try (FileChannel out = FileChannel.open(next, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (content.hasRemaining()) {
+                        out.write(content);
+                    }
+                    out.force(true);
+                }
+                Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                channel.close();
+                channel = FileChannel.open(path, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+
+                buffer.clear();
+                durableSequence = appendedSequence;
+                notifyAll();
+
+                log.info("Flash-sale journal rotated with {} record(s)", entries.size());
+            }
+        }
+    }
+
+    /**
+     * Returns the current size of the journal file.
+     * 
+     * @return the size in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public long size() throws IOException {
+        synchronized (writeLock) {
+            return channel.size();
+        }
+    }
+
+    /**
+     * Flushes outstanding records and stops the flusher.
+     */
+    @Override
+    public void close() {
+        running = false;
+        synchronized (this) {
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (writeLock) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to close flash-sale journal {}", path, e);
+            }
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Group-commit loop: gathers appended records, writes them in one call and forces them to disk.
+     */
+    private void flushLoop() {
+        ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+
+            synchronized (this) {
+                while (running && buffer.position() == 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (buffer.position() == 0) {
+                    return;
+                }
+            }
+
+            // Let concurrent callers join this commit
+            if (running && flushIntervalMillis > 0) {
+                try {
+                    Thread.sleep(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            synchronized (writeLock) {
+                synchronized (this) {
+                    batch = buffer;
+                    buffer = spare;
+                    upTo = appendedSequence;
+                }
+
+                try {
+                    batch.flip();
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    channel.force(false);
+
+                } catch (IOException e) {
+                    log.error("Failed to write flash-sale journal {}", path, e);
+                    synchronized (this) {
+                        failure = e;
+                        notifyAll();
+                    }
+                    return;
+                }
+            }
+
+            batch.clear();
+            spare = batch;
+
+            synchronized (this) {
+                durableSequence = Math.max(durableSequence, upTo);
+                notifyAll();
+            }
+        }
+    }
+
+    private static void encode(ByteBuffer target, Entry entry) {
+        int start = target.position();
+        target.put(entry.type())
+                .putLong(entry.productId())
+                .putInt(entry.version())
+                .putInt(entry.available());
+
+        CRC32 crc = new CRC32();
+        crc.update(target.array(), target.arrayOffset() + start, RECORD_SIZE - 4);
+        target.putInt((int) crc.getValue());
+    }
+
+    private static Entry decode(ByteBuffer source) {
+        int start = source.position();
+        CRC32 crc = new CRC32();
+        crc.update(source.array(), source.arrayOffset() + start, RECORD_SIZE - 4);
+
+        byte type = source.get();
+        long productId = source.getLong();
+        int version = source.getInt();
+        int available = source.getInt();
+        int checksum = source.getInt();
+
+        if (checksum != (int) crc.getValue() || (type != STATE && type != RETIRED)) {
+            return null;
+        }
+        return new Entry(type, productId, version, available);
+    }
+
+}
@@ -0,0 +1,353 @@
+package com.product_service.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock ledger for products in flash-sale mode.
+ * 
+ * <p>Products are looked up in an open-addressing table keyed by primitive
+ * {@code long} IDs. The table is immutable and replaced as a whole when a
+ * product enters or leaves flash-sale mode, so lookups never lock or box.
+ * 
+ * <p>Each product's state is a single {@link AtomicLong} packing a 31-bit
+ * version (high bits) and the available stock (low 32 bits). Reservations and
+ * restorations are compare-and-set loops on that word, so the stock check,
+ * the update and the version bump happen atomically without locks.
+ */
+public final class FlashSaleLedger {
+
+    /**
+     * Available stock value marking a slot that has left flash-sale mode.
+     */
+    private static final int CLOSED = -1;
+
+    /**
+     * Result of a slot operation that was not applied because of insufficient stock.
+     */
+    public static final long REJECTED = -1L;
+
+    /**
+     * Result of a slot operation that was not applied because the slot is closed.
+     */
+    public static final long SLOT_CLOSED = -2L;
+
+    private static final int VERSION_MASK = 0x7FFFFFFF;
+
+    private volatile Table table = Table.EMPTY;
+
+    /**
+     * Returns the slot for a product, or null if the product is not in flash-sale mode.
+     * 
+     * @param idProduct the product ID
+     * @return the slot or null
+     */
+    public Slot get(long idProduct) {
+        return table.get(idProduct);
+    }
+
+    /**
+     * Adds or replaces the slot of a product.
+     * 
+     * @param slot the slot to publish
+     */
+    public synchronized void put(Slot slot) {
+        table = table.with(slot.productId, slot);
+    }
+
+    /**
+     * Removes the slot of a product.
+     * 
+     * @param idProduct the product ID
+     * @return the removed slot or null
+     */
+    public synchronized Slot remove(long idProduct) {
+        Slot slot = table.get(idProduct);
+        if (slot != null) {
+            table = table.with(idProduct, null);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns a snapshot of all published slots.
+     * 
+     * @return the slots
+     */
+    public List<Slot> slots() {
+        return table.values();
+    }
+
+    // ==================== Slot ====================
+
+    /**
+     * Stock state of a single product in flash-sale mode.
+     */
+    public static final class Slot {
+
+        private final long productId;
+        private final AtomicLong state;
+        private final CountDownLatch retired = new CountDownLatch(1);
+        private volatile long writtenState;
+
+        /**
+         * Creates a slot with the given initial version and stock.
+         * 
+         * @param productId the product ID
+         * @param version the initial version
+         * @param available the initial available stock
+         */
+        public Slot(long productId, int version, int available) {
+            this.productId = productId;
+            this.state = new AtomicLong(pack(version, available));
+            this.writtenState = -1L;
+        }
+
+        public long productId() {
+            return productId;
+        }
+
+        /**
+         * Deducts stock if enough is available.
+         * 
+         * @param quantity the quantity to deduct
+         * @return the new packed state, {@link #REJECTED} if the stock is insufficient
+         *         or {@link #SLOT_CLOSED} if the slot is closed
+         */
+        public long reserve(int quantity) {
+            while (true) {
+                long current = state.get();
+                int available = available(current);
+                if (available == CLOSED) {
+                    return SLOT_CLOSED;
+                }
+                if (available < quantity) {
+                    return REJECTED;
+                }
+                long next = pack(nextVersion(current), available - quantity);
+                if (state.compareAndSet(current, next)) {
+                    return next;
+                }
+            }
+        }
+
+        /**
+         * Adds stock back.
+         * 
+         * @param quantity the quantity to add
+         * @return the new packed state, or {@link #SLOT_CLOSED} if the slot is closed
+         */
+        public long restore(int quantity) {
+            while (true) {
+                long current = state.get();
+                int available = available(current);
+                if (available == CLOSED) {
+                    return SLOT_CLOSED;
+                }
+                long next = pack(nextVersion(current), Math.addExact(available, quantity));
+                if (state.compareAndSet(current, next)) {
+                    return next;
+                }
+            }
+        }
+
+        /**
+         * Closes the slot so that no further reservation or restoration succeeds.
+         * 
+         * @return the last open packed state
+         */
+        public long close() {
+            while (true) {
+                long current = state.get();
+                if (available(current) == CLOSED) {
+                    return current;
+                }
+                if (state.compareAndSet(current, pack(nextVersion(current), CLOSED))) {
+                    return current;
+                }
+            }
+        }
+
+        /**
+         * Returns the current packed state.
+         * 
+         * @return the packed state
+         */
+        public long state() {
+            return state.get();
+        }
+
+        /**
+         * Returns whether the slot has been closed.
+         * 
+         * @return true if closed
+         */
+        public boolean isClosed() {
+            return available(state.get()) == CLOSED;
+        }
+
+        /**
+         * Returns the packed state last written back to the database.
+         * 
+         * @return the written packed state, or -1 if nothing was written yet
+         */
+        public long writtenState() {
+            return writtenState;
+        }
+
+        /**
+         * Records the packed state that was written back to the database.
+         * 
+         * @param packedState the written state
+         */
+        public void markWritten(long packedState) {
+            this.writtenState = packedState;
+        }
+
+        /**
+         * Marks the slot as fully handed back to the database path.
+         */
+        public void markRetired() {
+            retired.countDown();
+        }
+
+        /**
+         * Waits until a closed slot has been handed back to the database path.
+         * 
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void awaitRetired() throws InterruptedException {
+            retired.await();
+        }
+    }
+
+    // ==================== State Packing ====================
+
+    /**
+     * Packs a version and an available stock into one word.
+     * 
+     * <p>The version is limited to 31 bits, so every packed state is non-negative
+     * and cannot collide with {@link #REJECTED} or {@link #SLOT_CLOSED}.
+     * 
+     * @param version the version
+     * @param available the available stock
+     * @return the packed state
+     */
+    public static long pack(int version, int available) {
+        return ((long) (version & VERSION_MASK) << 32) | (available & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns whether a version is newer than another, tolerating wrap-around.
+     * 
+     * @param version the candidate version
+     * @param other the version to compare against
+     * @return true if {@code version} was issued after {@code other}
+     */
+    public static boolean isNewer(int version, int other) {
+        int distance = (version - other) & VERSION_MASK;
+        return distance != 0 && distance < (1 << 30);
+    }
+
+    private static int nextVersion(long packedState) {
+        return (version(packedState) + 1) & VERSION_MASK;
+    }
+
+    /**
+     * Extracts the version from a packed state.
+     * 
+     * @param packedState the packed state
+     * @return the version
+     */
+    public static int version(long packedState) {
+        return (int) (packedState >>> 32);
+    }
+
+    /**
+     * Extracts the available stock from a packed state.
+     * 
+     * @param packedState the packed state
+     * @return the available stock, or -1 if the slot is closed
+     */
+    public static int available(long packedState) {
+        return (int) packedState;
+    }
+
+    // ==================== Table ====================
+
+    /**
+     * Immutable open-addressing table from primitive product IDs to slots.
+     */
+    private static final class Table {
+
+        private static final Table EMPTY = new Table(new long[2], new Slot[2], 0);
+
+        private final long[] keys;
+        private final Slot[] values;
+        private final int size;
+
+        private Table(long[] keys, Slot[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        private Slot get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns a copy of this table with the key mapped to the slot, or removed if the slot is null.
+         */
+        private Table with(long key, Slot slot) {
+            List<Slot> entries = new ArrayList<>(size + 1);
+            for (Slot value : values) {
+                if (value != null && value.productId != key) {
+                    entries.add(value);
+                }
+            }
+            if (slot != null) {
+                entries.add(slot);
+            }
+
+            // Keep the load factor at or below one half
+            int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2 - 1)) << 1;
+            long[] newKeys = new long[capacity];
+            Slot[] newValues = new Slot[capacity];
+            int mask = capacity - 1;
+            for (Slot entry : entries) {
+                int i = index(entry.productId, mask);
+                while (newValues[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                newKeys[i] = entry.productId;
+                newValues[i] = entry;
+            }
+            return new Table(newKeys, newValues, entries.size());
+        }
+
+        private List<Slot> values() {
+            List<Slot> result = new ArrayList<>(size);
+            for (Slot value : values) {
+                if (value != null) {
+                    result.add(value);
+                }
+            }
+            return result;
+        }
+
+        private static int index(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.product_service.listener;
+
+import java.util.Map;
+
+import com.product_service.dto.OrderEventMessage;
+
+/**
+ * Callback for components that follow sales from order events.
+ * 
+ * <p>Every bean implementing this interface is notified by {@link OrderEventListener}
+ * of each order event, once per event ID as far as the listener remembers. State
+ * built from events lives in memory, so each handler also tells where the topic
+ * must be replayed from when the service starts: the offsets it checkpointed per
+ * partition, or else a time.
+ */
+public interface OrderEventHandler {
+
+    /**
+     * Handles an order event.
+     * 
+     * @param event the order event received from Order Service
+     * @param partition the partition of the order events topic the event was read from
+     * @param offset the offset of the event in its partition
+     */
+    void onOrderEvent(OrderEventMessage event, int partition, long offset);
+
+    /**
+     * Returns the earliest time whose events the handler needs replayed on startup,
+     * for the partitions {@link #replayOffsets()} has no offset for.
+     * 
+     * @param nowMillis the current time, in epoch milliseconds
+     * @return a time in epoch milliseconds; {@code nowMillis} when nothing needs replaying
+     */
+    default long replayFrom(long nowMillis) {
+        return nowMillis;
+    }
+
+    /**
+     * Returns the offset of the first event the handler needs replayed on startup,
+     * per partition of the order events topic.
+     * 
+     * @return the offsets by partition; empty when the handler replays by time only
+     */
+    default Map<Integer, Long> replayOffsets() {
+        return Map.of();
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.product_service.listener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import com.product_service.dto.OrderEventMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Kafka listener for order events published by Order Service.
+ *
+ * <p>This component:
+ * <ul>
+ *   <li>Listens to the {@code order-events} topic</li>
+ *   <li>Replays each partition from the earliest offset any {@link OrderEventHandler}
+ *       needs when the partitions are first assigned</li>
+ *   <li>Drops events whose ID it has already delivered</li>
+ *   <li>Dispatches each event to every {@link OrderEventHandler} bean</li>
+ * </ul>
+ *
+ * <p>Each service instance consumes with its own consumer group (see
+ * {@code order-events.group-id}), so every instance sees every event and builds
+ * its own in-memory state. A failing handler is logged and does not prevent the
+ * remaining handlers from running.
+ *
+ * <p>Handlers ask for a replay with the offsets they checkpointed, or with a time
+ * for the partitions they have none for. Times are turned into offsets by the
+ * broker, from the record timestamps, and each partition is moved to the earliest
+ * offset found; handlers skip the replayed events they already hold.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code order-events.topic}: source topic</li>
+ *   <li>{@code order-events.group-id}: consumer group of this instance</li>
+ *   <li>{@code order-events.dedupe-capacity}: number of recent event IDs remembered to drop redeliveries</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OrderEventListener implements ConsumerSeekAware {
+
+    private static final long OFFSET_LOOKUP_TIMEOUT_SECONDS = 30;
+
+    private final List<OrderEventHandler> handlers;
+    private final KafkaAdmin kafkaAdmin;
+    private final Map<String, Boolean> recentEventIds;
+    private final AtomicBoolean replayed = new AtomicBoolean();
+
+    /**
+     * Constructs the order event listener.
+     *
+     * @param handlers the handlers events are dispatched to
+     * @param kafkaAdmin the admin whose configuration replay times are looked up with
+     * @param dedupeCapacity number of recent event IDs remembered to drop redeliveries
+     */
+    public OrderEventListener(List<OrderEventHandler> handlers,
+                              KafkaAdmin kafkaAdmin,
+                              @Value("${order-events.dedupe-capacity:10000}") int dedupeCapacity) {
+        this.handlers = handlers;
+        this.kafkaAdmin = kafkaAdmin;
+        int capacity = Math.max(1, dedupeCapacity);
+        this.recentEventIds = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Moves each partition to the earliest event the handlers need, the first time
+     * partitions are assigned.
+     *
+     * @param assignments the assigned partitions and their current offsets
+     * @param callback the callback used to seek
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (assignments.isEmpty() || !replayed.compareAndSet(false, true)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, Map<TopicPartition, Long>> offsetsByTime = new HashMap<>();
+        Map<TopicPartition, Long> starts = new HashMap<>();
+        for (OrderEventHandler handler : handlers) {
+            Map<Integer, Long> checkpointed = handler.replayOffsets();
+            long from = handler.replayFrom(now);
+            for (TopicPartition partition : assignments.keySet()) {
+                Long start = checkpointed.get(partition.partition());
+                if (start == null && from < now) {
+                    start = offsetsByTime.computeIfAbsent(from, time -> offsetsForTime(assignments.keySet(), time))
+                            .get(partition);
+                }
+                if (start != null) {
+                    starts.merge(partition, start, Math::min);
+                }
+            }
+        }
+
+        starts.forEach((partition, offset) -> callback.seek(partition.topic(), partition.partition(), offset));
+        if (!starts.isEmpty()) {
+            log.info("Replaying order events from offsets {}", starts);
+        }
+    }
+
+    /**
+     * Consumes order events from Kafka and notifies the registered handlers.
+     *
+     * @param record the record holding the order event message from Kafka
+     */
+    @KafkaListener(topics = "${order-events.topic:order-events}", groupId = "${order-events.group-id}")
+    public void consumeOrderEvent(ConsumerRecord<String, OrderEventMessage> record) {
+        OrderEventMessage event = record.value();
+        if (event == null || event.getEventId() == null || event.getItems() == null) {
+            log.warn("Ignoring invalid order event: {}", event);
+            return;
+        }
+        if (!firstDelivery(event.getEventId())) {
+            log.debug("Ignoring redelivered order event {}", event.getEventId());
+            return;
+        }
+
+        log.debug("Received {} event {} for order ID: {} with {} item(s)",
+                event.getEventType(), event.getEventId(), event.getOrderId(), event.getItems().size());
+
+        for (OrderEventHandler handler : handlers) {
+            try {
+                handler.onOrderEvent(event, record.partition(), record.offset());
+            } catch (Exception e) {
+                log.error("Order event handler {} failed for event {} - {}",
+                        handler.getClass().getSimpleName(), event.getEventId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private synchronized boolean firstDelivery(String eventId) {
+        return recentEventIds.putIfAbsent(eventId, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Looks up the offset of the first record at or after a time in each partition,
+     * or the end of the partition if there is none.
+     *
+     * @return the offsets by partition; empty if the lookup failed, in which case
+     *         the time is not replayed
+     */
+    private Map<TopicPartition, Long> offsetsForTime(Collection<TopicPartition> partitions, long timeMillis) {
+        try (Admin admin = Admin.create(kafkaAdmin.getConfigurationProperties())) {
+            Map<TopicPartition, OffsetSpec> byTime = new HashMap<>();
+            partitions.forEach(partition -> byTime.put(partition, OffsetSpec.forTimestamp(timeMillis)));
+
+            Map<TopicPartition, Long> offsets = new HashMap<>();
+            Map<TopicPartition, OffsetSpec> atEnd = new HashMap<>();
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> found =
+                    admin.listOffsets(byTime).all().get(OFFSET_LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            found.forEach((partition, info) -> {
+                if (info.offset() >= 0) {
+                    offsets.put(partition, info.offset());
+                } else {
+                    atEnd.put(partition, OffsetSpec.latest());
+                }
+            });
+            if (!atEnd.isEmpty()) {
+                admin.listOffsets(atEnd).all().get(OFFSET_LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .forEach((partition, info) -> offsets.put(partition, info.offset()));
+            }
+            return offsets;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted looking up order event offsets; events since {} are not replayed", timeMillis);
+            return Map.of();
+
+        } catch (Exception e) {
+            log.error("Failed to look up order event offsets; events since {} are not replayed", timeMillis, e);
+            return Map.of();
+        }
+    }
+
+}
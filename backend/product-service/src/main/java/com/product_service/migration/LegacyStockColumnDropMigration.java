@@ -0,0 +1,64 @@
+package com.product_service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the legacy {@code products.stock} column and its sync triggers, the contract
+ * step of moving stock into {@code product_inventory}.
+ * 
+ * <p>The {@link LegacyStockMigration} keeps the column current for instances of the
+ * previous version. This migration only runs once enabled, which must wait until no
+ * such instance is deployed; until then it stays pending. Instances of this version
+ * still running when the column disappears stop mirroring stock into it.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code schema-migration.drop-legacy-stock}: whether the legacy stock column may be dropped</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class LegacyStockColumnDropMigration implements SchemaMigration {
+
+    private final boolean enabled;
+
+    /**
+     * Constructs the migration.
+     * 
+     * @param enabled whether the legacy stock column may be dropped
+     */
+    public LegacyStockColumnDropMigration(@Value("${schema-migration.drop-legacy-stock:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public int version() {
+        return 4;
+    }
+
+    @Override
+    public String description() {
+        return "Drop legacy products.stock and its sync triggers";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + LegacyStockMigration.UPDATE_TRIGGER);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + LegacyStockMigration.INSERT_TRIGGER);
+        if (!hasColumn(jdbcTemplate, "products", "stock")) {
+            log.info("No legacy stock column found; nothing to drop");
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE products DROP COLUMN stock");
+        log.info("Dropped the legacy stock column");
+    }
+
+}
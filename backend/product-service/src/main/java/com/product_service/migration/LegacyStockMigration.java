@@ -0,0 +1,103 @@
+package com.product_service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies stock from the legacy {@code products.stock} column into {@code product_inventory},
+ * the expand step of moving it there.
+ * 
+ * <p>The migration runs online, while instances of the previous version still
+ * read and write the column:
+ * <ul>
+ *   <li>The column gets a default, so this version, which no longer maps it, can
+ *       insert products.</li>
+ *   <li>Triggers on {@code products} carry every stock the previous version writes
+ *       into {@code product_inventory}, and give products it inserts an inventory row.</li>
+ *   <li>Products are then copied in ID ranges, one short statement per range,
+ *       skipping products that already have an inventory row.</li>
+ * </ul>
+ * This version in turn mirrors its stock writes into the column while it exists,
+ * see {@link com.product_service.service.InventoryServiceImpl}. The column and the
+ * triggers are dropped by the {@link LegacyStockColumnDropMigration} once no
+ * instance of the previous version runs.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code schema-migration.batch-size}: width of each product ID range copied</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class LegacyStockMigration implements SchemaMigration {
+
+    static final String UPDATE_TRIGGER = "products_legacy_stock_update";
+    static final String INSERT_TRIGGER = "products_legacy_stock_insert";
+
+    private static final String CREATE_UPDATE_TRIGGER_SQL =
+            "CREATE TRIGGER " + UPDATE_TRIGGER + " AFTER UPDATE ON products FOR EACH ROW " +
+            "UPDATE product_inventory SET stock = NEW.stock " +
+            "WHERE product_id = NEW.id AND NEW.stock IS NOT NULL AND NOT (NEW.stock <=> OLD.stock)";
+
+    private static final String CREATE_INSERT_TRIGGER_SQL =
+            "CREATE TRIGGER " + INSERT_TRIGGER + " AFTER INSERT ON products FOR EACH ROW " +
+            "INSERT IGNORE INTO product_inventory (product_id, stock) VALUES (NEW.id, COALESCE(NEW.stock, 0))";
+
+    private static final String COPY_RANGE_SQL =
+            "INSERT INTO product_inventory (product_id, stock) " +
+            "SELECT p.id, p.stock FROM products p WHERE p.id BETWEEN ? AND ? " +
+            "AND NOT EXISTS (SELECT 1 FROM product_inventory i WHERE i.product_id = p.id)";
+
+    private final int batchSize;
+
+    /**
+     * Constructs the migration.
+     * 
+     * @param batchSize width of each product ID range copied
+     */
+    public LegacyStockMigration(@Value("${schema-migration.batch-size:1000}") int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public String description() {
+        return "Copy legacy products.stock into product_inventory and keep it in sync";
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        if (!hasColumn(jdbcTemplate, "products", "stock")) {
+            log.info("No legacy stock column found; nothing to copy");
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN stock SET DEFAULT 0");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + UPDATE_TRIGGER);
+        jdbcTemplate.execute(CREATE_UPDATE_TRIGGER_SQL);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + INSERT_TRIGGER);
+        jdbcTemplate.execute(CREATE_INSERT_TRIGGER_SQL);
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+        long copied = 0;
+        for (long from = 1; maxId != null && from <= maxId; from += batchSize) {
+            long to = from + batchSize - 1;
+            try {
+                copied += jdbcTemplate.update(COPY_RANGE_SQL, from, to);
+            } catch (DuplicateKeyException e) {
+                // A product in the range got its inventory row meanwhile; the NOT EXISTS guard skips it now
+                copied += jdbcTemplate.update(COPY_RANGE_SQL, from, to);
+            }
+        }
+
+        log.info("Copied {} product(s) from the legacy stock column; it is kept until the drop migration", copied);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.product_service.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes stock changes back into the legacy {@code products.stock} column while it
+ * exists, so instances of the previous version, which still read it, see them.
+ * 
+ * <p>Callers mirror after writing {@code product_inventory}, in the same transaction.
+ * The stock is passed as a value rather than read by the update, so the sync
+ * trigger of the {@link LegacyStockMigration} firing on the update writes the same
+ * value back. Once the {@link LegacyStockColumnDropMigration} dropped the column,
+ * on this or another instance, mirroring stops.
+ */
+@Component
+@Slf4j
+public class LegacyStockMirror {
+
+    private static final String MIRROR_SQL =
+            "UPDATE products SET stock = ? WHERE id = ? AND NOT (stock <=> ?)";
+
+    private static final String STOCK_SQL =
+            "SELECT stock FROM product_inventory WHERE product_id = ?";
+
+    private static final String HAS_COLUMN_SQL =
+            "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'products' AND column_name = 'stock'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean active;
+
+    /**
+     * Constructs the mirror.
+     * 
+     * @param jdbcTemplate the JDBC template the legacy column is written with
+     */
+    public LegacyStockMirror(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Mirrors the current inventory stock of a product.
+     * 
+     * @param idProduct the ID of the product whose inventory row was written
+     */
+    public void mirror(Long idProduct) {
+        if (!isActive()) {
+            return;
+        }
+        List<Integer> stock = jdbcTemplate.queryForList(STOCK_SQL, Integer.class, idProduct);
+        if (!stock.isEmpty() && stock.get(0) != null) {
+            mirror(Map.of(idProduct, stock.get(0)));
+        }
+    }
+
+    /**
+     * Mirrors the given stocks.
+     * 
+     * @param stocks the stocks just written, by product ID
+     */
+    public void mirror(Map<Long, Integer> stocks) {
+        if (stocks.isEmpty() || !isActive()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(stocks.entrySet());
+        try {
+            jdbcTemplate.batchUpdate(MIRROR_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    statement.setInt(1, entries.get(i).getValue());
+                    statement.setLong(2, entries.get(i).getKey());
+                    statement.setInt(3, entries.get(i).getValue());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return entries.size();
+                }
+            });
+        } catch (BadSqlGrammarException e) {
+            log.info("Legacy stock column is gone; stock is no longer mirrored into it");
+            active = false;
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private boolean isActive() {
+        Boolean current = active;
+        if (current == null) {
+            Integer count = jdbcTemplate.queryForObject(HAS_COLUMN_SQL, Integer.class);
+            current = count != null && count > 0;
+            active = current;
+        }
+        return current;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.product_service.migration;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts {@code products.name} from TEXT to {@code VARCHAR(255) NOT NULL}.
+ * 
+ * <p>Names were created as TEXT, which cannot back the unique constraint and the
+ * catalog sort indexes declared on the entity. The conversion is checked first:
+ * if any name is missing or longer than 255 characters, the migration fails
+ * without altering the table and lists the offending products, so they can be
+ * fixed before the next start instead of being truncated.
+ */
+@Component
+@Slf4j
+public class ProductNameColumnMigration implements SchemaMigration {
+
+    private static final int MAX_LENGTH = 255;
+    private static final int MAX_REPORTED = 20;
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public String description() {
+        return "Bound products.name to VARCHAR(255) NOT NULL";
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT CONCAT(data_type, ':', COALESCE(character_maximum_length, 0), ':', is_nullable) " +
+                "FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = 'products' AND column_name = 'name'",
+                String.class);
+        if (types.isEmpty() || types.get(0).equalsIgnoreCase("varchar:" + MAX_LENGTH + ":NO")) {
+            log.info("Product names are already bounded; nothing to convert");
+            return;
+        }
+
+        List<Long> invalid = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE name IS NULL OR CHAR_LENGTH(name) > ? ORDER BY id LIMIT ?",
+                Long.class, MAX_LENGTH, MAX_REPORTED);
+        if (!invalid.isEmpty()) {
+            throw new IllegalStateException("Cannot bound product names to " + MAX_LENGTH
+                    + " characters: products " + invalid + (invalid.size() == MAX_REPORTED ? " and more" : "")
+                    + " have a missing or longer name");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE products MODIFY COLUMN name VARCHAR(" + MAX_LENGTH + ") NOT NULL");
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.product_service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives {@code products.version} and {@code products.updated_at} column defaults.
+ * 
+ * <p>Hibernate adds both columns without a default, so rows inserted outside the
+ * entity manager, such as the seed in data.sql, would need to set them. Seeded
+ * rows start at version 0 and get their modification time on insert; rows
+ * inserted before this migration without a modification time get the current one.
+ */
+@Component
+@Slf4j
+public class ProductVersionDefaultsMigration implements SchemaMigration {
+
+    @Override
+    public int version() {
+        return 3;
+    }
+
+    @Override
+    public String description() {
+        return "Default products.version to 0 and products.updated_at to the insert time";
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        if (!hasColumn(jdbcTemplate, "products", "version") || !hasColumn(jdbcTemplate, "products", "updated_at")) {
+            log.info("Product version columns do not exist yet; nothing to change");
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN version SET DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE products MODIFY COLUMN updated_at DATETIME(6) NULL DEFAULT CURRENT_TIMESTAMP(6)");
+        int updated = jdbcTemplate.update(
+                "UPDATE products SET updated_at = CURRENT_TIMESTAMP(6) WHERE updated_at IS NULL");
+        log.info("Set the modification time of {} product(s) without one", updated);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.product_service.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A one-time change to the database, applied by the {@link SchemaMigrationRunner}.
+ * 
+ * <p>Migrations are Spring beans identified by a unique version. Each one runs
+ * exactly once per database, whatever the database's history, so it must also
+ * cope with a database that never needed it, such as one just created by Hibernate.
+ */
+public interface SchemaMigration {
+
+    /**
+     * Returns the version of this migration; migrations run in ascending version order.
+     * 
+     * @return the unique version
+     */
+    int version();
+
+    /**
+     * Returns a short description recorded with the applied version.
+     * 
+     * @return the description
+     */
+    String description();
+
+    /**
+     * Tells whether the migration may run on this start. A migration that may not
+     * is left pending and checked again on the next start; later migrations still run.
+     * 
+     * @return true unless the migration waits for a deliberate go-ahead
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Applies the migration.
+     * 
+     * <p>Every statement runs on the runner's connection in auto-commit mode.
+     * 
+     * @param jdbcTemplate the template bound to the runner's connection
+     */
+    void apply(JdbcTemplate jdbcTemplate);
+
+    /**
+     * Checks whether a column exists in a table of the current schema.
+     * 
+     * @param jdbcTemplate the template to query with
+     * @param table the table name
+     * @param column the column name
+     * @return true if the column exists
+     */
+    default boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.product_service.migration;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the {@link SchemaMigration} beans that have not run against the database yet.
+ * 
+ * <p>Hibernate creates and extends the tables ({@code ddl-auto: update}) and data.sql
+ * seeds them on every start. Changes that must happen exactly once, such as moving
+ * data out of a column or altering a column Hibernate leaves alone, are migrations.
+ * They run in version order once every singleton has been created, that is after
+ * the schema update and the seed and before the web server and the Kafka listeners
+ * start. Applied versions are recorded in the {@code schema_migration} table.
+ * 
+ * <p>A migration that is not enabled, such as one dropping data an older version
+ * may still read, stays pending until it is.
+ * 
+ * <p>All migrations run on one connection holding a named MySQL lock, so instances
+ * starting together apply each migration once. A failing migration stops the
+ * startup and is attempted again on the next one.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code schema-migration.enabled}: whether pending migrations are applied on startup</li>
+ *   <li>{@code schema-migration.lock-timeout-seconds}: maximum wait for another instance applying migrations</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SchemaMigrationRunner implements SmartInitializingSingleton {
+
+    private static final String LOCK_NAME = "product-service.schema-migration";
+
+    private static final String CREATE_HISTORY_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_migration (" +
+            "version INT NOT NULL PRIMARY KEY, " +
+            "description VARCHAR(255) NOT NULL, " +
+            "applied_at DATETIME(6) NOT NULL)";
+
+    private static final String RECORD_SQL =
+            "INSERT INTO schema_migration (version, description, applied_at) VALUES (?, ?, UTC_TIMESTAMP(6))";
+
+    private final List<SchemaMigration> migrations;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int lockTimeoutSeconds;
+
+    /**
+     * Constructs the migration runner.
+     * 
+     * @param migrations the migrations to apply
+     * @param jdbcTemplate the JDBC template the connection is taken from
+     * @param enabled whether pending migrations are applied on startup
+     * @param lockTimeoutSeconds maximum wait for another instance applying migrations
+     */
+    public SchemaMigrationRunner(List<SchemaMigration> migrations,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${schema-migration.enabled:true}") boolean enabled,
+                                 @Value("${schema-migration.lock-timeout-seconds:300}") int lockTimeoutSeconds) {
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(SchemaMigration::version)).toList();
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.lockTimeoutSeconds = lockTimeoutSeconds;
+
+        Set<Integer> versions = new HashSet<>();
+        for (SchemaMigration migration : this.migrations) {
+            if (!versions.add(migration.version())) {
+                throw new IllegalStateException("Duplicate schema migration version: " + migration.version());
+            }
+        }
+    }
+
+    /**
+     * Applies the pending migrations.
+     * 
+     * @throws IllegalStateException if the lock cannot be acquired in time
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            log.info("Schema migrations disabled");
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            session.execute(CREATE_HISTORY_SQL);
+
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, LOCK_NAME, lockTimeoutSeconds);
+            if (locked == null || locked != 1) {
+                throw new IllegalStateException("Timed out waiting for another instance to apply schema migrations");
+            }
+            try {
+                applyPending(session);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void applyPending(JdbcTemplate session) {
+        Set<Integer> applied = new HashSet<>(session.queryForList("SELECT version FROM schema_migration", Integer.class));
+
+        for (SchemaMigration migration : migrations) {
+            if (applied.contains(migration.version())) {
+                continue;
+            }
+            if (!migration.isEnabled()) {
+                log.info("Schema migration {} is not enabled; left pending: {}", migration.version(), migration.description());
+                continue;
+            }
+            log.info("Applying schema migration {}: {}", migration.version(), migration.description());
+            long begin = System.currentTimeMillis();
+
+            migration.apply(session);
+            session.update(RECORD_SQL, migration.version(), migration.description());
+
+            log.info("Schema migration {} applied in {} ms", migration.version(), System.currentTimeMillis() - begin);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.product_service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset position of a catalog page: the sort key and ID of its last product.
+ * 
+ * <p>Cursors are handed to clients as opaque URL-safe strings and carry the
+ * sort they were produced for, so they cannot be replayed against another order.
+ * 
+ * @param sort the field the page was ordered by
+ * @param direction the direction the page was ordered in
+ * @param id the ID of the last product of the page
+ * @param value the sort key of the last product, as text (null when sorting by ID)
+ */
+public record ProductCursor(ProductQuery.SortField sort, Sort.Direction direction, Long id, String value) {
+
+    /**
+     * Creates the cursor pointing after the given product.
+     * 
+     * @param query the query the page was produced for
+     * @param last the last product of the page
+     * @return the cursor of the next page
+     */
+    public static ProductCursor after(ProductQuery query, Product last) {
+        String value = switch (query.getSort()) {
+            case ID -> null;
+            case PRICE -> String.valueOf(last.getPrice());
+            case NAME -> last.getName();
+        };
+        return new ProductCursor(query.getSort(), query.getDirection(), last.getId(), value);
+    }
+
+    /**
+     * Decodes a cursor string.
+     * 
+     * @param encoded the cursor as handed to the client
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ProductCursor decode(String encoded) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":", 4);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        ProductQuery.SortField sort = ProductQuery.SortField.valueOf(parts[0]);
+        String value = parts.length == 4 ? parts[3] : null;
+        if (sort != ProductQuery.SortField.ID && value == null) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (sort == ProductQuery.SortField.PRICE) {
+            Double.parseDouble(value);
+        }
+        return new ProductCursor(sort, Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), value);
+    }
+
+    /**
+     * Encodes the cursor for the client.
+     * 
+     * @return the opaque, URL-safe cursor string
+     */
+    public String encode() {
+        String raw = sort + ":" + direction + ":" + id + (value != null ? ":" + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.product_service.model;
+
+import java.time.Instant;
+
+/**
+ * Validators of the current representation of a product: what its ETag and
+ * Last-Modified headers are derived from.
+ * 
+ * <p>The version covers the catalog data and the stock covers the rest of the
+ * response body, so two responses with the same version and stock are identical.
+ * 
+ * @param idProduct the product ID
+ * @param version the version of the catalog data
+ * @param stock the current stock, or null if the product has no inventory
+ * @param lastModified the last time the catalog data or the stock was written, or
+ *                     null if it is not known (stock held outside the inventory row)
+ */
+public record ProductVersion(Long idProduct, Long version, Integer stock, Instant lastModified) {
+
+    /**
+     * Creates the validators from the catalog row and the inventory row.
+     * 
+     * @param idProduct the product ID
+     * @param version the version of the catalog data
+     * @param updatedAt the last time the catalog data was written, or null
+     * @param stock the stock held by the inventory row, or null
+     * @param stockUpdatedAt the last time the stock was written, or null
+     */
+    public ProductVersion(Long idProduct, Long version, Instant updatedAt, Integer stock, Instant stockUpdatedAt) {
+        this(idProduct, version, stock,
+                updatedAt == null || (stockUpdatedAt != null && stockUpdatedAt.isAfter(updatedAt))
+                        ? stockUpdatedAt : updatedAt);
+    }
+
+    /**
+     * Returns the strong ETag of the product representation.
+     * 
+     * @return the quoted entity tag
+     */
+    public String etag() {
+        return "\"" + version + "-" + stock + "\"";
+    }
+
+    /**
+     * Returns these validators with a stock held outside the inventory row, whose
+     * last change time is not known.
+     * 
+     * @param currentStock the current stock
+     * @return the validators of the product with that stock
+     */
+    public ProductVersion withManagedStock(Integer currentStock) {
+        return new ProductVersion(idProduct, version, currentStock, null);
+    }
+
+}
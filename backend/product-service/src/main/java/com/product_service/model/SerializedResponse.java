@@ -0,0 +1,13 @@
+package com.product_service.model;
+
+import java.time.Instant;
+
+/**
+ * A response body serialized once to JSON, with the validators identifying it.
+ * 
+ * @param body the UTF-8 JSON bytes of the complete response body
+ * @param etag the strong entity tag of the body, quoted as sent in the ETag header
+ * @param lastModified the time the body last changed, or null if it is not known
+ */
+public record SerializedResponse(byte[] body, String etag, Instant lastModified) {
+}
@@ -0,0 +1,16 @@
+package com.product_service.model;
+
+/**
+ * Outcome of a stock operation handled by an alternative stock store
+ * (the flash-sale ledger or sharded stock slots).
+ * 
+ * @param managed whether the store owns the product's stock (false means use the products row)
+ * @param applied whether the operation was applied
+ * @param stock the stock after the operation, or the available stock if it was not applied
+ */
+public record StockOutcome(boolean managed, boolean applied, int stock) {
+
+    /** Outcome for products whose stock is not owned by the store. */
+    public static final StockOutcome NOT_MANAGED = new StockOutcome(false, false, 0);
+
+}
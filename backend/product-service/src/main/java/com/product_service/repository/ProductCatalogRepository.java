@@ -0,0 +1,54 @@
+package com.product_service.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.model.ProductCursor;
+
+/**
+ * Custom repository fragment for filtered, sorted catalog pages.
+ * 
+ * <p>Implemented by {@link ProductCatalogRepositoryImpl} with criteria queries,
+ * since the set of filters and the keyset predicate vary per request.
+ */
+public interface ProductCatalogRepository {
+
+    /**
+     * Reads one page of products matching the query filters, in the query order.
+     * 
+     * @param query the filters and order of the page
+     * @param after the keyset position to continue after, or null to start at the offset
+     * @param offset the number of matching products to skip (0 for keyset pages)
+     * @param limit the maximum number of products to return
+     * @return the matching products
+     */
+    default List<Product> findCatalogPage(ProductQuery query, ProductCursor after, int offset, int limit) {
+        return findCatalogPage(query, after, offset, limit, Map.of());
+    }
+
+    /**
+     * Reads one page of products matching the query filters, in the query order,
+     * checking the in-stock filter of some products against stock held in memory.
+     * 
+     * @param query the filters and order of the page
+     * @param after the keyset position to continue after, or null to start at the offset
+     * @param offset the number of matching products to skip (0 for keyset pages)
+     * @param limit the maximum number of products to return
+     * @param ledgerStock stock by product ID that replaces their inventory row in the in-stock filter
+     * @return the matching products
+     */
+    List<Product> findCatalogPage(ProductQuery query, ProductCursor after, int offset, int limit,
+                                  Map<Long, Integer> ledgerStock);
+
+    /**
+     * Counts the products matching the query filters.
+     * 
+     * @param query the filters to apply
+     * @param ledgerStock stock by product ID that replaces their inventory row in the in-stock filter
+     * @return the number of matching products
+     */
+    long countCatalog(ProductQuery query, Map<Long, Integer> ledgerStock);
+
+}
@@ -0,0 +1,157 @@
+package com.product_service.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductInventory;
+import com.product_service.entity.ProductStockSlot;
+import com.product_service.model.ProductCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criteria-based implementation of {@link ProductCatalogRepository}.
+ * 
+ * <p>Every page is ordered by the sort field and then by ID, which makes the
+ * order total and lets a keyset predicate continue exactly after the last
+ * product of the previous page. The indexes declared on {@link Product} match
+ * these orders, with and without a category filter, so keyset pages are
+ * index range scans at any depth.
+ * 
+ * <p>The in-stock filter checks the inventory row and, for sharded products,
+ * the stock slots through primary-key lookups. Products in flash-sale mode are
+ * decided by the ledger stock passed in, since their inventory row lags behind it.
+ */
+public class ProductCatalogRepositoryImpl implements ProductCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findCatalogPage(ProductQuery query, ProductCursor after, int offset, int limit,
+                                         Map<Long, Integer> ledgerStock) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> criteria = cb.createQuery(Product.class);
+        Root<Product> product = criteria.from(Product.class);
+
+        List<Predicate> predicates = filters(cb, criteria, product, query, ledgerStock);
+        if (after != null) {
+            predicates.add(after(cb, product, query, after));
+        }
+
+        boolean ascending = query.getDirection().isAscending();
+        List<Order> orders = new ArrayList<>(2);
+        if (query.getSort() != ProductQuery.SortField.ID) {
+            Expression<?> key = product.get(query.getSort().getAttribute());
+            orders.add(ascending ? cb.asc(key) : cb.desc(key));
+        }
+        orders.add(ascending ? cb.asc(product.get("id")) : cb.desc(product.get("id")));
+
+        criteria.select(product)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+
+        return entityManager.createQuery(criteria)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countCatalog(ProductQuery query, Map<Long, Integer> ledgerStock) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<Product> product = criteria.from(Product.class);
+
+        criteria.select(cb.count(product))
+                .where(filters(cb, criteria, product, query, ledgerStock).toArray(Predicate[]::new));
+
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Builds the filter predicates of a query.
+     */
+    private List<Predicate> filters(CriteriaBuilder cb, AbstractQuery<?> criteria, Root<Product> product,
+                                    ProductQuery query, Map<Long, Integer> ledgerStock) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (query.getCategory() != null) {
+            predicates.add(cb.equal(product.get("category"), query.getCategory()));
+        }
+        if (query.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), query.getMinPrice()));
+        }
+        if (query.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), query.getMaxPrice()));
+        }
+        if (query.getInStock() != null) {
+            Subquery<Long> inventory = criteria.subquery(Long.class);
+            Root<ProductInventory> inventoryRow = inventory.from(ProductInventory.class);
+            inventory.select(inventoryRow.get("productId"))
+                    .where(cb.equal(inventoryRow.get("productId"), product.get("id")),
+                            cb.gt(inventoryRow.get("stock"), 0));
+
+            Subquery<Long> slots = criteria.subquery(Long.class);
+            Root<ProductStockSlot> slot = slots.from(ProductStockSlot.class);
+            slots.select(slot.get("productId"))
+                    .where(cb.equal(slot.get("productId"), product.get("id")),
+                            cb.gt(slot.get("stock"), 0));
+
+            Predicate hasStock = cb.or(cb.exists(inventory), cb.exists(slots));
+            Predicate matches = query.getInStock() ? hasStock : cb.not(hasStock);
+
+            if (!ledgerStock.isEmpty()) {
+                List<Long> ledgerMatches = ledgerStock.entrySet().stream()
+                        .filter(entry -> (entry.getValue() > 0) == query.getInStock())
+                        .map(Map.Entry::getKey)
+                        .toList();
+                matches = cb.and(cb.not(product.get("id").in(ledgerStock.keySet())), matches);
+                if (!ledgerMatches.isEmpty()) {
+                    matches = cb.or(matches, product.get("id").in(ledgerMatches));
+                }
+            }
+            predicates.add(matches);
+        }
+        return predicates;
+    }
+
+    /**
+     * Builds the keyset predicate selecting the products after the cursor position:
+     * {@code key > value OR (key = value AND id > lastId)}, mirrored for descending order.
+     */
+    private Predicate after(CriteriaBuilder cb, Root<Product> product, ProductQuery query, ProductCursor cursor) {
+        boolean ascending = query.getDirection().isAscending();
+        Predicate idAfter = beyond(cb, product.get("id"), cursor.id(), ascending);
+
+        return switch (query.getSort()) {
+            case ID -> idAfter;
+            case PRICE -> keyAfter(cb, product.get("price"), Double.valueOf(cursor.value()), idAfter, ascending);
+            case NAME -> keyAfter(cb, product.get("name"), cursor.value(), idAfter, ascending);
+        };
+    }
+
+    private <T extends Comparable<? super T>> Predicate keyAfter(CriteriaBuilder cb, Expression<T> key, T value,
+                                                                Predicate idAfter, boolean ascending) {
+        return cb.or(beyond(cb, key, value, ascending), cb.and(cb.equal(key, value), idAfter));
+    }
+
+    private <T extends Comparable<? super T>> Predicate beyond(CriteriaBuilder cb, Expression<T> key, T value,
+                                                              boolean ascending) {
+        return ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.product_service.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.product_service.entity.ProductChange;
+
+/**
+ * Repository interface for ProductChange entity database operations.
+ * 
+ * <p>Entries are inserted without a sequence number and numbered in ID order
+ * by a single UPDATE once committed.
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * Lists the IDs of committed entries that have no sequence number yet, in ID order.
+     * 
+     * @param page the maximum number of IDs
+     * @return the entry IDs
+     */
+    @Query("SELECT c.id FROM ProductChange c WHERE c.seq IS NULL ORDER BY c.id")
+    List<Long> findUnsequencedIds(Pageable page);
+
+    /**
+     * Returns the highest sequence number assigned so far.
+     * 
+     * @return the highest sequence number, or 0 if none was assigned
+     */
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProductChange c")
+    long findMaxSeq();
+
+    /**
+     * Numbers entries after their ID: each entry gets {@code id + offset}, so the
+     * numbers keep the ID order without a round trip per entry.
+     * 
+     * @param ids the IDs of the entries to number
+     * @param offset the value added to each ID
+     * @return the number of entries numbered
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductChange c SET c.seq = c.id + :offset WHERE c.id IN :ids AND c.seq IS NULL")
+    int assignSeq(@Param("ids") List<Long> ids, @Param("offset") long offset);
+
+    /**
+     * Lists numbered entries after a sequence number, in sequence order.
+     * 
+     * @param since the sequence number to continue after
+     * @param page the maximum number of entries
+     * @return the entries
+     */
+    @Query("SELECT c FROM ProductChange c WHERE c.seq > :since ORDER BY c.seq")
+    List<ProductChange> findAfter(@Param("since") long since, Pageable page);
+
+    /**
+     * Lists the IDs of numbered entries superseded by a later entry of the same product.
+     * 
+     * @param page the maximum number of IDs
+     * @return the entry IDs
+     */
+    @Query("SELECT c.id FROM ProductChange c WHERE c.seq IS NOT NULL AND EXISTS " +
+            "(SELECT 1 FROM ProductChange n WHERE n.productId = c.productId AND n.seq > c.seq)")
+    List<Long> findSupersededIds(Pageable page);
+
+}
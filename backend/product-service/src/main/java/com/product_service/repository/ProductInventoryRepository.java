@@ -0,0 +1,129 @@
+package com.product_service.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.product_service.entity.ProductInventory;
+
+/**
+ * Repository interface for ProductInventory entity database operations.
+ * 
+ * <p>Stock changes are applied with single UPDATE statements on the narrow
+ * inventory row, so that concurrent reservations can neither lose updates
+ * nor oversell, and never touch the products row.
+ */
+@Repository
+public interface ProductInventoryRepository extends JpaRepository<ProductInventory, Long> {
+
+    /**
+     * Atomically deducts stock if enough is available.
+     * 
+     * <p>Executes {@code UPDATE product_inventory SET stock = stock - ?, updated_at = now WHERE product_id = ? AND stock >= ?},
+     * so the check and the write happen under the same row lock in one round trip.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to deduct
+     * @return 1 if the stock was deducted, 0 if the product has no inventory or insufficient stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.stock = i.stock - :quantity, i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.productId = :idProduct AND i.stock >= :quantity")
+    int decrementStock(@Param("idProduct") Long idProduct, @Param("quantity") int quantity);
+
+    /**
+     * Atomically adds stock back to a product.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to add
+     * @return 1 if the stock was restored, 0 if the product has no inventory
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.stock = i.stock + :quantity, i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.productId = :idProduct")
+    int incrementStock(@Param("idProduct") Long idProduct, @Param("quantity") int quantity);
+
+    /**
+     * Overwrites the stock of a product with an absolute value.
+     * 
+     * <p>Used to write back stock owned by the stock slots, where the inventory row
+     * only mirrors another store.
+     * 
+     * @param idProduct the product ID
+     * @param stock the new stock value
+     * @return 1 if the stock was written, 0 if the product has no inventory
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.stock = :stock, i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.productId = :idProduct")
+    int overwriteStock(@Param("idProduct") Long idProduct, @Param("stock") int stock);
+
+    /**
+     * Records the stock a flash-sale ledger starts from.
+     * 
+     * @param idProduct the product ID
+     * @param stock the initial ledger stock
+     * @return 1 if the stock was recorded, 0 if the product has no inventory
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.ledgerStock = :stock WHERE i.productId = :idProduct")
+    int attachLedger(@Param("idProduct") Long idProduct, @Param("stock") int stock);
+
+    /**
+     * Applies the change of the flash-sale ledger since its previous write-back.
+     * 
+     * <p>Adds {@code available - ledger_stock} to the stock and records {@code available}
+     * as the new ledger stock in the same statement; the stock is assigned first so it
+     * sees the previous ledger stock. A row without ledger stock takes {@code available}
+     * as its stock.
+     * 
+     * @param idProduct the product ID
+     * @param available the current ledger stock
+     * @return 1 if the change was applied, 0 if the product has no inventory
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.stock = i.stock + :available - COALESCE(i.ledgerStock, i.stock), " +
+            "i.ledgerStock = :available, i.updatedAt = CURRENT_TIMESTAMP WHERE i.productId = :idProduct")
+    int applyLedger(@Param("idProduct") Long idProduct, @Param("available") int available);
+
+    /**
+     * Applies the last change of the flash-sale ledger and hands the stock back to the database path.
+     * 
+     * @param idProduct the product ID
+     * @param available the final ledger stock
+     * @return 1 if the change was applied, 0 if the product has no inventory
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductInventory i SET i.stock = i.stock + :available - COALESCE(i.ledgerStock, i.stock), " +
+            "i.ledgerStock = NULL, i.updatedAt = CURRENT_TIMESTAMP WHERE i.productId = :idProduct")
+    int detachLedger(@Param("idProduct") Long idProduct, @Param("available") int available);
+
+    /**
+     * Loads the inventory of a product and locks its row until the end of the transaction.
+     * 
+     * @param idProduct the product ID
+     * @return the locked inventory, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM ProductInventory i WHERE i.productId = :idProduct")
+    Optional<ProductInventory> findByIdForUpdate(@Param("idProduct") Long idProduct);
+
+    /**
+     * Lists the IDs of products with stock in ID order, starting after a given ID.
+     * 
+     * @param after the ID to continue after (0 for the first page)
+     * @param page the page size; the page number is expected to be 0
+     * @return the IDs of products with positive stock
+     */
+    @Query("SELECT i.productId FROM ProductInventory i WHERE i.stock > 0 AND i.productId > :after ORDER BY i.productId")
+    List<Long> findInStockIdsAfter(@Param("after") Long after, Pageable page);
+
+}
@@ -0,0 +1,68 @@
+package com.product_service.repository;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.product_service.entity.Product;
+
+/**
+ * JDBC reads of the products table for bulk writers.
+ *
+ * <p>Bulk imports and updates write products with JDBC batches and set-based
+ * statements, which neither the persistence context nor the second-level cache
+ * see. They read the rows they wrote back through this repository, so the
+ * products they publish always carry the data of their own transaction.
+ * Timestamps are read in UTC, the time zone Hibernate writes instants in.
+ */
+@Repository
+public class ProductJdbcRepository {
+
+    private static final String FIND_BY_IDS_SQL =
+            "SELECT id, name, description, price, category, image_url, version, updated_at " +
+            "FROM products WHERE id IN (:ids) ORDER BY id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs the product JDBC repository.
+     *
+     * @param jdbcTemplate the JDBC template products are read with
+     */
+    public ProductJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads products from the database, bypassing every cache; their stock is left unset.
+     *
+     * @param idProducts the product IDs
+     * @return the products that exist, in ascending ID order
+     */
+    public List<Product> findAllById(Collection<Long> idProducts) {
+        if (idProducts.isEmpty()) {
+            return List.of();
+        }
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        return jdbcTemplate.query(FIND_BY_IDS_SQL, Map.of("ids", idProducts), (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at", utc);
+            return Product.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .description(rs.getString("description"))
+                    .price(rs.getDouble("price"))
+                    .category(Product.Category.valueOf(rs.getString("category")))
+                    .imageUrl(rs.getString("image_url"))
+                    .version(rs.getLong("version"))
+                    .updatedAt(updatedAt != null ? updatedAt.toInstant() : null)
+                    .build();
+        });
+    }
+
+}
@@ -1,9 +1,18 @@
 package com.product_service.repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.product_service.entity.Product;
+import com.product_service.model.ProductVersion;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Product entity database operations.
@@ -19,8 +28,43 @@ import com.product_service.entity.Product;
  *   <li>deleteById, delete - remove product(s)</li>
  *   <li>existsById - check product existence</li>
  * </ul>
+ * 
+ * <p>Filtered and paginated catalog reads come from the {@link ProductCatalogRepository}
+ * fragment. Stock is not part of the products row; see {@link ProductInventoryRepository}.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductCatalogRepository {
+
+    /**
+     * Reads the version, stock and modification times of a product without
+     * loading its catalog data.
+     * 
+     * @param idProduct the product ID
+     * @return the validators of the product, or empty if it does not exist
+     */
+    @Query("SELECT new com.product_service.model.ProductVersion(p.id, p.version, p.updatedAt, i.stock, i.updatedAt) " +
+            "FROM Product p LEFT JOIN ProductInventory i ON i.productId = p.id WHERE p.id = :idProduct")
+    Optional<ProductVersion> findVersionById(@Param("idProduct") Long idProduct);
+
+    /**
+     * Streams the whole catalog in ID order, with the stock of each product.
+     * 
+     * <p>A fetch size of {@link Integer#MIN_VALUE} makes the MySQL driver read the
+     * rows through a forward-only cursor, one at a time, instead of buffering the
+     * result. Products are loaded read-only and bypass the second-level cache. The
+     * connection cannot run other statements until the stream is closed, so the
+     * stream must be consumed in its own read-only transaction and closed.
+     * 
+     * @return rows of the product, its inventory stock (null without an inventory
+     *         row) and the sum of its stock slots (null without slots)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p, i.stock, (SELECT SUM(s.stock) FROM ProductStockSlot s WHERE s.productId = p.id) " +
+            "FROM Product p LEFT JOIN ProductInventory i ON i.productId = p.id ORDER BY p.id")
+    Stream<Object[]> streamCatalog();
 
 }
@@ -0,0 +1,103 @@
+package com.product_service.repository;
+
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.product_service.entity.ProductStockSlot;
+
+/**
+ * Repository interface for ProductStockSlot entity database operations.
+ * 
+ * <p>Slot stock changes use the same single conditional UPDATE statements as
+ * the inventory table, one slot row at a time.
+ */
+@Repository
+public interface ProductStockSlotRepository extends JpaRepository<ProductStockSlot, ProductStockSlot.Key> {
+
+    /**
+     * Atomically deducts stock from one slot if it holds enough.
+     * 
+     * @param idProduct the product ID
+     * @param slot the slot index
+     * @param quantity the quantity to deduct
+     * @return 1 if the stock was deducted, 0 if the slot does not exist or holds too little
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductStockSlot s SET s.stock = s.stock - :quantity " +
+            "WHERE s.productId = :idProduct AND s.slot = :slot AND s.stock >= :quantity")
+    int decrementSlot(@Param("idProduct") Long idProduct, @Param("slot") int slot, @Param("quantity") int quantity);
+
+    /**
+     * Atomically adds stock to one slot.
+     * 
+     * @param idProduct the product ID
+     * @param slot the slot index
+     * @param quantity the quantity to add
+     * @return 1 if the stock was added, 0 if the slot does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductStockSlot s SET s.stock = s.stock + :quantity " +
+            "WHERE s.productId = :idProduct AND s.slot = :slot")
+    int incrementSlot(@Param("idProduct") Long idProduct, @Param("slot") int slot, @Param("quantity") int quantity);
+
+    /**
+     * Sums the stock of all slots of a product.
+     * 
+     * @param idProduct the product ID
+     * @return the total stock, or 0 if the product has no slots
+     */
+    @Query("SELECT COALESCE(SUM(s.stock), 0) FROM ProductStockSlot s WHERE s.productId = :idProduct")
+    long sumStock(@Param("idProduct") Long idProduct);
+
+    /**
+     * Counts the slots of every sharded product.
+     * 
+     * @return rows of [productId, slot count]
+     */
+    @Query("SELECT s.productId, COUNT(s) FROM ProductStockSlot s GROUP BY s.productId")
+    List<Object[]> countSlotsByProduct();
+
+    /**
+     * Counts the slots of a product.
+     * 
+     * @param idProduct the product ID
+     * @return the number of slots, 0 if the product is not sharded
+     */
+    long countByProductId(Long idProduct);
+
+    /**
+     * Loads and locks all slots of a product in slot order.
+     * 
+     * @param idProduct the product ID
+     * @return the locked slots
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStockSlot s WHERE s.productId = :idProduct ORDER BY s.slot")
+    List<ProductStockSlot> findForUpdate(@Param("idProduct") Long idProduct);
+
+    /**
+     * Deletes all slots of a product.
+     * 
+     * @param idProduct the product ID
+     * @return the number of deleted slots
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductStockSlot s WHERE s.productId = :idProduct")
+    int deleteByProductId(@Param("idProduct") Long idProduct);
+
+    /**
+     * Lists the IDs of sharded products with stock in at least one slot.
+     * 
+     * @return the product IDs
+     */
+    @Query("SELECT DISTINCT s.productId FROM ProductStockSlot s WHERE s.stock > 0")
+    List<Long> findInStockProductIds();
+
+}
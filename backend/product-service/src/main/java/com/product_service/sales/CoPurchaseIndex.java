@@ -0,0 +1,412 @@
+package com.product_service.sales;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Approximate counts of the orders that contain two products together, with the
+ * most frequent companions of each product kept ready to read.
+ *
+ * <p>Pair counts live in a count-min sketch of {@code depth} rows of {@code width}
+ * counters, incremented with conservative update: only the counters holding the
+ * current minimum are raised, which keeps overestimates far below those of the
+ * plain sketch. The sketch never underestimates and its size does not depend on
+ * the number of pairs seen.
+ *
+ * <p>A pair only becomes a companion once its estimate reaches {@code minSupport}
+ * orders, so the long tail of pairs bought together once is never materialized.
+ * Each product keeps at most {@code capacity} companions ordered by count; a new
+ * companion replaces the last one only if it was bought together more often. At
+ * most {@code maxProducts} products keep companions, the one whose companions
+ * changed least recently being dropped first.
+ *
+ * <p>The index also keeps, per partition of the source the orders are read from,
+ * the position after the last order counted, so a restored index resumes exactly
+ * where it stopped whatever the order times say.
+ *
+ * <p>Updates are serialized. Every product's companions are published as a new
+ * immutable list, so reads never lock and cost one hash lookup.
+ *
+ * <p>Serialized layout: magic ({@value #MAGIC}), width, depth, order count, the
+ * partition count, then per partition its number and next offset, the sketch
+ * counters row by row, the product count, then per product in least recently
+ * changed order its ID, companion count and companion IDs and counts, followed by
+ * a CRC32 of everything before it.
+ */
+public final class CoPurchaseIndex {
+
+    private static final int MAGIC = 0x43504932;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final int maxProducts;
+    private final int minSupport;
+    private final int[] cells;
+
+    private final Map<Long, Companions> companions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, Boolean> recency = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Long> nextOffsets = new HashMap<>();
+    private long orders;
+
+    /**
+     * A product bought together with another one.
+     *
+     * @param idProduct the companion product ID
+     * @param orders the estimated number of orders containing both products
+     */
+    public record Companion(long idProduct, long orders) {
+    }
+
+    /**
+     * Companions of one product, most frequent first and then by ascending ID.
+     */
+    private record Companions(long[] ids, int[] counts) {
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param width number of counters per sketch row, up to 2^26; rounded up to a power of two
+     * @param depth number of sketch rows, between 1 and 8
+     * @param capacity maximum number of companions kept per product
+     * @param maxProducts maximum number of products keeping companions
+     * @param minSupport minimum number of orders for a pair to become a companion
+     */
+    public CoPurchaseIndex(int width, int depth, int capacity, int maxProducts, int minSupport) {
+        if (width < 1 || width > 1 << 26 || depth < 1 || depth > SEEDS.length
+                || capacity < 1 || maxProducts < 1 || minSupport < 1) {
+            throw new IllegalArgumentException("Invalid co-purchase index dimensions");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.maxProducts = maxProducts;
+        this.minSupport = minSupport;
+        this.cells = new int[this.width * depth];
+    }
+
+    /**
+     * Counts an order: every pair of distinct products in it is bought together once more.
+     *
+     * @param idProducts the products of the order
+     * @param partition the partition the order was read from
+     * @param offset the offset of the order in its partition
+     */
+    public synchronized void addOrder(long[] idProducts, int partition, long offset) {
+        long[] items = Arrays.stream(idProducts).sorted().distinct().toArray();
+        for (int i = 0; i < items.length; i++) {
+            for (int j = i + 1; j < items.length; j++) {
+                int count = increment(items[i], items[j]);
+                if (count >= minSupport) {
+                    offer(items[i], items[j], count);
+                    offer(items[j], items[i], count);
+                }
+            }
+        }
+        nextOffsets.merge(partition, offset + 1, Math::max);
+        orders++;
+    }
+
+    /**
+     * Returns the most frequent companions of a product.
+     *
+     * @param idProduct the product ID
+     * @param limit the maximum number of companions returned
+     * @return the companions, most frequent first and then by ascending ID
+     */
+    public List<Companion> companionsOf(long idProduct, int limit) {
+        Companions current = companions.get(idProduct);
+        if (current == null) {
+            return List.of();
+        }
+        int size = Math.min(limit, current.ids().length);
+        List<Companion> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Companion(current.ids()[i], current.counts()[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the estimated number of orders containing two products.
+     *
+     * @param first a product ID
+     * @param second another product ID
+     * @return the estimate, never below the true count
+     */
+    public synchronized int estimate(long first, long second) {
+        long pair = pairHash(first, second);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells[cell(pair, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the offset after the last order counted, per partition.
+     *
+     * @return the next offsets by partition; partitions no order was counted from are absent
+     */
+    public synchronized Map<Integer, Long> nextOffsets() {
+        return Map.copyOf(nextOffsets);
+    }
+
+    /**
+     * Returns the number of orders counted.
+     *
+     * @return the number of orders
+     */
+    public synchronized long orderCount() {
+        return orders;
+    }
+
+    /**
+     * Returns the number of products that keep companions.
+     *
+     * @return the number of products
+     */
+    public int productCount() {
+        return companions.size();
+    }
+
+    /**
+     * Writes the index in the serialized layout.
+     *
+     * @param out the stream to write to; it is not closed
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        synchronized (this) {
+            data.writeInt(MAGIC);
+            data.writeInt(width);
+            data.writeInt(depth);
+            data.writeLong(orders);
+            data.writeInt(nextOffsets.size());
+            for (Map.Entry<Integer, Long> next : nextOffsets.entrySet()) {
+                data.writeInt(next.getKey());
+                data.writeLong(next.getValue());
+            }
+            for (int cell : cells) {
+                data.writeInt(cell);
+            }
+            data.writeInt(recency.size());
+            for (Long idProduct : recency.keySet()) {
+                Companions current = companions.get(idProduct);
+                data.writeLong(idProduct);
+                data.writeInt(current.ids().length);
+                for (int i = 0; i < current.ids().length; i++) {
+                    data.writeLong(current.ids()[i]);
+                    data.writeInt(current.counts()[i]);
+                }
+            }
+        }
+        data.flush();
+        new DataOutputStream(out).writeLong(checked.getChecksum().getValue());
+        out.flush();
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo} into a new index.
+     *
+     * <p>The sketch must have the same width and depth. Companions beyond the new
+     * capacity, and the least recently changed products beyond the new maximum,
+     * are dropped.
+     *
+     * @param in the stream to read from; it is not closed
+     * @param width number of counters per sketch row
+     * @param depth number of sketch rows
+     * @param capacity maximum number of companions kept per product
+     * @param maxProducts maximum number of products keeping companions
+     * @param minSupport minimum number of orders for a pair to become a companion
+     * @return the index
+     * @throws IOException if the stream fails, is truncated, fails the checksum or has another sketch size
+     */
+    public static CoPurchaseIndex readFrom(InputStream in, int width, int depth, int capacity, int maxProducts,
+                                           int minSupport) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(in, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a co-purchase index");
+        }
+        CoPurchaseIndex index = new CoPurchaseIndex(width, depth, capacity, maxProducts, minSupport);
+        if (data.readInt() != index.width || data.readInt() != index.depth) {
+            throw new IOException("Co-purchase index written with another sketch size");
+        }
+        index.orders = data.readLong();
+        int partitions = data.readInt();
+        if (partitions < 0) {
+            throw new IOException("Corrupted co-purchase index");
+        }
+        for (int p = 0; p < partitions; p++) {
+            index.nextOffsets.put(data.readInt(), data.readLong());
+        }
+        for (int i = 0; i < index.cells.length; i++) {
+            index.cells[i] = data.readInt();
+        }
+
+        int products = data.readInt();
+        if (products < 0) {
+            throw new IOException("Corrupted co-purchase index");
+        }
+        for (int p = 0; p < products; p++) {
+            long idProduct = data.readLong();
+            int size = data.readInt();
+            if (size < 1) {
+                throw new IOException("Corrupted co-purchase index");
+            }
+            int kept = Math.min(size, capacity);
+            long[] ids = new long[kept];
+            int[] counts = new int[kept];
+            for (int i = 0; i < size; i++) {
+                long id = data.readLong();
+                int count = data.readInt();
+                if (i < kept) {
+                    ids[i] = id;
+                    counts[i] = count;
+                }
+            }
+            index.publish(idProduct, new Companions(ids, counts));
+        }
+
+        long expected = checked.getChecksum().getValue();
+        if (new DataInputStream(in).readLong() != expected) {
+            throw new IOException("Co-purchase index checksum mismatch");
+        }
+        return index;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Adds one order to the count of a pair and returns its new estimate.
+     */
+    private int increment(long first, long second) {
+        long pair = pairHash(first, second);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells[cell(pair, row)]);
+        }
+        int target = min == Integer.MAX_VALUE ? min : min + 1;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(pair, row);
+            if (cells[cell] < target) {
+                cells[cell] = target;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Records a companion of a product with its current count, if it ranks among
+     * the product's companions.
+     */
+    private void offer(long idProduct, long idCompanion, int count) {
+        Companions current = companions.get(idProduct);
+        if (current == null) {
+            publish(idProduct, new Companions(new long[] {idCompanion}, new int[] {count}));
+            return;
+        }
+
+        long[] ids = current.ids();
+        int[] counts = current.counts();
+        int position = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == idCompanion) {
+                position = i;
+                break;
+            }
+        }
+
+        if (position >= 0) {
+            ids = ids.clone();
+            counts = counts.clone();
+        } else if (ids.length < capacity) {
+            ids = Arrays.copyOf(ids, ids.length + 1);
+            counts = Arrays.copyOf(counts, counts.length + 1);
+            position = ids.length - 1;
+        } else if (count > counts[counts.length - 1]) {
+            ids = ids.clone();
+            counts = counts.clone();
+            position = ids.length - 1;
+        } else {
+            return;
+        }
+
+        // Move the companion up to its rank; counts only grow
+        while (position > 0 && ranksBefore(count, idCompanion, counts[position - 1], ids[position - 1])) {
+            ids[position] = ids[position - 1];
+            counts[position] = counts[position - 1];
+            position--;
+        }
+        ids[position] = idCompanion;
+        counts[position] = count;
+        publish(idProduct, new Companions(ids, counts));
+    }
+
+    /**
+     * Publishes the companions of a product, dropping the least recently changed
+     * product if the index is full.
+     */
+    private void publish(long idProduct, Companions updated) {
+        if (recency.put(idProduct, Boolean.TRUE) == null && recency.size() > maxProducts) {
+            Long eldest = recency.keySet().iterator().next();
+            recency.remove(eldest);
+            companions.remove(eldest);
+        }
+        companions.put(idProduct, updated);
+    }
+
+    private static boolean ranksBefore(int count, long id, int otherCount, long otherId) {
+        return count > otherCount || (count == otherCount && id < otherId);
+    }
+
+    private int cell(long pair, int row) {
+        return row * width + (int) (mix(pair ^ SEEDS[row]) & (width - 1));
+    }
+
+    /**
+     * Hashes an unordered pair of product IDs.
+     */
+    private static long pairHash(long first, long second) {
+        long low = Math.min(first, second);
+        long high = Math.max(first, second);
+        return mix(mix(low) + high * SEEDS[0]);
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreading every input bit over the output.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.product_service.sales;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Approximate top-k counter over a sliding time window, built from Space-Saving summaries.
+ *
+ * <p>The window is split into a ring of equal time slices. Each slice keeps a
+ * Space-Saving summary of at most {@code capacity} counters: a key already counted
+ * is incremented; a new key takes a free counter, or replaces the smallest counter
+ * and inherits its count as its possible error. A slice is cleared when the ring
+ * comes back to it, so memory stays at {@code slices * capacity} counters however
+ * many keys are seen, and expiring old counts costs nothing.
+ *
+ * <p>Queries add up the counters of the live slices. A reported count never
+ * underestimates the true count of a key within the slices it was tracked in, and
+ * overestimates it by at most the reported error; any key counted more than
+ * {@code total / capacity} times in a slice is guaranteed to be tracked in it.
+ * The window covers the current slice and the {@code slices - 1} before it, so it
+ * spans between {@code slices - 1} and {@code slices} slice lengths.
+ *
+ * <p>All methods are synchronized; a query merges at most {@code slices * capacity}
+ * counters.
+ */
+public final class SlidingTopK {
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingLong((Counter counter) -> counter.count).thenComparingLong(counter -> counter.key);
+
+    private final long sliceMillis;
+    private final int capacity;
+    private final Slice[] ring;
+    private long latestSlice = Long.MIN_VALUE;
+
+    /**
+     * A key with its estimated count over the window.
+     *
+     * @param key the counted key
+     * @param count the estimated count, never below the true count
+     * @param error the maximum overestimate included in the count
+     */
+    public record Entry(long key, long count, long error) {
+    }
+
+    /**
+     * Space-Saving counter of one key in one slice.
+     */
+    private static final class Counter {
+        private final long key;
+        private long count;
+        private long error;
+
+        private Counter(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Space-Saving summary of one time slice.
+     */
+    private static final class Slice {
+        private long number = Long.MIN_VALUE;
+        private final Map<Long, Counter> counters = new HashMap<>();
+        private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+        private void reset(long number) {
+            this.number = number;
+            counters.clear();
+            byCount.clear();
+        }
+
+        private void add(long key, long weight, int capacity) {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                byCount.remove(counter);
+                counter.count += weight;
+            } else if (counters.size() < capacity) {
+                counter = new Counter(key, weight, 0);
+                counters.put(key, counter);
+            } else {
+                Counter smallest = byCount.pollFirst();
+                counters.remove(smallest.key);
+                counter = new Counter(key, smallest.count + weight, smallest.count);
+                counters.put(key, counter);
+            }
+            byCount.add(counter);
+        }
+    }
+
+    /**
+     * Creates an empty counter.
+     *
+     * @param windowMillis the length of the window, in milliseconds
+     * @param slices the number of slices the window is split into
+     * @param capacity the maximum number of keys counted per slice
+     */
+    public SlidingTopK(long windowMillis, int slices, int capacity) {
+        if (slices < 1 || capacity < 1 || windowMillis < slices) {
+            throw new IllegalArgumentException("Window, slice count and capacity must be positive");
+        }
+        this.sliceMillis = windowMillis / slices;
+        this.capacity = capacity;
+        this.ring = new Slice[slices];
+        for (int i = 0; i < slices; i++) {
+            ring[i] = new Slice();
+        }
+    }
+
+    /**
+     * Counts occurrences of a key at a point in time.
+     *
+     * <p>Occurrences older than the window, as seen from the latest time counted
+     * so far, are ignored.
+     *
+     * @param key the key
+     * @param weight the number of occurrences
+     * @param timeMillis the time of the occurrences, in epoch milliseconds
+     * @return true if the occurrences were counted
+     */
+    public synchronized boolean add(long key, long weight, long timeMillis) {
+        if (weight <= 0) {
+            return false;
+        }
+        long number = Math.floorDiv(timeMillis, sliceMillis);
+        if (latestSlice != Long.MIN_VALUE && number <= latestSlice - ring.length) {
+            return false;
+        }
+        latestSlice = Math.max(latestSlice, number);
+
+        Slice slice = ring[(int) Math.floorMod(number, (long) ring.length)];
+        if (slice.number != number) {
+            slice.reset(number);
+        }
+        slice.add(key, weight, capacity);
+        return true;
+    }
+
+    /**
+     * Returns the keys with the highest estimated counts over the window ending at a point in time.
+     *
+     * @param limit the maximum number of keys returned
+     * @param nowMillis the end of the window, in epoch milliseconds
+     * @return the keys, highest count first and then by ascending key
+     */
+    public synchronized List<Entry> top(int limit, long nowMillis) {
+        long current = Math.floorDiv(nowMillis, sliceMillis);
+        Map<Long, Entry> totals = new HashMap<>();
+        for (Slice slice : ring) {
+            if (slice.number > current - ring.length && slice.number <= current) {
+                for (Counter counter : slice.counters.values()) {
+                    totals.merge(counter.key, new Entry(counter.key, counter.count, counter.error),
+                            (a, b) -> new Entry(a.key(), a.count() + b.count(), a.error() + b.error()));
+                }
+            }
+        }
+        return highest(totals.values(), limit);
+    }
+
+    /**
+     * Returns the entries with the highest counts, highest first and then by ascending key.
+     *
+     * @param entries the entries to choose from
+     * @param limit the maximum number of entries returned
+     * @return the selected entries
+     */
+    public static List<Entry> highest(Iterable<Entry> entries, int limit) {
+        Comparator<Entry> order = Comparator.comparingLong(Entry::count).reversed()
+                .thenComparingLong(Entry::key);
+        PriorityQueue<Entry> heap = new PriorityQueue<>(order.reversed());
+        for (Entry entry : entries) {
+            heap.add(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.product_service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.product_service.entity.Product;
+
+/**
+ * Product counts per category, availability and price bucket, maintained incrementally.
+ *
+ * <p>Price buckets are delimited by ascending bounds: with bounds {@code 25, 100}
+ * the buckets are {@code [0, 25)}, {@code [25, 100)} and {@code [100, +inf)}.
+ *
+ * <p>The category, bucket and availability of every counted product are kept in a
+ * primitive open-addressing map, so an update only moves one product between
+ * counters and costs O(1) regardless of the catalog size.
+ *
+ * <p>All methods synchronize on the instance; every operation either touches a
+ * handful of counters or copies them, so contention stays negligible.
+ */
+public final class CatalogFacets {
+
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+
+    private static final int IN_STOCK = 1;
+    private static final int BUCKET_SHIFT = 1;
+    private static final int CATEGORY_SHIFT = 24;
+
+    private final double[] bounds;
+
+    /**
+     * Per category: total, in stock, then one counter per bucket for all products
+     * and one per bucket for products in stock.
+     */
+    private final int[][] counters;
+
+    private long[] keys = new long[1024];
+    private int[] states = new int[1024];
+    private int size;
+
+    /**
+     * Counts of one category.
+     *
+     * @param category the category
+     * @param total number of products in the category
+     * @param inStock number of those products with stock
+     * @param buckets number of products per price bucket
+     * @param inStockBuckets number of products with stock per price bucket
+     */
+    public record CategoryCounts(Product.Category category, int total, int inStock,
+                                 int[] buckets, int[] inStockBuckets) {
+    }
+
+    /**
+     * Creates empty facets.
+     *
+     * @param bounds the ascending price bounds between buckets
+     * @throws IllegalArgumentException if the bounds are not strictly ascending
+     */
+    public CatalogFacets(double[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (!(bounds[i] > bounds[i - 1])) {
+                throw new IllegalArgumentException("Price bounds must be strictly ascending");
+            }
+        }
+        this.bounds = bounds.clone();
+        this.counters = new int[CATEGORIES.length][2 + 2 * (bounds.length + 1)];
+    }
+
+    /**
+     * Counts a product, or moves it to its new counters if it is already counted.
+     *
+     * @param productId the product ID
+     * @param category the product category
+     * @param price the product price
+     * @param inStock whether the product has stock
+     */
+    public synchronized void upsert(long productId, Product.Category category, double price, boolean inStock) {
+        int state = (category.ordinal() + 1) << CATEGORY_SHIFT
+                | bucketOf(price) << BUCKET_SHIFT
+                | (inStock ? IN_STOCK : 0);
+
+        int slot = slotOf(productId);
+        if (keys[slot] == productId) {
+            if (states[slot] != state) {
+                count(states[slot], -1);
+                count(state, 1);
+                states[slot] = state;
+            }
+            return;
+        }
+
+        keys[slot] = productId;
+        states[slot] = state;
+        count(state, 1);
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Updates the availability of a counted product; unknown products are ignored.
+     *
+     * @param productId the product ID
+     * @param inStock whether the product has stock
+     */
+    public synchronized void setInStock(long productId, boolean inStock) {
+        int slot = slotOf(productId);
+        if (keys[slot] != productId) {
+            return;
+        }
+        int state = inStock ? states[slot] | IN_STOCK : states[slot] & ~IN_STOCK;
+        if (state != states[slot]) {
+            count(states[slot], -1);
+            count(state, 1);
+            states[slot] = state;
+        }
+    }
+
+    /**
+     * Returns a copy of the counts of every category, in declaration order.
+     *
+     * @return the counts
+     */
+    public synchronized List<CategoryCounts> counts() {
+        List<CategoryCounts> counts = new ArrayList<>(CATEGORIES.length);
+        int bucketCount = bounds.length + 1;
+        for (Product.Category category : CATEGORIES) {
+            int[] row = counters[category.ordinal()];
+            counts.add(new CategoryCounts(category, row[0], row[1],
+                    Arrays.copyOfRange(row, 2, 2 + bucketCount),
+                    Arrays.copyOfRange(row, 2 + bucketCount, 2 + 2 * bucketCount)));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the price bounds between buckets.
+     *
+     * @return a copy of the bounds
+     */
+    public double[] bounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Returns the number of counted products.
+     *
+     * @return the number of products
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of counters that differ from another instance with the same bounds.
+     *
+     * @param other the facets to compare with
+     * @return the number of differing counters
+     */
+    public int differences(CatalogFacets other) {
+        int[][] mine;
+        int[][] theirs;
+        synchronized (this) {
+            mine = copyCounters();
+        }
+        synchronized (other) {
+            theirs = other.copyCounters();
+        }
+        int differences = 0;
+        for (int category = 0; category < mine.length; category++) {
+            for (int i = 0; i < mine[category].length; i++) {
+                if (i >= theirs[category].length || mine[category][i] != theirs[category][i]) {
+                    differences++;
+                }
+            }
+        }
+        return differences;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private int bucketOf(double price) {
+        int position = Arrays.binarySearch(bounds, price);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private void count(int state, int delta) {
+        int[] row = counters[(state >>> CATEGORY_SHIFT) - 1];
+        int bucket = (state & ((1 << CATEGORY_SHIFT) - 1)) >>> BUCKET_SHIFT;
+        row[0] += delta;
+        row[2 + bucket] += delta;
+        if ((state & IN_STOCK) != 0) {
+            row[1] += delta;
+            row[2 + bounds.length + 1 + bucket] += delta;
+        }
+    }
+
+    /**
+     * Returns the slot holding a product, or the empty slot where it would be inserted.
+     * Product IDs are positive, so 0 marks an empty slot.
+     */
+    private int slotOf(long productId) {
+        int mask = keys.length - 1;
+        int slot = (int) (productId * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        while (keys[slot] != 0 && keys[slot] != productId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldStates = states;
+        keys = new long[oldKeys.length * 2];
+        states = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                states[slot] = oldStates[i];
+            }
+        }
+    }
+
+    private int[][] copyCounters() {
+        int[][] copy = new int[counters.length][];
+        for (int i = 0; i < counters.length; i++) {
+            copy[i] = counters[i].clone();
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,383 @@
+package com.product_service.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+import com.product_service.entity.Product;
+
+/**
+ * Immutable, versioned catalog data in a memory-mapped file.
+ *
+ * <p>File layout: a {@value #HEADER_SIZE}-byte header, a string heap of UTF-8
+ * names, descriptions and image URLs, then one {@value #RECORD_SIZE}-byte record
+ * per product in ascending ID order. A record holds the ID, price and category,
+ * the heap offset and length of each string (length -1 for null), the version of
+ * the catalog data and its modification time in epoch nanoseconds.
+ *
+ * <p>Header: magic, format, snapshot version, creation time, record count, heap
+ * offset and length, records offset, a CRC32 of everything after the header, and
+ * the change log sequence number the snapshot covers.
+ *
+ * <p>The mapping lives outside the Java heap and is paged in by the operating
+ * system. Lookups binary-search the records with absolute reads and only decode
+ * the product that was found, so concurrent readers share the mapping without
+ * locking and the catalog adds nothing to garbage collection.
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415453;
+    private static final int FORMAT = 3;
+    private static final int HEADER_SIZE = 72;
+    private static final int RECORD_SIZE = 64;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+
+    private final MappedByteBuffer buffer;
+    private final long version;
+    private final long createdAt;
+    private final long coveredSeq;
+    private final int recordCount;
+    private final int heapOffset;
+    private final int recordsOffset;
+
+    private CatalogSnapshot(MappedByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT) {
+            throw new IOException("Unsupported catalog snapshot format: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.version = buffer.getLong(8);
+        this.createdAt = buffer.getLong(16);
+        this.recordCount = buffer.getInt(24);
+        this.heapOffset = (int) buffer.getLong(32);
+        long heapLength = buffer.getLong(40);
+        this.recordsOffset = (int) buffer.getLong(48);
+        this.coveredSeq = buffer.getLong(64);
+
+        if (heapOffset != HEADER_SIZE || recordsOffset != heapOffset + heapLength
+                || (long) recordsOffset + (long) recordCount * RECORD_SIZE != buffer.capacity()) {
+            throw new IOException("Corrupted catalog snapshot");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if (crc.getValue() != buffer.getLong(56)) {
+            throw new IOException("Catalog snapshot checksum mismatch");
+        }
+    }
+
+    /**
+     * Maps and validates a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot too large to map");
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Starts writing a new snapshot next to the given file.
+     *
+     * @param path the snapshot file the finished snapshot replaces
+     * @param version the version of the new snapshot
+     * @param coveredSeq the last change log sequence number whose change the products added reflect
+     * @return the writer
+     * @throws IOException if the temporary files cannot be created
+     */
+    public static Writer writer(Path path, long version, long coveredSeq) throws IOException {
+        return new Writer(path, version, coveredSeq);
+    }
+
+    /**
+     * Decodes the product with the given ID; its stock is left unset.
+     *
+     * @param productId the product ID
+     * @return a new product instance, or null if the snapshot does not contain it
+     */
+    public Product find(long productId) {
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = buffer.getLong(recordsOffset + middle * RECORD_SIZE);
+            if (id < productId) {
+                low = middle + 1;
+            } else if (id > productId) {
+                high = middle - 1;
+            } else {
+                return decode(recordsOffset + middle * RECORD_SIZE);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the version of the snapshot.
+     *
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the time the snapshot was written.
+     *
+     * @return the creation time in epoch milliseconds
+     */
+    public long createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the change log sequence number the snapshot covers: every change
+     * numbered up to it is reflected, later ones may not be.
+     *
+     * @return the covered sequence number
+     */
+    public long coveredSeq() {
+        return coveredSeq;
+    }
+
+    /**
+     * Returns the number of products in the snapshot.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private Product decode(int record) {
+        return Product.builder()
+                .id(buffer.getLong(record))
+                .price(buffer.getDouble(record + 8))
+                .category(CATEGORIES[buffer.get(record + 16)])
+                .name(string(record + 20))
+                .description(string(record + 28))
+                .imageUrl(string(record + 36))
+                .version(buffer.getLong(record + 48))
+                .updatedAt(instant(buffer.getLong(record + 56)))
+                .build();
+    }
+
+    private static Instant instant(long epochNanos) {
+        return epochNanos == NO_TIME ? null
+                : Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    private String string(int field) {
+        int length = buffer.getInt(field + 4);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(heapOffset + buffer.getInt(field), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Writer ====================
+
+    /**
+     * Writes a snapshot file from products added in ascending ID order.
+     *
+     * <p>Strings are streamed into the file while records collect in a side file;
+     * {@link #commit()} appends the records, fills in the header, forces the file
+     * to disk and moves it over the previous snapshot atomically. Readers of the
+     * previous mapping are unaffected by the move.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path path;
+        private final Path next;
+        private final Path records;
+        private final long version;
+        private final long coveredSeq;
+        private final FileChannel out;
+        private final FileChannel recordsOut;
+        private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE * 1024);
+
+        private ByteBuffer strings = ByteBuffer.allocate(64 * 1024);
+        private long heapLength;
+        private int count;
+        private long lastId = Long.MIN_VALUE;
+        private boolean committed;
+
+        private Writer(Path path, long version, long coveredSeq) throws IOException {
+            this.path = path;
+            this.next = path.resolveSibling(path.getFileName() + ".next");
+            this.records = path.resolveSibling(path.getFileName() + ".records");
+            this.version = version;
+            this.coveredSeq = coveredSeq;
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.out = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+            this.recordsOut = FileChannel.open(records, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+            out.position(HEADER_SIZE);
+        }
+
+        /**
+         * Adds a product.
+         *
+         * @param product the product; IDs must be strictly ascending
+         * @throws IOException if writing fails or the snapshot would exceed 2 GB
+         */
+        public void add(Product product) throws IOException {
+            if (product.getId() <= lastId) {
+                throw new IllegalArgumentException("Products must be added in ascending ID order");
+            }
+            lastId = product.getId();
+
+            if (record.remaining() < RECORD_SIZE) {
+                flushRecords();
+            }
+            record.putLong(product.getId())
+                    .putDouble(product.getPrice() != null ? product.getPrice() : 0)
+                    .put((byte) product.getCategory().ordinal())
+                    .put(new byte[3]);
+            putString(product.getName());
+            putString(product.getDescription());
+            putString(product.getImageUrl());
+            record.putInt(0)
+                    .putLong(product.getVersion() != null ? product.getVersion() : 0)
+                    .putLong(product.getUpdatedAt() != null ? epochNanos(product.getUpdatedAt()) : NO_TIME);
+            count++;
+
+            if (HEADER_SIZE + heapLength + (long) count * RECORD_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot would exceed 2 GB");
+            }
+        }
+
+        /**
+         * Completes the snapshot and moves it into place.
+         *
+         * @throws IOException if writing or moving fails
+         */
+        public void commit() throws IOException {
+            flushStrings();
+            flushRecords();
+            long recordsOffset = HEADER_SIZE + heapLength;
+            recordsOut.force(false);
+            long transferred = 0;
+            long recordsSize = recordsOut.size();
+            while (transferred < recordsSize) {
+                transferred += recordsOut.transferTo(transferred, recordsSize - transferred, out);
+            }
+
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+            long position = HEADER_SIZE;
+            while (true) {
+                chunk.clear();
+                int read = out.read(chunk, position);
+                if (read <= 0) {
+                    break;
+                }
+                chunk.flip();
+                crc.update(chunk);
+                position += read;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT)
+                    .putLong(version)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(count)
+                    .putInt(0)
+                    .putLong(HEADER_SIZE)
+                    .putLong(heapLength)
+                    .putLong(recordsOffset)
+                    .putLong(crc.getValue())
+                    .putLong(coveredSeq)
+                    .flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+            out.force(true);
+            out.close();
+            recordsOut.close();
+            Files.deleteIfExists(records);
+
+            Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        /**
+         * Closes the temporary files; an uncommitted snapshot is discarded.
+         */
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            try {
+                out.close();
+                recordsOut.close();
+            } finally {
+                Files.deleteIfExists(records);
+                Files.deleteIfExists(next);
+            }
+        }
+
+        private static long epochNanos(Instant instant) {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        }
+
+        private void putString(String value) throws IOException {
+            if (value == null) {
+                record.putInt(0).putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            record.putInt((int) (heapLength + strings.position())).putInt(bytes.length);
+            if (bytes.length > strings.remaining()) {
+                flushStrings();
+                if (bytes.length > strings.capacity()) {
+                    strings = ByteBuffer.allocate(bytes.length);
+                }
+            }
+            strings.put(bytes);
+        }
+
+        private void flushRecords() throws IOException {
+            record.flip();
+            while (record.hasRemaining()) {
+                recordsOut.write(record);
+            }
+            record.clear();
+        }
+
+        private void flushStrings() throws IOException {
+            strings.flip();
+            heapLength += strings.remaining();
+            while (strings.hasRemaining()) {
+                out.write(strings);
+            }
+            strings.clear();
+        }
+    }
+
+}
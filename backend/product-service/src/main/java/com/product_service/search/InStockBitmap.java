@@ -0,0 +1,471 @@
+package com.product_service.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compressed bitmap of the IDs of products that have stock, in the Roaring layout.
+ *
+ * <p>IDs are split into a high part (all bits above the lowest 16) and a 16-bit low
+ * part. Every high part in use owns a container holding its low parts: a sorted
+ * {@code char} array while it holds up to {@value #ARRAY_MAX} values, a 1024-word
+ * bitmap beyond that. Sparse ranges cost two bytes per ID and dense ones one bit,
+ * and membership is a binary search over the high parts plus one container probe.
+ *
+ * <p>Serialized layout: magic ({@value #MAGIC}), container count, then per
+ * container its high part, cardinality and either the sorted low parts or the
+ * 1024 bitmap words, followed by a CRC32 of everything before it.
+ *
+ * <p>Reads take the read lock and run concurrently; updates take the write lock.
+ */
+public final class InStockBitmap {
+
+    private static final int MAGIC = 0x49534231;
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final long MAX_ID = (1L << 47) - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] keys = new int[16];
+    private Container[] containers = new Container[16];
+    private int containerCount;
+    private long cardinality;
+
+    /**
+     * Sets or clears the bit of a product.
+     *
+     * @param productId the product ID
+     * @param inStock whether the product has stock
+     * @return true if the bit changed
+     */
+    public boolean set(long productId, boolean inStock) {
+        if (productId < 0 || productId > MAX_ID) {
+            throw new IllegalArgumentException("Product ID out of range: " + productId);
+        }
+        int key = (int) (productId >>> 16);
+        char low = (char) productId;
+
+        lock.writeLock().lock();
+        try {
+            int position = Arrays.binarySearch(keys, 0, containerCount, key);
+            if (inStock) {
+                if (position < 0) {
+                    position = insertContainer(-position - 1, key);
+                }
+                Container container = containers[position];
+                if (container.contains(low)) {
+                    return false;
+                }
+                containers[position] = container.add(low);
+                cardinality++;
+                return true;
+            }
+
+            if (position < 0 || !containers[position].contains(low)) {
+                return false;
+            }
+            Container container = containers[position].remove(low);
+            if (container.cardinality() == 0) {
+                removeContainer(position);
+            } else {
+                containers[position] = container;
+            }
+            cardinality--;
+            return true;
+
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether a product has stock.
+     *
+     * @param productId the product ID
+     * @return true if the bit of the product is set
+     */
+    public boolean contains(long productId) {
+        if (productId < 0 || productId > MAX_ID) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            int position = Arrays.binarySearch(keys, 0, containerCount, (int) (productId >>> 16));
+            return position >= 0 && containers[position].contains((char) productId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the set IDs following a position, in ascending or descending order.
+     *
+     * @param after the ID to continue after, or null to start at the first (or last) ID
+     * @param ascending whether IDs are returned in ascending order
+     * @param limit the maximum number of IDs returned
+     * @param filter additional condition an ID must satisfy to be returned
+     * @return the matching IDs, in the requested order
+     */
+    public long[] walk(Long after, boolean ascending, int limit, LongPredicate filter) {
+        long[] ids = new long[Math.min(limit, 1024)];
+        int count = 0;
+
+        lock.readLock().lock();
+        try {
+            long start = after == null ? (ascending ? 0 : MAX_ID) : (ascending ? after + 1 : after - 1);
+            if (start < 0 || start > MAX_ID) {
+                return new long[0];
+            }
+            int key = (int) (start >>> 16);
+            int position = Arrays.binarySearch(keys, 0, containerCount, key);
+            int low = (char) start;
+            if (position < 0) {
+                position = -position - 1;
+                if (!ascending) {
+                    position--;
+                }
+                low = ascending ? 0 : Character.MAX_VALUE;
+            }
+
+            while (position >= 0 && position < containerCount && count < limit) {
+                Container container = containers[position];
+                long high = (long) keys[position] << 16;
+                int value = ascending ? container.nextFrom(low) : container.previousFrom(low);
+                while (value >= 0 && count < limit) {
+                    long id = high | value;
+                    if (filter.test(id)) {
+                        if (count == ids.length) {
+                            ids = Arrays.copyOf(ids, Math.min(limit, ids.length * 2));
+                        }
+                        ids[count++] = id;
+                    }
+                    value = ascending
+                            ? (value < Character.MAX_VALUE ? container.nextFrom(value + 1) : -1)
+                            : (value > 0 ? container.previousFrom(value - 1) : -1);
+                }
+                position += ascending ? 1 : -1;
+                low = ascending ? 0 : Character.MAX_VALUE;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the number of set IDs.
+     *
+     * @return the cardinality
+     */
+    public long cardinality() {
+        lock.readLock().lock();
+        try {
+            return cardinality;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the bitmap in its serialized layout.
+     *
+     * @param out the stream to write to; it is not closed
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        lock.readLock().lock();
+        try {
+            data.writeInt(MAGIC);
+            data.writeInt(containerCount);
+            for (int i = 0; i < containerCount; i++) {
+                data.writeInt(keys[i]);
+                containers[i].writeTo(data);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        data.flush();
+        new DataOutputStream(out).writeLong(checked.getChecksum().getValue());
+        out.flush();
+    }
+
+    /**
+     * Reads a bitmap written by {@link #writeTo}.
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the bitmap
+     * @throws IOException if the stream fails, is truncated or fails the checksum
+     */
+    public static InStockBitmap readFrom(InputStream in) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(in, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an in-stock bitmap");
+        }
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupted in-stock bitmap");
+        }
+
+        InStockBitmap bitmap = new InStockBitmap();
+        bitmap.keys = new int[Math.max(16, count)];
+        bitmap.containers = new Container[Math.max(16, count)];
+        for (int i = 0; i < count; i++) {
+            int key = data.readInt();
+            if (key < 0 || (i > 0 && key <= bitmap.keys[i - 1])) {
+                throw new IOException("Corrupted in-stock bitmap");
+            }
+            bitmap.keys[i] = key;
+            bitmap.containers[i] = Container.readFrom(data);
+            bitmap.cardinality += bitmap.containers[i].cardinality();
+        }
+        bitmap.containerCount = count;
+
+        long expected = checked.getChecksum().getValue();
+        if (new DataInputStream(in).readLong() != expected) {
+            throw new IOException("In-stock bitmap checksum mismatch");
+        }
+        return bitmap;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private int insertContainer(int position, int key) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+            containers = Arrays.copyOf(containers, containers.length * 2);
+        }
+        System.arraycopy(keys, position, keys, position + 1, containerCount - position);
+        System.arraycopy(containers, position, containers, position + 1, containerCount - position);
+        keys[position] = key;
+        containers[position] = new ArrayContainer();
+        containerCount++;
+        return position;
+    }
+
+    private void removeContainer(int position) {
+        System.arraycopy(keys, position + 1, keys, position, containerCount - position - 1);
+        System.arraycopy(containers, position + 1, containers, position, containerCount - position - 1);
+        containers[--containerCount] = null;
+    }
+
+    // ==================== Containers ====================
+
+    /**
+     * Low parts of the IDs sharing one high part.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        /** Adds an absent value; returns the container to keep, which may be a converted one. */
+        abstract Container add(char value);
+
+        /** Removes a present value; returns the container to keep, which may be a converted one. */
+        abstract Container remove(char value);
+
+        /** Returns the smallest value at or above {@code from}, or -1. */
+        abstract int nextFrom(int from);
+
+        /** Returns the largest value at or below {@code from}, or -1. */
+        abstract int previousFrom(int from);
+
+        abstract void writeTo(DataOutputStream out) throws IOException;
+
+        static Container readFrom(DataInputStream in) throws IOException {
+            int cardinality = in.readInt();
+            if (cardinality <= 0 || cardinality > 1 << 16) {
+                throw new IOException("Corrupted in-stock bitmap");
+            }
+            if (cardinality <= ARRAY_MAX) {
+                ArrayContainer container = new ArrayContainer();
+                container.values = new char[cardinality];
+                for (int i = 0; i < cardinality; i++) {
+                    container.values[i] = in.readChar();
+                    if (i > 0 && container.values[i] <= container.values[i - 1]) {
+                        throw new IOException("Corrupted in-stock bitmap");
+                    }
+                }
+                container.size = cardinality;
+                return container;
+            }
+            BitmapContainer container = new BitmapContainer();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                container.words[i] = in.readLong();
+                container.cardinality += Long.bitCount(container.words[i]);
+            }
+            if (container.cardinality != cardinality) {
+                throw new IOException("Corrupted in-stock bitmap");
+            }
+            return container;
+        }
+    }
+
+    /**
+     * Sorted array of low parts, used up to {@value #ARRAY_MAX} values.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            if (size == ARRAY_MAX) {
+                BitmapContainer bitmap = new BitmapContainer();
+                for (int i = 0; i < size; i++) {
+                    bitmap.add(values[i]);
+                }
+                return bitmap.add(value);
+            }
+            int position = -Arrays.binarySearch(values, 0, size, value) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        int nextFrom(int from) {
+            int position = Arrays.binarySearch(values, 0, size, (char) from);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < size ? values[position] : -1;
+        }
+
+        @Override
+        int previousFrom(int from) {
+            int position = Arrays.binarySearch(values, 0, size, (char) from);
+            if (position < 0) {
+                position = -position - 2;
+            }
+            return position >= 0 ? values[position] : -1;
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeChar(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Plain 65536-bit bitmap, used above {@value #ARRAY_MAX} values.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            if (cardinality > ARRAY_MAX) {
+                return this;
+            }
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[ARRAY_MAX];
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    array.values[array.size++] = (char) (word << 6 | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return array;
+        }
+
+        @Override
+        int nextFrom(int from) {
+            int word = from >>> 6;
+            long bits = words[word] & (-1L << from);
+            while (bits == 0) {
+                if (++word == BITMAP_WORDS) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+            return word << 6 | Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        int previousFrom(int from) {
+            int word = from >>> 6;
+            long bits = words[word] & (-1L >>> (63 - (from & 63)));
+            while (bits == 0) {
+                if (--word < 0) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+            return word << 6 | (63 - Long.numberOfLeadingZeros(bits));
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(cardinality);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+}
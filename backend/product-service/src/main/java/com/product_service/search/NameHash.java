@@ -0,0 +1,52 @@
+package com.product_service.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed-width hash of normalized product names.
+ * 
+ * <p>Names are normalized with {@link TextAnalyzer#normalize(String)}, trimmed and
+ * have their whitespace runs collapsed to one space, so "Sony  WH-1000XM5" and
+ * "sony wh-1000xm5" share a hash. The hash is the first 8 bytes of the SHA-256
+ * digest of the normalized name. Different names may share a hash, so a match on
+ * the hash is confirmed by comparing normalized names.
+ */
+public final class NameHash {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private NameHash() {
+    }
+
+    /**
+     * Normalizes a product name for comparison.
+     * 
+     * @param name the raw name (may be null)
+     * @return the normalized name, empty for null
+     */
+    public static String normalize(String name) {
+        return WHITESPACE.matcher(TextAnalyzer.normalize(name)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Hashes the normalized form of a product name.
+     * 
+     * @param name the raw name (may be null)
+     * @return the hash
+     */
+    public static long of(String name) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(name).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
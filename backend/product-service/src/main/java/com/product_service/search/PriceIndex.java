@@ -0,0 +1,225 @@
+package com.product_service.search;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongPredicate;
+
+import com.product_service.entity.Product;
+
+/**
+ * In-memory ordered index of product prices per category.
+ *
+ * <p>Each category keeps its products in a skip list ordered by price and then by
+ * ID, the same total order the catalog uses for price-sorted pages. A price range
+ * is a sub-view of the list, so a page costs O(log n + limit) in either direction
+ * and continues exactly after a keyset position. Pages over every category merge
+ * the per-category lists on the fly.
+ *
+ * <p>Reads never lock. Writes are serialized; moving a product to another price
+ * removes its old entry before adding the new one, so a concurrent read may miss
+ * a product that is being moved but never returns it twice.
+ */
+public final class PriceIndex {
+
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+
+    private final Map<Product.Category, ConcurrentSkipListSet<Entry>> categories = new EnumMap<>(Product.Category.class);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Position of a product in the index; ordered by price, then by product ID.
+     */
+    private record Entry(double price, long productId, Product.Category category) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byPrice = Double.compare(price, other.price);
+            return byPrice != 0 ? byPrice : Long.compare(productId, other.productId);
+        }
+    }
+
+    /**
+     * Page request on the index; null bounds do not filter.
+     *
+     * @param category only products of this category, or every category when null
+     * @param minPrice inclusive lower price bound
+     * @param maxPrice inclusive upper price bound
+     * @param ascending whether prices are returned cheapest first
+     * @param afterPrice price of the keyset position to continue after, or null for the first page
+     * @param afterId product ID of the keyset position to continue after
+     */
+    public record Range(Product.Category category, Double minPrice, Double maxPrice, boolean ascending,
+                        Double afterPrice, Long afterId) {
+    }
+
+    /**
+     * Creates an empty index.
+     */
+    public PriceIndex() {
+        for (Product.Category category : CATEGORIES) {
+            categories.put(category, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Adds a product, or moves it if it is already indexed.
+     *
+     * @param productId the product ID
+     * @param category the product category
+     * @param price the product price
+     */
+    public synchronized void upsert(long productId, Product.Category category, double price) {
+        Entry entry = new Entry(price, productId, category);
+        Entry previous = entries.put(productId, entry);
+        if (previous != null) {
+            if (previous.equals(entry)) {
+                return;
+            }
+            categories.get(previous.category()).remove(previous);
+        }
+        categories.get(category).add(entry);
+    }
+
+    /**
+     * Adds a product unless it is already indexed.
+     *
+     * @param productId the product ID
+     * @param category the product category
+     * @param price the product price
+     */
+    public synchronized void addIfAbsent(long productId, Product.Category category, double price) {
+        if (!entries.containsKey(productId)) {
+            upsert(productId, category, price);
+        }
+    }
+
+    /**
+     * Returns the IDs of the products of a range, in price order.
+     *
+     * @param range the category, price bounds, direction and keyset position
+     * @param limit the maximum number of IDs returned
+     * @param filter additional condition a product must satisfy to be returned
+     * @return the product IDs, in the requested order
+     */
+    public List<Long> find(Range range, int limit, LongPredicate filter) {
+        List<Iterator<Entry>> sources = new ArrayList<>(CATEGORIES.length);
+        for (Product.Category category : CATEGORIES) {
+            if (range.category() == null || range.category() == category) {
+                NavigableSet<Entry> view = view(categories.get(category), range);
+                if (view != null) {
+                    sources.add(view.iterator());
+                }
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+        Entry[] heads = new Entry[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = next(sources.get(i));
+        }
+        while (ids.size() < limit) {
+            int best = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (best < 0 || range.ascending() == heads[i].compareTo(heads[best]) < 0)) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            if (filter.test(heads[best].productId())) {
+                ids.add(heads[best].productId());
+            }
+            heads[best] = next(sources.get(best));
+        }
+        return ids;
+    }
+
+    /**
+     * Tells whether an indexed product belongs to a category and price range.
+     *
+     * @param productId the product ID
+     * @param category the category, or null for any
+     * @param minPrice inclusive lower price bound, or null
+     * @param maxPrice inclusive upper price bound, or null
+     * @return true if the product is indexed and matches
+     */
+    public boolean matches(long productId, Product.Category category, Double minPrice, Double maxPrice) {
+        Entry entry = entries.get(productId);
+        return entry != null
+                && (category == null || entry.category() == category)
+                && (minPrice == null || entry.price() >= minPrice)
+                && (maxPrice == null || entry.price() <= maxPrice);
+    }
+
+    /**
+     * Returns the category of an indexed product.
+     *
+     * @param productId the product ID
+     * @return the category, or null if the product is not indexed
+     */
+    public Product.Category categoryOf(long productId) {
+        Entry entry = entries.get(productId);
+        return entry != null ? entry.category() : null;
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Returns the view of a category list selected by a range, in the requested
+     * direction, or null if the range is empty.
+     */
+    private NavigableSet<Entry> view(ConcurrentSkipListSet<Entry> list, Range range) {
+        Entry low = range.minPrice() != null ? new Entry(range.minPrice(), Long.MIN_VALUE, null) : null;
+        boolean lowInclusive = true;
+        Entry high = range.maxPrice() != null ? new Entry(range.maxPrice(), Long.MAX_VALUE, null) : null;
+        boolean highInclusive = true;
+
+        if (range.afterPrice() != null) {
+            Entry after = new Entry(range.afterPrice(), range.afterId(), null);
+            if (range.ascending() && (low == null || after.compareTo(low) >= 0)) {
+                low = after;
+                lowInclusive = false;
+            } else if (!range.ascending() && (high == null || after.compareTo(high) <= 0)) {
+                high = after;
+                highInclusive = false;
+            }
+        }
+
+        NavigableSet<Entry> view;
+        if (low != null && high != null) {
+            int order = low.compareTo(high);
+            if (order > 0 || (order == 0 && !(lowInclusive && highInclusive))) {
+                return null;
+            }
+            view = list.subSet(low, lowInclusive, high, highInclusive);
+        } else if (low != null) {
+            view = list.tailSet(low, lowInclusive);
+        } else if (high != null) {
+            view = list.headSet(high, highInclusive);
+        } else {
+            view = list;
+        }
+        return range.ascending() ? view : view.descendingSet();
+    }
+
+    private static Entry next(Iterator<Entry> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+}
@@ -0,0 +1,473 @@
+package com.product_service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.product_service.entity.Product;
+
+/**
+ * In-memory inverted index over product names and descriptions, ranked with BM25.
+ *
+ * <p>Every indexed product is a document with an internal number. Per-document
+ * data needed at query time (name, length, price, category, availability) is kept in
+ * parallel primitive arrays, and each term maps to a postings list of document
+ * numbers and term frequencies in ascending document order. Name tokens are
+ * counted {@value #NAME_WEIGHT} times, so a match in the name outranks the same
+ * match in the description.
+ *
+ * <p>Updating a product appends a new document and marks the old one deleted;
+ * deleted documents are skipped at query time and dropped by a compaction once
+ * they outnumber the live ones. Availability changes are applied in place.
+ *
+ * <p>Queries take the read lock and run concurrently; updates take the write lock.
+ */
+public final class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MIN_COMPACTION = 1024;
+
+    /**
+     * Score marker for candidates rejected by the filters.
+     */
+    private static final float REJECTED = -1f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> docsByProduct = new HashMap<>();
+
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private int[] lengths = new int[1024];
+    private double[] prices = new double[1024];
+    private byte[] categories = new byte[1024];
+    private boolean[] inStock = new boolean[1024];
+    private boolean[] deleted = new boolean[1024];
+
+    private int docCount;
+    private int deletedCount;
+    private long liveLength;
+
+    /**
+     * Text and attributes of a product to index.
+     *
+     * @param productId the product ID
+     * @param name the product name
+     * @param description the product description (may be null)
+     * @param category the product category
+     * @param price the product price
+     * @param inStock whether the product currently has stock
+     */
+    public record Document(long productId, String name, String description,
+                           Product.Category category, double price, boolean inStock) {
+    }
+
+    /**
+     * Attribute filters applied to matching documents; null fields do not filter.
+     *
+     * @param category only documents of this category
+     * @param minPrice inclusive lower price bound
+     * @param maxPrice inclusive upper price bound
+     * @param inStock required availability
+     */
+    public record Filter(Product.Category category, Double minPrice, Double maxPrice, Boolean inStock) {
+
+        /** Filter accepting every document. */
+        public static final Filter NONE = new Filter(null, null, null, null);
+
+    }
+
+    /**
+     * A ranked search hit, carrying the indexed attributes of the product.
+     *
+     * @param productId the product ID
+     * @param name the product name
+     * @param category the product category
+     * @param price the product price
+     * @param inStock whether the product has stock
+     * @param score the BM25 score
+     */
+    public record Hit(long productId, String name, Product.Category category,
+                      double price, boolean inStock, float score) {
+    }
+
+    /**
+     * The best hits of a query and the number of documents it matched.
+     *
+     * @param hits the best hits, highest score first
+     * @param total the number of documents matching the query and the filters
+     */
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    /**
+     * Adds or replaces products in the index.
+     *
+     * @param documents the products to index
+     */
+    public void upsertAll(Collection<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                removeLocked(document.productId());
+                addLocked(document);
+            }
+            if (deletedCount >= MIN_COMPACTION && deletedCount > docsByProduct.size()) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param productId the product ID
+     */
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the availability of an indexed product.
+     *
+     * @param productId the product ID
+     * @param available whether the product has stock
+     */
+    public void setInStock(long productId, boolean available) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByProduct.get(productId);
+            if (doc != null) {
+                inStock[doc] = available;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return the number of live documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the products matching any term of a query.
+     *
+     * @param text the query text
+     * @param filter the attribute filters
+     * @param limit the maximum number of hits returned
+     * @return the best hits and the number of matching products
+     */
+    public Result search(String text, Filter filter, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.tokenize(text));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int live = docsByProduct.size();
+            if (live == 0) {
+                return new Result(List.of(), 0);
+            }
+            // BM25 length normalization: K1 * (1 - B + B * length / averageLength)
+            float normBase = K1 * (1 - B);
+            float normPerToken = K1 * B * live / (float) Math.max(1, liveLength);
+
+            List<Postings> matched = new ArrayList<>(queryTerms.size());
+            long candidates = 0;
+            for (String term : queryTerms) {
+                Postings postings = terms.get(term);
+                if (postings != null) {
+                    matched.add(postings);
+                    candidates += postings.size;
+                }
+            }
+            if (matched.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+
+            Accumulator scores = new Accumulator((int) Math.min(candidates, docCount), docCount);
+            for (Postings postings : matched) {
+                // Document frequency includes deleted documents until the next compaction
+                int df = Math.min(postings.size, live);
+                float idf = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    if (deleted[doc]) {
+                        continue;
+                    }
+                    int slot = scores.slot(doc);
+                    if (scores.isNew(slot)) {
+                        scores.put(slot, doc, accepts(filter, doc) ? 0f : REJECTED);
+                    }
+                    float score = scores.values[slot];
+                    if (score == REJECTED) {
+                        continue;
+                    }
+                    int tf = postings.freqs[i];
+                    float norm = normBase + normPerToken * lengths[doc];
+                    scores.values[slot] = score + idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            return topHits(scores, limit);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void addLocked(Document document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : TextAnalyzer.tokenize(document.name())) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+            length += NAME_WEIGHT;
+        }
+        for (String token : TextAnalyzer.tokenize(document.description())) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        ensureCapacity(docCount + 1);
+        int doc = docCount++;
+        productIds[doc] = document.productId();
+        names[doc] = document.name();
+        lengths[doc] = length;
+        prices[doc] = document.price();
+        categories[doc] = (byte) (document.category() != null ? document.category().ordinal() : -1);
+        inStock[doc] = document.inStock();
+        deleted[doc] = false;
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+        }
+        docsByProduct.put(document.productId(), doc);
+        liveLength += length;
+    }
+
+    private void removeLocked(long productId) {
+        Integer doc = docsByProduct.remove(productId);
+        if (doc != null) {
+            deleted[doc] = true;
+            names[doc] = null;
+            deletedCount++;
+            liveLength -= lengths[doc];
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and drops deleted ones from every postings list.
+     */
+    private void compactLocked() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted[doc]) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            productIds[next] = productIds[doc];
+            names[next] = names[doc];
+            lengths[next] = lengths[doc];
+            prices[next] = prices[doc];
+            categories[next] = categories[doc];
+            inStock[next] = inStock[doc];
+            deleted[next] = false;
+            next++;
+        }
+        Arrays.fill(names, next, docCount, null);
+
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        docsByProduct.replaceAll((productId, doc) -> renumbered[doc]);
+        docCount = next;
+        deletedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, productIds.length + (productIds.length >> 1));
+        productIds = Arrays.copyOf(productIds, grown);
+        names = Arrays.copyOf(names, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        prices = Arrays.copyOf(prices, grown);
+        categories = Arrays.copyOf(categories, grown);
+        inStock = Arrays.copyOf(inStock, grown);
+        deleted = Arrays.copyOf(deleted, grown);
+    }
+
+    private boolean accepts(Filter filter, int doc) {
+        return (filter.category() == null || categories[doc] == filter.category().ordinal())
+                && (filter.minPrice() == null || prices[doc] >= filter.minPrice())
+                && (filter.maxPrice() == null || prices[doc] <= filter.maxPrice())
+                && (filter.inStock() == null || inStock[doc] == filter.inStock());
+    }
+
+    private Product.Category categoryOf(int doc) {
+        return categories[doc] >= 0 ? Product.Category.values()[categories[doc]] : null;
+    }
+
+    private Result topHits(Accumulator scores, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::productId, Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ranking);
+        int total = 0;
+
+        for (int slot = 0; slot < scores.values.length; slot++) {
+            int doc = scores.doc(slot);
+            if (doc < 0 || scores.values[slot] <= 0) {
+                continue;
+            }
+            total++;
+            Hit hit = new Hit(productIds[doc], names[doc], categoryOf(doc), prices[doc], inStock[doc],
+                    scores.values[slot]);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (ranking.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking.reversed());
+        return new Result(hits, total);
+    }
+
+    // ==================== Postings and Accumulator ====================
+
+    /**
+     * Document numbers and saturated term frequencies of one term, in ascending document order.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private byte[] freqs = new byte[4];
+        private int size;
+
+        private void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int grown = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, grown);
+                freqs = Arrays.copyOf(freqs, grown);
+            }
+            docs[size] = doc;
+            freqs[size] = (byte) Math.min(frequency, Byte.MAX_VALUE);
+            size++;
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (docs.length > 2 * size + 4) {
+                docs = Arrays.copyOf(docs, size + 4);
+                freqs = Arrays.copyOf(freqs, size + 4);
+            }
+        }
+    }
+
+    /**
+     * Map from document number to score for one query's candidates.
+     *
+     * <p>Queries touching a large share of the index use a dense array indexed
+     * by document number; selective queries use an open-addressing table sized
+     * for their candidates. A score of zero marks a slot not yet touched.
+     */
+    private static final class Accumulator {
+
+        private final int[] keys;
+        private final float[] values;
+        private final int mask;
+
+        private Accumulator(int expected, int docCount) {
+            if (expected >= docCount / 4) {
+                keys = null;
+                values = new float[docCount];
+                mask = 0;
+                return;
+            }
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new float[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1);
+        }
+
+        private int slot(int doc) {
+            if (keys == null) {
+                return doc;
+            }
+            int slot = (doc * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != -1 && keys[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private boolean isNew(int slot) {
+            return keys == null ? values[slot] == 0 : keys[slot] == -1;
+        }
+
+        private void put(int slot, int doc, float value) {
+            if (keys != null) {
+                keys[slot] = doc;
+            }
+            values[slot] = value;
+        }
+
+        private int doc(int slot) {
+            return keys == null ? slot : keys[slot];
+        }
+    }
+
+}
@@ -0,0 +1,433 @@
+package com.product_service.search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index serving the top-ranked product names for a typed prefix.
+ *
+ * <p>Names are stored twice in packed UTF-8 buffers: as displayed, and normalized
+ * by {@link #normalize(String)} for matching. Every word start of a normalized name
+ * is an entry, so "iph" finds "Apple iPhone 15" as well as names starting with it.
+ * Entries are sorted by the normalized text from their word start, which is what a
+ * walk down a trie would visit; a prefix therefore matches one contiguous range of
+ * entries, located by binary search. Entries point into the shared buffer instead
+ * of copying their suffix.
+ *
+ * <p>A range-maximum tree over the entry weights yields the best entry of any range
+ * in O(log n); the top k of a prefix range are extracted by repeatedly splitting
+ * the range around its best entry, so a lookup costs O(k log n) whatever the
+ * number of matches. Each name costs a few dozen bytes beyond its text.
+ *
+ * <p>Instances are built once by a {@link Builder} and never change, so lookups
+ * need no synchronization; updates build a new instance to swap in.
+ */
+public final class SuggestionIndex {
+
+    /** Index without any name. */
+    public static final SuggestionIndex EMPTY = new Builder().build();
+
+    /**
+     * Maximum number of word starts indexed per name.
+     */
+    private static final int MAX_WORD_STARTS = 6;
+
+    private final long[] productIds;
+    private final int[] weights;
+    private final byte[] display;
+    private final int[] displayOffsets;
+    private final byte[] keys;
+    private final int[] keyOffsets;
+
+    /** Name of each entry, in entry order. */
+    private final int[] entryNames;
+    /** Start of each entry's key inside {@link #keys}; the key ends with its name's key. */
+    private final int[] entryStarts;
+    /** Iterative range-maximum tree over the entries; leaves hold entry numbers. */
+    private final int[] tree;
+
+    /** Product IDs in ascending order and the name of each, for lookups by product. */
+    private final long[] sortedIds;
+    private final int[] sortedNames;
+
+    /**
+     * A suggested product name.
+     *
+     * @param productId the product ID
+     * @param name the product name as displayed
+     * @param weight the ranking weight of the product
+     */
+    public record Suggestion(long productId, String name, int weight) {
+    }
+
+    /**
+     * Receives the names of an index, see {@link #forEach(NameConsumer)}.
+     */
+    @FunctionalInterface
+    public interface NameConsumer {
+        void accept(long productId, String name, int weight);
+    }
+
+    private SuggestionIndex(long[] productIds, int[] weights, byte[] display, int[] displayOffsets,
+                            byte[] keys, int[] keyOffsets, int[] entryNames, int[] entryStarts) {
+        this.productIds = productIds;
+        this.weights = weights;
+        this.display = display;
+        this.displayOffsets = displayOffsets;
+        this.keys = keys;
+        this.keyOffsets = keyOffsets;
+        this.entryNames = entryNames;
+        this.entryStarts = entryStarts;
+
+        int entries = entryNames.length;
+        this.tree = new int[2 * entries];
+        for (int i = 0; i < entries; i++) {
+            tree[entries + i] = i;
+        }
+        for (int node = entries - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+
+        Integer[] byId = new Integer[productIds.length];
+        for (int name = 0; name < byId.length; name++) {
+            byId[name] = name;
+        }
+        Arrays.sort(byId, (a, b) -> Long.compare(productIds[a], productIds[b]));
+        this.sortedIds = new long[byId.length];
+        this.sortedNames = new int[byId.length];
+        for (int i = 0; i < byId.length; i++) {
+            sortedIds[i] = productIds[byId[i]];
+            sortedNames[i] = byId[i];
+        }
+    }
+
+    /**
+     * Returns the best-ranked names having a word that starts with the prefix.
+     *
+     * <p>Names are ranked by weight, then alphabetically; a product is suggested once
+     * even if several of its words match.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggest(prefix, limit, productId -> false);
+    }
+
+    /**
+     * Returns the best-ranked names having a word that starts with the prefix,
+     * leaving out some products.
+     *
+     * <p>Each left-out product that matches costs one more step of the lookup.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions
+     * @param excluded the products not to suggest
+     * @return the suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit, LongPredicate excluded) {
+        byte[] key = normalizePrefix(prefix).getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || limit <= 0 || entryNames.length == 0) {
+            return List.of();
+        }
+
+        int from = firstEntry(key, false);
+        int to = firstEntry(key, true);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Ranges ordered by their best entry; each step emits one entry and splits its range
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compareEntries(b[2], a[2]));
+        ranges.add(new int[] {from, to, best(from, to)});
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            int[] range = ranges.poll();
+            int entry = range[2];
+            int name = entryNames[entry];
+            if (seen.add(name) && !excluded.test(productIds[name])) {
+                suggestions.add(new Suggestion(productIds[name], displayName(name), weights[name]));
+            }
+            if (range[0] < entry) {
+                ranges.add(new int[] {range[0], entry, best(range[0], entry)});
+            }
+            if (entry + 1 < range[1]) {
+                ranges.add(new int[] {entry + 1, range[1], best(entry + 1, range[1])});
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Visits every name of the index.
+     *
+     * @param consumer receives the product ID, displayed name and weight of each name
+     */
+    public void forEach(NameConsumer consumer) {
+        for (int name = 0; name < productIds.length; name++) {
+            consumer.accept(productIds[name], displayName(name), weights[name]);
+        }
+    }
+
+    /**
+     * Returns the weight of a product.
+     *
+     * @param productId the product ID
+     * @return the weight, or -1 if the product is not in the index
+     */
+    public int weightOf(long productId) {
+        int position = Arrays.binarySearch(sortedIds, productId);
+        return position >= 0 ? weights[sortedNames[position]] : -1;
+    }
+
+    /**
+     * Returns the displayed name of a product.
+     *
+     * @param productId the product ID
+     * @return the name, or null if the product is not in the index
+     */
+    public String nameOf(long productId) {
+        int position = Arrays.binarySearch(sortedIds, productId);
+        return position >= 0 ? displayName(sortedNames[position]) : null;
+    }
+
+    /**
+     * Returns the number of names in the index.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        return productIds.length;
+    }
+
+    /**
+     * Returns the approximate heap footprint of the index arrays.
+     *
+     * @return the footprint in bytes
+     */
+    public long footprintBytes() {
+        return 8L * productIds.length + 4L * weights.length + display.length + 4L * displayOffsets.length
+                + keys.length + 4L * keyOffsets.length + 4L * entryNames.length + 4L * entryStarts.length
+                + 4L * tree.length + 8L * sortedIds.length + 4L * sortedNames.length;
+    }
+
+    /**
+     * Normalizes a name for matching: lower case, no diacritics, and words
+     * separated by single spaces.
+     *
+     * @param text the raw text
+     * @return the normalized text
+     */
+    public static String normalize(String text) {
+        return String.join(" ", TextAnalyzer.tokenize(text));
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Normalizes a typed prefix, keeping a trailing separator so that a completed
+     * word only matches that exact word.
+     */
+    private static String normalizePrefix(String prefix) {
+        String normalized = normalize(prefix);
+        boolean wordCompleted = !prefix.isEmpty() && !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1));
+        return wordCompleted && !normalized.isEmpty() ? normalized + " " : normalized;
+    }
+
+    private String displayName(int name) {
+        return new String(display, displayOffsets[name], displayOffsets[name + 1] - displayOffsets[name],
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Binary search for the first entry whose key is not below the prefix
+     * ({@code past = false}) or sorts after every key starting with it ({@code past = true}).
+     */
+    private int firstEntry(byte[] prefix, boolean past) {
+        int low = 0;
+        int high = entryNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = comparePrefix(middle, prefix);
+            if (comparison < 0 || (past && comparison == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares an entry key with a prefix; keys starting with the prefix compare as equal.
+     */
+    private int comparePrefix(int entry, byte[] prefix) {
+        int start = entryStarts[entry];
+        int end = keyOffsets[entryNames[entry] + 1];
+        int length = Math.min(end - start, prefix.length);
+        for (int i = 0; i < length; i++) {
+            int difference = (keys[start + i] & 0xFF) - (prefix[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return end - start >= prefix.length ? 0 : -1;
+    }
+
+    /**
+     * Returns the best entry in {@code [from, to)} using the range-maximum tree.
+     */
+    private int best(int from, int to) {
+        int entries = entryNames.length;
+        int result = -1;
+        for (int left = from + entries, right = to + entries; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = result < 0 ? tree[left] : better(result, tree[left]);
+                left++;
+            }
+            if ((right & 1) == 1) {
+                right--;
+                result = result < 0 ? tree[right] : better(result, tree[right]);
+            }
+        }
+        return result;
+    }
+
+    private int better(int a, int b) {
+        return compareEntries(a, b) >= 0 ? a : b;
+    }
+
+    /**
+     * Orders entries by weight, then by position (alphabetical order of the key).
+     */
+    private int compareEntries(int a, int b) {
+        int byWeight = Integer.compare(weights[entryNames[a]], weights[entryNames[b]]);
+        return byWeight != 0 ? byWeight : Integer.compare(b, a);
+    }
+
+    // ==================== Builder ====================
+
+    /**
+     * Collects names and builds an immutable {@link SuggestionIndex}.
+     *
+     * <p>Not thread-safe; meant to be filled and built by a single thread.
+     */
+    public static final class Builder {
+
+        private final List<Long> productIds = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final ByteArrayOutputStream display = new ByteArrayOutputStream();
+        private final List<Integer> displayOffsets = new ArrayList<>(List.of(0));
+        private final ByteArrayOutputStream keys = new ByteArrayOutputStream();
+        private final List<Integer> keyOffsets = new ArrayList<>(List.of(0));
+
+        /**
+         * Adds a product name.
+         *
+         * @param productId the product ID
+         * @param name the product name as displayed
+         * @param weight the ranking weight; higher ranks first
+         * @return this builder
+         */
+        public Builder add(long productId, String name, int weight) {
+            if (name == null || normalize(name).isEmpty()) {
+                return this;
+            }
+            productIds.add(productId);
+            weights.add(weight);
+            display.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+            displayOffsets.add(display.size());
+            keys.writeBytes(normalize(name).getBytes(StandardCharsets.UTF_8));
+            keyOffsets.add(keys.size());
+            return this;
+        }
+
+        /**
+         * Sorts the word starts of all names and builds the index.
+         *
+         * @return the immutable index
+         */
+        public SuggestionIndex build() {
+            byte[] keyBytes = keys.toByteArray();
+            int[] keyOffsetArray = keyOffsets.stream().mapToInt(Integer::intValue).toArray();
+
+            // Word starts of every name; the key of each runs to the end of its name
+            int count = 0;
+            for (int name = 0; name < productIds.size(); name++) {
+                count += wordStarts(keyBytes, keyOffsetArray[name], keyOffsetArray[name + 1], null, 0);
+            }
+            int[] starts = new int[count];
+            int[] names = new int[count];
+            for (int name = 0, next = 0; name < productIds.size(); name++) {
+                int words = wordStarts(keyBytes, keyOffsetArray[name], keyOffsetArray[name + 1], starts, next);
+                Arrays.fill(names, next, next + words, name);
+                next += words;
+            }
+
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> compareKeys(keyBytes,
+                    starts[a], keyOffsetArray[names[a] + 1],
+                    starts[b], keyOffsetArray[names[b] + 1]));
+
+            int[] entryNames = new int[count];
+            int[] entryStarts = new int[count];
+            for (int i = 0; i < count; i++) {
+                entryNames[i] = names[order[i]];
+                entryStarts[i] = starts[order[i]];
+            }
+
+            return new SuggestionIndex(
+                    productIds.stream().mapToLong(Long::longValue).toArray(),
+                    weights.stream().mapToInt(Integer::intValue).toArray(),
+                    display.toByteArray(),
+                    displayOffsets.stream().mapToInt(Integer::intValue).toArray(),
+                    keyBytes,
+                    keyOffsetArray,
+                    entryNames,
+                    entryStarts);
+        }
+
+        /**
+         * Finds the word starts of one normalized name, up to {@value #MAX_WORD_STARTS}.
+         *
+         * @return the number of word starts, written to {@code out} from {@code offset} unless it is null
+         */
+        private static int wordStarts(byte[] keys, int from, int to, int[] out, int offset) {
+            int words = 0;
+            for (int i = from; i < to && words < MAX_WORD_STARTS; i++) {
+                if (i == from || keys[i - 1] == ' ') {
+                    if (out != null) {
+                        out[offset + words] = i;
+                    }
+                    words++;
+                }
+            }
+            return words;
+        }
+
+        private static int compareKeys(byte[] keys, int aStart, int aEnd, int bStart, int bEnd) {
+            int length = Math.min(aEnd - aStart, bEnd - bStart);
+            for (int i = 0; i < length; i++) {
+                int difference = (keys[aStart + i] & 0xFF) - (keys[bStart + i] & 0xFF);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return Integer.compare(aEnd - aStart, bEnd - bStart);
+        }
+    }
+
+}
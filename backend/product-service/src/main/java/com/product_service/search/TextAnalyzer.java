@@ -0,0 +1,63 @@
+package com.product_service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization and tokenization shared by the catalog search structures.
+ * 
+ * <p>Text is lower-cased and stripped of diacritics, then split on every
+ * character that is not a letter or a digit, so "Sony WH-1000XM5" yields
+ * {@code sony}, {@code wh} and {@code 1000xm5}.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Lower-cases a text and removes its diacritics.
+     * 
+     * @param text the raw text (may be null)
+     * @return the normalized text, empty for null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a text into normalized tokens.
+     * 
+     * @param text the raw text (may be null)
+     * @return the tokens in text order, including repetitions
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+}
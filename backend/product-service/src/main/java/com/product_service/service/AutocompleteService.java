@@ -0,0 +1,24 @@
+package com.product_service.service;
+
+import java.util.List;
+
+import com.product_service.dto.ProductSuggestion;
+
+/**
+ * Service interface for product name autocomplete.
+ * 
+ * <p>Suggestions come from an immutable in-memory index that is rebuilt in the
+ * background after catalog changes and swapped in atomically.
+ */
+public interface AutocompleteService {
+
+    /**
+     * Returns the best-ranked product names having a word that starts with the prefix.
+     * 
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best first
+     */
+    List<ProductSuggestion> suggest(String prefix, int limit);
+
+}
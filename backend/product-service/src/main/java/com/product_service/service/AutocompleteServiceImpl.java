@@ -0,0 +1,322 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.dto.ProductSuggestion;
+import com.product_service.entity.Product;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.search.SuggestionIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the AutocompleteService interface.
+ * 
+ * <p>This service handles:
+ * <ul>
+ *   <li>Loading the catalog names into a {@link SuggestionIndex} once the application is ready</li>
+ *   <li>Collecting saved products and stock changes as pending updates after commit</li>
+ *   <li>Folding the pending updates into a small delta index on a background thread</li>
+ *   <li>Merging the delta into the main index periodically, or once it grows too large</li>
+ * </ul>
+ * 
+ * <p>The delta holds the current name and weight of every product changed since
+ * the last merge and hides that product's entry in the main index, so a batch of
+ * updates rebuilds only the delta instead of the whole catalog. Lookups query both
+ * and merge the results by weight; ties between the two are broken by name. The
+ * pair is swapped in with a single volatile write.
+ * 
+ * <p>Names are ranked by a stock weight: zero when out of stock, otherwise the
+ * bit length of the stock, so 1, 2-3, 4-7 and so on rank as separate tiers. Stock
+ * changes that stay within a tier do not trigger a rebuild.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code autocomplete.rebuild-delay-ms}: time pending updates are gathered before a rebuild</li>
+ *   <li>{@code autocomplete.load-page-size}: number of products read per catalog page on startup</li>
+ *   <li>{@code autocomplete.max-delta-names}: delta size that triggers a merge into the main index</li>
+ *   <li>{@code autocomplete.merge-interval-ms}: delay between merges of a non-empty delta</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final ProductService productService;
+    private final long rebuildDelayMillis;
+    private final int loadPageSize;
+    private final int maxDeltaNames;
+
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Map<Long, PendingName> pending = new ConcurrentHashMap<>();
+
+    private volatile Layers layers = new Layers(SuggestionIndex.EMPTY, SuggestionIndex.EMPTY);
+
+    /**
+     * A change to apply on the next rebuild; null fields keep the indexed value.
+     */
+    private record PendingName(String name, Integer weight) {
+    }
+
+    /**
+     * The main index and the delta of products changed since it was built.
+     */
+    private record Layers(SuggestionIndex main, SuggestionIndex delta) {
+
+        private int weightOf(long productId) {
+            int weight = delta.weightOf(productId);
+            return weight >= 0 ? weight : main.weightOf(productId);
+        }
+
+        private String nameOf(long productId) {
+            String name = delta.nameOf(productId);
+            return name != null ? name : main.nameOf(productId);
+        }
+    }
+
+    /**
+     * Constructs the autocomplete service.
+     * 
+     * @param productService the product service the catalog is read through
+     * @param rebuildDelayMillis time pending updates are gathered before a rebuild
+     * @param loadPageSize number of products read per catalog page on startup
+     * @param maxDeltaNames delta size that triggers a merge into the main index
+     * @param mergeIntervalMillis delay between merges of a non-empty delta
+     */
+    public AutocompleteServiceImpl(ProductService productService,
+                                   @Value("${autocomplete.rebuild-delay-ms:2000}") long rebuildDelayMillis,
+                                   @Value("${autocomplete.load-page-size:1000}") int loadPageSize,
+                                   @Value("${autocomplete.max-delta-names:5000}") int maxDeltaNames,
+                                   @Value("${autocomplete.merge-interval-ms:300000}") long mergeIntervalMillis) {
+        this.productService = productService;
+        this.rebuildDelayMillis = rebuildDelayMillis;
+        this.loadPageSize = Math.max(1, loadPageSize);
+        this.maxDeltaNames = Math.max(1, maxDeltaNames);
+        long mergeInterval = Math.max(1, mergeIntervalMillis);
+        builder.scheduleWithFixedDelay(this::mergeDelta, mergeInterval, mergeInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        Layers current = layers;
+        List<SuggestionIndex.Suggestion> suggestions;
+        if (current.delta().size() == 0) {
+            suggestions = current.main().suggest(prefix, limit);
+        } else {
+            suggestions = new ArrayList<>(current.delta().suggest(prefix, limit));
+            suggestions.addAll(current.main().suggest(prefix, limit, id -> current.delta().weightOf(id) >= 0));
+            suggestions.sort(Comparator.comparingInt(SuggestionIndex.Suggestion::weight).reversed()
+                    .thenComparing(suggestion -> SuggestionIndex.normalize(suggestion.name())));
+            if (suggestions.size() > limit) {
+                suggestions = suggestions.subList(0, limit);
+            }
+        }
+
+        return suggestions.stream()
+                .map(suggestion -> ProductSuggestion.builder()
+                        .idProduct(suggestion.productId())
+                        .name(suggestion.name())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Loads the catalog names on the builder thread once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        builder.execute(this::loadCatalog);
+    }
+
+    /**
+     * Queues saved products for the next rebuild.
+     * 
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        for (Product product : event.products()) {
+            pending.put(product.getId(), new PendingName(product.getName(), stockWeight(product.getStock())));
+        }
+        scheduleRebuild();
+    }
+
+    /**
+     * Queues stock changes that move products to another ranking tier.
+     * 
+     * @param event the resulting stock by product ID
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        boolean changed = false;
+        for (Map.Entry<Long, Integer> entry : event.stocks().entrySet()) {
+            int weight = stockWeight(entry.getValue());
+            if (layers.weightOf(entry.getKey()) != weight) {
+                pending.merge(entry.getKey(), new PendingName(null, weight),
+                        (queued, update) -> new PendingName(queued.name(), update.weight()));
+                changed = true;
+            }
+        }
+        if (changed) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Stops the builder thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            builder.schedule(this::applyPending, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Reads every catalog name page by page and swaps in the resulting index.
+     */
+    private void loadCatalog() {
+        long start = System.currentTimeMillis();
+        try {
+            SuggestionIndex.Builder names = new SuggestionIndex.Builder();
+            String cursor = null;
+            do {
+                ProductPage page = productService.findProducts(ProductQuery.builder()
+                        .size(loadPageSize)
+                        .cursor(cursor)
+                        .includeStock(true)
+                        .build());
+                for (Product product : page.getItems()) {
+                    names.add(product.getId(), product.getName(), stockWeight(product.getStock()));
+                }
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            SuggestionIndex main = names.build();
+            layers = new Layers(main, SuggestionIndex.EMPTY);
+            log.info("Autocomplete index built with {} name(s), ~{} KB, in {} ms",
+                    main.size(), main.footprintBytes() / 1024, System.currentTimeMillis() - start);
+
+            // Updates committed while loading may predate the pages they were read from; apply them again
+            applyPending();
+
+        } catch (Exception e) {
+            log.error("Autocomplete index load failed; suggestions stay empty until the next catalog change", e);
+        }
+    }
+
+    /**
+     * Folds the pending updates into a new delta, merging it into the main index
+     * once it holds too many names.
+     */
+    private void applyPending() {
+        rebuildScheduled.set(false);
+
+        Map<Long, PendingName> updates = new HashMap<>();
+        for (Long productId : pending.keySet()) {
+            PendingName update = pending.remove(productId);
+            if (update != null) {
+                updates.put(productId, update);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Layers current = layers;
+            SuggestionIndex.Builder names = new SuggestionIndex.Builder();
+            current.delta().forEach((productId, name, weight) -> {
+                if (!updates.containsKey(productId)) {
+                    names.add(productId, name, weight);
+                }
+            });
+            updates.forEach((productId, update) -> {
+                String name = update.name() != null ? update.name() : current.nameOf(productId);
+                // Stock changes of unknown products are dropped
+                if (name != null) {
+                    int weight = update.weight() != null ? update.weight() : Math.max(0, current.weightOf(productId));
+                    names.add(productId, name, weight);
+                }
+            });
+
+            SuggestionIndex delta = names.build();
+            layers = new Layers(current.main(), delta);
+            log.debug("Autocomplete delta rebuilt with {} name(s) in {} ms",
+                    delta.size(), System.currentTimeMillis() - start);
+
+            if (delta.size() >= maxDeltaNames) {
+                mergeDelta();
+            }
+
+        } catch (Exception e) {
+            log.error("Autocomplete index rebuild failed", e);
+        }
+    }
+
+    /**
+     * Builds a new main index from the current one and the delta, and empties the delta.
+     */
+    private void mergeDelta() {
+        Layers current = layers;
+        if (current.delta().size() == 0) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            SuggestionIndex.Builder names = new SuggestionIndex.Builder();
+            current.main().forEach((productId, name, weight) -> {
+                if (current.delta().weightOf(productId) < 0) {
+                    names.add(productId, name, weight);
+                }
+            });
+            current.delta().forEach(names::add);
+
+            SuggestionIndex main = names.build();
+            layers = new Layers(main, SuggestionIndex.EMPTY);
+            log.debug("Autocomplete delta of {} name(s) merged into {} name(s) in {} ms",
+                    current.delta().size(), main.size(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Autocomplete index merge failed", e);
+        }
+    }
+
+    /**
+     * Ranking weight of a stock level: 0 when out of stock, otherwise its bit length.
+     */
+    private static int stockWeight(Integer stock) {
+        return stock == null || stock <= 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(stock);
+    }
+
+}
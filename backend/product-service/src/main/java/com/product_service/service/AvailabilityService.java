@@ -0,0 +1,39 @@
+package com.product_service.service;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Service interface for the in-memory set of products that have stock.
+ * 
+ * <p>The set follows stock changes as they cross zero, so catalog reads can
+ * filter on availability without checking stock rows one by one.
+ */
+public interface AvailabilityService {
+
+    /**
+     * Tells whether the set is loaded and can answer availability questions.
+     * 
+     * @return true once the set is loaded
+     */
+    boolean isReady();
+
+    /**
+     * Tells whether a product has stock.
+     * 
+     * @param idProduct the product ID
+     * @return true if the product has stock
+     */
+    boolean isInStock(long idProduct);
+
+    /**
+     * Returns the IDs of products with stock following a position, in ID order.
+     * 
+     * @param after the ID to continue after, or null for the first page
+     * @param ascending whether IDs are returned in ascending order
+     * @param limit the maximum number of IDs returned
+     * @param filter additional condition a product must satisfy to be returned
+     * @return the matching product IDs, in the requested order
+     */
+    long[] findInStock(Long after, boolean ascending, int limit, LongPredicate filter);
+
+}
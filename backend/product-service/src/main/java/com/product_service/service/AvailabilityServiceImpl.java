@@ -0,0 +1,269 @@
+package com.product_service.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongPredicate;
+
+import com.product_service.entity.Product;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.repository.ProductInventoryRepository;
+import com.product_service.repository.ProductStockSlotRepository;
+import com.product_service.search.InStockBitmap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the AvailabilityService interface backed by an {@link InStockBitmap}.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Restoring the bitmap from its last snapshot file on startup, so availability
+ *       filters are served immediately after a restart</li>
+ *   <li>Rebuilding the bitmap from the inventory rows and stock slots, on startup and
+ *       periodically, to pick up changes missed while the service was down</li>
+ *   <li>Setting and clearing bits after stock changes commit; only changes that
+ *       cross zero touch the bitmap</li>
+ *   <li>Writing the bitmap to its snapshot file when it changed, and on shutdown</li>
+ * </ul>
+ *
+ * <p>A rebuild fills a fresh bitmap and swaps it in when complete; changes that
+ * arrive meanwhile are applied to both, so none is lost by the swap, and win over
+ * the pages read afterwards, which may predate them. The snapshot
+ * is written to a sibling file first and moved over the previous one atomically.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code availability.snapshot-path}: location of the bitmap snapshot file</li>
+ *   <li>{@code availability.snapshot-interval-ms}: delay between snapshot writes of a changed bitmap</li>
+ *   <li>{@code availability.rebuild-interval-ms}: delay between rebuilds from the database</li>
+ *   <li>{@code availability.load-page-size}: number of inventory IDs read per page during a rebuild</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final ProductInventoryRepository inventoryRepository;
+    private final ProductStockSlotRepository slotRepository;
+    private final Path snapshotPath;
+    private final int loadPageSize;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Object snapshotLock = new Object();
+
+    private volatile InStockBitmap bitmap = new InStockBitmap();
+    private volatile Build building;
+    private volatile boolean ready;
+
+    /**
+     * Bitmap being rebuilt, with the changes applied since the rebuild started.
+     */
+    private static final class Build {
+        private final InStockBitmap bitmap = new InStockBitmap();
+        private final Map<Long, Boolean> changed = new HashMap<>();
+
+        /**
+         * Sets the bits of in-stock IDs read from the database, unless a change since
+         * the rebuild started is newer.
+         */
+        private synchronized void addPage(List<Long> ids) {
+            for (Long id : ids) {
+                if (!changed.containsKey(id)) {
+                    bitmap.set(id, true);
+                }
+            }
+        }
+
+        private synchronized void set(long productId, boolean inStock) {
+            changed.put(productId, inStock);
+            bitmap.set(productId, inStock);
+        }
+    }
+
+    /**
+     * Constructs the availability service.
+     *
+     * @param inventoryRepository the repository of inventory rows
+     * @param slotRepository the repository of stock slots
+     * @param snapshotPath location of the bitmap snapshot file
+     * @param loadPageSize number of inventory IDs read per page during a rebuild
+     */
+    public AvailabilityServiceImpl(ProductInventoryRepository inventoryRepository,
+                                   ProductStockSlotRepository slotRepository,
+                                   @Value("${availability.snapshot-path:data/in-stock.bitmap}") String snapshotPath,
+                                   @Value("${availability.load-page-size:5000}") int loadPageSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.slotRepository = slotRepository;
+        this.snapshotPath = Path.of(snapshotPath);
+        this.loadPageSize = Math.max(1, loadPageSize);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean isInStock(long idProduct) {
+        return bitmap.contains(idProduct);
+    }
+
+    @Override
+    public long[] findInStock(Long after, boolean ascending, int limit, LongPredicate filter) {
+        return bitmap.walk(after, ascending, limit, filter);
+    }
+
+    /**
+     * Restores the last snapshot, then rebuilds from the database, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        restoreSnapshot();
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the bitmap from the inventory rows and stock slots and swaps it in.
+     */
+    @Scheduled(fixedDelayString = "${availability.rebuild-interval-ms:600000}",
+               initialDelayString = "${availability.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Build fresh = new Build();
+        building = fresh;
+
+        try {
+            Long after = 0L;
+            List<Long> ids;
+            do {
+                ids = inventoryRepository.findInStockIdsAfter(after, PageRequest.of(0, loadPageSize));
+                fresh.addPage(ids);
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == loadPageSize);
+
+            fresh.addPage(slotRepository.findInStockProductIds());
+
+            bitmap = fresh.bitmap;
+            ready = true;
+            dirty.set(true);
+            log.info("In-stock bitmap rebuilt with {} product(s) in {} ms",
+                    fresh.bitmap.cardinality(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("In-stock bitmap rebuild failed; keeping the current bitmap", e);
+
+        } finally {
+            building = null;
+        }
+        writeSnapshot();
+    }
+
+    /**
+     * Writes the bitmap to its snapshot file if it changed since the last write.
+     */
+    @Scheduled(fixedDelayString = "${availability.snapshot-interval-ms:60000}")
+    public void writeSnapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Path next = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".next");
+        synchronized (snapshotLock) {
+            try {
+                if (snapshotPath.getParent() != null) {
+                    Files.createDirectories(snapshotPath.getParent());
+                }
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(next))) {
+                    bitmap.writeTo(out);
+                }
+                Files.move(next, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            } catch (IOException e) {
+                dirty.set(true);
+                log.error("Failed to write in-stock bitmap snapshot to {}", snapshotPath, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the last changes to the snapshot file.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    /**
+     * Sets the bits of products after the transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        Build pending = building;
+        for (Product product : event.products()) {
+            boolean inStock = product.getStock() != null && product.getStock() > 0;
+            apply(product.getId(), inStock, pending);
+        }
+    }
+
+    /**
+     * Sets or clears the bits of products whose stock crossed zero, after the transaction commits.
+     *
+     * @param event the resulting stock by product ID
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Build pending = building;
+        for (Map.Entry<Long, Integer> entry : event.stocks().entrySet()) {
+            apply(entry.getKey(), entry.getValue() > 0, pending);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void apply(long idProduct, boolean inStock, Build pending) {
+        if (bitmap.set(idProduct, inStock)) {
+            dirty.set(true);
+        }
+        if (pending != null) {
+            pending.set(idProduct, inStock);
+        }
+    }
+
+    private void restoreSnapshot() {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotPath))) {
+            InStockBitmap restored = InStockBitmap.readFrom(in);
+            bitmap = restored;
+            ready = true;
+            log.info("In-stock bitmap restored with {} product(s) from {}", restored.cardinality(), snapshotPath);
+
+        } catch (NoSuchFileException e) {
+            log.info("No in-stock bitmap snapshot at {}; availability filters wait for the first rebuild", snapshotPath);
+
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable in-stock bitmap snapshot at {}", snapshotPath, e);
+        }
+    }
+
+}
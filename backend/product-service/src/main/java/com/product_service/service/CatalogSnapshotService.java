@@ -0,0 +1,32 @@
+package com.product_service.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.product_service.entity.Product;
+
+/**
+ * Service interface for catalog reads served from a memory-mapped snapshot.
+ * 
+ * <p>Products are returned with their catalog data only; callers fill in stock.
+ * Products the snapshot does not know about are left to the database.
+ */
+public interface CatalogSnapshotService {
+
+    /**
+     * Returns the catalog data of a product.
+     * 
+     * @param idProduct the product ID
+     * @return a new product instance, or null if it must be read from the database
+     */
+    Product find(Long idProduct);
+
+    /**
+     * Returns the catalog data of several products.
+     * 
+     * @param idProducts the product IDs
+     * @return new product instances by ID; IDs that must be read from the database are absent
+     */
+    Map<Long, Product> findAll(Collection<Long> idProducts);
+
+}
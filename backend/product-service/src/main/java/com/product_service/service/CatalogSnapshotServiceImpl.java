@@ -0,0 +1,310 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductChange;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.model.ProductCursor;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.repository.ProductRepository;
+import com.product_service.search.CatalogSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the CatalogSnapshotService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Mapping the last {@link CatalogSnapshot} file while the context starts, so
+ *       product reads are served from it as soon as the application accepts requests</li>
+ *   <li>Keeping products changed after the snapshot was written in a small on-heap
+ *       overlay that takes precedence over the snapshot</li>
+ *   <li>Following the catalog change log, so changes made by other instances and by
+ *       bulk price updates and imports reach the overlay as well as local saves</li>
+ *   <li>Writing a new snapshot on a background thread at startup and whenever the
+ *       overlay is not empty, then swapping the mapping in with a single volatile write</li>
+ * </ul>
+ *
+ * <p>A snapshot covers every change numbered before its catalog read started and
+ * records that sequence number; the change log is followed from there. A restored
+ * snapshot is only served once the changes made after it are in the overlay, so a
+ * restart never serves stale products. Overlay entries are dropped once a snapshot
+ * written after them is swapped in. The catalog is read straight from the
+ * repository, and changed products with JDBC, since the product service itself
+ * reads through this snapshot.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code catalog-snapshot.enabled}: whether product reads are served from the snapshot</li>
+ *   <li>{@code catalog-snapshot.path}: location of the snapshot file</li>
+ *   <li>{@code catalog-snapshot.rebuild-interval-ms}: delay between checks for a new snapshot</li>
+ *   <li>{@code catalog-snapshot.load-page-size}: number of products read per catalog page while writing</li>
+ *   <li>{@code catalog-snapshot.changes-poll-interval-ms}: delay between reads of the change log</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductChangeService productChangeService;
+    private final boolean enabled;
+    private final Path path;
+    private final long rebuildIntervalMillis;
+    private final int loadPageSize;
+    private final long changesPollIntervalMillis;
+
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Long, Product> overlay = new ConcurrentHashMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+    /** Sequence number the overlay is synchronized up to, or -1 before the first snapshot is written. */
+    private volatile long changesSeen = -1;
+
+    /**
+     * Constructs the catalog snapshot service.
+     *
+     * @param productRepository the repository the catalog is read from
+     * @param productJdbcRepository the repository changed products are read from
+     * @param productChangeService the change log the overlay follows
+     * @param enabled whether product reads are served from the snapshot
+     * @param path location of the snapshot file
+     * @param rebuildIntervalMillis delay between checks for a new snapshot
+     * @param loadPageSize number of products read per catalog page while writing
+     * @param changesPollIntervalMillis delay between reads of the change log
+     */
+    public CatalogSnapshotServiceImpl(ProductRepository productRepository,
+                                      ProductJdbcRepository productJdbcRepository,
+                                      ProductChangeService productChangeService,
+                                      @Value("${catalog-snapshot.enabled:true}") boolean enabled,
+                                      @Value("${catalog-snapshot.path:data/catalog.snapshot}") String path,
+                                      @Value("${catalog-snapshot.rebuild-interval-ms:300000}") long rebuildIntervalMillis,
+                                      @Value("${catalog-snapshot.load-page-size:1000}") int loadPageSize,
+                                      @Value("${catalog-snapshot.changes-poll-interval-ms:1000}") long changesPollIntervalMillis) {
+        this.productRepository = productRepository;
+        this.productJdbcRepository = productJdbcRepository;
+        this.productChangeService = productChangeService;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        this.loadPageSize = Math.max(1, loadPageSize);
+        this.changesPollIntervalMillis = Math.max(1, changesPollIntervalMillis);
+    }
+
+    @Override
+    public Product find(Long idProduct) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Product product = overlay.get(idProduct);
+        return product != null ? copy(product) : current.find(idProduct);
+    }
+
+    @Override
+    public Map<Long, Product> findAll(Collection<Long> idProducts) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Long idProduct : idProducts) {
+            Product product = find(idProduct);
+            if (product != null) {
+                products.put(idProduct, product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Maps the last snapshot file, if there is a valid one, and reads the changes
+     * made since it was written; the snapshot is served only if that read succeeds.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            CatalogSnapshot restored = CatalogSnapshot.open(path);
+            changesSeen = restored.coveredSeq();
+            if (!pollChanges()) {
+                overlay.clear();
+                changesSeen = -1;
+                log.warn("Catalog snapshot at {} not restored; product reads use the database until one is written",
+                        path);
+                return;
+            }
+            snapshot = restored;
+            log.info("Catalog snapshot version {} restored with {} product(s) and {} later change(s) from {}",
+                    restored.version(), restored.size(), overlay.size(), path);
+
+        } catch (NoSuchFileException e) {
+            log.info("No catalog snapshot at {}; product reads use the database until one is written", path);
+
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot at {}", path, e);
+        }
+    }
+
+    /**
+     * Writes a fresh snapshot in the background once the application is ready, then
+     * follows the change log and checks for changes periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            log.info("Catalog snapshot disabled; product reads use the database");
+            return;
+        }
+        builder.execute(this::rebuild);
+        builder.scheduleWithFixedDelay(this::pollChanges, changesPollIntervalMillis, changesPollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        builder.scheduleWithFixedDelay(() -> {
+            if (!overlay.isEmpty()) {
+                rebuild();
+            }
+        }, rebuildIntervalMillis, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the builder thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Records saved products in the overlay after the transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (Product product : event.products()) {
+            overlay.put(product.getId(), copy(product));
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Writes the whole catalog into a new snapshot file and swaps its mapping in.
+     */
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, Product> covered = Map.copyOf(overlay);
+        CatalogSnapshot current = snapshot;
+        long version = current != null ? current.version() + 1 : 1;
+
+        try {
+            long coveredSeq = productChangeService.findLatestSeq();
+            try (CatalogSnapshot.Writer writer = CatalogSnapshot.writer(path, version, coveredSeq)) {
+                writeCatalog(writer);
+            }
+
+            snapshot = CatalogSnapshot.open(path);
+            covered.forEach(overlay::remove);
+            changesSeen = Math.max(changesSeen, coveredSeq);
+            log.info("Catalog snapshot version {} written with {} product(s) in {} ms",
+                    version, snapshot.size(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Catalog snapshot write failed; keeping version {}",
+                    current != null ? current.version() : "none", e);
+        }
+    }
+
+    /**
+     * Adds the whole catalog to a snapshot writer page by page and commits it.
+     */
+    private void writeCatalog(CatalogSnapshot.Writer writer) throws IOException {
+        ProductQuery query = ProductQuery.builder().size(loadPageSize).build();
+        ProductCursor after = null;
+        List<Product> rows;
+        do {
+            rows = productRepository.findCatalogPage(query, after, 0, loadPageSize);
+            for (Product product : rows) {
+                writer.add(product);
+            }
+            if (!rows.isEmpty()) {
+                after = new ProductCursor(ProductQuery.SortField.ID, Sort.Direction.ASC,
+                        rows.get(rows.size() - 1).getId(), null);
+            }
+        } while (rows.size() == loadPageSize);
+        writer.commit();
+    }
+
+    /**
+     * Reads the products changed since the last read of the change log into the overlay.
+     *
+     * @return true if the overlay caught up with the change log
+     */
+    private boolean pollChanges() {
+        long since = changesSeen;
+        if (since < 0) {
+            return false;
+        }
+
+        try {
+            List<ProductChange> changes;
+            do {
+                changes = productChangeService.findAfter(since, loadPageSize);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                List<Long> idProducts = changes.stream().map(ProductChange::getProductId).distinct().toList();
+                for (Product product : productJdbcRepository.findAllById(idProducts)) {
+                    overlay.put(product.getId(), product);
+                }
+                since = changes.get(changes.size() - 1).getSeq();
+                changesSeen = since;
+            } while (changes.size() == loadPageSize);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Failed to read catalog changes after sequence {}", since, e);
+            return false;
+        }
+    }
+
+    private Product copy(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .category(product.getCategory())
+                .imageUrl(product.getImageUrl())
+                .version(product.getVersion())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.product_service.service;
+
+import java.util.List;
+
+import com.product_service.dto.BoughtTogether;
+
+/**
+ * Service interface for "frequently bought together" recommendations.
+ * 
+ * <p>Pairs of products ordered together are counted in memory from order events
+ * with approximate counters of fixed size, and the most frequent companions of
+ * each product are kept ready to read. The counts are checkpointed to disk, so a
+ * restart only replays the orders placed since the last checkpoint.
+ */
+public interface CoPurchaseService {
+
+    /**
+     * Returns the products most often ordered together with a product.
+     * 
+     * @param idProduct the product ID
+     * @param limit the maximum number of products returned
+     * @return the companions, most frequent first; empty if none is known yet
+     */
+    List<BoughtTogether> getBoughtTogether(Long idProduct, int limit);
+
+}
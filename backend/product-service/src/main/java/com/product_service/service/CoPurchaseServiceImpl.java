@@ -0,0 +1,252 @@
+package com.product_service.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.product_service.dto.BoughtTogether;
+import com.product_service.dto.OrderEventMessage;
+import com.product_service.entity.Product;
+import com.product_service.listener.OrderEventHandler;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.sales.CoPurchaseIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the CoPurchaseService interface backed by a {@link CoPurchaseIndex}.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Restoring the index from its last checkpoint while the context starts,
+ *       before the order events listener is assigned its partitions</li>
+ *   <li>Counting the products of every order created event as pairs bought together</li>
+ *   <li>Writing the index to its checkpoint file when it changed, and on shutdown</li>
+ *   <li>Asking for the order events after the offsets the checkpoint holds to be
+ *       replayed on startup, or those of an initial period for partitions it holds
+ *       none for</li>
+ * </ul>
+ *
+ * <p>Replayed events before the checkpointed offset of their partition are already
+ * counted and are skipped, so the order times, set by the producers' clocks, play
+ * no part in it. The offsets are those of the order events topic; a checkpoint
+ * must be deleted if the topic is recreated. Orders larger than the configured item limit only pair their first
+ * items, so one huge order costs a bounded number of updates.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code co-purchase.sketch-width}: number of pair counters per sketch row</li>
+ *   <li>{@code co-purchase.sketch-depth}: number of sketch rows</li>
+ *   <li>{@code co-purchase.companions-per-product}: maximum number of companions kept per product</li>
+ *   <li>{@code co-purchase.max-products}: maximum number of products keeping companions</li>
+ *   <li>{@code co-purchase.min-support}: minimum number of orders for a pair to become a companion</li>
+ *   <li>{@code co-purchase.max-items-per-order}: maximum number of products of one order paired</li>
+ *   <li>{@code co-purchase.checkpoint-path}: location of the checkpoint file</li>
+ *   <li>{@code co-purchase.checkpoint-interval-ms}: delay between checkpoint writes of a changed index</li>
+ *   <li>{@code co-purchase.initial-replay-ms}: how far back orders are replayed for partitions without a checkpointed offset</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class CoPurchaseServiceImpl implements CoPurchaseService, OrderEventHandler {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final int sketchWidth;
+    private final int sketchDepth;
+    private final int companionsPerProduct;
+    private final int maxProducts;
+    private final int minSupport;
+    private final int maxItemsPerOrder;
+    private final Path checkpointPath;
+    private final long initialReplayMillis;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Object checkpointLock = new Object();
+    private volatile CoPurchaseIndex index;
+    private volatile Map<Integer, Long> restoredOffsets = Map.of();
+
+    /**
+     * Constructs the co-purchase service.
+     *
+     * @param catalogSnapshotService the snapshot companion names are read from
+     * @param productJdbcRepository the repository products the snapshot does not hold are read from
+     * @param sketchWidth number of pair counters per sketch row
+     * @param sketchDepth number of sketch rows
+     * @param companionsPerProduct maximum number of companions kept per product
+     * @param maxProducts maximum number of products keeping companions
+     * @param minSupport minimum number of orders for a pair to become a companion
+     * @param maxItemsPerOrder maximum number of products of one order paired
+     * @param checkpointPath location of the checkpoint file
+     * @param initialReplayMillis how far back orders are replayed for partitions without a checkpointed offset
+     */
+    public CoPurchaseServiceImpl(CatalogSnapshotService catalogSnapshotService,
+                                 ProductJdbcRepository productJdbcRepository,
+                                 @Value("${co-purchase.sketch-width:1048576}") int sketchWidth,
+                                 @Value("${co-purchase.sketch-depth:4}") int sketchDepth,
+                                 @Value("${co-purchase.companions-per-product:20}") int companionsPerProduct,
+                                 @Value("${co-purchase.max-products:100000}") int maxProducts,
+                                 @Value("${co-purchase.min-support:2}") int minSupport,
+                                 @Value("${co-purchase.max-items-per-order:50}") int maxItemsPerOrder,
+                                 @Value("${co-purchase.checkpoint-path:data/co-purchase.checkpoint}") String checkpointPath,
+                                 @Value("${co-purchase.initial-replay-ms:604800000}") long initialReplayMillis) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.productJdbcRepository = productJdbcRepository;
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.companionsPerProduct = Math.max(1, companionsPerProduct);
+        this.maxProducts = Math.max(1, maxProducts);
+        this.minSupport = Math.max(1, minSupport);
+        this.maxItemsPerOrder = Math.max(2, maxItemsPerOrder);
+        this.checkpointPath = Path.of(checkpointPath);
+        this.initialReplayMillis = Math.max(0, initialReplayMillis);
+        this.index = new CoPurchaseIndex(sketchWidth, sketchDepth, this.companionsPerProduct, this.maxProducts,
+                this.minSupport);
+    }
+
+    @Override
+    public List<BoughtTogether> getBoughtTogether(Long idProduct, int limit) {
+        List<CoPurchaseIndex.Companion> companions = index.companionsOf(idProduct, limit);
+        if (companions.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = findProducts(companions);
+        List<BoughtTogether> result = new ArrayList<>(companions.size());
+        for (CoPurchaseIndex.Companion companion : companions) {
+            Product product = products.get(companion.idProduct());
+            result.add(BoughtTogether.builder()
+                    .idProduct(companion.idProduct())
+                    .name(product != null ? product.getName() : null)
+                    .orders(companion.orders())
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public void onOrderEvent(OrderEventMessage event, int partition, long offset) {
+        if (event.getEventType() != OrderEventMessage.EventType.CREATED) {
+            return;
+        }
+        Long restored = restoredOffsets.get(partition);
+        if (restored != null && offset < restored) {
+            return;
+        }
+
+        Set<Long> idProducts = new LinkedHashSet<>();
+        for (OrderEventMessage.Item item : event.getItems()) {
+            if (idProducts.size() == maxItemsPerOrder) {
+                break;
+            }
+            if (item.getIdProduct() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                idProducts.add(item.getIdProduct());
+            }
+        }
+        if (idProducts.size() < 2) {
+            return;
+        }
+
+        index.addOrder(idProducts.stream().mapToLong(Long::longValue).toArray(), partition, offset);
+        dirty.set(true);
+    }
+
+    @Override
+    public long replayFrom(long nowMillis) {
+        return nowMillis - initialReplayMillis;
+    }
+
+    @Override
+    public Map<Integer, Long> replayOffsets() {
+        return restoredOffsets;
+    }
+
+    /**
+     * Restores the index from its last checkpoint, if there is a valid one.
+     */
+    @PostConstruct
+    public void restore() {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(checkpointPath))) {
+            CoPurchaseIndex restored = CoPurchaseIndex.readFrom(in, sketchWidth, sketchDepth,
+                    companionsPerProduct, maxProducts, minSupport);
+            index = restored;
+            restoredOffsets = restored.nextOffsets();
+            log.info("Co-purchase index restored with {} order(s) and {} product(s) from {}",
+                    restored.orderCount(), restored.productCount(), checkpointPath);
+
+        } catch (NoSuchFileException e) {
+            log.info("No co-purchase checkpoint at {}; recent orders are replayed", checkpointPath);
+
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable co-purchase checkpoint at {}; recent orders are replayed", checkpointPath, e);
+        }
+    }
+
+    /**
+     * Writes the index to its checkpoint file if it changed since the last write.
+     */
+    @Scheduled(fixedDelayString = "${co-purchase.checkpoint-interval-ms:60000}")
+    public void writeCheckpoint() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Path next = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".next");
+        synchronized (checkpointLock) {
+            try {
+                if (checkpointPath.getParent() != null) {
+                    Files.createDirectories(checkpointPath.getParent());
+                }
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(next))) {
+                    index.writeTo(out);
+                }
+                Files.move(next, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            } catch (IOException e) {
+                dirty.set(true);
+                log.error("Failed to write co-purchase checkpoint to {}", checkpointPath, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the last changes to the checkpoint file.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeCheckpoint();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Reads the companion products from the catalog snapshot, and from the database
+     * when the snapshot does not hold them.
+     */
+    private Map<Long, Product> findProducts(List<CoPurchaseIndex.Companion> companions) {
+        List<Long> idProducts = companions.stream().map(CoPurchaseIndex.Companion::idProduct).toList();
+        Map<Long, Product> products = new HashMap<>(catalogSnapshotService.findAll(idProducts));
+        List<Long> missing = idProducts.stream().filter(id -> !products.containsKey(id)).toList();
+        for (Product product : productJdbcRepository.findAllById(missing)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.product_service.service;
+
+import java.util.Map;
+
+import com.product_service.model.StockOutcome;
+
+/**
+ * Service interface for flash-sale inventory mode.
+ * 
+ * <p>Products switched into flash-sale mode have their stock held in an
+ * in-memory ledger inside product-service. Reservations are decided there
+ * without touching the database, journaled for crash recovery, and written
+ * back to the {@code products} row periodically. Products that are not in
+ * flash-sale mode are reported as not managed and keep using the database path.
+ */
+public interface FlashSaleService {
+
+    /**
+     * Switches a product into flash-sale mode, loading its current stock into the ledger.
+     * 
+     * @param idProduct the product ID
+     */
+    void enableFlashSale(Long idProduct);
+
+    /**
+     * Switches a product back to the database path after writing its final stock back.
+     * 
+     * @param idProduct the product ID
+     */
+    void disableFlashSale(Long idProduct);
+
+    /**
+     * Checks whether a product is in flash-sale mode.
+     * 
+     * @param idProduct the product ID
+     * @return true if the ledger owns the product's stock
+     */
+    boolean isFlashSale(Long idProduct);
+
+    /**
+     * Returns the ledger stock of a product in flash-sale mode.
+     * 
+     * @param idProduct the product ID
+     * @return the available stock, or null if the product is not in flash-sale mode
+     */
+    Integer currentStock(Long idProduct);
+
+    /**
+     * Returns the ledger stock of every product in flash-sale mode.
+     * 
+     * @return the available stock by product ID
+     */
+    Map<Long, Integer> currentStocks();
+
+    /**
+     * Reserves (decreases) stock in the ledger.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to reserve
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the database path must be used
+     */
+    StockOutcome reserve(Long idProduct, int quantity);
+
+    /**
+     * Restores (increases) stock in the ledger.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to restore
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the database path must be used
+     */
+    StockOutcome restore(Long idProduct, int quantity);
+
+    /**
+     * Adds the ledger change of every changed product to the database in one transaction.
+     */
+    void writeBack();
+
+}
@@ -0,0 +1,444 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.configuration.SchedulingConfig;
+import com.product_service.exception.ProductNotFoundException;
+import com.product_service.exception.ProductOperationException;
+import com.product_service.model.StockOutcome;
+import com.product_service.inventory.FlashSaleJournal;
+import com.product_service.inventory.FlashSaleLedger;
+import com.product_service.repository.ProductRepository;
+import com.product_service.repository.ProductStockSlotRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.product_service.inventory.FlashSaleLedger.available;
+import static com.product_service.inventory.FlashSaleLedger.version;
+
+/**
+ * Implementation of the FlashSaleService interface.
+ * 
+ * <p>This service handles:
+ * <ul>
+ *   <li>Deciding reservations for flash-sale products with lock-free compare-and-set
+ *       operations on the in-memory {@link FlashSaleLedger}</li>
+ *   <li>Journaling every decision before acknowledging it; concurrent decisions are
+ *       group-committed to disk by the {@link FlashSaleJournal} flusher</li>
+ *   <li>Coalescing decisions and adding the resulting change in stock to the inventory
+ *       table in one transaction per write-back interval</li>
+ *   <li>Rebuilding the ledger from the journal on startup</li>
+ * </ul>
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code flash-sale.journal-path}: location of the journal file</li>
+ *   <li>{@code flash-sale.journal-flush-interval-ms}: time the flusher gathers records before each write</li>
+ *   <li>{@code flash-sale.journal-max-bytes}: journal size that triggers a compacting rotation</li>
+ *   <li>{@code flash-sale.durable-timeout-ms}: maximum wait for a decision to become durable</li>
+ *   <li>{@code flash-sale.write-back-interval-ms}: delay between database write-backs</li>
+ * </ul>
+ * 
+ * <p>While a product is in flash-sale mode the ledger decides its reservations on this
+ * instance; the inventory row lags behind by at most one write-back interval. The row
+ * records the ledger stock it has absorbed, so each write-back adds only the ledger's
+ * change since then, even after a restart, and never discards stock written meanwhile
+ * by other instances or by the database path. Decisions still in flight when the
+ * process crashes were never acknowledged and are not recovered.
+ */
+@Service
+@Slf4j
+public class FlashSaleServiceImpl implements FlashSaleService {
+
+    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final ProductStockSlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FlashSaleLedger ledger = new FlashSaleLedger();
+    private final FlashSaleJournal journal;
+    private final long durableTimeoutMillis;
+    private final long journalMaxBytes;
+
+    /**
+     * Last versions of products that left flash-sale mode, so that a product
+     * switched back in continues its version sequence. Guarded by {@code this}.
+     */
+    private final Map<Long, Integer> retiredVersions = new HashMap<>();
+
+    /**
+     * Constructs the flash-sale service with the configured journal and write-back settings.
+     * 
+     * @param productRepository the repository used to check that products exist
+     * @param inventoryService the inventory service used for write-backs
+     * @param slotRepository the repository used to reject products with sharded stock
+     * @param transactionManager the transaction manager used for write-backs
+     * @param journalPath location of the journal file
+     * @param journalFlushIntervalMillis time the flusher gathers records before each write
+     * @param journalMaxBytes journal size that triggers a compacting rotation
+     * @param durableTimeoutMillis maximum wait for a decision to become durable
+     */
+    public FlashSaleServiceImpl(ProductRepository productRepository,
+                                InventoryService inventoryService,
+                                ProductStockSlotRepository slotRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${flash-sale.journal-path:data/flash-sale.journal}") String journalPath,
+                                @Value("${flash-sale.journal-flush-interval-ms:2}") long journalFlushIntervalMillis,
+                                @Value("${flash-sale.journal-max-bytes:67108864}") long journalMaxBytes,
+                                @Value("${flash-sale.durable-timeout-ms:2000}") long durableTimeoutMillis) {
+        this.productRepository = productRepository;
+        this.inventoryService = inventoryService;
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new FlashSaleJournal(Path.of(journalPath), journalFlushIntervalMillis);
+        this.journalMaxBytes = journalMaxBytes;
+        this.durableTimeoutMillis = durableTimeoutMillis;
+    }
+
+    /**
+     * Rebuilds the ledger from the journal and writes the recovered stock back.
+     * 
+     * <p>For every product the journal record with the newest version wins; products
+     * whose newest record marks them as retired stay on the database path.
+     * 
+     * @throws IllegalStateException if the journal cannot be read or opened
+     */
+    @PostConstruct
+    public synchronized void recover() {
+        List<FlashSaleJournal.Entry> entries;
+        try {
+            entries = journal.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open flash-sale journal", e);
+        }
+
+        Map<Long, FlashSaleJournal.Entry> latest = new HashMap<>();
+        for (FlashSaleJournal.Entry entry : entries) {
+            latest.merge(entry.productId(), entry,
+                    (current, candidate) -> FlashSaleLedger.isNewer(candidate.version(), current.version())
+                            ? candidate
+                            : current);
+        }
+
+        int recovered = 0;
+        for (FlashSaleJournal.Entry entry : latest.values()) {
+            if (entry.type() == FlashSaleJournal.RETIRED || !productRepository.existsById(entry.productId())) {
+                retiredVersions.put(entry.productId(), entry.version());
+                continue;
+            }
+            ledger.put(new FlashSaleLedger.Slot(entry.productId(), entry.version(), entry.available()));
+            recovered++;
+        }
+
+        if (recovered > 0) {
+            log.info("Recovered {} flash-sale product(s) from journal", recovered);
+            writeBack();
+        }
+    }
+
+    /**
+     * Writes outstanding ledger changes back and closes the journal.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeBack();
+        journal.close();
+    }
+
+    /**
+     * Switches a product into flash-sale mode.
+     * 
+     * <p>Enabling an already enabled product has no effect. The mode should be
+     * switched before traffic for the product peaks: reservations already inside
+     * the database path at that instant are not seen by the ledger.
+     * 
+     * @param idProduct the product ID
+     * @throws ProductNotFoundException if the product does not exist
+     * @throws ProductOperationException if the product uses sharded stock or the
+     *         journal cannot record the switch
+     */
+    @Override
+    public synchronized void enableFlashSale(Long idProduct) {
+        if (ledger.get(idProduct) != null) {
+            log.debug("Product ID: {} is already in flash-sale mode", idProduct);
+            return;
+        }
+
+        Integer stock = inventoryService.findStock(idProduct);
+        if (stock == null) {
+            throw new ProductNotFoundException(idProduct);
+        }
+
+        if (slotRepository.countByProductId(idProduct) > 0) {
+            throw new ProductOperationException(
+                    "Product ID " + idProduct + " uses sharded stock and cannot enter flash-sale mode");
+        }
+
+        int version = retiredVersions.getOrDefault(idProduct, 0) + 1;
+        FlashSaleLedger.Slot slot = new FlashSaleLedger.Slot(idProduct, version, stock);
+        slot.markWritten(slot.state());
+
+        transactionTemplate.executeWithoutResult(status -> inventoryService.attachLedger(idProduct, stock));
+        makeDurable(new FlashSaleJournal.Entry(FlashSaleJournal.STATE, idProduct, version, stock));
+
+        ledger.put(slot);
+        retiredVersions.remove(idProduct);
+
+        log.info("Product ID: {} switched to flash-sale mode with stock: {}", idProduct, stock);
+    }
+
+    /**
+     * Switches a product back to the database path.
+     * 
+     * <p>The slot is closed, its last change added to the inventory row and the
+     * switch journaled. Callers that raced with the switch wait for it to finish
+     * and then use the database path.
+     * 
+     * @param idProduct the product ID
+     * @throws ProductNotFoundException if the product does not exist
+     * @throws ProductOperationException if the final stock cannot be written
+     */
+    @Override
+    public synchronized void disableFlashSale(Long idProduct) {
+        FlashSaleLedger.Slot slot = ledger.remove(idProduct);
+        if (slot == null) {
+            if (!productRepository.existsById(idProduct)) {
+                throw new ProductNotFoundException(idProduct);
+            }
+            log.debug("Product ID: {} is not in flash-sale mode", idProduct);
+            return;
+        }
+
+        try {
+            long last = slot.close();
+            int finalVersion = version(slot.state());
+
+            transactionTemplate.executeWithoutResult(status ->
+                    inventoryService.detachLedger(idProduct, available(last)));
+
+            makeDurable(new FlashSaleJournal.Entry(FlashSaleJournal.RETIRED, idProduct, finalVersion, available(last)));
+            retiredVersions.put(idProduct, finalVersion);
+
+            log.info("Product ID: {} left flash-sale mode with stock: {}", idProduct, available(last));
+
+        } catch (ProductOperationException e) {
+            throw e;
+
+        } catch (Exception e) {
+            log.error("Error occurred while leaving flash-sale mode for product ID: {}", idProduct, e);
+            throw new ProductOperationException("Failed to disable flash-sale mode for product ID: " + idProduct, e);
+
+        } finally {
+            slot.markRetired();
+        }
+    }
+
+    @Override
+    public boolean isFlashSale(Long idProduct) {
+        return idProduct != null && ledger.get(idProduct) != null;
+    }
+
+    @Override
+    public Integer currentStock(Long idProduct) {
+        FlashSaleLedger.Slot slot = idProduct != null ? ledger.get(idProduct) : null;
+        if (slot == null) {
+            return null;
+        }
+        int available = available(slot.state());
+        return available >= 0 ? available : null;
+    }
+
+    @Override
+    public Map<Long, Integer> currentStocks() {
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (FlashSaleLedger.Slot slot : ledger.slots()) {
+            int available = available(slot.state());
+            if (available >= 0) {
+                stocks.put(slot.productId(), available);
+            }
+        }
+        return stocks;
+    }
+
+    /**
+     * Reserves stock in the ledger.
+     * 
+     * <p>The decision is a compare-and-set on the product's state. Once it succeeds
+     * the new state is journaled, and the call returns when the journal flush that
+     * includes it has completed.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to reserve
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the database path must be used
+     * @throws ProductOperationException if the decision cannot be journaled
+     */
+    @Override
+    public StockOutcome reserve(Long idProduct, int quantity) {
+        FlashSaleLedger.Slot slot = ledger.get(idProduct);
+        if (slot == null) {
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        long next = slot.reserve(quantity);
+        if (next == FlashSaleLedger.SLOT_CLOSED) {
+            awaitRetired(slot);
+            return StockOutcome.NOT_MANAGED;
+        }
+        if (next == FlashSaleLedger.REJECTED) {
+            return new StockOutcome(true, false, Math.max(0, available(slot.state())));
+        }
+
+        try {
+            makeDurable(new FlashSaleJournal.Entry(FlashSaleJournal.STATE, idProduct, version(next), available(next)));
+        } catch (ProductOperationException e) {
+            // Not acknowledged, so hand the units back
+            slot.restore(quantity);
+            throw e;
+        }
+
+        return new StockOutcome(true, true, available(next));
+    }
+
+    /**
+     * Restores stock in the ledger.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to restore
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the database path must be used
+     * @throws ProductOperationException if the decision cannot be journaled
+     */
+    @Override
+    public StockOutcome restore(Long idProduct, int quantity) {
+        FlashSaleLedger.Slot slot = ledger.get(idProduct);
+        if (slot == null) {
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        long next = slot.restore(quantity);
+        if (next == FlashSaleLedger.SLOT_CLOSED) {
+            awaitRetired(slot);
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        try {
+            makeDurable(new FlashSaleJournal.Entry(FlashSaleJournal.STATE, idProduct, version(next), available(next)));
+        } catch (ProductOperationException e) {
+            if (slot.reserve(quantity) < 0) {
+                log.warn("Could not undo unjournaled restore of {} unit(s) for product ID: {}", quantity, idProduct);
+            }
+            throw e;
+        }
+
+        return new StockOutcome(true, true, available(next));
+    }
+
+    /**
+     * Adds the ledger change of every changed product to the inventory table.
+     * 
+     * <p>All decisions made since the previous write-back collapse into one change
+     * per product, and all products are written in a single transaction.
+     * Failures are logged and retried on the next run. The journal is compacted
+     * afterwards once it exceeds its configured size.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${flash-sale.write-back-interval-ms:200}",
+               scheduler = SchedulingConfig.STOCK_TASK_SCHEDULER)
+    public synchronized void writeBack() {
+        List<FlashSaleLedger.Slot> dirty = new ArrayList<>();
+        List<Long> states = new ArrayList<>();
+        for (FlashSaleLedger.Slot slot : ledger.slots()) {
+            long state = slot.state();
+            if (available(state) >= 0 && state != slot.writtenState()) {
+                dirty.add(slot);
+                states.add(state);
+            }
+        }
+
+        if (!dirty.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < dirty.size(); i++) {
+                        inventoryService.applyLedger(dirty.get(i).productId(), available(states.get(i)));
+                    }
+                });
+
+                for (int i = 0; i < dirty.size(); i++) {
+                    dirty.get(i).markWritten(states.get(i));
+                }
+                log.debug("Flash-sale write-back stored stock for {} product(s)", dirty.size());
+
+            } catch (Exception e) {
+                log.error("Flash-sale write-back failed for {} product(s)", dirty.size(), e);
+                return;
+            }
+        }
+
+        try {
+            if (journal.size() > journalMaxBytes) {
+                journal.rotate(this::snapshotEntries);
+            }
+        } catch (IOException e) {
+            log.error("Failed to rotate flash-sale journal", e);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Appends a record to the journal and waits until it is durable.
+     * 
+     * @param entry the record to journal
+     * @throws ProductOperationException if the record cannot be made durable
+     */
+    private void makeDurable(FlashSaleJournal.Entry entry) {
+        try {
+            journal.awaitDurable(journal.append(entry), durableTimeoutMillis);
+        } catch (IOException e) {
+            log.error("Failed to journal flash-sale state for product ID: {}", entry.productId(), e);
+            throw new ProductOperationException("Failed to record flash-sale stock for product ID: " + entry.productId(), e);
+        }
+    }
+
+    /**
+     * Waits until a closed slot has been handed back to the database path.
+     * 
+     * @param slot the closed slot
+     */
+    private void awaitRetired(FlashSaleLedger.Slot slot) {
+        try {
+            slot.awaitRetired();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductOperationException("Interrupted while leaving flash-sale mode for product ID: " + slot.productId());
+        }
+    }
+
+    /**
+     * Describes the current ledger as journal records, used when compacting the journal.
+     * 
+     * @return one record per product in or retired from flash-sale mode
+     */
+    private List<FlashSaleJournal.Entry> snapshotEntries() {
+        List<FlashSaleJournal.Entry> entries = new ArrayList<>();
+        for (FlashSaleLedger.Slot slot : ledger.slots()) {
+            long state = slot.state();
+            if (available(state) >= 0) {
+                entries.add(new FlashSaleJournal.Entry(FlashSaleJournal.STATE, slot.productId(), version(state), available(state)));
+            }
+        }
+        retiredVersions.forEach((idProduct, version) ->
+                entries.add(new FlashSaleJournal.Entry(FlashSaleJournal.RETIRED, idProduct, version, 0)));
+        return entries;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.product_service.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Service interface for product inventory (stock) storage.
+ * 
+ * <p>Stock lives in its own narrow table keyed by product ID, and this interface
+ * is the only access path to it.
+ */
+public interface InventoryService {
+
+    /**
+     * Returns the stock of a product.
+     * 
+     * @param idProduct the product ID
+     * @return the stock, or null if the product has no inventory
+     */
+    Integer findStock(Long idProduct);
+
+    /**
+     * Returns the stock of several products.
+     * 
+     * @param idProducts the product IDs
+     * @return stock by product ID; products without inventory are absent
+     */
+    Map<Long, Integer> findStocks(Collection<Long> idProducts);
+
+    /**
+     * Returns the stock of a product and locks its inventory row until the end of the transaction.
+     * 
+     * @param idProduct the product ID
+     * @return the stock, or null if the product has no inventory
+     */
+    Integer lockStock(Long idProduct);
+
+    /**
+     * Deducts stock if enough is available.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to deduct
+     * @return true if the stock was deducted
+     */
+    boolean decrementStock(Long idProduct, int quantity);
+
+    /**
+     * Adds stock back to a product.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to add
+     * @return true if the stock was restored, false if the product has no inventory
+     */
+    boolean incrementStock(Long idProduct, int quantity);
+
+    /**
+     * Overwrites the stock of a product with an absolute value.
+     * 
+     * @param idProduct the product ID
+     * @param stock the new stock value
+     * @return true if the stock was written, false if the product has no inventory
+     */
+    boolean overwriteStock(Long idProduct, int stock);
+
+    /**
+     * Records the stock a flash-sale ledger starts from.
+     * 
+     * @param idProduct the product ID
+     * @param stock the initial ledger stock
+     * @return true if the stock was recorded, false if the product has no inventory
+     */
+    boolean attachLedger(Long idProduct, int stock);
+
+    /**
+     * Adds the change of a flash-sale ledger since its previous write-back to the stock.
+     * 
+     * <p>Stock changed by other writers since then is kept.
+     * 
+     * @param idProduct the product ID
+     * @param available the current ledger stock
+     * @return true if the change was applied, false if the product has no inventory
+     */
+    boolean applyLedger(Long idProduct, int available);
+
+    /**
+     * Adds the last change of a flash-sale ledger to the stock and ends the ledger.
+     * 
+     * @param idProduct the product ID
+     * @param available the final ledger stock
+     * @return true if the change was applied, false if the product has no inventory
+     */
+    boolean detachLedger(Long idProduct, int available);
+
+    /**
+     * Creates or replaces the inventory of several products.
+     * 
+     * @param stocks stock by product ID
+     */
+    void saveStocks(Map<Long, Integer> stocks);
+
+}
@@ -0,0 +1,126 @@
+package com.product_service.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.entity.ProductInventory;
+import com.product_service.migration.LegacyStockMirror;
+import com.product_service.repository.ProductInventoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the InventoryService interface.
+ * 
+ * <p>This service handles stock reads and single-statement stock updates on the
+ * product_inventory table. Stock still held in the legacy {@code products.stock}
+ * column is copied by the {@link com.product_service.migration.LegacyStockMigration}
+ * before the service starts; until that column is dropped, every stock written is
+ * mirrored into it by the {@link LegacyStockMirror}.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private final ProductInventoryRepository inventoryRepository;
+    private final LegacyStockMirror legacyStockMirror;
+
+    /**
+     * Constructs the inventory service.
+     * 
+     * @param inventoryRepository the repository for inventory rows
+     * @param legacyStockMirror the mirror of written stock into the legacy column
+     */
+    public InventoryServiceImpl(ProductInventoryRepository inventoryRepository,
+                                LegacyStockMirror legacyStockMirror) {
+        this.inventoryRepository = inventoryRepository;
+        this.legacyStockMirror = legacyStockMirror;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer findStock(Long idProduct) {
+        return inventoryRepository.findById(idProduct)
+                .map(ProductInventory::getStock)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> findStocks(Collection<Long> idProducts) {
+        return toStockMap(inventoryRepository.findAllById(idProducts));
+    }
+
+    @Override
+    @Transactional
+    public Integer lockStock(Long idProduct) {
+        return inventoryRepository.findByIdForUpdate(idProduct)
+                .map(ProductInventory::getStock)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public boolean decrementStock(Long idProduct, int quantity) {
+        return mirrored(idProduct, inventoryRepository.decrementStock(idProduct, quantity) == 1);
+    }
+
+    @Override
+    @Transactional
+    public boolean incrementStock(Long idProduct, int quantity) {
+        return mirrored(idProduct, inventoryRepository.incrementStock(idProduct, quantity) == 1);
+    }
+
+    @Override
+    @Transactional
+    public boolean overwriteStock(Long idProduct, int stock) {
+        return mirrored(idProduct, inventoryRepository.overwriteStock(idProduct, stock) == 1);
+    }
+
+    @Override
+    @Transactional
+    public boolean attachLedger(Long idProduct, int stock) {
+        return inventoryRepository.attachLedger(idProduct, stock) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean applyLedger(Long idProduct, int available) {
+        return mirrored(idProduct, inventoryRepository.applyLedger(idProduct, available) == 1);
+    }
+
+    @Override
+    @Transactional
+    public boolean detachLedger(Long idProduct, int available) {
+        return mirrored(idProduct, inventoryRepository.detachLedger(idProduct, available) == 1);
+    }
+
+    @Override
+    @Transactional
+    public void saveStocks(Map<Long, Integer> stocks) {
+        List<ProductInventory> rows = stocks.entrySet().stream()
+                .map(entry -> new ProductInventory(entry.getKey(), entry.getValue()))
+                .toList();
+        inventoryRepository.saveAll(rows);
+        legacyStockMirror.mirror(stocks);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private boolean mirrored(Long idProduct, boolean updated) {
+        if (updated) {
+            legacyStockMirror.mirror(idProduct);
+        }
+        return updated;
+    }
+
+    private Map<Long, Integer> toStockMap(List<ProductInventory> rows) {
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (ProductInventory row : rows) {
+            stocks.put(row.getProductId(), row.getStock());
+        }
+        return stocks;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.product_service.service;
+
+import java.util.List;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.model.ProductCursor;
+
+/**
+ * Service interface for the in-memory price index.
+ * 
+ * <p>Answers price-sorted catalog pages, and ID-sorted pages of products in
+ * stock, with category, price range and availability filters from memory,
+ * following catalog changes once their transaction commits.
+ */
+public interface PriceIndexService {
+
+    /**
+     * Tells whether the index is loaded and able to answer a query.
+     * 
+     * @param query the catalog query
+     * @return true if {@link #findIds} can answer it
+     */
+    boolean supports(ProductQuery query);
+
+    /**
+     * Returns the IDs of the products of a page the index supports.
+     * 
+     * @param query the filters and direction
+     * @param after the keyset position to continue after, or null for the first page
+     * @param limit the maximum number of IDs returned
+     * @return the product IDs in page order
+     */
+    List<Long> findIds(ProductQuery query, ProductCursor after, int limit);
+
+    /**
+     * Returns the category of a product from the index.
+     * 
+     * @param idProduct the product ID
+     * @return the category, or null if the index does not hold the product
+     */
+    Product.Category findCategory(long idProduct);
+
+}
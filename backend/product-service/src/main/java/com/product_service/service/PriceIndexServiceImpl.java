@@ -0,0 +1,222 @@
+package com.product_service.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductChange;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.model.ProductCursor;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.repository.ProductRepository;
+import com.product_service.search.PriceIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the PriceIndexService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Loading every product price into a {@link PriceIndex} once the application is ready</li>
+ *   <li>Moving saved products in the index after their transaction commits</li>
+ *   <li>Following the catalog change log, so prices changed by other instances and
+ *       by bulk price updates and imports move in the index as well</li>
+ *   <li>Answering price-sorted pages, checking availability against the
+ *       {@link AvailabilityService} when the page filters on it</li>
+ *   <li>Answering ID-sorted pages of products in stock by walking the in-stock set
+ *       and checking category and price against the index</li>
+ * </ul>
+ *
+ * <p>Offset pages beyond the first are left to the database.
+ *
+ * <p>The catalog is read straight from the repository, since the product service
+ * itself asks this index for pages, and changed products are read with JDBC.
+ * Products saved while the index loads are indexed from their event and not
+ * overwritten by the older catalog rows; the change log is followed from the
+ * sequence number read before the load started.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code price-index.enabled}: whether price-sorted pages are served from the index</li>
+ *   <li>{@code price-index.load-page-size}: number of products read per catalog page during the load,
+ *       and of changes per read of the change log</li>
+ *   <li>{@code price-index.changes-poll-interval-ms}: delay between reads of the change log</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class PriceIndexServiceImpl implements PriceIndexService {
+
+    private final ProductRepository productRepository;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductChangeService productChangeService;
+    private final AvailabilityService availabilityService;
+    private final boolean enabled;
+    private final int loadPageSize;
+
+    private final PriceIndex index = new PriceIndex();
+    private volatile boolean ready;
+    /** Sequence number the index is synchronized up to, or -1 before the load. */
+    private volatile long changesSeen = -1;
+
+    /**
+     * Constructs the price index service.
+     *
+     * @param productRepository the repository the catalog is loaded from
+     * @param productJdbcRepository the repository changed products are read from
+     * @param productChangeService the change log the index follows
+     * @param availabilityService the in-stock set availability filters are checked against
+     * @param enabled whether price-sorted pages are served from the index
+     * @param loadPageSize number of products read per catalog page during the load
+     */
+    public PriceIndexServiceImpl(ProductRepository productRepository,
+                                 ProductJdbcRepository productJdbcRepository,
+                                 ProductChangeService productChangeService,
+                                 AvailabilityService availabilityService,
+                                 @Value("${price-index.enabled:true}") boolean enabled,
+                                 @Value("${price-index.load-page-size:1000}") int loadPageSize) {
+        this.productRepository = productRepository;
+        this.productJdbcRepository = productJdbcRepository;
+        this.productChangeService = productChangeService;
+        this.availabilityService = availabilityService;
+        this.enabled = enabled;
+        this.loadPageSize = Math.max(1, loadPageSize);
+    }
+
+    @Override
+    public boolean supports(ProductQuery query) {
+        if (!ready || (query.getCursor() == null && query.getPage() != null && query.getPage() != 0)) {
+            return false;
+        }
+        return switch (query.getSort()) {
+            case PRICE -> query.getInStock() == null || availabilityService.isReady();
+            case ID -> Boolean.TRUE.equals(query.getInStock()) && availabilityService.isReady();
+            case NAME -> false;
+        };
+    }
+
+    @Override
+    public List<Long> findIds(ProductQuery query, ProductCursor after, int limit) {
+        boolean ascending = query.getDirection().isAscending();
+
+        if (query.getSort() == ProductQuery.SortField.ID) {
+            long[] ids = availabilityService.findInStock(after != null ? after.id() : null, ascending, limit,
+                    id -> index.matches(id, query.getCategory(), query.getMinPrice(), query.getMaxPrice()));
+            return Arrays.stream(ids).boxed().toList();
+        }
+
+        LongPredicate availability = query.getInStock() == null
+                ? id -> true
+                : id -> availabilityService.isInStock(id) == query.getInStock();
+        return index.find(new PriceIndex.Range(
+                query.getCategory(),
+                query.getMinPrice(),
+                query.getMaxPrice(),
+                ascending,
+                after != null ? Double.valueOf(after.value()) : null,
+                after != null ? after.id() : null), limit, availability);
+    }
+
+    @Override
+    public Product.Category findCategory(long idProduct) {
+        return index.categoryOf(idProduct);
+    }
+
+    /**
+     * Loads the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Price index disabled; price-sorted pages are read from the database");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            long coveredSeq = productChangeService.findLatestSeq();
+            ProductQuery query = ProductQuery.builder().size(loadPageSize).build();
+            ProductCursor after = null;
+            List<Product> rows;
+            do {
+                rows = productRepository.findCatalogPage(query, after, 0, loadPageSize);
+                for (Product product : rows) {
+                    index.addIfAbsent(product.getId(), product.getCategory(), priceOf(product));
+                }
+                if (!rows.isEmpty()) {
+                    after = new ProductCursor(ProductQuery.SortField.ID, Sort.Direction.ASC,
+                            rows.get(rows.size() - 1).getId(), null);
+                }
+            } while (rows.size() == loadPageSize);
+
+            changesSeen = coveredSeq;
+            ready = true;
+            log.info("Price index loaded with {} product(s) in {} ms",
+                    index.size(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Price index load failed; price-sorted pages are read from the database", e);
+        }
+    }
+
+    /**
+     * Moves products in the index after the transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (Product product : event.products()) {
+            index.upsert(product.getId(), product.getCategory(), priceOf(product));
+        }
+    }
+
+    /**
+     * Moves the products changed since the last read of the change log in the index.
+     */
+    @Scheduled(fixedDelayString = "${price-index.changes-poll-interval-ms:1000}")
+    public void pollChanges() {
+        long since = changesSeen;
+        if (!enabled || since < 0) {
+            return;
+        }
+
+        try {
+            List<ProductChange> changes;
+            do {
+                changes = productChangeService.findAfter(since, loadPageSize);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                List<Long> idProducts = changes.stream().map(ProductChange::getProductId).distinct().toList();
+                for (Product product : productJdbcRepository.findAllById(idProducts)) {
+                    index.upsert(product.getId(), product.getCategory(), priceOf(product));
+                }
+                since = changes.get(changes.size() - 1).getSeq();
+                changesSeen = since;
+            } while (changes.size() == loadPageSize);
+
+        } catch (Exception e) {
+            log.error("Failed to read catalog changes after sequence {}", since, e);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private double priceOf(Product product) {
+        return product.getPrice() != null ? product.getPrice() : 0;
+    }
+
+}
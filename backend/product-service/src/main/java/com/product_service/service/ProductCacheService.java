@@ -0,0 +1,26 @@
+package com.product_service.service;
+
+import java.util.Collection;
+
+/**
+ * Service interface for the second-level cache of products.
+ * 
+ * <p>Changes made through the entity manager keep the "product" region current on
+ * their own. Bulk JPQL or native updates bypass it, so the code running them must
+ * evict the products they touched once the transaction commits.
+ */
+public interface ProductCacheService {
+
+    /**
+     * Evicts products from the second-level cache.
+     * 
+     * @param idProducts the IDs of the products to evict
+     */
+    void evictProducts(Collection<Long> idProducts);
+
+    /**
+     * Evicts every product from the second-level cache.
+     */
+    void evictAllProducts();
+
+}
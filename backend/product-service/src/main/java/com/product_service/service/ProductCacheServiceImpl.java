@@ -0,0 +1,56 @@
+package com.product_service.service;
+
+import java.util.Collection;
+
+import com.product_service.entity.Product;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the ProductCacheService interface.
+ *
+ * <p>Evictions go through the JPA {@link Cache} of the persistence unit, which
+ * removes the entries from the Ehcache region backing {@link Product}. Region size,
+ * time to live and the cache statistics are configured in {@code ehcache.xml} and
+ * under {@code spring.jpa.properties.hibernate}.
+ */
+@Service
+@Slf4j
+public class ProductCacheServiceImpl implements ProductCacheService {
+
+    private final Cache cache;
+
+    /**
+     * Constructs the product cache service.
+     *
+     * @param entityManagerFactory the persistence unit whose second-level cache is evicted
+     */
+    public ProductCacheServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache();
+    }
+
+    /**
+     * Evicts products from the second-level cache.
+     *
+     * @param idProducts the IDs of the products to evict
+     */
+    @Override
+    public void evictProducts(Collection<Long> idProducts) {
+        for (Long idProduct : idProducts) {
+            cache.evict(Product.class, idProduct);
+        }
+        log.debug("Evicted {} products from the second-level cache", idProducts.size());
+    }
+
+    /**
+     * Evicts every product from the second-level cache.
+     */
+    @Override
+    public void evictAllProducts() {
+        cache.evict(Product.class);
+        log.debug("Evicted all products from the second-level cache");
+    }
+
+}
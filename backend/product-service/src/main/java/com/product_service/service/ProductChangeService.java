@@ -0,0 +1,54 @@
+package com.product_service.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.product_service.entity.ProductChange;
+
+/**
+ * Service interface for the catalog change log.
+ * 
+ * <p>Writers record the products they change inside their own transaction; the
+ * log numbers committed changes with a monotonically increasing sequence that
+ * consumers poll to stay synchronized.
+ */
+public interface ProductChangeService {
+
+    /**
+     * Records that products changed, as part of the current transaction.
+     * 
+     * @param idProducts the IDs of the changed products
+     */
+    void record(Collection<Long> idProducts);
+
+    /**
+     * Records that products changed once the current transaction commits, or at
+     * once outside a transaction, coalescing repeated changes of a product.
+     * 
+     * <p>For frequent changes whose exact count does not matter to consumers, such
+     * as stock reservations: the changes are appended by the next sequencer run,
+     * one entry per product however often it changed. Changes not yet appended
+     * are lost if the instance stops.
+     * 
+     * @param idProducts the IDs of the changed products
+     */
+    void recordCoalesced(Collection<Long> idProducts);
+
+    /**
+     * Lists numbered changes after a sequence number, in sequence order.
+     * 
+     * @param since the sequence number to continue after
+     * @param limit the maximum number of changes
+     * @return the changes
+     */
+    List<ProductChange> findAfter(long since, int limit);
+
+    /**
+     * Returns the highest sequence number assigned so far; every change up to it
+     * has committed.
+     * 
+     * @return the highest sequence number, or 0 if none was assigned
+     */
+    long findLatestSeq();
+
+}
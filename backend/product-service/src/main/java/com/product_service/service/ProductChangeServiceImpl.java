@@ -0,0 +1,198 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.product_service.configuration.SchedulingConfig;
+import com.product_service.entity.ProductChange;
+import com.product_service.repository.ProductChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of the ProductChangeService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Appending one log entry per changed product in the writing transaction, so
+ *       a change is logged if and only if it commits</li>
+ *   <li>Collecting frequent changes, such as managed stock reservations, per product
+ *       after their transaction commits, and appending one entry per product before
+ *       each sequencer run</li>
+ *   <li>Numbering committed entries periodically: the sequencer only sees committed
+ *       rows, and gives each batch numbers above every number assigned before, so
+ *       numbers become visible in increasing order</li>
+ *   <li>Deleting entries superseded by a later entry of the same product, which a
+ *       consumer never needs since the later entry is also after its position</li>
+ * </ul>
+ *
+ * <p>Several instances may run the sequencer at once: two batches numbered from the
+ * same maximum collide on the unique sequence index, and the losing batch is numbered
+ * again on the next run.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code changes.sequence-interval-ms}: delay between sequencer runs</li>
+ *   <li>{@code changes.sequence-batch-size}: maximum number of entries numbered per run</li>
+ *   <li>{@code changes.compact-interval-ms}: delay between deletions of superseded entries</li>
+ *   <li>{@code changes.compact-batch-size}: maximum number of entries deleted per statement</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+    private final ProductChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int sequenceBatchSize;
+    private final int compactBatchSize;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs the product change service.
+     *
+     * @param changeRepository the repository for log entries
+     * @param transactionManager the transaction manager used by the sequencer and the compaction
+     * @param sequenceBatchSize maximum number of entries numbered per run
+     * @param compactBatchSize maximum number of entries deleted per statement
+     */
+    public ProductChangeServiceImpl(ProductChangeRepository changeRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${changes.sequence-batch-size:5000}") int sequenceBatchSize,
+                                    @Value("${changes.compact-batch-size:5000}") int compactBatchSize) {
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sequenceBatchSize = Math.max(1, sequenceBatchSize);
+        this.compactBatchSize = Math.max(1, compactBatchSize);
+    }
+
+    @Override
+    @Transactional
+    public void record(Collection<Long> idProducts) {
+        changeRepository.saveAll(idProducts.stream()
+                .distinct()
+                .map(idProduct -> ProductChange.builder().productId(idProduct).build())
+                .toList());
+    }
+
+    @Override
+    public void recordCoalesced(Collection<Long> idProducts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.addAll(idProducts);
+            return;
+        }
+        List<Long> changed = List.copyOf(idProducts);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.addAll(changed);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductChange> findAfter(long since, int limit) {
+        return changeRepository.findAfter(since, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long findLatestSeq() {
+        return changeRepository.findMaxSeq();
+    }
+
+    /**
+     * Appends the coalesced changes, then numbers the committed entries that have
+     * no sequence number yet.
+     */
+    @Scheduled(fixedDelayString = "${changes.sequence-interval-ms:500}",
+               scheduler = SchedulingConfig.STOCK_TASK_SCHEDULER)
+    public void assignSequence() {
+        appendPending();
+        try {
+            Integer numbered;
+            do {
+                numbered = transactionTemplate.execute(status -> {
+                    List<Long> ids = changeRepository.findUnsequencedIds(PageRequest.of(0, sequenceBatchSize));
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    long offset = changeRepository.findMaxSeq() + 1 - ids.get(0);
+                    return changeRepository.assignSeq(ids, offset);
+                });
+            } while (numbered != null && numbered == sequenceBatchSize);
+
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change sequence numbers taken by another instance; retrying on the next run");
+
+        } catch (Exception e) {
+            log.error("Failed to number catalog changes", e);
+        }
+    }
+
+    /**
+     * Deletes entries superseded by a later entry of the same product.
+     */
+    @Scheduled(fixedDelayString = "${changes.compact-interval-ms:3600000}",
+               initialDelayString = "${changes.compact-interval-ms:3600000}")
+    public void compact() {
+        try {
+            long deleted = 0;
+            List<Long> ids;
+            do {
+                ids = changeRepository.findSupersededIds(PageRequest.of(0, compactBatchSize));
+                if (!ids.isEmpty()) {
+                    List<Long> batch = ids;
+                    transactionTemplate.executeWithoutResult(status -> changeRepository.deleteAllByIdInBatch(batch));
+                    deleted += ids.size();
+                }
+            } while (ids.size() == compactBatchSize);
+
+            if (deleted > 0) {
+                log.info("Deleted {} superseded catalog change(s)", deleted);
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to compact the catalog change log", e);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Appends one entry per product with coalesced changes; the products are kept
+     * for the next run if the entries cannot be written.
+     */
+    private void appendPending() {
+        List<Long> idProducts = new ArrayList<>();
+        for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext(); ) {
+            idProducts.add(iterator.next());
+            iterator.remove();
+        }
+        if (idProducts.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(idProducts));
+        } catch (Exception e) {
+            pending.addAll(idProducts);
+            log.error("Failed to append {} coalesced catalog change(s)", idProducts.size(), e);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for full catalog exports.
+ * 
+ * <p>Exports stream the catalog from a database cursor straight to their output,
+ * so they use the same memory for any catalog size.
+ */
+public interface ProductExportService {
+
+    /**
+     * Writes every product, with its current stock, as NDJSON: one JSON object per
+     * line, in ascending ID order.
+     * 
+     * @param output the stream the products are written to; flushed, not closed
+     * @return the number of products written
+     * @throws IOException if writing to the output fails
+     */
+    long exportProducts(OutputStream output) throws IOException;
+
+}
@@ -0,0 +1,106 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.product_service.entity.Product;
+import com.product_service.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the ProductExportService interface.
+ *
+ * <p>The catalog is read through a single streaming query that also returns the
+ * inventory stock and the stock slot total of each product, since the connection
+ * cannot run other statements while the cursor is open. Each product is detached
+ * from the persistence context as soon as it is read and serialized straight into
+ * the output, so neither the persistence context nor the Java heap grows with the
+ * catalog. Products in flash-sale mode are exported with their stock in the ledger.
+ */
+@Service
+@Slf4j
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final ObjectWriter writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructs the product export service.
+     *
+     * @param productRepository the repository the catalog is streamed from
+     * @param flashSaleService the service holding the stock of flash-sale products
+     * @param shardedStockService the service telling which products have sharded stock
+     * @param objectMapper the mapper products are serialized with
+     */
+    public ProductExportServiceImpl(ProductRepository productRepository,
+                                    FlashSaleService flashSaleService,
+                                    ShardedStockService shardedStockService,
+                                    ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.flashSaleService = flashSaleService;
+        this.shardedStockService = shardedStockService;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream output) throws IOException {
+        long begin = System.currentTimeMillis();
+        long count = 0;
+
+        try (Stream<Object[]> rows = productRepository.streamCatalog();
+             JsonGenerator generator = writer.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Product product = (Product) row[0];
+                entityManager.detach(product);
+                product.setStock(stockOf(product.getId(), (Integer) row[1], (Number) row[2]));
+
+                writer.writeValue(generator, product);
+                generator.writeRaw('\n');
+                count++;
+            }
+            generator.flush();
+        }
+
+        log.info("Exported {} product(s) in {} ms", count, System.currentTimeMillis() - begin);
+        return count;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Resolves the current stock of a product the way catalog reads do: from the
+     * flash-sale ledger, the stock slots or the inventory row.
+     */
+    private Integer stockOf(Long idProduct, Integer inventoryStock, Number slotStock) {
+        Integer stock = flashSaleService.currentStock(idProduct);
+        if (stock != null) {
+            return stock;
+        }
+        if (shardedStockService.isSharded(idProduct)) {
+            return slotStock != null ? slotStock.intValue() : 0;
+        }
+        return inventoryStock;
+    }
+
+}
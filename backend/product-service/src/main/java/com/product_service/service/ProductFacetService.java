@@ -0,0 +1,27 @@
+package com.product_service.service;
+
+import com.product_service.dto.ProductFacets;
+import com.product_service.entity.Product;
+
+/**
+ * Service interface for catalog facets.
+ * 
+ * <p>Counts per category, availability and price bucket are maintained in memory
+ * from catalog and stock changes and periodically reconciled with the catalog.
+ */
+public interface ProductFacetService {
+
+    /**
+     * Returns the facets of one category or of the whole catalog.
+     * 
+     * @param category the category, or null for every category
+     * @return the counts and price histograms
+     */
+    ProductFacets getFacets(Product.Category category);
+
+    /**
+     * Recounts the catalog and replaces the maintained counts.
+     */
+    void reconcile();
+
+}
@@ -0,0 +1,214 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.dto.CategoryFacet;
+import com.product_service.dto.PriceBucket;
+import com.product_service.dto.ProductFacets;
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.search.CatalogFacets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the ProductFacetService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Counting the catalog into {@link CatalogFacets} once the application is ready</li>
+ *   <li>Moving saved products and availability changes between counters after their
+ *       transaction commits</li>
+ *   <li>Recounting the catalog periodically, so counts that drifted (for instance
+ *       from stock events observed out of order) are corrected</li>
+ * </ul>
+ *
+ * <p>A reconciliation fills fresh counters and swaps them in when complete; changes
+ * that arrive meanwhile are applied to both, so none is lost by the swap.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code facets.price-bounds}: ascending price bounds between histogram buckets</li>
+ *   <li>{@code facets.reconcile-page-size}: number of products read per catalog page during a reconciliation</li>
+ *   <li>{@code facets.reconcile-interval-ms}: delay between reconciliations</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    private final ProductService productService;
+    private final double[] priceBounds;
+    private final int reconcilePageSize;
+
+    private volatile CatalogFacets facets;
+    private volatile CatalogFacets building;
+
+    /**
+     * Constructs the product facet service.
+     *
+     * @param productService the product service the catalog is read through
+     * @param priceBounds ascending price bounds between histogram buckets
+     * @param reconcilePageSize number of products read per catalog page during a reconciliation
+     */
+    public ProductFacetServiceImpl(ProductService productService,
+                                   @Value("${facets.price-bounds:25,50,100,250,500}") double[] priceBounds,
+                                   @Value("${facets.reconcile-page-size:1000}") int reconcilePageSize) {
+        this.productService = productService;
+        this.priceBounds = priceBounds.clone();
+        this.reconcilePageSize = Math.max(1, reconcilePageSize);
+        this.facets = new CatalogFacets(this.priceBounds);
+    }
+
+    @Override
+    public ProductFacets getFacets(Product.Category category) {
+        double[] bounds = priceBounds;
+        List<CategoryFacet> categories = new ArrayList<>();
+        int total = 0;
+        int inStock = 0;
+
+        for (CatalogFacets.CategoryCounts counts : facets.counts()) {
+            if (category != null && counts.category() != category) {
+                continue;
+            }
+            List<PriceBucket> buckets = new ArrayList<>(counts.buckets().length);
+            for (int i = 0; i < counts.buckets().length; i++) {
+                buckets.add(PriceBucket.builder()
+                        .minPrice(i == 0 ? 0.0 : bounds[i - 1])
+                        .maxPrice(i < bounds.length ? bounds[i] : null)
+                        .count(counts.buckets()[i])
+                        .inStock(counts.inStockBuckets()[i])
+                        .build());
+            }
+            categories.add(CategoryFacet.builder()
+                    .category(counts.category())
+                    .total(counts.total())
+                    .inStock(counts.inStock())
+                    .priceBuckets(buckets)
+                    .build());
+            total += counts.total();
+            inStock += counts.inStock();
+        }
+
+        return ProductFacets.builder()
+                .total(total)
+                .inStock(inStock)
+                .categories(categories)
+                .build();
+    }
+
+    /**
+     * Reads the whole catalog page by page into fresh counters and swaps them in.
+     */
+    @Override
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        CatalogFacets fresh = new CatalogFacets(priceBounds);
+        building = fresh;
+
+        try {
+            String cursor = null;
+            do {
+                ProductPage page = productService.findProducts(ProductQuery.builder()
+                        .size(reconcilePageSize)
+                        .cursor(cursor)
+                        .includeStock(true)
+                        .build());
+                for (Product product : page.getItems()) {
+                    upsert(fresh, product);
+                }
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            int drift = fresh.differences(facets);
+            facets = fresh;
+            if (drift > 0) {
+                log.warn("Facet reconciliation corrected {} counter(s) over {} product(s) in {} ms",
+                        drift, fresh.size(), System.currentTimeMillis() - start);
+            } else {
+                log.debug("Facet reconciliation found no drift over {} product(s) in {} ms",
+                        fresh.size(), System.currentTimeMillis() - start);
+            }
+
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Counts the catalog once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void countOnStartup() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Facet count failed; facets stay empty until the next reconciliation", e);
+        }
+    }
+
+    /**
+     * Recounts the catalog periodically.
+     */
+    @Scheduled(fixedDelayString = "${facets.reconcile-interval-ms:600000}",
+               initialDelayString = "${facets.reconcile-interval-ms:600000}")
+    public void reconcilePeriodically() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Facet reconciliation failed; keeping the maintained counts", e);
+        }
+    }
+
+    /**
+     * Counts products after the transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        CatalogFacets pending = building;
+        for (Product product : event.products()) {
+            upsert(facets, product);
+            if (pending != null) {
+                upsert(pending, product);
+            }
+        }
+    }
+
+    /**
+     * Moves products between availability counters after the transaction changing stock commits.
+     *
+     * @param event the resulting stock by product ID
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        CatalogFacets pending = building;
+        for (Map.Entry<Long, Integer> entry : event.stocks().entrySet()) {
+            facets.setInStock(entry.getKey(), entry.getValue() > 0);
+            if (pending != null) {
+                pending.setInStock(entry.getKey(), entry.getValue() > 0);
+            }
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void upsert(CatalogFacets target, Product product) {
+        target.upsert(product.getId(),
+                product.getCategory(),
+                product.getPrice() != null ? product.getPrice() : 0,
+                product.getStock() != null && product.getStock() > 0);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.product_service.service;
+
+import java.io.Reader;
+
+import com.product_service.dto.ImportReport;
+
+/**
+ * Service interface for streaming catalog imports.
+ * 
+ * <p>Imports read their input one row at a time and write it in chunks, each in
+ * its own transaction, so the size of an import is bounded by neither memory nor
+ * transaction length. Rows are matched to existing products by name: a match is
+ * updated, any other row creates a product.
+ */
+public interface ProductImportService {
+
+    /**
+     * Input formats of an import.
+     */
+    enum Format {
+        /** Comma-separated values with a header row naming the columns */
+        CSV,
+        /** One JSON object per line */
+        NDJSON
+    }
+
+    /**
+     * Imports products from a character stream.
+     * 
+     * <p>Rows that cannot be imported are listed in the report and do not stop the
+     * import. Chunks committed before a failure stay committed.
+     * 
+     * @param input the input, read to its end
+     * @param format the input format
+     * @return the counts, throughput and failed rows of the import
+     * @throws com.product_service.exception.ProductOperationException if the input
+     *         cannot be read at all, such as a CSV header without required columns
+     */
+    ImportReport importProducts(Reader input, Format format);
+
+}
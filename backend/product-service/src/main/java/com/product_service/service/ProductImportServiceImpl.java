@@ -0,0 +1,456 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product_service.bulk.ProductImportReader;
+import com.product_service.bulk.ProductImportReader.ImportRow;
+import com.product_service.dto.ImportReport;
+import com.product_service.dto.ImportRowError;
+import com.product_service.entity.Product;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.exception.ProductOperationException;
+import com.product_service.migration.LegacyStockMirror;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.search.NameHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of the ProductImportService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Parsing CSV and NDJSON input one row at a time</li>
+ *   <li>Writing valid rows in chunks, one transaction per chunk</li>
+ *   <li>Upserting products by name and setting the stock of the rows that carry one</li>
+ *   <li>Reporting failed rows and the throughput of the import</li>
+ * </ul>
+ *
+ * <p>Chunks are written with JDBC batches instead of the entity manager: products
+ * use IDENTITY keys, which Hibernate inserts one statement at a time, while a JDBC
+ * batch sends a chunk in a single round trip (with {@code rewriteBatchedStatements}
+ * on the MySQL driver, as one multi-row statement). The keys of created products are
+ * read back with one query by name. Updates increment the version and set the
+ * modification time exactly as Hibernate would; since they bypass the entity
+ * manager, updated products are evicted from the second-level cache after each
+ * chunk commits.
+ *
+ * <p>A row replaces the description, price, category and image URL of the product
+ * with its name. Its stock is only written when the row has one; a created product
+ * without stock starts with none. The stock of products in flash-sale or sharded
+ * mode is not kept in the inventory table, so rows setting it are rejected.
+ *
+ * <p>Names are matched in normalized form through the indexed name hash (see
+ * {@link ProductNameService}), one query per chunk, so differences in case, accents
+ * and whitespace do not create duplicates. A name seen twice closes the current chunk first, so each chunk holds
+ * every name at most once and the later row wins.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code catalog-import.chunk-size}: maximum number of rows written per transaction</li>
+ *   <li>{@code catalog-import.max-reported-errors}: maximum number of failed rows listed in a report</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String UPDATE_PRODUCT_SQL =
+            "UPDATE products SET description = ?, price = ?, category = ?, image_url = ?, " +
+            "version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, description, price, category, image_url, version, updated_at, name_hash) " +
+            "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String UPDATE_STOCK_SQL =
+            "UPDATE product_inventory SET stock = ?, updated_at = ? WHERE product_id = ?";
+
+    // Products inserted while the legacy stock column exists get a row from its sync trigger
+    private static final String INSERT_STOCK_SQL =
+            "INSERT INTO product_inventory (product_id, stock, updated_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE stock = VALUES(stock), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductNameService productNameService;
+    private final TransactionTemplate chunkTransaction;
+    private final InventoryService inventoryService;
+    private final LegacyStockMirror legacyStockMirror;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final ProductChangeService productChangeService;
+    private final ProductCacheService productCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Counts and failed rows of an import in progress.
+     */
+    private final class Progress {
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        private void fail(long line, String name, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(line, name, message));
+            }
+        }
+    }
+
+    /**
+     * Outcome of a committed chunk.
+     */
+    private record ChunkResult(int inserted, List<Long> updatedIds, List<ImportRowError> rejected) {
+    }
+
+    /**
+     * Constructs the product import service.
+     *
+     * @param jdbcTemplate the JDBC template chunks are written with
+     * @param productJdbcRepository the repository written products are read back from
+     * @param productNameService the service existing products are found by name with
+     * @param transactionManager the transaction manager each chunk runs in
+     * @param inventoryService the service reading stock for the saved-products event
+     * @param legacyStockMirror the mirror of written stock into the legacy column
+     * @param flashSaleService the service telling which products are in flash-sale mode
+     * @param shardedStockService the service telling which products have sharded stock
+     * @param productChangeService the change log the written products are recorded in
+     * @param productCacheService the second-level cache updated products are evicted from
+     * @param eventPublisher the publisher of saved-products events
+     * @param objectMapper the mapper NDJSON lines are parsed with
+     * @param chunkSize maximum number of rows written per transaction
+     * @param maxReportedErrors maximum number of failed rows listed in a report
+     */
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                    ProductJdbcRepository productJdbcRepository,
+                                    ProductNameService productNameService,
+                                    PlatformTransactionManager transactionManager,
+                                    InventoryService inventoryService,
+                                    LegacyStockMirror legacyStockMirror,
+                                    FlashSaleService flashSaleService,
+                                    ShardedStockService shardedStockService,
+                                    ProductChangeService productChangeService,
+                                    ProductCacheService productCacheService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    @Value("${catalog-import.chunk-size:1000}") int chunkSize,
+                                    @Value("${catalog-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productJdbcRepository = productJdbcRepository;
+        this.productNameService = productNameService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.inventoryService = inventoryService;
+        this.legacyStockMirror = legacyStockMirror;
+        this.flashSaleService = flashSaleService;
+        this.shardedStockService = shardedStockService;
+        this.productChangeService = productChangeService;
+        this.productCacheService = productCacheService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+    }
+
+    @Override
+    public ImportReport importProducts(Reader input, Format format) {
+        ProductImportReader reader = format == Format.NDJSON
+                ? ProductImportReader.ndjson(input, objectMapper)
+                : ProductImportReader.csv(input);
+        log.info("Starting {} catalog import", format);
+
+        long begin = System.nanoTime();
+        Progress progress = new Progress();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> names = new HashSet<>();
+        String abortReason = null;
+        try {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                progress.rowsRead++;
+                if (row.error() != null) {
+                    progress.fail(row.line(), row.name(), row.error());
+                    continue;
+                }
+                if (chunk.size() == chunkSize || !names.add(NameHash.normalize(row.name()))) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                    names.clear();
+                    names.add(NameHash.normalize(row.name()));
+                }
+                chunk.add(row);
+            }
+        } catch (IOException e) {
+            if (progress.rowsRead == 0) {
+                log.error("Catalog import could not be read: {}", e.getMessage());
+                throw new ProductOperationException("Failed to read import: " + e.getMessage(), e);
+            }
+            log.warn("Catalog import stopped after {} row(s): {}", progress.rowsRead, e.getMessage());
+            abortReason = e.getMessage();
+        }
+        writeChunk(chunk, progress);
+
+        long elapsedNanos = System.nanoTime() - begin;
+        double rowsPerSecond = elapsedNanos > 0 ? progress.rowsRead * 1e9 / elapsedNanos : 0;
+        log.info("Catalog import finished: {} row(s) read, {} inserted, {} updated, {} failed in {} ms ({} rows/s)",
+                progress.rowsRead, progress.inserted, progress.updated, progress.failed,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+
+        return ImportReport.builder()
+                .rowsRead(progress.rowsRead)
+                .inserted(progress.inserted)
+                .updated(progress.updated)
+                .failed(progress.failed)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rowsPerSecond)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .completed(abortReason == null)
+                .abortReason(abortReason)
+                .build();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Writes a chunk in its own transaction; if it rolls back, every row of the
+     * chunk is reported as failed.
+     */
+    private void writeChunk(List<ImportRow> rows, Progress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        ChunkResult result;
+        try {
+            result = chunkTransaction.execute(status -> applyChunk(rows));
+
+        } catch (DuplicateKeyException e) {
+            log.warn("Import chunk of {} row(s) rolled back on a concurrently created name", rows.size());
+            rows.forEach(row -> progress.fail(row.line(), row.name(),
+                    "A product with a name in this chunk was created concurrently"));
+            return;
+
+        } catch (DataAccessException e) {
+            log.error("Import chunk of {} row(s) rolled back", rows.size(), e);
+            rows.forEach(row -> progress.fail(row.line(), row.name(), "The chunk containing this row could not be written"));
+            return;
+        }
+
+        progress.inserted += result.inserted();
+        progress.updated += result.updatedIds().size();
+        result.rejected().forEach(error -> progress.fail(error.getLine(), error.getName(), error.getMessage()));
+        if (!result.updatedIds().isEmpty()) {
+            productCacheService.evictProducts(result.updatedIds());
+        }
+    }
+
+    /**
+     * Upserts the rows of a chunk, records them in the change log and publishes
+     * them to listeners running after commit.
+     */
+    private ChunkResult applyChunk(List<ImportRow> rows) {
+        Map<String, Long> existing = productNameService.findIdsByName(rows.stream().map(ImportRow::name).toList());
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        List<ImportRowError> rejected = new ArrayList<>();
+        List<ImportRow> updates = new ArrayList<>();
+        List<Long> updateIds = new ArrayList<>();
+        List<ImportRow> inserts = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Long idProduct = existing.get(NameHash.normalize(row.name()));
+            if (idProduct == null) {
+                inserts.add(row);
+            } else if (row.stock() != null && (flashSaleService.isFlashSale(idProduct)
+                    || shardedStockService.isSharded(idProduct))) {
+                rejected.add(new ImportRowError(row.line(), row.name(),
+                        "Stock of a product in flash-sale or sharded mode cannot be imported"));
+            } else {
+                updates.add(row);
+                updateIds.add(idProduct);
+            }
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                ImportRow row = updates.get(i);
+                setCatalogData(statement, 1, row);
+                statement.setTimestamp(5, now, utc);
+                statement.setLong(6, updateIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        Map<Long, Integer> stocks = new LinkedHashMap<>();
+        List<Long> updatedIds = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            if (updateCounts[i] == 0) {
+                rejected.add(new ImportRowError(updates.get(i).line(), updates.get(i).name(),
+                        "The product was removed while it was imported"));
+                continue;
+            }
+            updatedIds.add(updateIds.get(i));
+            if (updates.get(i).stock() != null) {
+                stocks.put(updateIds.get(i), updates.get(i).stock());
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                ImportRow row = inserts.get(i);
+                statement.setString(1, row.name());
+                setCatalogData(statement, 2, row);
+                statement.setTimestamp(6, now, utc);
+                statement.setLong(7, NameHash.of(row.name()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return inserts.size();
+            }
+        });
+
+        Map<String, Long> created = productNameService.findIdsByName(inserts.stream().map(ImportRow::name).toList());
+        List<Long> insertedIds = new ArrayList<>(inserts.size());
+        for (ImportRow row : inserts) {
+            Long idProduct = created.get(NameHash.normalize(row.name()));
+            insertedIds.add(idProduct);
+            stocks.put(idProduct, row.stock() != null ? row.stock() : 0);
+        }
+
+        saveStocks(stocks, insertedIds, now, utc);
+        legacyStockMirror.mirror(stocks);
+
+        List<Long> written = new ArrayList<>(updatedIds);
+        written.addAll(insertedIds);
+        if (!written.isEmpty()) {
+            productChangeService.record(written);
+            eventPublisher.publishEvent(new ProductsSavedEvent(loadProducts(written)));
+        }
+        return new ChunkResult(insertedIds.size(), updatedIds, rejected);
+    }
+
+    /**
+     * Writes stock rows: updates the rows of existing products first and inserts
+     * the rows of created products and of products that had none.
+     */
+    private void saveStocks(Map<Long, Integer> stocks, List<Long> insertedIds, Timestamp now, Calendar utc) {
+        Set<Long> created = new HashSet<>(insertedIds);
+        List<Map.Entry<Long, Integer>> updates = stocks.entrySet().stream()
+                .filter(entry -> !created.contains(entry.getKey()))
+                .toList();
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setInt(1, updates.get(i).getValue());
+                statement.setTimestamp(2, now, utc);
+                statement.setLong(3, updates.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        List<Map.Entry<Long, Integer>> inserts = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (counts[i] == 0) {
+                inserts.add(updates.get(i));
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : stocks.entrySet()) {
+            if (created.contains(entry.getKey())) {
+                inserts.add(entry);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, inserts.get(i).getKey());
+                statement.setInt(2, inserts.get(i).getValue());
+                statement.setTimestamp(3, now, utc);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return inserts.size();
+            }
+        });
+    }
+
+    /**
+     * Binds description, price, category and image URL from the given parameter index on.
+     */
+    private static void setCatalogData(PreparedStatement statement, int index, ImportRow row) throws SQLException {
+        if (row.description() != null) {
+            statement.setString(index, row.description());
+        } else {
+            statement.setNull(index, Types.VARCHAR);
+        }
+        statement.setDouble(index + 1, row.price());
+        statement.setString(index + 2, row.category().name());
+        if (row.imageUrl() != null) {
+            statement.setString(index + 3, row.imageUrl());
+        } else {
+            statement.setNull(index + 3, Types.VARCHAR);
+        }
+    }
+
+    /**
+     * Reads the written products back with their version, modification time and
+     * current stock, as listeners of the saved-products event expect them.
+     */
+    private List<Product> loadProducts(List<Long> idProducts) {
+        List<Product> products = productJdbcRepository.findAllById(idProducts);
+        Map<Long, Integer> stocks = inventoryService.findStocks(idProducts);
+        for (Product product : products) {
+            Integer stock = flashSaleService.currentStock(product.getId());
+            if (stock == null) {
+                stock = shardedStockService.currentStock(product.getId());
+            }
+            product.setStock(stock != null ? stock : stocks.get(product.getId()));
+        }
+        return products;
+    }
+
+}
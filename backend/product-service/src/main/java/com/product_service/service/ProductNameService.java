@@ -0,0 +1,32 @@
+package com.product_service.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service interface for lookups of products by name.
+ * 
+ * <p>Names are compared in normalized form (see
+ * {@link com.product_service.search.NameHash}) through the indexed hash of the
+ * normalized name, so differences in case, accents and whitespace do not matter.
+ */
+public interface ProductNameService {
+
+    /**
+     * Finds the product with a name.
+     * 
+     * @param name the product name
+     * @return the product ID, or empty if no product has the name
+     */
+    Optional<Long> findIdByName(String name);
+
+    /**
+     * Finds the products with any of the given names in one query.
+     * 
+     * @param names the product names
+     * @return the product IDs keyed by normalized name; names without a product are absent
+     */
+    Map<String, Long> findIdsByName(Collection<String> names);
+
+}
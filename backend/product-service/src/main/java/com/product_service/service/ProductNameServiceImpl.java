@@ -0,0 +1,195 @@
+package com.product_service.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.product_service.search.NameHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the ProductNameService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Lookups of one or many names with a single query on the name hash index</li>
+ *   <li>The background computation of the hash of products written without one</li>
+ * </ul>
+ *
+ * <p>The hash is set by the entity on every insert and update, and by the bulk
+ * import on insert. Rows written before the column existed, or seeded by SQL, have
+ * none until the background pass reaches them; until the pass completes, lookups
+ * also match the exact name so those rows are still found.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code product-names.backfill-enabled}: whether missing hashes are computed in the background</li>
+ *   <li>{@code product-names.backfill-batch-size}: number of products hashed per statement batch</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductNameServiceImpl implements ProductNameService {
+
+    private static final String FIND_BY_HASH_SQL =
+            "SELECT id, name FROM products WHERE name_hash IN (:hashes)";
+
+    private static final String FIND_BY_HASH_OR_NAME_SQL =
+            "SELECT id, name FROM products WHERE name_hash IN (:hashes) OR name IN (:names)";
+
+    private static final String FIND_UNHASHED_SQL =
+            "SELECT id, name FROM products WHERE name_hash IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String SET_HASH_SQL =
+            "UPDATE products SET name_hash = ? WHERE id = ? AND name_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final boolean backfillEnabled;
+    private final int backfillBatchSize;
+
+    /**
+     * Whether some products may still lack a name hash; cleared once the
+     * background pass finds none left.
+     */
+    private volatile boolean backfillPending = true;
+
+    /**
+     * A product ID and name read by a lookup.
+     */
+    private record NamedId(long id, String name) {
+    }
+
+    /**
+     * Constructs the product name service.
+     *
+     * @param jdbcTemplate the JDBC template used by the background pass
+     * @param namedJdbcTemplate the JDBC template lookups run with
+     * @param backfillEnabled whether missing hashes are computed in the background
+     * @param backfillBatchSize number of products hashed per statement batch
+     */
+    public ProductNameServiceImpl(JdbcTemplate jdbcTemplate,
+                                  NamedParameterJdbcTemplate namedJdbcTemplate,
+                                  @Value("${product-names.backfill-enabled:true}") boolean backfillEnabled,
+                                  @Value("${product-names.backfill-batch-size:1000}") int backfillBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.backfillEnabled = backfillEnabled;
+        this.backfillBatchSize = Math.max(1, backfillBatchSize);
+    }
+
+    @Override
+    public Optional<Long> findIdByName(String name) {
+        return Optional.ofNullable(findIdsByName(List.of(name)).get(NameHash.normalize(name)));
+    }
+
+    @Override
+    public Map<String, Long> findIdsByName(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> wanted = new HashSet<>();
+        Set<Long> hashes = new HashSet<>();
+        for (String name : names) {
+            wanted.add(NameHash.normalize(name));
+            hashes.add(NameHash.of(name));
+        }
+        if (hashes.isEmpty()) {
+            return ids;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("hashes", hashes);
+        String sql = FIND_BY_HASH_SQL;
+        if (backfillPending) {
+            params.addValue("names", names);
+            sql = FIND_BY_HASH_OR_NAME_SQL;
+        }
+        List<NamedId> rows = namedJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new NamedId(rs.getLong("id"), rs.getString("name")));
+
+        // Hashes can collide: keep rows whose normalized name matches, the oldest product first
+        for (NamedId row : rows) {
+            String normalized = NameHash.normalize(row.name());
+            if (wanted.contains(normalized)) {
+                ids.merge(normalized, row.id(), Math::min);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Starts the background computation of missing name hashes once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (!backfillEnabled) {
+            log.info("Name hash backfill disabled; lookups keep matching exact names as well");
+            return;
+        }
+
+        Thread backfill = new Thread(this::backfillHashes, "name-hash-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Hashes the names of products without a hash, one batch of IDs at a time.
+     * 
+     * <p>The update only applies to rows still without a hash, so it never
+     * overwrites the hash of a product renamed meanwhile.
+     */
+    private void backfillHashes() {
+        try {
+            long hashed = 0;
+            long after = 0;
+            while (true) {
+                List<NamedId> rows = jdbcTemplate.query(FIND_UNHASHED_SQL,
+                        (ResultSet rs, int rowNum) -> new NamedId(rs.getLong("id"), rs.getString("name")),
+                        after, backfillBatchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                int[] counts = jdbcTemplate.batchUpdate(SET_HASH_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setLong(1, NameHash.of(rows.get(i).name()));
+                        statement.setLong(2, rows.get(i).id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+                for (int count : counts) {
+                    hashed += Math.max(count, 0);
+                }
+                after = rows.get(rows.size() - 1).id();
+            }
+
+            backfillPending = false;
+            log.info("Name hash backfill completed: {} product(s) hashed", hashed);
+
+        } catch (DataAccessException e) {
+            log.error("Name hash backfill failed; lookups keep matching exact names as well", e);
+        }
+    }
+
+}
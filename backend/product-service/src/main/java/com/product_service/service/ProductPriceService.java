@@ -0,0 +1,29 @@
+package com.product_service.service;
+
+import com.product_service.dto.PriceUpdateRequest;
+import com.product_service.dto.PriceUpdateResult;
+
+/**
+ * Service interface for bulk price changes.
+ * 
+ * <p>Price rules are applied with set-based SQL, one UPDATE statement per batch of
+ * products, instead of loading and saving every product.
+ */
+public interface ProductPriceService {
+
+    /**
+     * Applies a price rule to the products of a category, a list of products, or both.
+     * 
+     * <p>Products are updated in ascending ID order, each batch committed in its
+     * own transaction. If a batch fails, the batches committed before it stay
+     * committed and the result is returned incomplete, with the last product ID
+     * they cover; repeating the request with that ID as {@code afterId} resumes the
+     * update without applying the rule twice.
+     * 
+     * @param request the products and the price rule
+     * @return the number of products updated, the time it took and where it stopped
+     * @throws com.product_service.exception.ProductOperationException if the request is invalid
+     */
+    PriceUpdateResult updatePrices(PriceUpdateRequest request);
+
+}
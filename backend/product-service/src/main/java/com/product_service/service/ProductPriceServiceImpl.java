@@ -0,0 +1,252 @@
+package com.product_service.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.product_service.dto.PriceUpdateRequest;
+import com.product_service.dto.PriceUpdateResult;
+import com.product_service.entity.Product;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.exception.ProductOperationException;
+import com.product_service.repository.ProductJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of the ProductPriceService interface.
+ *
+ * <p>Each batch runs in its own transaction: it locks the next products to update
+ * in ID order with {@code SELECT ... FOR UPDATE}, so concurrent writers cannot move
+ * them out of the selection, and rewrites their price with a single UPDATE. The
+ * update increments the version and sets the modification time like Hibernate
+ * does. The updated products are recorded in the change log and published to the
+ * listeners keeping indexes and caches current, and evicted from the second-level
+ * cache once the batch commits.
+ *
+ * <p>Batches follow ascending product IDs, so an update that stops on a failing
+ * batch is resumed after the last ID the committed batches cover.
+ *
+ * <p>Percentage changes are rounded to two decimals and never go below one cent.
+ * Category batches are read by keyset on the category and ID index, so every batch
+ * costs the same however far into the category it is.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code bulk-update.batch-size}: maximum number of products updated per transaction</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductPriceServiceImpl implements ProductPriceService {
+
+    private static final String LOCK_CATEGORY_PAGE_SQL =
+            "SELECT id FROM products WHERE category = :category AND id > :after ORDER BY id LIMIT :limit FOR UPDATE";
+
+    private static final String LOCK_IDS_SQL =
+            "SELECT id FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String LOCK_IDS_IN_CATEGORY_SQL =
+            "SELECT id FROM products WHERE id IN (:ids) AND category = :category ORDER BY id FOR UPDATE";
+
+    private static final String PERCENTAGE_SQL =
+            "UPDATE products SET price = GREATEST(ROUND(price * (100 + :value) / 100, 2), 0.01), " +
+            "version = version + 1, updated_at = :now WHERE id IN (:ids)";
+
+    private static final String ABSOLUTE_SQL =
+            "UPDATE products SET price = :value, version = version + 1, updated_at = :now WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final TransactionTemplate batchTransaction;
+    private final InventoryService inventoryService;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final ProductChangeService productChangeService;
+    private final ProductCacheService productCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * Constructs the product price service.
+     *
+     * @param jdbcTemplate the JDBC template batches are locked and updated with
+     * @param productJdbcRepository the repository updated products are read back from
+     * @param transactionManager the transaction manager each batch runs in
+     * @param inventoryService the service reading stock for the saved-products event
+     * @param flashSaleService the service holding the stock of flash-sale products
+     * @param shardedStockService the service holding the stock of sharded products
+     * @param productChangeService the change log the updated products are recorded in
+     * @param productCacheService the second-level cache updated products are evicted from
+     * @param eventPublisher the publisher of saved-products events
+     * @param batchSize maximum number of products updated per transaction
+     */
+    public ProductPriceServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                   ProductJdbcRepository productJdbcRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   InventoryService inventoryService,
+                                   FlashSaleService flashSaleService,
+                                   ShardedStockService shardedStockService,
+                                   ProductChangeService productChangeService,
+                                   ProductCacheService productCacheService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${bulk-update.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productJdbcRepository = productJdbcRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.inventoryService = inventoryService;
+        this.flashSaleService = flashSaleService;
+        this.shardedStockService = shardedStockService;
+        this.productChangeService = productChangeService;
+        this.productCacheService = productCacheService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public PriceUpdateResult updatePrices(PriceUpdateRequest request) {
+        validate(request);
+        Product.Category category = request.getCategory();
+        log.info("Applying {} price update of {} to category {} and {} listed product(s)", request.getMode(),
+                request.getValue(), category, request.getIdProducts() != null ? request.getIdProducts().size() : 0);
+
+        long begin = System.currentTimeMillis();
+        long after = request.getAfterId() != null ? request.getAfterId() : 0;
+        long rowsAffected = 0;
+        int batches = 0;
+        boolean completed = true;
+        try {
+            if (request.getIdProducts() != null && !request.getIdProducts().isEmpty()) {
+                long resumeAfter = after;
+                List<Long> idProducts = request.getIdProducts().stream()
+                        .filter(Objects::nonNull)
+                        .filter(idProduct -> idProduct > resumeAfter)
+                        .distinct()
+                        .sorted()
+                        .toList();
+                for (int from = 0; from < idProducts.size(); from += batchSize) {
+                    List<Long> slice = idProducts.subList(from, Math.min(idProducts.size(), from + batchSize));
+                    rowsAffected += applyBatch(request, () -> lockIds(slice, category)).size();
+                    batches++;
+                    // Listed products missing or outside the category are covered as well
+                    after = slice.get(slice.size() - 1);
+                }
+            } else {
+                List<Long> updated;
+                do {
+                    long from = after;
+                    updated = applyBatch(request, () -> lockCategoryPage(category, from));
+                    if (!updated.isEmpty()) {
+                        rowsAffected += updated.size();
+                        batches++;
+                        after = updated.get(updated.size() - 1);
+                    }
+                } while (updated.size() == batchSize);
+            }
+
+        } catch (DataAccessException e) {
+            log.error("Bulk price update failed after {} product(s); resume after product ID {}", rowsAffected, after, e);
+            completed = false;
+        }
+
+        long elapsed = System.currentTimeMillis() - begin;
+        log.info("Bulk price update changed {} product(s) in {} batch(es) in {} ms", rowsAffected, batches, elapsed);
+        return new PriceUpdateResult(rowsAffected, batches, elapsed, completed, after > 0 ? after : null);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private static void validate(PriceUpdateRequest request) {
+        if (request == null || request.getMode() == null) {
+            throw new ProductOperationException("Price update mode is required");
+        }
+        Double value = request.getValue();
+        if (value == null || value.isNaN() || value.isInfinite()) {
+            throw new ProductOperationException("Price update value must be a number");
+        }
+        if (request.getAfterId() != null && request.getAfterId() < 0) {
+            throw new ProductOperationException("Price update afterId must not be negative");
+        }
+        if (request.getCategory() == null && (request.getIdProducts() == null || request.getIdProducts().isEmpty())) {
+            throw new ProductOperationException("A category or a list of product IDs is required");
+        }
+        if (request.getMode() == PriceUpdateRequest.Mode.PERCENTAGE && value <= -100) {
+            throw new ProductOperationException("Percentage change must be greater than -100");
+        }
+        if (request.getMode() == PriceUpdateRequest.Mode.ABSOLUTE && value <= 0) {
+            throw new ProductOperationException("Price must be a positive value");
+        }
+    }
+
+    /**
+     * Locks and updates one batch in its own transaction, then evicts the updated
+     * products from the second-level cache.
+     *
+     * @return the IDs of the updated products, in ascending order
+     */
+    private List<Long> applyBatch(PriceUpdateRequest request, Supplier<List<Long>> lock) {
+        List<Long> updated = batchTransaction.execute(status -> {
+            List<Long> idProducts = lock.get();
+            if (idProducts.isEmpty()) {
+                return idProducts;
+            }
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("ids", idProducts);
+            params.put("value", request.getValue());
+            params.put("now", LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC));
+            jdbcTemplate.update(request.getMode() == PriceUpdateRequest.Mode.PERCENTAGE ? PERCENTAGE_SQL : ABSOLUTE_SQL,
+                    params);
+
+            productChangeService.record(idProducts);
+            eventPublisher.publishEvent(new ProductsSavedEvent(loadProducts(idProducts)));
+            return idProducts;
+        });
+
+        if (!updated.isEmpty()) {
+            productCacheService.evictProducts(updated);
+        }
+        return updated;
+    }
+
+    private List<Long> lockCategoryPage(Product.Category category, long after) {
+        return jdbcTemplate.queryForList(LOCK_CATEGORY_PAGE_SQL,
+                Map.of("category", category.name(), "after", after, "limit", batchSize), Long.class);
+    }
+
+    private List<Long> lockIds(List<Long> idProducts, Product.Category category) {
+        return category == null
+                ? jdbcTemplate.queryForList(LOCK_IDS_SQL, Map.of("ids", idProducts), Long.class)
+                : jdbcTemplate.queryForList(LOCK_IDS_IN_CATEGORY_SQL,
+                        Map.of("ids", idProducts, "category", category.name()), Long.class);
+    }
+
+    /**
+     * Reads the updated products back with their current stock, as listeners of the
+     * saved-products event expect them.
+     */
+    private List<Product> loadProducts(List<Long> idProducts) {
+        List<Product> products = productJdbcRepository.findAllById(idProducts);
+        Map<Long, Integer> stocks = inventoryService.findStocks(idProducts);
+        for (Product product : products) {
+            Integer stock = flashSaleService.currentStock(product.getId());
+            if (stock == null) {
+                stock = shardedStockService.currentStock(product.getId());
+            }
+            product.setStock(stock != null ? stock : stocks.get(product.getId()));
+        }
+        return products;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.product_service.service;
+
+import java.util.function.Function;
+
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.model.ProductVersion;
+import com.product_service.model.SerializedResponse;
+
+/**
+ * Service interface for product responses kept as serialized JSON.
+ * 
+ * <p>The envelope functions wrap the product or page into the complete response
+ * body. A call site must always pass the same envelope, since the bytes it
+ * produced are reused by later calls.
+ */
+public interface ProductResponseCacheService {
+
+    /**
+     * Returns the serialized response of a product, serializing it only if the
+     * product changed since it was last returned.
+     * 
+     * @param idProduct the product ID
+     * @param envelope builds the response body from the product
+     * @return the serialized response
+     * @throws com.product_service.exception.ProductNotFoundException if the product does not exist
+     */
+    SerializedResponse getProduct(Long idProduct, Function<Product, ?> envelope);
+
+    /**
+     * Returns the validators of a product response without serializing it: those
+     * of the kept response, or else the product's current version and stock.
+     * 
+     * @param idProduct the product ID
+     * @return the validators of the product's current representation
+     * @throws com.product_service.exception.ProductNotFoundException if the product does not exist
+     */
+    ProductVersion getProductVersion(Long idProduct);
+
+    /**
+     * Returns the serialized response of a catalog page. The first pages of each
+     * filter and order are kept until a product they may contain changes; other
+     * pages are serialized on every call.
+     * 
+     * @param query the filters, order and page position
+     * @param envelope builds the response body from the page
+     * @return the serialized response
+     * @throws com.product_service.exception.ProductOperationException if the page request is invalid
+     */
+    SerializedResponse getPage(ProductQuery query, Function<ProductPage, ?> envelope);
+
+}
@@ -0,0 +1,370 @@
+package com.product_service.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductChange;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.model.ProductVersion;
+import com.product_service.model.SerializedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the ProductResponseCacheService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Keeping the JSON bytes of every product response served, until the product
+ *       is saved or its stock changes</li>
+ *   <li>Keeping the JSON bytes of the first pages of each catalog filter and order,
+ *       until a saved product may have changed them or the stock of a product they
+ *       show changes</li>
+ *   <li>Tagging product responses with a strong ETag made of the product version
+ *       and stock, and with the last time either was written</li>
+ *   <li>Tagging page responses with a strong ETag, a hash of their bytes</li>
+ * </ul>
+ *
+ * <p>The validators of a kept product response answer conditional requests without
+ * any query; otherwise they come from a query reading only the version and stock.
+ *
+ * <p>Entries are invalidated after a local transaction changing the product
+ * commits, and when the catalog change log shows a change made elsewhere: by
+ * another instance, or by a write that publishes no event. Every entry also
+ * expires after a fixed time, which bounds the staleness of anything neither
+ * path reports. Expired entries are swept on every read of the change log, and a
+ * full map makes room for a new entry by dropping its expired entries, then the
+ * tenth of them written longest ago. A response built while an invalidation runs may already be stale,
+ * so every invalidation first advances a generation counter, and a new entry is
+ * dropped again if the generation it was built under moved on while it was stored.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code response-cache.enabled}: whether serialized responses are kept</li>
+ *   <li>{@code response-cache.max-products}: maximum number of product responses kept</li>
+ *   <li>{@code response-cache.max-pages}: maximum number of catalog page responses kept</li>
+ *   <li>{@code response-cache.max-page-number}: highest zero-based page number whose response is kept</li>
+ *   <li>{@code response-cache.ttl-ms}: time after which a kept response is serialized again</li>
+ *   <li>{@code response-cache.changes-poll-interval-ms}: delay between reads of the change log</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductResponseCacheServiceImpl implements ProductResponseCacheService {
+
+    private static final int GENERATION_STRIPES = 1024;
+    private static final int CHANGES_BATCH_SIZE = 1000;
+
+    private final ProductService productService;
+    private final ProductChangeService productChangeService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxProducts;
+    private final int maxPages;
+    private final int maxPageNumber;
+    private final long ttlNanos;
+
+    private final Map<Long, CachedProduct> products = new ConcurrentHashMap<>();
+    private final Map<ProductQuery, CachedPage> pages = new ConcurrentHashMap<>();
+    private final AtomicLongArray productGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong pageGeneration = new AtomicLong();
+
+    /** Sequence number of the last change log entry applied, or -1 before the first read. */
+    private volatile long changesSeen = -1;
+
+    /**
+     * A kept response that is served until {@link System#nanoTime()} reaches {@code expiresAt}.
+     */
+    private interface Expiring {
+        long expiresAt();
+    }
+
+    /**
+     * A serialized product with the validators it was tagged with.
+     */
+    private record CachedProduct(SerializedResponse response, ProductVersion version, long expiresAt)
+            implements Expiring {
+    }
+
+    /**
+     * A serialized page with the products it shows, in ascending ID order.
+     */
+    private record CachedPage(SerializedResponse response, long[] idProducts, boolean showsStock, long expiresAt)
+            implements Expiring {
+    }
+
+    /**
+     * Constructs the product response cache service.
+     *
+     * @param productService the service products and pages are read from
+     * @param productChangeService the change log followed to drop responses changed elsewhere
+     * @param objectMapper the mapper responses are serialized with
+     * @param enabled whether serialized responses are kept
+     * @param maxProducts maximum number of product responses kept
+     * @param maxPages maximum number of catalog page responses kept
+     * @param maxPageNumber highest zero-based page number whose response is kept
+     * @param ttlMillis time after which a kept response is serialized again
+     */
+    public ProductResponseCacheServiceImpl(ProductService productService,
+                                           ProductChangeService productChangeService,
+                                           ObjectMapper objectMapper,
+                                           @Value("${response-cache.enabled:true}") boolean enabled,
+                                           @Value("${response-cache.max-products:100000}") int maxProducts,
+                                           @Value("${response-cache.max-pages:1000}") int maxPages,
+                                           @Value("${response-cache.max-page-number:4}") int maxPageNumber,
+                                           @Value("${response-cache.ttl-ms:60000}") long ttlMillis) {
+        this.productService = productService;
+        this.productChangeService = productChangeService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxProducts = maxProducts;
+        this.maxPages = maxPages;
+        this.maxPageNumber = maxPageNumber;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, ttlMillis));
+    }
+
+    @Override
+    public SerializedResponse getProduct(Long idProduct, Function<Product, ?> envelope) {
+        CachedProduct cached = current(products, idProduct, products.get(idProduct));
+        if (cached != null) {
+            return cached.response();
+        }
+
+        int stripe = stripeOf(idProduct);
+        long generation = productGenerations.get(stripe);
+
+        // Read the modification time before the body, so it can only be older than
+        // the body and never makes a later If-Modified-Since skip a change
+        Instant lastModified = productService.findProductVersion(idProduct).lastModified();
+        Product product = productService.findProductById(idProduct);
+        ProductVersion version = new ProductVersion(product.getId(), product.getVersion(), product.getStock(), lastModified);
+        byte[] body = serialize(envelope.apply(product));
+        SerializedResponse response = new SerializedResponse(body, version.etag(), lastModified);
+
+        if (enabled && maxProducts > 0) {
+            makeRoom(products, maxProducts);
+            CachedProduct entry = new CachedProduct(response, version, System.nanoTime() + ttlNanos);
+            products.put(idProduct, entry);
+            if (productGenerations.get(stripe) != generation) {
+                products.remove(idProduct, entry);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public ProductVersion getProductVersion(Long idProduct) {
+        CachedProduct cached = current(products, idProduct, products.get(idProduct));
+        return cached != null ? cached.version() : productService.findProductVersion(idProduct);
+    }
+
+    @Override
+    public SerializedResponse getPage(ProductQuery query, Function<ProductPage, ?> envelope) {
+        boolean cacheable = enabled && query.getCursor() == null
+                && (query.getPage() == null || query.getPage() <= maxPageNumber);
+        if (cacheable) {
+            CachedPage cached = current(pages, query, pages.get(query));
+            if (cached != null) {
+                return cached.response();
+            }
+        }
+
+        long generation = pageGeneration.get();
+        ProductPage page = productService.findProducts(query);
+        byte[] body = serialize(envelope.apply(page));
+        SerializedResponse response = new SerializedResponse(body, etagOf(body), null);
+
+        if (cacheable && maxPages > 0) {
+            makeRoom(pages, maxPages);
+            long[] idProducts = page.getItems().stream().mapToLong(Product::getId).sorted().toArray();
+            CachedPage entry = new CachedPage(response, idProducts, query.isIncludeStock(),
+                    System.nanoTime() + ttlNanos);
+            pages.put(query, entry);
+            if (pageGeneration.get() != generation) {
+                pages.remove(query, entry);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drops the responses of saved products, and every page, after the
+     * transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        for (Product product : event.products()) {
+            invalidateProduct(product.getId());
+        }
+        pageGeneration.incrementAndGet();
+        pages.clear();
+    }
+
+    /**
+     * Drops the responses showing the stock of changed products, and the pages
+     * filtered by availability, after the transaction changing the stock commits.
+     *
+     * @param event the resulting stock by product ID
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        event.stocks().keySet().forEach(this::invalidateProduct);
+
+        pageGeneration.incrementAndGet();
+        pages.entrySet().removeIf(entry -> entry.getKey().getInStock() != null
+                || (entry.getValue().showsStock() && showsAny(entry.getValue(), event.stocks().keySet())));
+    }
+
+    /**
+     * Drops expired responses, then the responses of products changed since the
+     * last read of the change log, and every page if there are any.
+     */
+    @Scheduled(fixedDelayString = "${response-cache.changes-poll-interval-ms:1000}")
+    public void pollChanges() {
+        if (!enabled) {
+            return;
+        }
+        removeExpired(products);
+        removeExpired(pages);
+        try {
+            long since = changesSeen;
+            if (since < 0) {
+                // Changes before the first read are unknown, so nothing kept until then is trusted
+                changesSeen = productChangeService.findLatestSeq();
+                for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                    productGenerations.incrementAndGet(stripe);
+                }
+                products.clear();
+                pageGeneration.incrementAndGet();
+                pages.clear();
+                return;
+            }
+
+            List<ProductChange> changes;
+            do {
+                changes = productChangeService.findAfter(since, CHANGES_BATCH_SIZE);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                changes.forEach(change -> invalidateProduct(change.getProductId()));
+                pageGeneration.incrementAndGet();
+                pages.clear();
+                since = changes.get(changes.size() - 1).getSeq();
+                changesSeen = since;
+            } while (changes.size() == CHANGES_BATCH_SIZE);
+
+        } catch (Exception e) {
+            log.error("Failed to read catalog changes after sequence {}", changesSeen, e);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Returns a kept entry unless it has expired, in which case it is dropped.
+     */
+    private static <K, V extends Expiring> V current(Map<K, V> entries, K key, V entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() < 0) {
+            return entry;
+        }
+        entries.remove(key, entry);
+        return null;
+    }
+
+    private static void removeExpired(Map<?, ? extends Expiring> entries) {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+    }
+
+    /**
+     * Drops expired entries from a full map, then, if it is still full, the tenth
+     * of its entries that expire soonest, which are the ones written longest ago.
+     */
+    private static void makeRoom(Map<?, ? extends Expiring> entries, int maxEntries) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.size() < maxEntries) {
+                return;
+            }
+            removeExpired(entries);
+            if (entries.size() < maxEntries) {
+                return;
+            }
+            long now = System.nanoTime();
+            long[] remaining = entries.values().stream().mapToLong(entry -> entry.expiresAt() - now).sorted().toArray();
+            if (remaining.length == 0) {
+                return;
+            }
+            long cutoff = remaining[remaining.length / 10];
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= cutoff);
+        }
+    }
+
+    private void invalidateProduct(Long idProduct) {
+        productGenerations.incrementAndGet(stripeOf(idProduct));
+        products.remove(idProduct);
+    }
+
+    private static boolean showsAny(CachedPage page, Iterable<Long> idProducts) {
+        for (Long idProduct : idProducts) {
+            if (Arrays.binarySearch(page.idProducts(), idProduct) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int stripeOf(Long idProduct) {
+        return (int) (idProduct * 0x9E3779B97F4A7C15L >>> 54) & (GENERATION_STRIPES - 1);
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize product response", e);
+        }
+    }
+
+    /**
+     * Derives a strong ETag from the first 16 bytes of the SHA-256 digest of a body.
+     */
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
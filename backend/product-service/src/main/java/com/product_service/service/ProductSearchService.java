@@ -0,0 +1,29 @@
+package com.product_service.service;
+
+import com.product_service.dto.ProductSearchResult;
+import com.product_service.search.ProductSearchIndex;
+
+/**
+ * Service interface for full-text product search.
+ * 
+ * <p>Searches are answered from an in-memory index over product names and
+ * descriptions that follows catalog and stock changes, without database access.
+ */
+public interface ProductSearchService {
+
+    /**
+     * Searches the catalog for products matching any term of a query.
+     * 
+     * @param text the query text
+     * @param filter the category, price and availability filters
+     * @param limit the maximum number of hits returned
+     * @return the ranked hits and the number of matching products
+     */
+    ProductSearchResult search(String text, ProductSearchIndex.Filter filter, int limit);
+
+    /**
+     * Rebuilds the index from the catalog.
+     */
+    void rebuild();
+
+}
@@ -0,0 +1,301 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.dto.ProductSearchHit;
+import com.product_service.dto.ProductSearchResult;
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductChange;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.search.ProductSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Implementation of the ProductSearchService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Building the {@link ProductSearchIndex} from the catalog once the application is ready</li>
+ *   <li>Indexing saved products and availability changes after their transaction commits</li>
+ *   <li>Following the catalog change log, so products changed by other instances and
+ *       by bulk price updates and imports are indexed as well</li>
+ *   <li>Answering searches from memory</li>
+ * </ul>
+ *
+ * <p>A rebuild fills a fresh index and swaps it in when complete; changes that
+ * arrive meanwhile are applied to both indexes, so none is lost by the swap.
+ * Catalog pages may have been read before such a change committed, so the
+ * rebuild never lets a page row overwrite a change: products saved during the
+ * rebuild keep their saved document, and products whose stock changed keep
+ * the new availability.
+ *
+ * <p>The change log is followed from the sequence number read before the last
+ * rebuild started. Changed products are read with JDBC and their stock from the
+ * inventory, the flash-sale ledger or the stock slots, since the catalog read
+ * through the product service may not reflect the change yet; they are indexed
+ * like saved products.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code search.rebuild-page-size}: number of products read per catalog page during a rebuild,
+ *       and of changes per read of the change log</li>
+ *   <li>{@code search.changes-poll-interval-ms}: delay between reads of the change log</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private final ProductService productService;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductChangeService productChangeService;
+    private final InventoryService inventoryService;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final int rebuildPageSize;
+
+    private volatile ProductSearchIndex index = new ProductSearchIndex();
+    private volatile Build building;
+    /** Sequence number the index is synchronized up to, or -1 before the first build. */
+    private volatile long changesSeen = -1;
+
+    /**
+     * An index being rebuilt, with the changes applied to it since the rebuild started.
+     */
+    private static final class Build {
+        private final ProductSearchIndex index = new ProductSearchIndex();
+        private final Set<Long> saved = new HashSet<>();
+        private final Map<Long, Boolean> availability = new HashMap<>();
+
+        /**
+         * Adds documents read from a catalog page, unless a change since the rebuild started is newer.
+         */
+        private synchronized void addPage(List<ProductSearchIndex.Document> documents) {
+            List<ProductSearchIndex.Document> current = new ArrayList<>(documents.size());
+            for (ProductSearchIndex.Document document : documents) {
+                if (saved.contains(document.productId())) {
+                    continue;
+                }
+                Boolean inStock = availability.get(document.productId());
+                current.add(inStock == null || inStock == document.inStock() ? document
+                        : new ProductSearchIndex.Document(document.productId(), document.name(),
+                                document.description(), document.category(), document.price(), inStock));
+            }
+            index.upsertAll(current);
+        }
+
+        private synchronized void upsertAll(List<ProductSearchIndex.Document> documents) {
+            for (ProductSearchIndex.Document document : documents) {
+                saved.add(document.productId());
+            }
+            index.upsertAll(documents);
+        }
+
+        private synchronized void setInStock(long productId, boolean inStock) {
+            availability.put(productId, inStock);
+            index.setInStock(productId, inStock);
+        }
+    }
+
+    /**
+     * Constructs the product search service.
+     *
+     * @param productService the product service the catalog is read through
+     * @param productJdbcRepository the repository changed products are read from
+     * @param productChangeService the change log the index follows
+     * @param inventoryService the service reading the stock of changed products
+     * @param flashSaleService the service holding the stock of products in flash-sale mode
+     * @param shardedStockService the service holding the stock of products with sharded stock
+     * @param rebuildPageSize number of products read per catalog page during a rebuild
+     */
+    public ProductSearchServiceImpl(ProductService productService,
+                                    ProductJdbcRepository productJdbcRepository,
+                                    ProductChangeService productChangeService,
+                                    InventoryService inventoryService,
+                                    FlashSaleService flashSaleService,
+                                    ShardedStockService shardedStockService,
+                                    @Value("${search.rebuild-page-size:1000}") int rebuildPageSize) {
+        this.productService = productService;
+        this.productJdbcRepository = productJdbcRepository;
+        this.productChangeService = productChangeService;
+        this.inventoryService = inventoryService;
+        this.flashSaleService = flashSaleService;
+        this.shardedStockService = shardedStockService;
+        this.rebuildPageSize = Math.max(1, rebuildPageSize);
+    }
+
+    @Override
+    public ProductSearchResult search(String text, ProductSearchIndex.Filter filter, int limit) {
+        ProductSearchIndex.Result result = index.search(text, filter, limit);
+
+        List<ProductSearchHit> hits = result.hits().stream()
+                .map(hit -> ProductSearchHit.builder()
+                        .idProduct(hit.productId())
+                        .name(hit.name())
+                        .category(hit.category())
+                        .price(hit.price())
+                        .inStock(hit.inStock())
+                        .score(hit.score())
+                        .build())
+                .toList();
+
+        return ProductSearchResult.builder()
+                .query(text)
+                .total(result.total())
+                .hits(hits)
+                .build();
+    }
+
+    /**
+     * Reads the whole catalog page by page into a fresh index and swaps it in.
+     */
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Build fresh = new Build();
+        building = fresh;
+
+        try {
+            long coveredSeq = productChangeService.findLatestSeq();
+            String cursor = null;
+            do {
+                ProductPage page = productService.findProducts(ProductQuery.builder()
+                        .size(rebuildPageSize)
+                        .cursor(cursor)
+                        .includeStock(true)
+                        .build());
+                fresh.addPage(toDocuments(page.getItems()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            index = fresh.index;
+            changesSeen = Math.max(changesSeen, coveredSeq);
+            log.info("Search index built with {} product(s) in {} ms",
+                    fresh.index.size(), System.currentTimeMillis() - start);
+
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Builds the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Search index build failed; searches return no results until the next rebuild", e);
+        }
+    }
+
+    /**
+     * Indexes products after the transaction saving them commits.
+     *
+     * @param event the saved products
+     */
+    @TransactionalEventListener
+    public void onProductsSaved(ProductsSavedEvent event) {
+        upsertAll(toDocuments(event.products()));
+    }
+
+    /**
+     * Updates availability after the transaction changing stock commits.
+     *
+     * @param event the resulting stock by product ID
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Build pending = building;
+        for (Map.Entry<Long, Integer> entry : event.stocks().entrySet()) {
+            index.setInStock(entry.getKey(), entry.getValue() > 0);
+            if (pending != null) {
+                pending.setInStock(entry.getKey(), entry.getValue() > 0);
+            }
+        }
+    }
+
+    /**
+     * Indexes the products changed since the last read of the change log.
+     */
+    @Scheduled(fixedDelayString = "${search.changes-poll-interval-ms:1000}")
+    public void pollChanges() {
+        long since = changesSeen;
+        if (since < 0) {
+            return;
+        }
+
+        try {
+            List<ProductChange> changes;
+            do {
+                changes = productChangeService.findAfter(since, rebuildPageSize);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                List<Long> idProducts = changes.stream().map(ProductChange::getProductId).distinct().toList();
+                upsertAll(toDocuments(withStock(productJdbcRepository.findAllById(idProducts))));
+                since = changes.get(changes.size() - 1).getSeq();
+                changesSeen = since;
+            } while (changes.size() == rebuildPageSize);
+
+        } catch (Exception e) {
+            log.error("Failed to read catalog changes after sequence {}", since, e);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void upsertAll(List<ProductSearchIndex.Document> documents) {
+        index.upsertAll(documents);
+        Build pending = building;
+        if (pending != null) {
+            pending.upsertAll(documents);
+        }
+    }
+
+    /**
+     * Fills in the stock of products read with JDBC, from wherever it is held.
+     */
+    private List<Product> withStock(List<Product> products) {
+        Map<Long, Integer> stocks = inventoryService.findStocks(products.stream().map(Product::getId).toList());
+        for (Product product : products) {
+            Integer stock = flashSaleService.currentStock(product.getId());
+            if (stock == null) {
+                stock = shardedStockService.currentStock(product.getId());
+            }
+            product.setStock(stock != null ? stock : stocks.get(product.getId()));
+        }
+        return products;
+    }
+
+    private List<ProductSearchIndex.Document> toDocuments(List<Product> products) {
+        List<ProductSearchIndex.Document> documents = new ArrayList<>(products.size());
+        for (Product product : products) {
+            documents.add(new ProductSearchIndex.Document(
+                    product.getId(),
+                    product.getName(),
+                    product.getDescription(),
+                    product.getCategory(),
+                    product.getPrice() != null ? product.getPrice() : 0,
+                    product.getStock() != null && product.getStock() > 0));
+        }
+        return documents;
+    }
+
+}
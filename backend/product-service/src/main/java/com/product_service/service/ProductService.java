@@ -2,7 +2,13 @@ package com.product_service.service;
 
 import java.util.List;
 
+import com.product_service.dto.CatalogChangePage;
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.dto.StockBatchRequest;
+import com.product_service.dto.StockBatchResult;
 import com.product_service.entity.Product;
+import com.product_service.model.ProductVersion;
 
 /**
  * Service interface for product management operations.
@@ -19,11 +25,12 @@ import com.product_service.entity.Product;
 public interface ProductService {
 
     /**
-     * Retrieves all products from the catalog.
+     * Retrieves one filtered, sorted page of the catalog.
      * 
-     * @return list of all products in the catalog
+     * @param query the filters, order and page position
+     * @return the requested page of products
      */
-    List<Product> findAllProducts();
+    ProductPage findProducts(ProductQuery query);
 
     /**
      * Updates the stock quantity for a specific product (decreases stock).
@@ -43,6 +50,22 @@ public interface ProductService {
      */
     Product restoreStockProduct(Long idProduct, Integer quantity);
 
+    /**
+     * Reserves (decreases) stock for several products in a single transaction.
+     * 
+     * @param request the lines to reserve and the batch mode
+     * @return the per-product results of the batch
+     */
+    StockBatchResult reserveStockBatch(StockBatchRequest request);
+
+    /**
+     * Restores (increases) stock for several products in a single transaction.
+     * 
+     * @param request the lines to restore and the batch mode
+     * @return the per-product results of the batch
+     */
+    StockBatchResult restoreStockBatch(StockBatchRequest request);
+
     /**
      * Retrieves a product by its unique identifier.
      * 
@@ -51,9 +74,38 @@ public interface ProductService {
      */
     Product findProductById(Long idProduct);
 
+    /**
+     * Retrieves a product by its name, ignoring differences in case, accents and whitespace.
+     * 
+     * @param name the product name to search for
+     * @return the product if found
+     */
+    Product findProductByName(String name);
+
+    /**
+     * Retrieves the version and current stock of a product without its catalog data.
+     * 
+     * @param idProduct the product ID
+     * @return the validators of the product's current representation
+     */
+    ProductVersion findProductVersion(Long idProduct);
+
+    /**
+     * Retrieves the products changed after a change sequence number, with
+     * tombstones for products that no longer exist.
+     * 
+     * @param since the sequence number the consumer has synchronized up to
+     * @param size the maximum number of changes read
+     * @return the page of changes, in sequence order
+     */
+    CatalogChangePage findChanges(long since, int size);
+
     /**
      * Saves a new product to the catalog.
      * 
+     * <p>A product with an ID updates the existing one and must carry the
+     * {@code version} it was read at.
+     * 
      * @param product the product entity to save
      * @return the saved product with generated ID
      */
@@ -62,6 +114,8 @@ public interface ProductService {
     /**
      * Saves a list of products to the catalog in bulk.
      * 
+     * <p>Updates must carry their {@code version}, as in {@link #saveProduct(Product)}.
+     * 
      * @param products the list of products to save
      * @return the list of saved products with generated IDs
      */
@@ -1,15 +1,42 @@
 package com.product_service.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.product_service.dto.CatalogChange;
+import com.product_service.dto.CatalogChangePage;
+import com.product_service.dto.ProductPage;
+import com.product_service.dto.ProductQuery;
+import com.product_service.dto.StockBatchRequest;
+import com.product_service.dto.StockBatchResult;
+import com.product_service.dto.StockLineRequest;
+import com.product_service.dto.StockLineResult;
+import com.product_service.event.ProductsSavedEvent;
+import com.product_service.event.StockChangedEvent;
+import com.product_service.exception.ProductConflictException;
 import com.product_service.exception.ProductNotFoundException;
 import com.product_service.exception.ProductOperationException;
+import com.product_service.model.ProductCursor;
+import com.product_service.model.ProductVersion;
+import com.product_service.model.StockOutcome;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.product_service.entity.Product;
+import com.product_service.entity.ProductChange;
 import com.product_service.repository.ProductRepository;
 
 /**
@@ -19,8 +46,20 @@ import com.product_service.repository.ProductRepository;
  * <ul>
  *   <li>Product retrieval operations</li>
  *   <li>Product creation and updates</li>
- *   <li>Stock management</li>
+ *   <li>Stock management, including multi-product batches</li>
  * </ul>
+ * 
+ * <p>Stock is kept apart from the catalog row and accessed through the
+ * {@link InventoryService}. Stock of products in flash-sale mode is owned by the
+ * {@link FlashSaleService} ledger, and stock of sharded products by the
+ * {@link ShardedStockService} slots; stock operations and reads for those
+ * products are routed there.
+ * 
+ * <p>Saved products and stock changes are published as {@link ProductsSavedEvent}
+ * and {@link StockChangedEvent}, so in-memory catalog views can follow them once
+ * the transaction commits. They are also recorded in the {@link ProductChangeService}
+ * log in the same transaction, for consumers polling catalog changes; stock changes
+ * of flash-sale and sharded products are logged coalesced per product instead.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,25 +67,79 @@ import com.product_service.repository.ProductRepository;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final FlashSaleService flashSaleService;
+    private final ShardedStockService shardedStockService;
+    private final PriceIndexService priceIndexService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductChangeService productChangeService;
+    private final ProductNameService productNameService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all products from the catalog.
+     * Retrieves one filtered, sorted page of the catalog.
      * 
-     * @return list of all products
-     * @throws ProductOperationException if an error occurs during retrieval
+     * <p>One row more than the page size is read to tell whether a next page
+     * exists, so no count query runs unless the total is requested. Stock is read
+     * from the inventory table in a single query, and only when asked for.
+     * 
+     * <p>Pages the {@link PriceIndexService} supports (price-sorted pages, and
+     * ID-sorted pages of products in stock) take their product IDs from memory
+     * and load the rows by primary key.
+     * 
+     * @param query the filters, order and page position
+     * @return the requested page of products
+     * @throws ProductOperationException if the cursor is invalid or an error occurs during retrieval
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Product> findAllProducts() {
-        log.debug("Fetching all products from catalog");
+    public ProductPage findProducts(ProductQuery query) {
+        log.debug("Fetching catalog page: {}", query);
+
+        ProductCursor after = null;
+        if (query.getCursor() != null) {
+            try {
+                after = ProductCursor.decode(query.getCursor());
+            } catch (IllegalArgumentException e) {
+                throw new ProductOperationException("Invalid page cursor", e);
+            }
+            if (after.sort() != query.getSort() || after.direction() != query.getDirection()) {
+                throw new ProductOperationException("Page cursor was issued for a different sort order");
+            }
+        }
+        Integer page = after == null && query.getPage() != null ? query.getPage() : null;
 
         try {
-            List<Product> products = productRepository.findAll();
-            log.debug("Found {} product(s) in catalog", products.size());
-            return products;
+            int offset = page != null ? Math.multiplyExact(page, query.getSize()) : 0;
+            // The inventory rows of flash-sale products lag behind the ledger
+            Map<Long, Integer> ledgerStock = query.getInStock() != null ? flashSaleService.currentStocks() : Map.of();
+            List<Product> rows = priceIndexService.supports(query)
+                    ? findIndexedPage(query, after)
+                    : productRepository.findCatalogPage(query, after, offset, query.getSize() + 1, ledgerStock);
+
+            boolean hasNext = rows.size() > query.getSize();
+            List<Product> products = hasNext ? new ArrayList<>(rows.subList(0, query.getSize())) : rows;
+            if (query.isIncludeStock()) {
+                fillStock(products);
+            }
+
+            ProductPage.ProductPageBuilder result = ProductPage.builder()
+                    .items(products)
+                    .size(query.getSize())
+                    .page(page)
+                    .nextCursor(hasNext ? ProductCursor.after(query, products.get(products.size() - 1)).encode() : null);
+
+            if (query.isIncludeTotal()) {
+                long total = productRepository.countCatalog(query, ledgerStock);
+                result.totalElements(total)
+                        .totalPages((int) ((total + query.getSize() - 1) / query.getSize()));
+            }
+
+            log.debug("Found {} product(s) in catalog page", products.size());
+            return result.build();
 
         } catch (Exception e) {
-            log.error("Error occurred while fetching all products", e);
+            log.error("Error occurred while fetching catalog page", e);
             throw new ProductOperationException("Failed to retrieve products from catalog", e);
         }
     }
@@ -54,6 +147,9 @@ public class ProductServiceImpl implements ProductService {
     /**
      * Retrieves a product by its unique identifier.
      * 
+     * <p>Catalog data comes from the {@link CatalogSnapshotService} when it covers
+     * the product, and from the database otherwise; stock is always current.
+     * 
      * @param idProduct the product ID to search for
      * @return the product if found
      * @throws ProductNotFoundException if the product does not exist
@@ -63,30 +159,174 @@ public class ProductServiceImpl implements ProductService {
     public Product findProductById(Long idProduct) {
         log.debug("Fetching product with ID: {}", idProduct);
 
-        return productRepository.findById(idProduct)
+        Product product = catalogSnapshotService.find(idProduct);
+        if (product == null) {
+            product = productRepository.findById(idProduct)
+                    .orElseThrow(() -> {
+                        log.warn("Product not found with ID: {}", idProduct);
+                        return new ProductNotFoundException(idProduct);
+                    });
+        }
+        fillStock(List.of(product));
+        return product;
+    }
+
+    /**
+     * Retrieves a product by its name, ignoring differences in case, accents and whitespace.
+     * 
+     * <p>The name is resolved to an ID with one query on the indexed hash of the
+     * normalized name; the product is then read like {@link #findProductById(Long)}.
+     * 
+     * @param name the product name to search for
+     * @return the product if found
+     * @throws ProductNotFoundException if no product has the name
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Product findProductByName(String name) {
+        log.debug("Fetching product with name: {}", name);
+
+        Long idProduct = productNameService.findIdByName(name)
                 .orElseThrow(() -> {
-                    log.warn("Product not found with ID: {}", idProduct);
-                    return new ProductNotFoundException(idProduct);
+                    log.warn("Product not found with name: {}", name);
+                    return new ProductNotFoundException("Product not found with name: " + name);
                 });
+        return findProductById(idProduct);
+    }
+
+    /**
+     * Retrieves the version and current stock of a product without its catalog data.
+     * 
+     * <p>A single query reads the version and modification time of the catalog row
+     * and the stock of the inventory row. Stock owned by the flash-sale ledger or
+     * the stock slots replaces the inventory value.
+     * 
+     * @param idProduct the product ID
+     * @return the validators of the product's current representation
+     * @throws ProductNotFoundException if the product does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductVersion findProductVersion(Long idProduct) {
+        ProductVersion version = productRepository.findVersionById(idProduct)
+                .orElseThrow(() -> new ProductNotFoundException(idProduct));
+
+        Integer stock = managedStock(idProduct);
+        return stock != null ? version.withManagedStock(stock) : version;
+    }
+
+    /**
+     * Retrieves the products changed after a change sequence number.
+     * 
+     * <p>Each product appears once, at its latest change in the page, with its
+     * current state and stock. Products that no longer exist are returned as
+     * tombstones. The state may be newer than the change that listed it; the
+     * newer change then appears in a later page as well.
+     * 
+     * @param since the sequence number the consumer has synchronized up to
+     * @param size the maximum number of changes read
+     * @return the page of changes
+     * @throws ProductOperationException if an error occurs during retrieval
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogChangePage findChanges(long since, int size) {
+        log.debug("Fetching catalog changes after sequence {}", since);
+
+        try {
+            List<ProductChange> changes = productChangeService.findAfter(since, size + 1);
+            boolean hasMore = changes.size() > size;
+            if (hasMore) {
+                changes = changes.subList(0, size);
+            }
+
+            // Keep only the latest change of each product, in sequence order
+            Map<Long, Long> latest = new LinkedHashMap<>();
+            for (ProductChange change : changes) {
+                latest.remove(change.getProductId());
+                latest.put(change.getProductId(), change.getSeq());
+            }
+
+            Map<Long, Product> products = catalogSnapshotService.findAll(latest.keySet());
+            List<Long> missing = latest.keySet().stream().filter(id -> !products.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                productRepository.findAllById(missing).forEach(product -> products.put(product.getId(), product));
+            }
+            fillStock(new ArrayList<>(products.values()));
+
+            List<CatalogChange> items = new ArrayList<>(latest.size());
+            latest.forEach((idProduct, seq) -> items.add(CatalogChange.builder()
+                    .seq(seq)
+                    .idProduct(idProduct)
+                    .deleted(!products.containsKey(idProduct))
+                    .product(products.get(idProduct))
+                    .build()));
+
+            log.debug("Found {} changed product(s) after sequence {}", items.size(), since);
+            return CatalogChangePage.builder()
+                    .items(items)
+                    .nextSince(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq())
+                    .hasMore(hasMore)
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Error occurred while fetching catalog changes", e);
+            throw new ProductOperationException("Failed to retrieve catalog changes", e);
+        }
     }
 
     /**
      * Saves a new product to the catalog.
      * 
+     * <p>The catalog row and the inventory row are written in the same transaction;
+     * a new product saved without stock starts with none, and an update without stock
+     * leaves the stock unchanged. The stock of an existing product
+     * in flash-sale or sharded mode is owned by the ledger or the stock slots: it is
+     * left untouched, and saving such a product with a stock value is rejected.
+     * 
+     * <p>A product with an ID updates the existing one and must carry the version
+     * it was read at; the update is rejected if the product changed since.
+     * 
      * @param product the product entity to save
      * @return the saved product with generated ID
-     * @throws ProductOperationException if an error occurs during save
+     * @throws ProductOperationException if an update has no version, the product's stock is managed
+     *         or an error occurs during save
+     * @throws ProductConflictException if the product was changed since the version it carries
      */
     @Override
     @Transactional
     public Product saveProduct(Product product) {
         log.debug("Saving product: {}", product.getName());
 
+        requireVersion(product);
+        Integer managedStock = product.getId() != null ? managedStock(product.getId()) : null;
+        if (managedStock != null && product.getStock() != null) {
+            throw managedStockRejected(product.getId());
+        }
+
         try {
-            Product savedProduct = productRepository.save(product);
+            boolean update = product.getId() != null;
+            Integer stock = product.getStock();
+            Product savedProduct = productRepository.saveAndFlush(product);
+            if (managedStock != null) {
+                stock = managedStock;
+            } else if (stock == null && update) {
+                stock = inventoryService.findStock(savedProduct.getId());
+            } else {
+                stock = stock != null ? stock : 0;
+                inventoryService.saveStocks(Map.of(savedProduct.getId(), stock));
+            }
+            savedProduct.setStock(stock);
+            productChangeService.record(List.of(savedProduct.getId()));
+            eventPublisher.publishEvent(new ProductsSavedEvent(List.of(savedProduct)));
             log.info("Product saved successfully with ID: {}", savedProduct.getId());
             return savedProduct;
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Stale version {} while saving product ID: {}", product.getVersion(), product.getId());
+            throw new ProductConflictException("Product " + product.getId() + " was changed since version "
+                    + product.getVersion() + "; read it again before updating", e);
+
         } catch (DataIntegrityViolationException e) {
             log.error("Data integrity violation while saving product: {}", product.getName(), e);
             throw new ProductOperationException("Product with name '" + product.getName() + "' already exists", e);
@@ -100,20 +340,67 @@ public class ProductServiceImpl implements ProductService {
     /**
      * Saves a list of products to the catalog in bulk.
      * 
+     * <p>Stock is handled like {@link #saveProduct(Product)}: updates without stock
+     * and products in flash-sale or sharded mode keep their stock, and the whole list
+     * is rejected if one of the latter carries a stock value. Updates must carry their version, and the whole
+     * list is rejected if one of them is stale.
+     * 
      * @param products the list of products to save
      * @return the list of saved products with generated IDs
-     * @throws ProductOperationException if an error occurs during save
+     * @throws ProductOperationException if an update has no version, a product's stock is managed
+     *         or an error occurs during save
+     * @throws ProductConflictException if a product was changed since the version it carries
      */
     @Override
     @Transactional
     public List<Product> saveListProducts(List<Product> products) {
         log.debug("Saving {} product(s) in bulk", products.size());
 
+        List<Integer> managedStocks = new ArrayList<>(products.size());
+        List<Long> keptIds = new ArrayList<>();
+        for (Product product : products) {
+            requireVersion(product);
+            Integer managedStock = product.getId() != null ? managedStock(product.getId()) : null;
+            if (managedStock != null && product.getStock() != null) {
+                throw managedStockRejected(product.getId());
+            }
+            managedStocks.add(managedStock);
+            if (managedStock == null && product.getId() != null && product.getStock() == null) {
+                keptIds.add(product.getId());
+            }
+        }
+
         try {
-            List<Product> savedProducts = productRepository.saveAll(products);
+            List<Integer> stocks = products.stream().map(Product::getStock).toList();
+            List<Product> savedProducts = productRepository.saveAllAndFlush(products);
+            Map<Long, Integer> keptStocks = keptIds.isEmpty() ? Map.of() : inventoryService.findStocks(keptIds);
+
+            Map<Long, Integer> inventory = new LinkedHashMap<>();
+            List<Long> idProducts = new ArrayList<>(savedProducts.size());
+            for (int i = 0; i < savedProducts.size(); i++) {
+                Product savedProduct = savedProducts.get(i);
+                idProducts.add(savedProduct.getId());
+                if (managedStocks.get(i) != null) {
+                    savedProduct.setStock(managedStocks.get(i));
+                } else if (stocks.get(i) == null && keptIds.contains(savedProduct.getId())) {
+                    savedProduct.setStock(keptStocks.get(savedProduct.getId()));
+                } else {
+                    int stock = stocks.get(i) != null ? stocks.get(i) : 0;
+                    savedProduct.setStock(stock);
+                    inventory.put(savedProduct.getId(), stock);
+                }
+            }
+            inventoryService.saveStocks(inventory);
+            productChangeService.record(idProducts);
+            eventPublisher.publishEvent(new ProductsSavedEvent(savedProducts));
             log.info("Successfully saved {} product(s) in bulk", savedProducts.size());
             return savedProducts;
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Stale version while saving products in bulk: {}", e.getMessage());
+            throw new ProductConflictException("Product " + e.getIdentifier() + " was changed since the version "
+                    + "it carries; read it again before updating", e);
+
         } catch (DataIntegrityViolationException e) {
             log.error("Data integrity violation while saving products in bulk", e);
             throw new ProductOperationException("One or more products have duplicate names", e);
@@ -127,7 +414,12 @@ public class ProductServiceImpl implements ProductService {
     /**
      * Updates the stock for a specific product.
      * 
-     * <p>This method decreases the stock by the specified quantity.
+     * <p>This method decreases the stock by the specified quantity using a single
+     * conditional UPDATE of the inventory row; the affected-row count decides whether
+     * the reservation succeeded. The product is only read afterwards, to return its new state or
+     * to explain a failure. Products in flash-sale mode are reserved in the ledger
+     * instead, and sharded products in their stock slots. The transaction runs at
+     * READ COMMITTED so slot attempts that do not match release their row locks.
      * 
      * @param idProduct the product ID to update
      * @param quantity the quantity to deduct from stock
@@ -136,48 +428,61 @@ public class ProductServiceImpl implements ProductService {
      * @throws ProductOperationException if stock is insufficient or an error occurs
      */
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Product updateStockProduct(Long idProduct, Integer quantity) {
         log.debug("Updating stock for product ID: {} with quantity: {}", idProduct, quantity);
 
-        // Find the product
+        StockOutcome outcome = flashSaleService.reserve(idProduct, quantity);
+        if (outcome.managed()) {
+            if (outcome.applied()) {
+                onRollback(() -> flashSaleService.restore(idProduct, quantity));
+            }
+            return managedStockResult(idProduct, quantity, outcome);
+        }
+        outcome = shardedStockService.reserve(idProduct, quantity);
+        if (outcome.managed()) {
+            return managedStockResult(idProduct, quantity, outcome);
+        }
+
+        boolean reserved;
+        try {
+            reserved = inventoryService.decrementStock(idProduct, quantity);
+
+        } catch (Exception e) {
+            log.error("Error occurred while updating stock for product ID: {}", idProduct, e);
+            throw new ProductOperationException("Failed to update stock for product ID: " + idProduct, e);
+        }
+
+        // Read the product back: its new state on success, the reason on failure
         Product product = productRepository.findById(idProduct)
                 .orElseThrow(() -> {
                     log.warn("Product not found with ID: {}", idProduct);
                     return new ProductNotFoundException(idProduct);
                 });
+        product.setStock(inventoryService.findStock(idProduct));
 
-        Integer currentStock = product.getStock();
-
-        // Validate sufficient stock
-        if (currentStock < quantity) {
+        if (!reserved) {
             log.warn("Insufficient stock for product ID: {}. Current: {}, Requested: {}",
-                    idProduct, currentStock, quantity);
+                    idProduct, product.getStock(), quantity);
             throw new ProductOperationException(
                     String.format("Insufficient stock for product '%s'. Available: %d, Requested: %d",
-                            product.getName(), currentStock, quantity));
+                            product.getName(), product.getStock(), quantity));
         }
 
-        try {
-            // Update stock
-            product.setStock(currentStock - quantity);
-            Product updatedProduct = productRepository.save(product);
-
-            log.info("Stock updated for product ID: {}. Previous: {}, New: {}",
-                    idProduct, currentStock, updatedProduct.getStock());
+        log.info("Stock updated for product ID: {}. Deducted: {}, New: {}",
+                idProduct, quantity, product.getStock());
+        publishStockChanged(Map.of(idProduct, product.getStock()));
 
-            return updatedProduct;
-
-        } catch (Exception e) {
-            log.error("Error occurred while updating stock for product ID: {}", idProduct, e);
-            throw new ProductOperationException("Failed to update stock for product ID: " + idProduct, e);
-        }
+        return product;
     }
 
     /**
      * Restores (increases) the stock for a specific product.
      * 
      * <p>This method is used when items are removed from cart or cart is cleared.
+     * The increment is applied with a single UPDATE so concurrent restores and
+     * reservations never overwrite each other. Products in flash-sale mode are
+     * restored in the ledger instead.
      * 
      * @param idProduct the product ID to update
      * @param quantity the quantity to add back to stock
@@ -186,33 +491,369 @@ public class ProductServiceImpl implements ProductService {
      * @throws ProductOperationException if an error occurs
      */
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Product restoreStockProduct(Long idProduct, Integer quantity) {
         log.debug("Restoring stock for product ID: {} with quantity: {}", idProduct, quantity);
 
-        // Find the product
+        StockOutcome outcome = flashSaleService.restore(idProduct, quantity);
+        if (outcome.managed()) {
+            onRollback(() -> flashSaleService.reserve(idProduct, quantity));
+            return managedStockResult(idProduct, quantity, outcome);
+        }
+        outcome = shardedStockService.restore(idProduct, quantity);
+        if (outcome.managed()) {
+            return managedStockResult(idProduct, quantity, outcome);
+        }
+
+        boolean restored;
+        try {
+            restored = inventoryService.incrementStock(idProduct, quantity);
+
+        } catch (Exception e) {
+            log.error("Error occurred while restoring stock for product ID: {}", idProduct, e);
+            throw new ProductOperationException("Failed to restore stock for product ID: " + idProduct, e);
+        }
+
+        if (!restored) {
+            log.warn("Product not found with ID: {}", idProduct);
+            throw new ProductNotFoundException(idProduct);
+        }
+
         Product product = productRepository.findById(idProduct)
-                .orElseThrow(() -> {
-                    log.warn("Product not found with ID: {}", idProduct);
-                    return new ProductNotFoundException(idProduct);
-                });
+                .orElseThrow(() -> new ProductNotFoundException(idProduct));
+        product.setStock(inventoryService.findStock(idProduct));
 
-        Integer currentStock = product.getStock();
+        log.info("Stock restored for product ID: {}. Added: {}, New: {}",
+                idProduct, quantity, product.getStock());
+        publishStockChanged(Map.of(idProduct, product.getStock()));
 
-        try {
-            // Restore stock (add back)
-            product.setStock(currentStock + quantity);
-            Product updatedProduct = productRepository.save(product);
+        return product;
+    }
+
+    /**
+     * Reserves (decreases) stock for several products in a single transaction.
+     * 
+     * <p>Lines for the same product are merged and the products are updated in
+     * ascending ID order, so concurrent batches always acquire row locks in the
+     * same order and cannot deadlock each other. Each line is a conditional
+     * UPDATE, or a ledger reservation for products in flash-sale mode; a line
+     * fails when the product is missing or its stock is insufficient.
+     * 
+     * <p>In {@link StockBatchRequest.Mode#ALL_OR_NOTHING} mode the first failure
+     * stops the batch and rolls the transaction back; in
+     * {@link StockBatchRequest.Mode#BEST_EFFORT} mode successful lines are committed.
+     * 
+     * @param request the lines to reserve and the batch mode
+     * @return the per-product results of the batch
+     * @throws ProductOperationException if the request is invalid or an error occurs
+     */
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public StockBatchResult reserveStockBatch(StockBatchRequest request) {
+        return applyStockBatch(request, "reserve", (idProduct, quantity) -> {
+            StockOutcome outcome = flashSaleService.reserve(idProduct, quantity);
+            if (outcome.managed()) {
+                if (outcome.applied()) {
+                    onRollback(() -> flashSaleService.restore(idProduct, quantity));
+                }
+                return outcome.applied() ? 1 : 0;
+            }
+            outcome = shardedStockService.reserve(idProduct, quantity);
+            if (outcome.managed()) {
+                return outcome.applied() ? 1 : 0;
+            }
+            return inventoryService.decrementStock(idProduct, quantity) ? 1 : 0;
+        });
+    }
+
+    /**
+     * Restores (increases) stock for several products in a single transaction.
+     * 
+     * <p>Lines are merged and applied in ascending product ID order, like
+     * {@link #reserveStockBatch(StockBatchRequest)}. A line only fails when the
+     * product does not exist.
+     * 
+     * @param request the lines to restore and the batch mode
+     * @return the per-product results of the batch
+     * @throws ProductOperationException if the request is invalid or an error occurs
+     */
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public StockBatchResult restoreStockBatch(StockBatchRequest request) {
+        return applyStockBatch(request, "restore", (idProduct, quantity) -> {
+            StockOutcome outcome = flashSaleService.restore(idProduct, quantity);
+            if (outcome.managed()) {
+                onRollback(() -> flashSaleService.reserve(idProduct, quantity));
+                return 1;
+            }
+            outcome = shardedStockService.restore(idProduct, quantity);
+            if (outcome.managed()) {
+                return 1;
+            }
+            return inventoryService.incrementStock(idProduct, quantity) ? 1 : 0;
+        });
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Stock update applied to a single product, returning the number of affected rows.
+     */
+    @FunctionalInterface
+    private interface StockUpdate {
+        int apply(Long idProduct, int quantity);
+    }
 
-            log.info("Stock restored for product ID: {}. Previous: {}, New: {}",
-                    idProduct, currentStock, updatedProduct.getStock());
+    /**
+     * Applies a batch of stock updates inside the current transaction.
+     * 
+     * @param request the lines to apply and the batch mode
+     * @param operation the operation name used in logs and messages
+     * @param update the single-row stock update to apply per product
+     * @return the per-product results of the batch
+     */
+    private StockBatchResult applyStockBatch(StockBatchRequest request, String operation, StockUpdate update) {
+        StockBatchRequest.Mode mode = request.getMode() != null
+                ? request.getMode()
+                : StockBatchRequest.Mode.ALL_OR_NOTHING;
+
+        // Merge duplicate lines and order by product ID to get a deterministic lock order
+        Map<Long, Integer> lines = new TreeMap<>();
+        for (StockLineRequest line : request.getItems()) {
+            if (line == null || line.getIdProduct() == null || line.getIdProduct() <= 0
+                    || line.getQuantity() == null || line.getQuantity() < 0) {
+                throw new ProductOperationException("Invalid stock line: " + line);
+            }
+            lines.merge(line.getIdProduct(), line.getQuantity(), Math::addExact);
+        }
+
+        log.debug("Applying stock {} batch of {} product(s) in {} mode", operation, lines.size(), mode);
 
-            return updatedProduct;
+        List<Long> appliedIds = new ArrayList<>();
+        Long failedId = null;
+        List<Long> failedIds = new ArrayList<>();
+
+        try {
+            for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+                if (update.apply(line.getKey(), line.getValue()) > 0) {
+                    appliedIds.add(line.getKey());
+                    continue;
+                }
+                failedIds.add(line.getKey());
+                if (mode == StockBatchRequest.Mode.ALL_OR_NOTHING) {
+                    failedId = line.getKey();
+                    break;
+                }
+            }
 
         } catch (Exception e) {
-            log.error("Error occurred while restoring stock for product ID: {}", idProduct, e);
-            throw new ProductOperationException("Failed to restore stock for product ID: " + idProduct, e);
+            log.error("Error occurred while applying stock {} batch", operation, e);
+            throw new ProductOperationException("Failed to " + operation + " stock for batch", e);
+        }
+
+        List<Product> found = productRepository.findAllById(lines.keySet());
+        fillStock(found);
+        Map<Long, Product> products = found.stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        boolean rolledBack = failedId != null;
+        if (rolledBack) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+
+        List<StockLineResult> results = new ArrayList<>(lines.size());
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            Long idProduct = line.getKey();
+            Product product = products.get(idProduct);
+            StockLineResult.StockLineResultBuilder result = StockLineResult.builder()
+                    .idProduct(idProduct)
+                    .quantity(line.getValue());
+
+            if (failedIds.contains(idProduct)) {
+                result.stock(product != null ? product.getStock() : null)
+                        .message(product == null
+                                ? "Product not found with ID: " + idProduct
+                                : String.format("Insufficient stock for product '%s'. Available: %d, Requested: %d",
+                                        product.getName(), product.getStock(), line.getValue()));
+            } else if (rolledBack) {
+                result.message(appliedIds.contains(idProduct)
+                        ? "Rolled back because another line failed"
+                        : "Not applied because another line failed");
+            } else {
+                result.success(true)
+                        .stock(product != null ? product.getStock() : null);
+            }
+            results.add(result.build());
+        }
+
+        int applied = rolledBack ? 0 : appliedIds.size();
+        if (!rolledBack) {
+            Map<Long, Integer> changed = new TreeMap<>();
+            for (StockLineResult result : results) {
+                if (result.isSuccess() && result.getStock() != null) {
+                    changed.put(result.getIdProduct(), result.getStock());
+                }
+            }
+            publishStockChanged(changed);
+        }
+
+        log.info("Stock {} batch completed in {} mode. Applied: {}, Failed: {}",
+                operation, mode, applied, lines.size() - applied);
+
+        return StockBatchResult.builder()
+                .mode(mode)
+                .applied(applied)
+                .failed(lines.size() - applied)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Builds the result of a stock operation decided by the flash-sale ledger or the stock slots.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the requested quantity
+     * @param outcome the outcome reported by the stock store
+     * @return the product carrying the resulting stock
+     * @throws ProductNotFoundException if the product does not exist
+     * @throws ProductOperationException if the reservation was rejected
+     */
+    private Product managedStockResult(Long idProduct, Integer quantity, StockOutcome outcome) {
+        Product product = productRepository.findById(idProduct)
+                .orElseThrow(() -> new ProductNotFoundException(idProduct));
+
+        if (!outcome.applied()) {
+            log.warn("Insufficient stock for product ID: {}. Current: {}, Requested: {}",
+                    idProduct, outcome.stock(), quantity);
+            throw new ProductOperationException(
+                    String.format("Insufficient stock for product '%s'. Available: %d, Requested: %d",
+                            product.getName(), outcome.stock(), quantity));
+        }
+
+        log.info("Managed stock changed for product ID: {}. Quantity: {}, New: {}",
+                idProduct, quantity, outcome.stock());
+        publishStockChanged(Map.of(idProduct, outcome.stock()));
+
+        product.setStock(outcome.stock());
+        return product;
+    }
+
+    /**
+     * Reads one row more than a page through the price index.
+     * 
+     * <p>Products are read from the catalog snapshot, or by primary key when the
+     * snapshot does not cover them, and returned in index order; a product whose
+     * row is not visible any more is skipped.
+     * 
+     * @param query the filters, order and page size
+     * @param after the keyset position to continue after, or null for the first page
+     * @return the rows of the page
+     */
+    private List<Product> findIndexedPage(ProductQuery query, ProductCursor after) {
+        List<Long> ids = priceIndexService.findIds(query, after, query.getSize() + 1);
+        Map<Long, Product> products = catalogSnapshotService.findAll(ids);
+        List<Long> missing = ids.stream().filter(id -> !products.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            productRepository.findAllById(missing).forEach(product -> products.put(product.getId(), product));
+        }
+
+        List<Product> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                rows.add(product);
+            }
         }
+        return rows;
+    }
+
+    /**
+     * Fills in the current stock of products: the value held by the flash-sale
+     * ledger or the stock slots for products they own, the inventory row otherwise.
+     * 
+     * <p>Stock is a transient field, so setting it never dirties the catalog row.
+     * 
+     * @param products the products read from the database
+     */
+    private void fillStock(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> stocks = inventoryService.findStocks(
+                products.stream().map(Product::getId).toList());
+
+        for (Product product : products) {
+            Integer stock = managedStock(product.getId());
+            product.setStock(stock != null ? stock : stocks.get(product.getId()));
+        }
+    }
+
+    /**
+     * Returns the stock held by the flash-sale ledger or the stock slots.
+     * 
+     * @param idProduct the product ID
+     * @return the managed stock, or null if the inventory row owns the product's stock
+     */
+    private Integer managedStock(Long idProduct) {
+        Integer stock = flashSaleService.currentStock(idProduct);
+        return stock != null ? stock : shardedStockService.currentStock(idProduct);
+    }
+
+    private ProductOperationException managedStockRejected(Long idProduct) {
+        log.warn("Rejected stock value for product ID: {} in flash-sale or sharded mode", idProduct);
+        return new ProductOperationException(
+                "Stock of product ID " + idProduct + " is in flash-sale or sharded mode and cannot be saved");
+    }
+
+    /**
+     * Rejects an update without a version: Spring Data would take it for a new
+     * product and fail to persist it, and it could silently overwrite a newer one.
+     */
+    private void requireVersion(Product product) {
+        if (product.getId() != null && product.getVersion() == null) {
+            log.warn("Rejected update of product ID: {} without a version", product.getId());
+            throw new ProductOperationException(
+                    "Product ID " + product.getId() + " must carry the version it was read at to be updated");
+        }
+    }
+
+    /**
+     * Records the changed products in the change log and publishes their resulting
+     * stock to listeners running after commit.
+     * 
+     * @param stocks the resulting stock by product ID
+     */
+    private void publishStockChanged(Map<Long, Integer> stocks) {
+        if (stocks.isEmpty()) {
+            return;
+        }
+        // Ledger and slot reservations are frequent; their log entries are coalesced per product
+        Map<Boolean, List<Long>> byManaged = stocks.keySet().stream()
+                .collect(Collectors.partitioningBy(idProduct ->
+                        flashSaleService.isFlashSale(idProduct) || shardedStockService.isSharded(idProduct)));
+        if (!byManaged.get(false).isEmpty()) {
+            productChangeService.record(byManaged.get(false));
+        }
+        if (!byManaged.get(true).isEmpty()) {
+            productChangeService.recordCoalesced(byManaged.get(true));
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(stocks));
+    }
+
+    /**
+     * Registers a compensating ledger operation to run if the current transaction rolls back.
+     * 
+     * @param compensation the operation undoing a ledger change
+     */
+    private void onRollback(Runnable compensation) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
     }
 
 }
@@ -0,0 +1,70 @@
+package com.product_service.service;
+
+import com.product_service.model.StockOutcome;
+
+/**
+ * Service interface for sharded product stock.
+ * 
+ * <p>A product promoted to sharded stock keeps its stock in several slot rows
+ * of the {@code product_stock_slots} table instead of its {@code product_inventory} row,
+ * so reservations for a hot product spread their row locks over the slots.
+ * Products that are not sharded are reported as not managed and keep using
+ * the inventory row.
+ */
+public interface ShardedStockService {
+
+    /**
+     * Splits a product's stock across the given number of slot rows.
+     * 
+     * @param idProduct the product ID
+     * @param slots the number of slots
+     */
+    void promote(Long idProduct, int slots);
+
+    /**
+     * Folds a product's slots back into its inventory row.
+     * 
+     * @param idProduct the product ID
+     */
+    void demote(Long idProduct);
+
+    /**
+     * Checks whether a product uses sharded stock.
+     * 
+     * @param idProduct the product ID
+     * @return true if the product's stock lives in slot rows
+     */
+    boolean isSharded(Long idProduct);
+
+    /**
+     * Returns the stock of a sharded product.
+     * 
+     * @param idProduct the product ID
+     * @return the sum of its slots, or null if the product is not sharded
+     */
+    Integer currentStock(Long idProduct);
+
+    /**
+     * Reserves (decreases) stock from the product's slots within the current transaction.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to reserve
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the inventory row must be used
+     */
+    StockOutcome reserve(Long idProduct, int quantity);
+
+    /**
+     * Restores (increases) stock in one of the product's slots within the current transaction.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to restore
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the inventory row must be used
+     */
+    StockOutcome restore(Long idProduct, int quantity);
+
+    /**
+     * Reloads the set of sharded products from the database.
+     */
+    void refresh();
+
+}
@@ -0,0 +1,296 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.product_service.entity.ProductStockSlot;
+import com.product_service.exception.ProductNotFoundException;
+import com.product_service.exception.ProductOperationException;
+import com.product_service.model.StockOutcome;
+import com.product_service.repository.ProductStockSlotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of the ShardedStockService interface.
+ * 
+ * <p>This service handles:
+ * <ul>
+ *   <li>Promoting a product to N slot rows and demoting it back at runtime</li>
+ *   <li>Reserving from a randomly chosen slot, falling over to the other slots
+ *       when the chosen one cannot cover the quantity</li>
+ *   <li>Taking from several slots under lock when no single slot is large enough</li>
+ *   <li>Keeping a local registry of sharded products, refreshed periodically so
+ *       promotions made through other instances are picked up</li>
+ * </ul>
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code stock-shards.max-slots}: maximum number of slots per product</li>
+ *   <li>{@code stock-shards.refresh-interval-ms}: delay between registry reloads</li>
+ * </ul>
+ * 
+ * <p>While a product is sharded its inventory row holds zero stock, so an instance
+ * that has not yet learned about the promotion rejects reservations instead of
+ * overselling.
+ */
+@Service
+@Slf4j
+public class ShardedStockServiceImpl implements ShardedStockService {
+
+    private final InventoryService inventoryService;
+    private final ProductStockSlotRepository slotRepository;
+    private final FlashSaleService flashSaleService;
+    private final int maxSlots;
+
+    /**
+     * Slot count of every sharded product known to this instance.
+     */
+    private final Map<Long, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the sharded stock service.
+     * 
+     * @param inventoryService the inventory service holding unsharded stock
+     * @param slotRepository the repository for stock slot rows
+     * @param flashSaleService the flash-sale service, whose products cannot be sharded
+     * @param maxSlots maximum number of slots per product
+     */
+    public ShardedStockServiceImpl(InventoryService inventoryService,
+                                   ProductStockSlotRepository slotRepository,
+                                   FlashSaleService flashSaleService,
+                                   @Value("${stock-shards.max-slots:64}") int maxSlots) {
+        this.inventoryService = inventoryService;
+        this.slotRepository = slotRepository;
+        this.flashSaleService = flashSaleService;
+        this.maxSlots = maxSlots;
+    }
+
+    /**
+     * Loads the registry of sharded products on startup.
+     */
+    @PostConstruct
+    public void init() {
+        refresh();
+        log.info("Sharded stock initialized with {} sharded product(s)", slotCounts.size());
+    }
+
+    /**
+     * Reloads the registry of sharded products from the database.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${stock-shards.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            Map<Long, Integer> counts = new ConcurrentHashMap<>();
+            for (Object[] row : slotRepository.countSlotsByProduct()) {
+                counts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            slotCounts.keySet().retainAll(counts.keySet());
+            slotCounts.putAll(counts);
+
+        } catch (Exception e) {
+            log.error("Failed to refresh sharded stock registry", e);
+        }
+    }
+
+    /**
+     * Splits a product's stock evenly across the given number of slot rows.
+     * 
+     * <p>The inventory row is locked while the slots are created and its stock is
+     * set to zero, so reservations already queued on it fail instead of selling
+     * stock that now lives in the slots.
+     * 
+     * @param idProduct the product ID
+     * @param slots the number of slots
+     * @throws ProductNotFoundException if the product does not exist
+     * @throws ProductOperationException if the slot count is invalid or the product
+     *         is already sharded or in flash-sale mode
+     */
+    @Override
+    @Transactional
+    public void promote(Long idProduct, int slots) {
+        if (slots < 2 || slots > maxSlots) {
+            throw new ProductOperationException(
+                    String.format("Slot count must be between 2 and %d, got %d", maxSlots, slots));
+        }
+        if (flashSaleService.isFlashSale(idProduct)) {
+            throw new ProductOperationException(
+                    "Product ID " + idProduct + " is in flash-sale mode and cannot use sharded stock");
+        }
+
+        Integer stock = inventoryService.lockStock(idProduct);
+        if (stock == null) {
+            throw new ProductNotFoundException(idProduct);
+        }
+
+        if (slotRepository.countByProductId(idProduct) > 0) {
+            throw new ProductOperationException("Product ID " + idProduct + " already uses sharded stock");
+        }
+
+        List<ProductStockSlot> rows = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            rows.add(ProductStockSlot.builder()
+                    .productId(idProduct)
+                    .slot(slot)
+                    .stock(stock / slots + (slot < stock % slots ? 1 : 0))
+                    .build());
+        }
+        slotRepository.saveAll(rows);
+        inventoryService.overwriteStock(idProduct, 0);
+
+        afterCommit(() -> slotCounts.put(idProduct, slots));
+
+        log.info("Product ID: {} promoted to {} stock slot(s) with stock: {}", idProduct, slots, stock);
+    }
+
+    /**
+     * Folds a product's slots back into its inventory row.
+     * 
+     * <p>Demoting a product that is not sharded has no effect.
+     * 
+     * @param idProduct the product ID
+     * @throws ProductNotFoundException if the product does not exist
+     */
+    @Override
+    @Transactional
+    public void demote(Long idProduct) {
+        if (inventoryService.lockStock(idProduct) == null) {
+            throw new ProductNotFoundException(idProduct);
+        }
+
+        List<ProductStockSlot> slots = slotRepository.findForUpdate(idProduct);
+        if (slots.isEmpty()) {
+            slotCounts.remove(idProduct);
+            log.debug("Product ID: {} does not use sharded stock", idProduct);
+            return;
+        }
+
+        int stock = slots.stream().mapToInt(ProductStockSlot::getStock).sum();
+        slotRepository.deleteByProductId(idProduct);
+        inventoryService.overwriteStock(idProduct, stock);
+
+        afterCommit(() -> slotCounts.remove(idProduct));
+
+        log.info("Product ID: {} demoted from {} stock slot(s) with stock: {}", idProduct, slots.size(), stock);
+    }
+
+    @Override
+    public boolean isSharded(Long idProduct) {
+        return idProduct != null && slotCounts.containsKey(idProduct);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer currentStock(Long idProduct) {
+        if (!isSharded(idProduct)) {
+            return null;
+        }
+        return (int) slotRepository.sumStock(idProduct);
+    }
+
+    /**
+     * Reserves stock from the product's slots.
+     * 
+     * <p>A random slot is tried first and the remaining slots in turn after it, each
+     * with a conditional UPDATE. Callers should run at READ COMMITTED so that InnoDB
+     * releases the lock on a slot whose condition did not match before the next slot
+     * is tried. If no single slot holds enough, all slots are locked in slot order
+     * and the quantity is taken from several of them.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to reserve
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the inventory row must be used
+     */
+    @Override
+    @Transactional
+    public StockOutcome reserve(Long idProduct, int quantity) {
+        Integer slots = slotCounts.get(idProduct);
+        if (slots == null) {
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (slotRepository.decrementSlot(idProduct, (start + i) % slots, quantity) == 1) {
+                return new StockOutcome(true, true, (int) slotRepository.sumStock(idProduct));
+            }
+        }
+
+        // No single slot covers the quantity: take it from several slots under lock
+        List<ProductStockSlot> locked = slotRepository.findForUpdate(idProduct);
+        if (locked.isEmpty()) {
+            slotCounts.remove(idProduct);
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        int available = locked.stream().mapToInt(ProductStockSlot::getStock).sum();
+        if (available < quantity) {
+            return new StockOutcome(true, false, available);
+        }
+
+        int remaining = quantity;
+        for (ProductStockSlot slot : locked) {
+            int taken = Math.min(slot.getStock(), remaining);
+            slot.setStock(slot.getStock() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        slotRepository.saveAll(locked);
+
+        return new StockOutcome(true, true, available - quantity);
+    }
+
+    /**
+     * Restores stock into a randomly chosen slot of the product.
+     * 
+     * @param idProduct the product ID
+     * @param quantity the quantity to restore
+     * @return the outcome; {@link StockOutcome#NOT_MANAGED} if the inventory row must be used
+     */
+    @Override
+    @Transactional
+    public StockOutcome restore(Long idProduct, int quantity) {
+        Integer slots = slotCounts.get(idProduct);
+        if (slots == null) {
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        if (slotRepository.incrementSlot(idProduct, slot, quantity) == 0) {
+            // Demoted through another instance
+            slotCounts.remove(idProduct);
+            return StockOutcome.NOT_MANAGED;
+        }
+
+        return new StockOutcome(true, true, (int) slotRepository.sumStock(idProduct));
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Runs an action once the current transaction has committed.
+     * 
+     * @param action the action to run
+     */
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
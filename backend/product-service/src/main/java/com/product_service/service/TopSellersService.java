@@ -0,0 +1,26 @@
+package com.product_service.service;
+
+import java.util.List;
+
+import com.product_service.dto.TopSeller;
+import com.product_service.entity.Product;
+
+/**
+ * Service interface for the live top sellers leaderboard.
+ * 
+ * <p>Units sold are counted in memory from order events over a sliding window,
+ * with a fixed number of counters per category, so the leaderboard is served
+ * without reading orders and its memory does not grow with the catalog.
+ */
+public interface TopSellersService {
+
+    /**
+     * Returns the products with the most units sold within the window.
+     * 
+     * @param category the category, or null for every category
+     * @param limit the maximum number of products returned
+     * @return the top sellers, most units sold first
+     */
+    List<TopSeller> getTopSellers(Product.Category category, int limit);
+
+}
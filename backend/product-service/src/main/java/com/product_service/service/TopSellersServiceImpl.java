@@ -0,0 +1,188 @@
+package com.product_service.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.product_service.dto.OrderEventMessage;
+import com.product_service.dto.TopSeller;
+import com.product_service.entity.Product;
+import com.product_service.listener.OrderEventHandler;
+import com.product_service.repository.ProductJdbcRepository;
+import com.product_service.sales.SlidingTopK;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the TopSellersService interface.
+ *
+ * <p>This service handles:
+ * <ul>
+ *   <li>Counting the units of every order created event in a {@link SlidingTopK}
+ *       of the category of each product</li>
+ *   <li>Answering the leaderboard of one category from its counter, and the
+ *       leaderboard of the whole catalog by merging the leaders of every category</li>
+ *   <li>Asking for the events of the last window to be replayed on startup</li>
+ * </ul>
+ *
+ * <p>Categories are taken from the price index, then from the catalog snapshot,
+ * and only read from the database for products neither holds. Units are counted
+ * at the time the order was placed, so replayed orders fall in the right slice.
+ *
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code top-sellers.window-ms}: length of the sliding window</li>
+ *   <li>{@code top-sellers.slices}: number of slices the window is split into</li>
+ *   <li>{@code top-sellers.capacity}: maximum number of products counted per category and slice</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class TopSellersServiceImpl implements TopSellersService, OrderEventHandler {
+
+    private final PriceIndexService priceIndexService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final long windowMillis;
+
+    private final Map<Product.Category, SlidingTopK> counters = new EnumMap<>(Product.Category.class);
+
+    /**
+     * Constructs the top sellers service.
+     *
+     * @param priceIndexService the index categories are looked up in first
+     * @param catalogSnapshotService the snapshot categories and names are looked up in next
+     * @param productJdbcRepository the repository products neither holds are read from
+     * @param windowMillis length of the sliding window
+     * @param slices number of slices the window is split into
+     * @param capacity maximum number of products counted per category and slice
+     */
+    public TopSellersServiceImpl(PriceIndexService priceIndexService,
+                                 CatalogSnapshotService catalogSnapshotService,
+                                 ProductJdbcRepository productJdbcRepository,
+                                 @Value("${top-sellers.window-ms:3600000}") long windowMillis,
+                                 @Value("${top-sellers.slices:12}") int slices,
+                                 @Value("${top-sellers.capacity:1000}") int capacity) {
+        this.priceIndexService = priceIndexService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.productJdbcRepository = productJdbcRepository;
+        int sliceCount = Math.max(1, slices);
+        this.windowMillis = Math.max(sliceCount, windowMillis);
+        for (Product.Category category : Product.Category.values()) {
+            counters.put(category, new SlidingTopK(this.windowMillis, sliceCount, Math.max(1, capacity)));
+        }
+    }
+
+    @Override
+    public List<TopSeller> getTopSellers(Product.Category category, int limit) {
+        long now = System.currentTimeMillis();
+        Map<Long, SlidingTopK.Entry> entries = new LinkedHashMap<>();
+        Map<Long, Product.Category> categories = new HashMap<>();
+
+        // Products belong to one category, so the overall leaders are among the leaders of each category
+        for (Map.Entry<Product.Category, SlidingTopK> counter : counters.entrySet()) {
+            if (category != null && counter.getKey() != category) {
+                continue;
+            }
+            for (SlidingTopK.Entry entry : counter.getValue().top(limit, now)) {
+                categories.putIfAbsent(entry.key(), counter.getKey());
+                entries.merge(entry.key(), entry,
+                        (a, b) -> new SlidingTopK.Entry(a.key(), a.count() + b.count(), a.error() + b.error()));
+            }
+        }
+
+        List<SlidingTopK.Entry> leaders = SlidingTopK.highest(entries.values(), limit);
+        Map<Long, Product> products = findProducts(leaders.stream().map(SlidingTopK.Entry::key).toList());
+
+        List<TopSeller> topSellers = new ArrayList<>(leaders.size());
+        for (SlidingTopK.Entry leader : leaders) {
+            Product product = products.get(leader.key());
+            topSellers.add(TopSeller.builder()
+                    .idProduct(leader.key())
+                    .name(product != null ? product.getName() : null)
+                    .category(categories.get(leader.key()))
+                    .unitsSold(leader.count())
+                    .maxOverestimate(leader.error())
+                    .build());
+        }
+        return topSellers;
+    }
+
+    @Override
+    public void onOrderEvent(OrderEventMessage event, int partition, long offset) {
+        if (event.getEventType() != OrderEventMessage.EventType.CREATED) {
+            return;
+        }
+
+        Map<Long, Long> units = new HashMap<>();
+        for (OrderEventMessage.Item item : event.getItems()) {
+            if (item.getIdProduct() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                units.merge(item.getIdProduct(), item.getQuantity().longValue(), Long::sum);
+            }
+        }
+        if (units.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long time = event.getOccurredAt() != null ? Math.min(event.getOccurredAt(), now) : now;
+        Map<Long, Product.Category> categories = findCategories(units.keySet());
+        for (Map.Entry<Long, Long> unit : units.entrySet()) {
+            Product.Category category = categories.get(unit.getKey());
+            if (category == null) {
+                log.debug("Not counting sales of unknown product ID: {}", unit.getKey());
+                continue;
+            }
+            counters.get(category).add(unit.getKey(), unit.getValue(), time);
+        }
+    }
+
+    @Override
+    public long replayFrom(long nowMillis) {
+        return nowMillis - windowMillis;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Resolves the categories of products from memory where possible.
+     */
+    private Map<Long, Product.Category> findCategories(Collection<Long> idProducts) {
+        Map<Long, Product.Category> categories = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long idProduct : idProducts) {
+            Product.Category category = priceIndexService.findCategory(idProduct);
+            if (category != null) {
+                categories.put(idProduct, category);
+            } else {
+                missing.add(idProduct);
+            }
+        }
+        if (!missing.isEmpty()) {
+            findProducts(missing).forEach((id, product) -> categories.put(id, product.getCategory()));
+        }
+        return categories;
+    }
+
+    /**
+     * Reads products from the catalog snapshot, and from the database when the
+     * snapshot does not hold them.
+     */
+    private Map<Long, Product> findProducts(Collection<Long> idProducts) {
+        if (idProducts.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Product> products = new HashMap<>(catalogSnapshotService.findAll(idProducts));
+        List<Long> missing = idProducts.stream().filter(id -> !products.containsKey(id)).toList();
+        for (Product product : productJdbcRepository.findAllById(missing)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+}
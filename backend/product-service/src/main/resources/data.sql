@@ -1,8 +1,22 @@
+-- Column defaults for the version and the modification time are set once by
+-- schema migration 3; before it runs, INSERT IGNORE gives seeded rows version 0.
+
 -- Sample Products Data (100 products)
 -- Category: AAA (Premium), AA (Standard), A (Basic)
--- Using INSERT IGNORE to skip duplicates on restart
-
-INSERT IGNORE INTO products (name, description, price, category, stock, image_url) VALUES
+-- Staged with their stock, then copied with INSERT IGNORE to skip duplicates on restart
+
+CREATE TEMPORARY TABLE seed_products (
+    seq INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DOUBLE NOT NULL,
+    category VARCHAR(3) NOT NULL,
+    stock INT NOT NULL,
+    image_url TEXT,
+    existing BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+INSERT INTO seed_products (name, description, price, category, stock, image_url) VALUES
 -- Electronics - Premium (AAA)
 ('MacBook Pro 16" M3 Max', 'Apple MacBook Pro with M3 Max chip, 36GB RAM, 1TB SSD', 3499.99, 'AAA', 25, 'https://images.unsplash.com/photo-1517336714731-489689fd1ca8?w=500'),
 ('iPhone 15 Pro Max 256GB', 'Apple iPhone 15 Pro Max with A17 Pro chip, Titanium design', 1199.99, 'AAA', 50, 'https://images.unsplash.com/photo-1695048133142-1a20484d2569?w=500'),
@@ -143,3 +157,18 @@ INSERT IGNORE INTO products (name, description, price, category, stock, image_ur
 ('Gillette Razor Refills 8-Pack', 'Fusion5 cartridges', 32.99, 'A', 300, 'https://images.unsplash.com/photo-1585751119414-ef2636f8aede?w=500'),
 ('Maybelline Mascara', 'Lash Sensational Sky High', 13.99, 'A', 450, 'https://images.unsplash.com/photo-1512496015851-a90fb38ba796?w=500');
 
+-- Products already present keep their stock: it may still sit in the legacy column,
+-- which schema migration 1 copies into product_inventory after this script
+UPDATE seed_products s JOIN products p ON p.name = s.name SET s.existing = TRUE;
+
+INSERT IGNORE INTO products (name, description, price, category, image_url)
+SELECT name, description, price, category, image_url FROM seed_products ORDER BY seq;
+
+-- Only products inserted by this run get their seed stock; the legacy stock sync
+-- trigger may already have given them an empty inventory row
+INSERT INTO product_inventory (product_id, stock)
+SELECT p.id, s.stock FROM seed_products s JOIN products p ON p.name = s.name
+WHERE NOT s.existing
+ON DUPLICATE KEY UPDATE stock = s.stock;
+
+DROP TEMPORARY TABLE seed_products;
@@ -0,0 +1,153 @@
+package com.product_service.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductInventory;
+import com.product_service.repository.ProductInventoryRepository;
+import com.product_service.repository.ProductRepository;
+import com.product_service.service.ProductCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Benchmark for the second-level cache behind {@code GET /product/{id}}.
+ *
+ * <p>The catalog snapshot and the serialized response cache are disabled so
+ * product reads fall through to the repository. The same products are read once
+ * with the "product" region evicted before every request and once with a warm
+ * region. The test asserts that the warm reads are served from the cache and logs
+ * the latency of both runs.
+ *
+ * <p>Tagged {@code benchmark}, so it only runs with the {@code benchmark} profile.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.sql.init.mode=never",
+        "catalog-snapshot.enabled=false",
+        "price-index.enabled=false",
+        "response-cache.enabled=false",
+        "schema-migration.enabled=false",
+        "spring.kafka.listener.auto-startup=false",
+        "flash-sale.journal-path=target/cache-benchmark/flash-sale.journal",
+        "availability.snapshot-path=target/cache-benchmark/in-stock.bitmap",
+        "co-purchase.checkpoint-path=target/cache-benchmark/co-purchase.checkpoint"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Tag("benchmark")
+@Slf4j
+class ProductCacheBenchmarkTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductInventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> idProducts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            Long idProduct = productRepository.save(Product.builder()
+                    .name("Cached SKU " + i)
+                    .description("Product read by the second-level cache benchmark")
+                    .price(10.0 + i)
+                    .category(Product.Category.A)
+                    .build()).getId();
+            inventoryRepository.save(new ProductInventory(idProduct, 100));
+            idProducts.add(idProduct);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryRepository.deleteAll();
+        productRepository.deleteAll();
+        idProducts.clear();
+    }
+
+    @Test
+    void warmCacheServesProductReads() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm up the request path on both runs before measuring
+        read(true);
+        read(false);
+
+        long coldNanos = read(true);
+
+        read(false);
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+        long warmNanos = read(false);
+        long hits = statistics.getSecondLevelCacheHitCount() - hitsBefore;
+
+        assertThat(hits).isGreaterThanOrEqualTo((long) PRODUCTS * ROUNDS);
+        report("evicted", coldNanos);
+        report("cached", warmNanos);
+    }
+
+    /**
+     * Reads every product {@value #ROUNDS} times through the endpoint.
+     *
+     * @param evict whether the product region is evicted before each request
+     * @return the time spent in requests, in nanoseconds
+     */
+    private long read(boolean evict) throws Exception {
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Long idProduct : idProducts) {
+                if (evict) {
+                    productCacheService.evictAllProducts();
+                }
+                long begin = System.nanoTime();
+                mockMvc.perform(get("/product/{idProduct}", idProduct)
+                                .header("X-USER-EMAIL", "client@example.com")
+                                .header("X-USER-ID", "1")
+                                .header("X-USER-ROLE", "CLIENT"))
+                        .andExpect(status().isOk());
+                elapsed += System.nanoTime() - begin;
+            }
+        }
+        return elapsed;
+    }
+
+    private void report(String run, long elapsedNanos) {
+        int requests = PRODUCTS * ROUNDS;
+        log.info("GET /product/{id} {} - {} requests in {} ms ({} us/request)",
+                run, requests, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos / requests));
+    }
+
+}
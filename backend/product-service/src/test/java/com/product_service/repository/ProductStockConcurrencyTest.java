@@ -0,0 +1,196 @@
+package com.product_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductInventory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concurrency test for the conditional stock decrement in {@link ProductInventoryRepository}.
+ *
+ * <p>Many threads try to reserve one unit of the same product at once. The test
+ * asserts that exactly the initial stock is sold and that the row never goes
+ * negative, and that the old read-modify-write approach sells more units than it
+ * removes, logging the throughput of both for comparison.
+ *
+ * <p>Tagged {@code benchmark}, so it only runs with the {@code benchmark} profile.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+@Slf4j
+class ProductStockConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int INITIAL_STOCK = 500;
+    private static final int ATTEMPTS = 2_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductInventoryRepository inventoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long idProduct;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        idProduct = productRepository.save(Product.builder()
+                .name("Concurrency SKU")
+                .description("Hot product used by the stock concurrency test")
+                .price(10.0)
+                .category(Product.Category.A)
+                .build()).getId();
+        inventoryRepository.save(new ProductInventory(idProduct, INITIAL_STOCK));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void conditionalDecrementNeverOversells() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+
+        long elapsed = hammer(() -> {
+            Integer updated = transactionTemplate.execute(status -> inventoryRepository.decrementStock(idProduct, 1));
+            if (updated != null && updated == 1) {
+                successes.incrementAndGet();
+            }
+        });
+
+        int finalStock = inventoryRepository.findById(idProduct).orElseThrow().getStock();
+
+        assertThat(successes.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(finalStock).isZero();
+
+        log.info("Conditional UPDATE: {} attempts in {} ms ({} ops/s), {} reserved",
+                ATTEMPTS, elapsed, opsPerSecond(elapsed), successes.get());
+    }
+
+    @Test
+    void incrementRestoresStock() {
+        transactionTemplate.executeWithoutResult(status -> inventoryRepository.decrementStock(idProduct, 5));
+        transactionTemplate.executeWithoutResult(status -> inventoryRepository.incrementStock(idProduct, 5));
+
+        assertThat(inventoryRepository.findById(idProduct).orElseThrow().getStock()).isEqualTo(INITIAL_STOCK);
+        assertThat(transactionTemplate.execute(status -> inventoryRepository.decrementStock(idProduct, INITIAL_STOCK + 1)))
+                .isZero();
+    }
+
+    @Test
+    void readModifyWriteBaselineOversells() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        // Every reservation of a round reads the row before any of them writes it back
+        CyclicBarrier allRead = new CyclicBarrier(THREADS);
+
+        long elapsed = hammer(() -> {
+            try {
+                Boolean reserved = transactionTemplate.execute(status -> {
+                    ProductInventory inventory = inventoryRepository.findById(idProduct).orElseThrow();
+                    awaitAll(allRead);
+                    if (inventory.getStock() < 1) {
+                        return false;
+                    }
+                    inventory.setStock(inventory.getStock() - 1);
+                    inventoryRepository.save(inventory);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(reserved)) {
+                    successes.incrementAndGet();
+                }
+            } catch (ConcurrencyFailureException e) {
+                // A lock conflict rejects the reservation, which is not an oversell
+                conflicts.incrementAndGet();
+            }
+        });
+
+        int finalStock = inventoryRepository.findById(idProduct).orElseThrow().getStock();
+        int oversold = successes.get() - (INITIAL_STOCK - finalStock);
+
+        // Lost updates let more units be "sold" than were removed from the row
+        assertThat(finalStock).isNotNegative();
+        assertThat(oversold).isPositive();
+
+        log.info("Read-modify-write: {} attempts in {} ms ({} ops/s), {} reserved, {} lock conflicts, {} units oversold",
+                ATTEMPTS, elapsed, opsPerSecond(elapsed), successes.get(), conflicts.get(), oversold);
+    }
+
+    /**
+     * Runs the given reservation {@value #ATTEMPTS} times across {@value #THREADS} threads.
+     *
+     * <p>Any exception thrown by a reservation fails the test.
+     *
+     * @param reservation the reservation attempt to run
+     * @return the elapsed wall-clock time in milliseconds
+     */
+    private long hammer(Runnable reservation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    reservation.run();
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitAll(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Reservations did not line up", e);
+        }
+    }
+
+    private static long opsPerSecond(long elapsedMillis) {
+        return Math.round(ATTEMPTS * 1000.0 / Math.max(1, elapsedMillis));
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.product_service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verification test for {@link CoPurchaseIndex}.
+ *
+ * <p>Random orders over a skewed catalog are counted next to exact pair counts.
+ * A narrow sketch must never underestimate; a wide one must keep, for every
+ * product, the companions with the highest counts at or above the support, and
+ * both must survive a checkpoint round trip unchanged, with the offsets they
+ * counted up to.
+ */
+class CoPurchaseIndexTest {
+
+    private static final int PRODUCTS = 60;
+    private static final int CAPACITY = 5;
+    private static final int MIN_SUPPORT = 3;
+
+    @Test
+    void narrowSketchNeverUnderestimates() {
+        CoPurchaseIndex index = new CoPurchaseIndex(64, 2, CAPACITY, 1_000, MIN_SUPPORT);
+        Map<Long, Integer> exact = addRandomOrders(index, new Random(1), 2_000);
+
+        exact.forEach((pair, count) -> assertThat(index.estimate(pair / PRODUCTS, pair % PRODUCTS))
+                .isGreaterThanOrEqualTo(count));
+        assertThat(index.orderCount()).isEqualTo(2_000L);
+    }
+
+    @Test
+    void wideSketchKeepsTheMostFrequentCompanions() {
+        CoPurchaseIndex index = new CoPurchaseIndex(1 << 16, 4, CAPACITY, 1_000, MIN_SUPPORT);
+        Map<Long, Integer> exact = addRandomOrders(index, new Random(2), 2_000);
+
+        for (long product = 0; product < PRODUCTS; product++) {
+            List<CoPurchaseIndex.Companion> companions = index.companionsOf(product, CAPACITY);
+            assertThat(companions).hasSizeLessThanOrEqualTo(CAPACITY);
+            assertThat(companions).isSortedAccordingTo((a, b) -> a.orders() != b.orders()
+                    ? Long.compare(b.orders(), a.orders()) : Long.compare(a.idProduct(), b.idProduct()));
+
+            // Each kept count is exact, and no left-out companion was bought together more often
+            long last = Long.MAX_VALUE;
+            for (CoPurchaseIndex.Companion companion : companions) {
+                assertThat(companion.orders()).isEqualTo((long) count(exact, product, companion.idProduct()));
+                assertThat(companion.orders()).isGreaterThanOrEqualTo(MIN_SUPPORT);
+                last = companion.orders();
+            }
+            for (long other = 0; other < PRODUCTS; other++) {
+                int count = count(exact, product, other);
+                long companionId = other;
+                boolean kept = companions.stream().anyMatch(companion -> companion.idProduct() == companionId);
+                if (!kept && count >= MIN_SUPPORT) {
+                    assertThat(companions).hasSize(CAPACITY);
+                    assertThat((long) count).isLessThanOrEqualTo(last);
+                }
+            }
+        }
+        assertThat(index.companionsOf(0, 2)).hasSizeLessThanOrEqualTo(2);
+        assertThat(index.companionsOf(PRODUCTS + 1, CAPACITY)).isEmpty();
+    }
+
+    @Test
+    void dropsTheLeastRecentlyChangedProductsBeyondTheMaximum() {
+        CoPurchaseIndex index = new CoPurchaseIndex(1 << 10, 4, CAPACITY, 2, 1);
+        index.addOrder(new long[] {1, 2}, 0, 10);
+        index.addOrder(new long[] {3, 4}, 0, 7);
+        index.addOrder(new long[] {3, 4}, 1, 20);
+
+        assertThat(index.productCount()).isEqualTo(2);
+        assertThat(index.companionsOf(1, CAPACITY)).isEmpty();
+        assertThat(index.companionsOf(2, CAPACITY)).isEmpty();
+        assertThat(index.companionsOf(3, CAPACITY)).containsExactly(new CoPurchaseIndex.Companion(4, 2));
+        // The next offset of a partition never moves back
+        assertThat(index.nextOffsets()).isEqualTo(Map.of(0, 11L, 1, 21L));
+    }
+
+    @Test
+    void checkpointRoundTripsAndRejectsDamage() throws IOException {
+        CoPurchaseIndex index = new CoPurchaseIndex(1 << 12, 4, CAPACITY, 1_000, MIN_SUPPORT);
+        Map<Long, Integer> exact = addRandomOrders(index, new Random(3), 500);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        byte[] bytes = out.toByteArray();
+
+        CoPurchaseIndex restored = CoPurchaseIndex.readFrom(new ByteArrayInputStream(bytes), 1 << 12, 4,
+                CAPACITY, 1_000, MIN_SUPPORT);
+        assertThat(restored.nextOffsets()).isEqualTo(index.nextOffsets()).hasSize(3);
+        assertThat(restored.orderCount()).isEqualTo(index.orderCount());
+        assertThat(restored.productCount()).isEqualTo(index.productCount());
+        for (long product = 0; product < PRODUCTS; product++) {
+            assertThat(restored.companionsOf(product, CAPACITY)).isEqualTo(index.companionsOf(product, CAPACITY));
+        }
+        exact.keySet().forEach(pair -> assertThat(restored.estimate(pair / PRODUCTS, pair % PRODUCTS))
+                .isEqualTo(index.estimate(pair / PRODUCTS, pair % PRODUCTS)));
+
+        // A smaller capacity keeps the first companions
+        CoPurchaseIndex smaller = CoPurchaseIndex.readFrom(new ByteArrayInputStream(bytes), 1 << 12, 4,
+                2, 1_000, MIN_SUPPORT);
+        for (long product = 0; product < PRODUCTS; product++) {
+            assertThat(smaller.companionsOf(product, CAPACITY)).isEqualTo(index.companionsOf(product, 2));
+        }
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x01;
+        assertThatThrownBy(() -> CoPurchaseIndex.readFrom(new ByteArrayInputStream(flipped), 1 << 12, 4,
+                CAPACITY, 1_000, MIN_SUPPORT)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> CoPurchaseIndex.readFrom(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)),
+                1 << 12, 4, CAPACITY, 1_000, MIN_SUPPORT)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> CoPurchaseIndex.readFrom(new ByteArrayInputStream(bytes), 1 << 13, 4,
+                CAPACITY, 1_000, MIN_SUPPORT)).isInstanceOf(IOException.class);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Adds random orders of one to six products, some of them repeated, and
+     * returns the exact number of orders per pair keyed by {@code low * PRODUCTS + high}.
+     */
+    private static Map<Long, Integer> addRandomOrders(CoPurchaseIndex index, Random random, int orders) {
+        Map<Long, Integer> exact = new HashMap<>();
+        for (int order = 0; order < orders; order++) {
+            long[] items = new long[1 + random.nextInt(6)];
+            for (int i = 0; i < items.length; i++) {
+                // Skewed towards low IDs, so some pairs are frequent
+                items[i] = (long) (PRODUCTS * Math.pow(random.nextDouble(), 2));
+            }
+            index.addOrder(items, order % 3, 1_000L + order);
+
+            long[] distinct = Arrays.stream(items).sorted().distinct().toArray();
+            for (int i = 0; i < distinct.length; i++) {
+                for (int j = i + 1; j < distinct.length; j++) {
+                    exact.merge(distinct[i] * PRODUCTS + distinct[j], 1, Integer::sum);
+                }
+            }
+        }
+        return exact;
+    }
+
+    private static int count(Map<Long, Integer> exact, long first, long second) {
+        return exact.getOrDefault(Math.min(first, second) * PRODUCTS + Math.max(first, second), 0);
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.product_service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verification test for {@link SlidingTopK}.
+ *
+ * <p>Skewed random streams with late events are counted next to an exact
+ * reference per slice. With enough capacity every count must be exact; with
+ * little capacity no count may exceed its reported error and every heavy
+ * hitter must be reported.
+ */
+class SlidingTopKTest {
+
+    private static final long WINDOW = 60_000;
+    private static final int SLICES = 6;
+    private static final long SLICE = WINDOW / SLICES;
+
+    @Test
+    void countsExactlyWhenCapacityHoldsEveryKey() {
+        Random random = new Random(5);
+        SlidingTopK topK = new SlidingTopK(WINDOW, SLICES, 100);
+        Map<Long, Map<Long, Long>> reference = new HashMap<>();
+
+        long now = 1_000_000;
+        for (int i = 0; i < 20_000; i++) {
+            now += random.nextInt(20);
+            long key = random.nextInt(50);
+            long weight = 1 + random.nextInt(3);
+            long time = now - random.nextInt((int) WINDOW);
+            if (topK.add(key, weight, time)) {
+                reference.computeIfAbsent(Math.floorDiv(time, SLICE), slice -> new HashMap<>()).merge(key, weight, Long::sum);
+            }
+
+            if (i % 1_000 == 0) {
+                Map<Long, Long> expected = windowCounts(reference, now);
+                List<SlidingTopK.Entry> top = topK.top(1_000, now);
+                assertThat(top).hasSize(expected.size());
+                for (SlidingTopK.Entry entry : top) {
+                    assertThat(entry.count()).isEqualTo(expected.get(entry.key()));
+                    assertThat(entry.error()).isEqualTo(0L);
+                }
+                assertThat(top).isSortedAccordingTo(
+                        (a, b) -> a.count() != b.count() ? Long.compare(b.count(), a.count()) : Long.compare(a.key(), b.key()));
+            }
+        }
+    }
+
+    @Test
+    void boundsErrorsAndReportsHeavyHittersWithLittleCapacity() {
+        Random random = new Random(9);
+        int capacity = 10;
+        SlidingTopK topK = new SlidingTopK(WINDOW, SLICES, capacity);
+        Map<Long, Map<Long, Long>> reference = new HashMap<>();
+
+        long now = 5_000_000;
+        for (int i = 0; i < 50_000; i++) {
+            now += random.nextInt(5);
+            // Two hot keys over a long tail of a thousand others
+            double draw = random.nextDouble();
+            long key = draw < 0.3 ? 0 : draw < 0.45 ? 1 : 2 + random.nextInt(1_000);
+            long time = now - random.nextInt((int) SLICE);
+            if (topK.add(key, 1, time)) {
+                reference.computeIfAbsent(Math.floorDiv(time, SLICE), slice -> new HashMap<>()).merge(key, 1L, Long::sum);
+            }
+        }
+
+        Map<Long, Long> expected = windowCounts(reference, now);
+        Map<Long, SlidingTopK.Entry> reported = new HashMap<>();
+        for (SlidingTopK.Entry entry : topK.top(SLICES * capacity, now)) {
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(expected.getOrDefault(entry.key(), 0L));
+            reported.put(entry.key(), entry);
+        }
+
+        // A key above total / capacity in a slice is tracked in that slice, so a key
+        // that is heavy in every live slice it appears in is never underestimated
+        long current = Math.floorDiv(now, SLICE);
+        Map<Long, Boolean> heavyEverywhere = new HashMap<>();
+        for (Map.Entry<Long, Map<Long, Long>> slice : reference.entrySet()) {
+            if (slice.getKey() <= current - SLICES || slice.getKey() > current) {
+                continue;
+            }
+            long total = slice.getValue().values().stream().mapToLong(Long::longValue).sum();
+            slice.getValue().forEach((key, count) -> heavyEverywhere.merge(key, count > total / capacity, Boolean::logicalAnd));
+        }
+        assertThat(heavyEverywhere).containsValue(true);
+        heavyEverywhere.forEach((key, heavy) -> {
+            if (heavy) {
+                assertThat(reported).containsKey(key);
+                assertThat(reported.get(key).count()).isGreaterThanOrEqualTo(expected.get(key));
+            }
+        });
+    }
+
+    @Test
+    void expiresOldSlicesAndIgnoresEventsBeforeTheWindow() {
+        SlidingTopK topK = new SlidingTopK(WINDOW, SLICES, 10);
+
+        assertThat(topK.add(1, 5, 0)).isTrue();
+        assertThat(topK.add(2, 3, WINDOW - 1)).isTrue();
+        assertThat(topK.add(3, 0, WINDOW - 1)).isFalse();
+        assertThat(topK.top(10, WINDOW - 1)).containsExactly(new SlidingTopK.Entry(1, 5, 0), new SlidingTopK.Entry(2, 3, 0));
+
+        // The first slice leaves the window once the ring comes back to it
+        assertThat(topK.top(10, WINDOW)).containsExactly(new SlidingTopK.Entry(2, 3, 0));
+        assertThat(topK.add(4, 1, WINDOW + SLICE)).isTrue();
+        assertThat(topK.add(5, 1, SLICE)).isFalse();
+        assertThat(topK.top(10, 3 * WINDOW)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new SlidingTopK(WINDOW, 0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingTopK(WINDOW, SLICES, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingTopK(SLICES - 1, SLICES, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void highestBreaksTiesByKey() {
+        List<SlidingTopK.Entry> entries = List.of(
+                new SlidingTopK.Entry(3, 7, 0), new SlidingTopK.Entry(1, 9, 0),
+                new SlidingTopK.Entry(2, 7, 1), new SlidingTopK.Entry(4, 1, 0));
+
+        assertThat(SlidingTopK.highest(entries, 3)).containsExactly(
+                new SlidingTopK.Entry(1, 9, 0), new SlidingTopK.Entry(2, 7, 1), new SlidingTopK.Entry(3, 7, 0));
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Adds up the exact counts of the slices live at a point in time.
+     */
+    private static Map<Long, Long> windowCounts(Map<Long, Map<Long, Long>> reference, long now) {
+        long current = Math.floorDiv(now, SLICE);
+        Map<Long, Long> counts = new HashMap<>();
+        reference.forEach((slice, keys) -> {
+            if (slice > current - SLICES && slice <= current) {
+                keys.forEach((key, count) -> counts.merge(key, count, Long::sum));
+            }
+        });
+        return counts;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.product_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.product_service.entity.Product;
+
+/**
+ * Verification test for {@link CatalogSnapshot}.
+ *
+ * <p>Products with null and multi-byte strings are written, mapped back and
+ * compared field by field; damaged files, out-of-order writes and abandoned
+ * writers must never replace or corrupt a readable snapshot.
+ */
+class CatalogSnapshotTest {
+
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsEveryProduct() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        List<Product> products = randomProducts(2_000, new Random(7));
+        write(path, 3, products);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertThat(snapshot.version()).isEqualTo(3L);
+        assertThat(snapshot.coveredSeq()).isEqualTo(30L);
+        assertThat(snapshot.size()).isEqualTo(products.size());
+        for (Product product : products) {
+            assertThat(snapshot.find(product.getId())).isEqualTo(product);
+        }
+        assertThat(snapshot.find(0)).isNull();
+        assertThat(snapshot.find(1)).isNull();
+        assertThat(snapshot.find(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void emptySnapshotFindsNothing() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        write(path, 1, List.of());
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertThat(snapshot.size()).isEqualTo(0);
+        assertThat(snapshot.find(1)).isNull();
+    }
+
+    @Test
+    void rejectsDamagedFiles() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        write(path, 1, randomProducts(50, new Random(11)));
+        byte[] bytes = Files.readAllBytes(path);
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x01;
+        Files.write(path, flipped);
+        assertThatThrownBy(() -> CatalogSnapshot.open(path)).isInstanceOf(IOException.class);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> CatalogSnapshot.open(path)).isInstanceOf(IOException.class);
+
+        Files.write(path, new byte[10]);
+        assertThatThrownBy(() -> CatalogSnapshot.open(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void abandonedWriterKeepsThePreviousSnapshot() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        List<Product> products = randomProducts(10, new Random(13));
+        write(path, 1, products);
+
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.writer(path, 2, 20)) {
+            writer.add(products.get(5));
+            assertThatThrownBy(() -> writer.add(products.get(4))).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertThat(snapshot.version()).isEqualTo(1L);
+        assertThat(snapshot.coveredSeq()).isEqualTo(10L);
+        assertThat(snapshot.find(products.get(4).getId())).isEqualTo(products.get(4));
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()).toList()).containsExactly("catalog.snapshot");
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Writes a snapshot covering the change log up to ten times its version.
+     */
+    private static void write(Path path, long version, List<Product> products) throws IOException {
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.writer(path, version, version * 10)) {
+            for (Product product : products) {
+                writer.add(product);
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Products with ascending, sparse IDs; strings are sometimes null, empty,
+     * multi-byte, and one is larger than the writer's string buffer.
+     */
+    private static List<Product> randomProducts(int count, Random random) {
+        List<Product> products = new ArrayList<>(count);
+        long id = 1;
+        for (int i = 0; i < count; i++) {
+            id += 1 + random.nextInt(5);
+            products.add(Product.builder()
+                    .id(id)
+                    .name("Produit é€ " + id)
+                    .description(i == count / 2 ? "x".repeat(70_000) : switch (random.nextInt(3)) {
+                        case 0 -> null;
+                        case 1 -> "";
+                        default -> "Description " + random.nextInt();
+                    })
+                    .price(random.nextInt(100_000) / 100.0)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .imageUrl(random.nextBoolean() ? null : "https://example.com/" + id + ".png")
+                    .version((long) random.nextInt(10))
+                    .updatedAt(random.nextBoolean() ? null
+                            : Instant.ofEpochSecond(1_700_000_000L + random.nextInt(1_000_000), random.nextInt(1_000_000_000)))
+                    .build());
+        }
+        return products;
+    }
+
+}
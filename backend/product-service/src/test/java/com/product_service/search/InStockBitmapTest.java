@@ -0,0 +1,136 @@
+package com.product_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.LongPredicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verification test for {@link InStockBitmap}.
+ *
+ * <p>Random sets and clears are applied to the bitmap and to a {@link TreeSet}
+ * reference. IDs are clustered so that containers repeatedly cross the
+ * array/bitmap threshold in both directions, and every membership test, walk and
+ * checkpoint round trip must agree with the reference.
+ */
+class InStockBitmapTest {
+
+    /** High parts in use: a sparse one, a dense one and one at the top of the ID range. */
+    private static final long[] BASES = {0, 5L << 16, ((1L << 47) - 1) & ~0xFFFFL};
+
+    @Test
+    void matchesTreeSetReference() throws IOException {
+        Random random = new Random(17);
+        InStockBitmap bitmap = new InStockBitmap();
+        TreeSet<Long> reference = new TreeSet<>();
+
+        for (int round = 0; round < 24; round++) {
+            // Alternate between filling and draining, so dense containers convert back and forth
+            boolean filling = round % 4 != 3;
+            for (int i = 0; i < 8_000; i++) {
+                long id = randomId(random);
+                boolean inStock = filling ? random.nextInt(8) != 0 : random.nextInt(8) == 0;
+                boolean changed = inStock ? reference.add(id) : reference.remove(id);
+                assertThat(bitmap.set(id, inStock)).isEqualTo(changed);
+            }
+
+            assertThat(bitmap.cardinality()).isEqualTo((long) reference.size());
+            for (int i = 0; i < 1_000; i++) {
+                long id = randomId(random);
+                assertThat(bitmap.contains(id)).isEqualTo(reference.contains(id));
+            }
+            for (int i = 0; i < 20; i++) {
+                Long after = random.nextInt(5) == 0 ? null : randomId(random);
+                boolean ascending = random.nextBoolean();
+                int limit = 1 + random.nextInt(6_000);
+                LongPredicate filter = random.nextBoolean() ? id -> true : id -> id % 5 != 0;
+                assertThat(toList(bitmap.walk(after, ascending, limit, filter)))
+                        .containsExactlyElementsOf(walk(reference, after, ascending, limit, filter));
+            }
+
+            InStockBitmap restored = roundTrip(bitmap);
+            assertThat(restored.cardinality()).isEqualTo(bitmap.cardinality());
+            assertThat(toList(restored.walk(null, true, Integer.MAX_VALUE, id -> true)))
+                    .containsExactlyElementsOf(reference);
+        }
+    }
+
+    @Test
+    void walksAcrossEmptyContainersAndRangeEnds() {
+        InStockBitmap bitmap = new InStockBitmap();
+        long top = (1L << 47) - 1;
+        for (long id : new long[] {0, 1, 65_535, 65_536, 3L << 16, top}) {
+            bitmap.set(id, true);
+        }
+
+        assertThat(toList(bitmap.walk(1L, true, 10, id -> true))).containsExactly(65_535L, 65_536L, 3L << 16, top);
+        assertThat(toList(bitmap.walk((2L << 16) + 7, false, 10, id -> true))).containsExactly(65_536L, 65_535L, 1L, 0L);
+        assertThat(toList(bitmap.walk(null, false, 2, id -> true))).containsExactly(top, 3L << 16);
+        assertThat(toList(bitmap.walk(top, true, 10, id -> true))).isEmpty();
+        assertThat(toList(bitmap.walk(0L, false, 10, id -> true))).isEmpty();
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThat(bitmap.contains(top + 1)).isFalse();
+        assertThatThrownBy(() -> bitmap.set(top + 1, true)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsDamagedCheckpoints() throws IOException {
+        InStockBitmap bitmap = new InStockBitmap();
+        for (long id = 0; id < 10_000; id += 2) {
+            bitmap.set(id, true);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.writeTo(out);
+        byte[] bytes = out.toByteArray();
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x01;
+        assertThatThrownBy(() -> InStockBitmap.readFrom(new ByteArrayInputStream(flipped)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> InStockBitmap.readFrom(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))))
+                .isInstanceOf(IOException.class);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Picks an ID in one of the high parts in use; half of them fall in the dense
+     * one, which only spans enough low parts to exceed the array container limit.
+     */
+    private static long randomId(Random random) {
+        int draw = random.nextInt(4);
+        int base = draw == 3 ? 1 : draw;
+        return BASES[base] + (base == 1 ? random.nextInt(5_000) : random.nextInt(1 << 16));
+    }
+
+    private static List<Long> walk(NavigableSet<Long> reference, Long after, boolean ascending, int limit,
+                                   LongPredicate filter) {
+        NavigableSet<Long> view = after == null ? reference
+                : ascending ? reference.tailSet(after, false) : reference.headSet(after, false);
+        return (ascending ? view : view.descendingSet()).stream()
+                .filter(filter::test)
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static InStockBitmap roundTrip(InStockBitmap bitmap) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.writeTo(out);
+        return InStockBitmap.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+}
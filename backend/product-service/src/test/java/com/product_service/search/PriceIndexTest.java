@@ -0,0 +1,139 @@
+package com.product_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.product_service.entity.Product;
+
+/**
+ * Verification test for {@link PriceIndex}.
+ *
+ * <p>Random catalogs with many equal prices are paged through by keyset in both
+ * directions and compared with a sorted reference list, so every combination of
+ * category, price bounds, keyset position and page size must return each
+ * matching product exactly once and in order.
+ */
+class PriceIndexTest {
+
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+
+    private record Item(long id, Product.Category category, double price) {
+    }
+
+    @Test
+    void pagesMatchSortedReferenceInBothDirections() {
+        Random random = new Random(42);
+        PriceIndex index = new PriceIndex();
+        Map<Long, Item> items = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            Item item = new Item(id, CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(40) * 2.5);
+            items.put(id, item);
+            index.upsert(id, item.category(), item.price());
+        }
+        // Move some products to another price and category
+        for (int i = 0; i < 100; i++) {
+            long id = 1 + random.nextInt(500);
+            Item item = new Item(id, CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(40) * 2.5);
+            items.put(id, item);
+            index.upsert(id, item.category(), item.price());
+        }
+
+        for (int round = 0; round < 300; round++) {
+            Product.Category category = random.nextBoolean() ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+            Double minPrice = random.nextBoolean() ? null : random.nextInt(40) * 2.5;
+            Double maxPrice = random.nextBoolean() ? null : random.nextInt(40) * 2.5;
+            boolean ascending = random.nextBoolean();
+            LongPredicate filter = random.nextBoolean() ? id -> true : id -> id % 3 != 0;
+            int pageSize = 1 + random.nextInt(7);
+
+            List<Long> expected = reference(items, category, minPrice, maxPrice, ascending, filter);
+            List<Long> actual = pageThrough(index, items, category, minPrice, maxPrice, ascending, filter, pageSize);
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+        assertThat(index.size()).isEqualTo(items.size());
+    }
+
+    @Test
+    void keysetPositionOutsideTheBoundsStartsAtTheBound() {
+        PriceIndex index = new PriceIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.upsert(id, Product.Category.AAA, id * 10.0);
+        }
+
+        // Ascending from a position below the minimum, descending from one above the maximum
+        assertThat(index.find(new PriceIndex.Range(null, 30.0, 60.0, true, 5.0, 99L), 10, id -> true))
+                .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(index.find(new PriceIndex.Range(null, 30.0, 60.0, false, 500.0, 1L), 10, id -> true))
+                .containsExactly(6L, 5L, 4L, 3L);
+        // A position past the end of the range leaves nothing
+        assertThat(index.find(new PriceIndex.Range(null, 30.0, 60.0, true, 60.0, 6L), 10, id -> true)).isEmpty();
+        assertThat(index.find(new PriceIndex.Range(null, 60.0, 30.0, true, null, null), 10, id -> true)).isEmpty();
+    }
+
+    @Test
+    void upsertMovesAndAddIfAbsentKeepsExistingEntries() {
+        PriceIndex index = new PriceIndex();
+        index.upsert(1, Product.Category.AAA, 10.0);
+        index.upsert(1, Product.Category.AA, 20.0);
+        index.addIfAbsent(1, Product.Category.AAA, 5.0);
+        index.addIfAbsent(2, Product.Category.AAA, 5.0);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.categoryOf(1)).isEqualTo(Product.Category.AA);
+        assertThat(index.categoryOf(3)).isNull();
+        assertThat(index.matches(1, Product.Category.AA, 20.0, 20.0)).isTrue();
+        assertThat(index.matches(1, Product.Category.AAA, null, null)).isFalse();
+        assertThat(index.matches(1, null, 20.5, null)).isFalse();
+        assertThat(index.find(new PriceIndex.Range(Product.Category.AAA, null, null, true, null, null), 10, id -> true))
+                .containsExactly(2L);
+        assertThat(index.find(new PriceIndex.Range(null, null, null, false, null, null), 10, id -> true))
+                .containsExactly(1L, 2L);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private static List<Long> reference(Map<Long, Item> items, Product.Category category, Double minPrice,
+                                        Double maxPrice, boolean ascending, LongPredicate filter) {
+        Comparator<Item> order = Comparator.comparingDouble(Item::price).thenComparingLong(Item::id);
+        return items.values().stream()
+                .filter(item -> category == null || item.category() == category)
+                .filter(item -> minPrice == null || item.price() >= minPrice)
+                .filter(item -> maxPrice == null || item.price() <= maxPrice)
+                .filter(item -> filter.test(item.id()))
+                .sorted(ascending ? order : order.reversed())
+                .map(Item::id)
+                .toList();
+    }
+
+    /**
+     * Reads every page, continuing after the last product of the previous one.
+     */
+    private static List<Long> pageThrough(PriceIndex index, Map<Long, Item> items, Product.Category category,
+                                          Double minPrice, Double maxPrice, boolean ascending, LongPredicate filter,
+                                          int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        Double afterPrice = null;
+        Long afterId = null;
+        while (true) {
+            PriceIndex.Range range = new PriceIndex.Range(category, minPrice, maxPrice, ascending, afterPrice, afterId);
+            List<Long> page = index.find(range, pageSize, filter);
+            ids.addAll(page);
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            Item last = items.get(page.get(page.size() - 1));
+            afterPrice = last.price();
+            afterId = last.id();
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.product_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.product_service.entity.Product;
+
+/**
+ * Verification test for {@link ProductSearchIndex}.
+ *
+ * <p>Random catalogs over a small vocabulary are searched with random queries,
+ * filters and limits, and every result is compared with BM25 scores computed by
+ * brute force over the live products: the total, the score of each hit, its
+ * attributes and its rank must all agree. Replaced and removed products must be
+ * scored exactly once the index has compacted them away.
+ */
+class ProductSearchIndexTest {
+
+    private static final Product.Category[] CATEGORIES = Product.Category.values();
+    private static final String[] WORDS = {
+        "red", "blue", "green", "shoe", "shirt", "hat", "wool", "cotton", "leather", "sport",
+        "classic", "slim", "kids", "summer", "winter", "pack", "premium", "basic", "soft", "zip"
+    };
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+
+    @Test
+    void scoresMatchBruteForceReference() {
+        Random random = new Random(5);
+        ProductSearchIndex index = new ProductSearchIndex();
+        Map<Long, ProductSearchIndex.Document> live = new HashMap<>();
+        List<ProductSearchIndex.Document> documents = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            ProductSearchIndex.Document document = randomDocument(id, random);
+            documents.add(document);
+            live.put(id, document);
+        }
+        index.upsertAll(documents);
+
+        for (int round = 0; round < 300; round++) {
+            assertMatchesReference(index, live, randomQuery(random), randomFilter(random), 1 + random.nextInt(25));
+        }
+        assertThat(index.size()).isEqualTo(live.size());
+    }
+
+    @Test
+    void replacedAndRemovedProductsAreScoredExactlyAfterCompaction() {
+        Random random = new Random(9);
+        ProductSearchIndex index = new ProductSearchIndex();
+        Map<Long, ProductSearchIndex.Document> live = new HashMap<>();
+        List<ProductSearchIndex.Document> documents = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            ProductSearchIndex.Document document = randomDocument(id, random);
+            documents.add(document);
+            live.put(id, document);
+        }
+        index.upsertAll(documents);
+
+        for (int i = 0; i < 20; i++) {
+            long id = 1 + random.nextInt(300);
+            index.remove(id);
+            live.remove(id);
+        }
+        // Enough replacements in one batch to outnumber the live products and trigger a compaction
+        List<ProductSearchIndex.Document> replacements = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            ProductSearchIndex.Document document = randomDocument(1 + random.nextInt(320), random);
+            replacements.add(document);
+            live.put(document.productId(), document);
+        }
+        index.upsertAll(replacements);
+        for (int i = 0; i < 50; i++) {
+            ProductSearchIndex.Document document = live.get(1L + random.nextInt(320));
+            if (document != null) {
+                boolean inStock = random.nextBoolean();
+                index.setInStock(document.productId(), inStock);
+                live.put(document.productId(), new ProductSearchIndex.Document(document.productId(), document.name(),
+                        document.description(), document.category(), document.price(), inStock));
+            }
+        }
+
+        for (int round = 0; round < 300; round++) {
+            assertMatchesReference(index, live, randomQuery(random), randomFilter(random), 1 + random.nextInt(25));
+        }
+        assertThat(index.size()).isEqualTo(live.size());
+    }
+
+    @Test
+    void replacedTextNoLongerMatches() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.upsertAll(List.of(
+                new ProductSearchIndex.Document(1, "Red Shoe", null, Product.Category.A, 10, true),
+                new ProductSearchIndex.Document(2, "Blue Shirt", "red stripes", Product.Category.AA, 20, false)));
+        index.upsertAll(List.of(new ProductSearchIndex.Document(1, "Green Hat", "wool", Product.Category.A, 12, true)));
+
+        assertThat(ids(index.search("red", ProductSearchIndex.Filter.NONE, 10))).containsExactly(2L);
+        assertThat(ids(index.search("hat wool", ProductSearchIndex.Filter.NONE, 10))).containsExactly(1L);
+        assertThat(ids(index.search("shirt", new ProductSearchIndex.Filter(null, null, null, true), 10))).isEmpty();
+
+        index.setInStock(2, true);
+        index.remove(1);
+        assertThat(ids(index.search("shirt", new ProductSearchIndex.Filter(null, null, null, true), 10)))
+                .containsExactly(2L);
+        assertThat(ids(index.search("hat", ProductSearchIndex.Filter.NONE, 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private static void assertMatchesReference(ProductSearchIndex index, Map<Long, ProductSearchIndex.Document> live,
+                                               String query, ProductSearchIndex.Filter filter, int limit) {
+        Map<Long, Double> expected = referenceScores(live, query, filter);
+        ProductSearchIndex.Result result = index.search(query, filter, limit);
+        List<Double> best = expected.values().stream().sorted(Comparator.reverseOrder()).limit(limit).toList();
+
+        assertThat(result.total()).as("total of '%s'", query).isEqualTo(expected.size());
+        assertThat(result.hits()).hasSize(best.size());
+        for (int rank = 0; rank < result.hits().size(); rank++) {
+            ProductSearchIndex.Hit hit = result.hits().get(rank);
+            ProductSearchIndex.Document document = live.get(hit.productId());
+            assertThat(expected.containsKey(hit.productId())).as("hit %d of '%s'", hit.productId(), query).isTrue();
+            assertThat((double) hit.score()).isCloseTo(expected.get(hit.productId()), within(1e-3));
+            assertThat((double) hit.score()).isCloseTo(best.get(rank), within(1e-3));
+            assertThat(hit.name()).isEqualTo(document.name());
+            assertThat(hit.category()).isEqualTo(document.category());
+            assertThat(hit.price()).isEqualTo(document.price());
+            assertThat(hit.inStock()).isEqualTo(document.inStock());
+        }
+    }
+
+    /**
+     * Scores every live product passing the filter against the distinct query terms.
+     */
+    private static Map<Long, Double> referenceScores(Map<Long, ProductSearchIndex.Document> live, String query,
+                                                     ProductSearchIndex.Filter filter) {
+        Map<Long, Map<String, Integer>> frequencies = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        long totalLength = 0;
+        for (ProductSearchIndex.Document document : live.values()) {
+            Map<String, Integer> counts = new HashMap<>();
+            int length = 0;
+            for (String token : TextAnalyzer.tokenize(document.name())) {
+                counts.merge(token, NAME_WEIGHT, Integer::sum);
+                length += NAME_WEIGHT;
+            }
+            for (String token : TextAnalyzer.tokenize(document.description())) {
+                counts.merge(token, 1, Integer::sum);
+                length++;
+            }
+            frequencies.put(document.productId(), counts);
+            lengths.put(document.productId(), length);
+            totalLength += length;
+        }
+        double averageLength = (double) Math.max(1, totalLength) / live.size();
+
+        Map<Long, Double> scores = new HashMap<>();
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        for (String term : terms) {
+            long df = frequencies.values().stream().filter(counts -> counts.containsKey(term)).count();
+            double idf = Math.log(1 + (live.size() - df + 0.5) / (df + 0.5));
+            for (ProductSearchIndex.Document document : live.values()) {
+                Integer tf = frequencies.get(document.productId()).get(term);
+                if (tf == null || !accepts(filter, document)) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * lengths.get(document.productId()) / averageLength);
+                scores.merge(document.productId(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static boolean accepts(ProductSearchIndex.Filter filter, ProductSearchIndex.Document document) {
+        return (filter.category() == null || document.category() == filter.category())
+                && (filter.minPrice() == null || document.price() >= filter.minPrice())
+                && (filter.maxPrice() == null || document.price() <= filter.maxPrice())
+                && (filter.inStock() == null || document.inStock() == filter.inStock());
+    }
+
+    private static List<Long> ids(ProductSearchIndex.Result result) {
+        return result.hits().stream().map(ProductSearchIndex.Hit::productId).toList();
+    }
+
+    /**
+     * A product with one to four name words and a description that is sometimes null or empty.
+     */
+    private static ProductSearchIndex.Document randomDocument(long id, Random random) {
+        return new ProductSearchIndex.Document(
+                id,
+                words(1 + random.nextInt(4), random),
+                switch (random.nextInt(4)) {
+                    case 0 -> null;
+                    case 1 -> "";
+                    default -> words(random.nextInt(12), random);
+                },
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextInt(20) * 5.0,
+                random.nextBoolean());
+    }
+
+    private static String randomQuery(Random random) {
+        String query = words(1 + random.nextInt(3), random);
+        return random.nextInt(5) == 0 ? query + " unknown" : query;
+    }
+
+    private static ProductSearchIndex.Filter randomFilter(Random random) {
+        return new ProductSearchIndex.Filter(
+                random.nextBoolean() ? null : CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextBoolean() ? null : random.nextInt(20) * 5.0,
+                random.nextBoolean() ? null : random.nextInt(20) * 5.0,
+                random.nextBoolean() ? null : random.nextBoolean());
+    }
+
+    private static String words(int count, Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(random.nextBoolean() ? " " : ", ");
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            text.append(random.nextInt(4) == 0 ? word.toUpperCase() : word);
+        }
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.product_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verification test for {@link SuggestionIndex}.
+ *
+ * <p>Random names drawn from a small vocabulary, so that many words and whole
+ * suffixes repeat, are looked up with every prefix of every word and compared
+ * with a brute-force scan of the word starts of each name.
+ */
+class SuggestionIndexTest {
+
+    private static final String[] WORDS = {
+            "red", "reddish", "redmi", "phone", "phones", "case", "cable", "usb", "c", "charger", "charge",
+            "pro", "max", "mini", "apple", "iphone", "samsung", "galaxy", "s24", "15"
+    };
+    private static final int MAX_WORD_STARTS = 6;
+
+    private record Name(int position, long productId, String name, int weight) {
+    }
+
+    @Test
+    void suggestionsMatchBruteForceRanking() {
+        Random random = new Random(3);
+        List<Name> names = new ArrayList<>();
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        for (int i = 0; i < 400; i++) {
+            StringBuilder name = new StringBuilder();
+            int words = 1 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                name.append(w == 0 ? "" : random.nextBoolean() ? " " : "-").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            Name entry = new Name(i, 1000 + i * 7L, name.toString(), random.nextInt(4));
+            names.add(entry);
+            builder.add(entry.productId(), entry.name(), entry.weight());
+        }
+        SuggestionIndex index = builder.build();
+
+        List<String> prefixes = new ArrayList<>(List.of("re", "red ", "phone c", "usb-c ", "x", "iphone 15 pro max"));
+        for (String word : WORDS) {
+            for (int length = 1; length <= word.length(); length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        for (String prefix : prefixes) {
+            for (int limit : new int[] {1, 5, 50, 1000}) {
+                assertThat(index.suggest(prefix, limit).stream().map(SuggestionIndex.Suggestion::productId).toList())
+                        .as("prefix '%s', limit %d", prefix, limit)
+                        .containsExactlyElementsOf(bruteForce(names, prefix, limit, Map.of()));
+            }
+        }
+
+        // Left-out products are skipped without shortening the result
+        Map<Long, Boolean> excluded = new HashMap<>();
+        names.stream().filter(name -> name.position() % 2 == 0).forEach(name -> excluded.put(name.productId(), true));
+        assertThat(index.suggest("ph", 10, excluded::containsKey).stream()
+                .map(SuggestionIndex.Suggestion::productId).toList())
+                .containsExactlyElementsOf(bruteForce(names, "ph", 10, excluded));
+    }
+
+    @Test
+    void matchesWordStartsIgnoringCaseAndDiacritics() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .add(1, "Crème Brûlée Torch", 1)
+                .add(2, "Red Reddish Redmi", 1)
+                .add(3, "one two three four five six seven", 1)
+                .add(4, "", 5)
+                .add(5, null, 5)
+                .build();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(index.suggest("BRU", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("creme b", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("orch", 10))).isEmpty();
+        assertThat(ids(index.suggest("redd", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("red ", 10))).containsExactly(2L);
+        // Only the first six words are indexed
+        assertThat(ids(index.suggest("six", 10))).containsExactly(3L);
+        assertThat(ids(index.suggest("seven", 10))).isEmpty();
+        assertThat(ids(index.suggest(" ", 10))).isEmpty();
+        assertThat(ids(index.suggest("red", 0))).isEmpty();
+        assertThat(SuggestionIndex.EMPTY.suggest("red", 10)).isEmpty();
+    }
+
+    @Test
+    void looksUpAndVisitsProducts() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .add(30, "Gamma", 0)
+                .add(10, "Alpha", 2)
+                .add(20, "Beta", 1)
+                .build();
+
+        assertThat(index.weightOf(10)).isEqualTo(2);
+        assertThat(index.weightOf(15)).isEqualTo(-1);
+        assertThat(index.nameOf(30)).isEqualTo("Gamma");
+        assertThat(index.nameOf(15)).isNull();
+
+        SuggestionIndex.Builder copy = new SuggestionIndex.Builder();
+        index.forEach(copy::add);
+        SuggestionIndex rebuilt = copy.build();
+        for (long id : new long[] {10, 20, 30}) {
+            assertThat(rebuilt.nameOf(id)).isEqualTo(index.nameOf(id));
+            assertThat(rebuilt.weightOf(id)).isEqualTo(index.weightOf(id));
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private static List<Long> ids(List<SuggestionIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionIndex.Suggestion::productId).toList();
+    }
+
+    /**
+     * Ranks the names by weight, then by their alphabetically first matching
+     * word start, then by the order they were added.
+     */
+    private static List<Long> bruteForce(List<Name> names, String prefix, int limit, Map<Long, Boolean> excluded) {
+        String normalized = SuggestionIndex.normalize(prefix);
+        boolean wordCompleted = !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1));
+        String key = wordCompleted && !normalized.isEmpty() ? normalized + " " : normalized;
+
+        record Match(Name name, String firstKey) {
+        }
+        List<Match> matches = new ArrayList<>();
+        for (Name name : names) {
+            String text = SuggestionIndex.normalize(name.name());
+            String firstKey = null;
+            int words = 0;
+            for (int i = 0; i < text.length() && words < MAX_WORD_STARTS; i++) {
+                if (i == 0 || text.charAt(i - 1) == ' ') {
+                    words++;
+                    String suffix = text.substring(i);
+                    if (suffix.startsWith(key) && (firstKey == null || suffix.compareTo(firstKey) < 0)) {
+                        firstKey = suffix;
+                    }
+                }
+            }
+            if (firstKey != null) {
+                matches.add(new Match(name, firstKey));
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> -match.name().weight())
+                .thenComparing(Match::firstKey)
+                .thenComparingInt(match -> match.name().position()));
+        return matches.stream()
+                .map(match -> match.name().productId())
+                .filter(id -> !excluded.containsKey(id))
+                .limit(limit)
+                .toList();
+    }
+
+}
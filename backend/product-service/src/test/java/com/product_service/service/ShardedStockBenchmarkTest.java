@@ -0,0 +1,187 @@
+package com.product_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.product_service.entity.Product;
+import com.product_service.entity.ProductInventory;
+import com.product_service.model.StockOutcome;
+import com.product_service.repository.ProductInventoryRepository;
+import com.product_service.repository.ProductRepository;
+import com.product_service.repository.ProductStockSlotRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Benchmark for sharded stock reservations in {@link ShardedStockServiceImpl}.
+ * 
+ * <p>The same hot product is reserved from many threads with its stock in the
+ * inventory row and then split across an increasing number of slot rows. The
+ * test asserts that no configuration oversells and logs the reservation
+ * throughput of each one.
+ *
+ * <p>Tagged {@code benchmark}, so it only runs with the {@code benchmark} profile.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import({ShardedStockServiceImpl.class, InventoryServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+@Slf4j
+class ShardedStockBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 4_000;
+    private static final int[] SLOT_COUNTS = {2, 8, 32};
+
+    @Autowired
+    private ShardedStockService shardedStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductInventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductStockSlotRepository slotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private FlashSaleService flashSaleService;
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void reservationThroughputScalesWithSlots() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        // Baseline: every reservation updates the single inventory row
+        Long baselineId = createProduct("Benchmark SKU 1");
+        AtomicInteger baselineReserved = new AtomicInteger();
+        long baselineMillis = hammer(() -> {
+            Integer updated = transactionTemplate.execute(status -> inventoryRepository.decrementStock(baselineId, 1));
+            if (updated != null && updated == 1) {
+                baselineReserved.incrementAndGet();
+            }
+        });
+        assertThat(baselineReserved.get()).isEqualTo(ATTEMPTS);
+        report(1, baselineMillis);
+
+        for (int slots : SLOT_COUNTS) {
+            Long idProduct = createProduct("Benchmark SKU " + slots);
+            transactionTemplate.executeWithoutResult(status -> shardedStockService.promote(idProduct, slots));
+
+            AtomicInteger reserved = new AtomicInteger();
+            long elapsed = hammer(() -> {
+                StockOutcome outcome = transactionTemplate.execute(status -> shardedStockService.reserve(idProduct, 1));
+                if (outcome != null && outcome.applied()) {
+                    reserved.incrementAndGet();
+                }
+            });
+
+            assertThat(reserved.get()).isEqualTo(ATTEMPTS);
+            assertThat(shardedStockService.currentStock(idProduct)).isZero();
+            assertThat(inventoryRepository.findById(idProduct).orElseThrow().getStock()).isZero();
+            report(slots, elapsed);
+        }
+    }
+
+    @Test
+    void reservationSpanningSlotsAndDemotion() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long idProduct = createProduct("Spanning SKU");
+        transactionTemplate.executeWithoutResult(status -> shardedStockService.promote(idProduct, 8));
+
+        // 4000 units over 8 slots is 500 per slot, so 1200 units must span several slots
+        StockOutcome outcome = transactionTemplate.execute(status -> shardedStockService.reserve(idProduct, 1_200));
+        assertThat(outcome.applied()).isTrue();
+        assertThat(outcome.stock()).isEqualTo(ATTEMPTS - 1_200);
+
+        StockOutcome rejected = transactionTemplate.execute(status -> shardedStockService.reserve(idProduct, ATTEMPTS));
+        assertThat(rejected.applied()).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> shardedStockService.demote(idProduct));
+        assertThat(shardedStockService.isSharded(idProduct)).isFalse();
+        assertThat(slotRepository.countByProductId(idProduct)).isZero();
+        assertThat(inventoryRepository.findById(idProduct).orElseThrow().getStock()).isEqualTo(ATTEMPTS - 1_200);
+    }
+
+    private Long createProduct(String name) {
+        Long idProduct = productRepository.save(Product.builder()
+                .name(name)
+                .description("Hot product used by the sharded stock benchmark")
+                .price(10.0)
+                .category(Product.Category.A)
+                .build()).getId();
+        inventoryRepository.save(new ProductInventory(idProduct, ATTEMPTS));
+        return idProduct;
+    }
+
+    private void report(int slots, long elapsedMillis) {
+        log.info("Stock slots: {} - {} reservations in {} ms ({} ops/s)",
+                slots, ATTEMPTS, elapsedMillis, Math.round(ATTEMPTS * 1000.0 / Math.max(1, elapsedMillis)));
+    }
+
+    /**
+     * Runs the given reservation {@value #ATTEMPTS} times across {@value #THREADS} threads.
+     *
+     * <p>Any exception thrown by a reservation fails the test.
+     *
+     * @param reservation the reservation attempt to run
+     * @return the elapsed wall-clock time in milliseconds
+     */
+    private long hammer(Runnable reservation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    reservation.run();
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
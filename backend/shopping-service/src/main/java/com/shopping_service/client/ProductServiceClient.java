@@ -1,18 +1,23 @@
 package com.shopping_service.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.shopping_service.dto.ApiResponse;
 import com.shopping_service.dto.ProductResponse;
+import com.shopping_service.dto.StockBatchRequest;
+import com.shopping_service.dto.StockBatchResult;
 
 /**
  * Feign client for communicating with the Product Service API.
  * 
  * <p>This client provides methods to:
  * <ul>
- *   <li>Retrieve product information by ID</li>
+ *   <li>Retrieve product information by ID, revalidating a held copy by ETag</li>
  *   <li>Update product stock after cart operations</li>
+ *   <li>Reserve or restore stock for several products in one call</li>
  * </ul>
  * 
  * <p>Uses service discovery via Eureka to locate the product-service.
@@ -26,11 +31,18 @@ public interface ProductServiceClient {
     /**
      * Retrieves a product by its unique identifier.
      * 
+     * <p>When an ETag from a previous response is passed and the product has not
+     * changed, the Product Service answers 304 Not Modified without a body, which
+     * Feign raises as a FeignException with that status.
+     * 
      * @param idProduct the product ID to retrieve
-     * @return the API response containing product details
+     * @param ifNoneMatch the ETag of the copy the caller holds, or null
+     * @return the API response containing product details, with its ETag header
      */
     @GetMapping("/product/{idProduct}")
-    ApiResponse<ProductResponse> findProductById(@PathVariable("idProduct") Long idProduct);
+    ResponseEntity<ApiResponse<ProductResponse>> findProductById(
+            @PathVariable("idProduct") Long idProduct,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Updates the stock quantity for a specific product (reduces stock).
@@ -52,4 +64,22 @@ public interface ProductServiceClient {
     @PutMapping("/product/restore/stock/{idProduct}")
     ApiResponse<ProductResponse> restoreStockProduct(@PathVariable("idProduct") Long idProduct, @RequestBody Integer quantity);
 
+    /**
+     * Reserves stock for several products in a single transaction (reduces stock).
+     * 
+     * @param request the product/quantity lines and the batch mode
+     * @return the API response containing per-product results
+     */
+    @PutMapping("/product/update/stock")
+    ApiResponse<StockBatchResult> reserveStockBatch(@RequestBody StockBatchRequest request);
+
+    /**
+     * Restores stock for several products in a single transaction (increases stock).
+     * 
+     * @param request the product/quantity lines and the batch mode
+     * @return the API response containing per-product results
+     */
+    @PutMapping("/product/restore/stock")
+    ApiResponse<StockBatchResult> restoreStockBatch(@RequestBody StockBatchRequest request);
+
 }
@@ -5,6 +5,7 @@ import com.shopping_service.exception.CartOperationException;
 import com.shopping_service.exception.ProductNotFoundException;
 import com.shopping_service.exception.UserNotFoundException;
 import com.shopping_service.model.CurrentUser;
+import com.shopping_service.model.UserProfile;
 import com.shopping_service.dto.ProductRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -95,6 +96,7 @@ public class ShoppingController {
         try {
             Cart cart = shoppingService.addToCart(
                     user.getUserId(),
+                    user.getProfile(),
                     productRequest.getIdProduct(),
                     productRequest.getQuantity());
 
@@ -298,6 +300,7 @@ public class ShoppingController {
      * <ul>
      *   <li>Spring Security Authentication object (if available)</li>
      *   <li>HTTP request headers as fallback (X-USER-EMAIL, X-USER-ROLE, X-USER-ID)</li>
+     *   <li>The profile snapshot request attribute, if the gateway forwarded one</li>
      * </ul>
      * 
      * @param auth the Spring Security authentication object
@@ -317,9 +320,13 @@ public class ShoppingController {
         String userIdHeader = request.getHeader("X-USER-ID");
         Long userId = (userIdHeader != null) ? Long.valueOf(userIdHeader) : null;
 
-        log.debug("Built CurrentUser - email: {}, role: {}, userId: {}", email, role, userId);
+        // Extract profile snapshot decoded by HeaderAuthenticationFilter
+        UserProfile profile = (UserProfile) request.getAttribute(UserProfile.REQUEST_ATTRIBUTE);
 
-        return new CurrentUser(email, role, userId);
+        log.debug("Built CurrentUser - email: {}, role: {}, userId: {}, profile snapshot: {}",
+                email, role, userId, profile != null);
+
+        return new CurrentUser(email, role, userId, profile);
     }
 
     // ==================== Response Record ====================
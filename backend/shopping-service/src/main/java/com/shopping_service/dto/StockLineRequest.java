@@ -0,0 +1,26 @@
+package com.shopping_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single line of a batch stock request
+ * sent to the Product Service.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLineRequest {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private Long idProduct;
+
+    /**
+     * The quantity to reserve or restore.
+     */
+    private Integer quantity;
+
+}
@@ -1,9 +1,11 @@
 package com.shopping_service.filter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,7 +15,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.shopping_service.model.UserProfile;
+
 import java.io.IOException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Set;
 
@@ -34,21 +39,29 @@ import java.util.Set;
  *   <li>{@code X-USER-ROLE}: The authenticated user's role (ADMIN or CLIENT)</li>
  * </ul>
  * 
+ * <p>When the gateway also forwards an {@code X-USER-PROFILE} snapshot, it is decoded
+ * into a {@link UserProfile} and stored as the {@link UserProfile#REQUEST_ATTRIBUTE}
+ * request attribute. A malformed snapshot is ignored rather than failing the request.
+ * 
  * <p>If all required headers are present, the filter creates an authentication token
  * and sets it in the SecurityContext. If headers are missing, the request continues
  * without authentication, allowing public endpoints to be accessed.
  * 
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String USER_EMAIL_HEADER = "X-USER-EMAIL";
     private static final String USER_ID_HEADER = "X-USER-ID";
     private static final String USER_ROLE_HEADER = "X-USER-ROLE";
+    private static final String USER_PROFILE_HEADER = "X-USER-PROFILE";
     
     private static final Set<String> VALID_ROLES = Set.of("ADMIN", "CLIENT");
 
+    private final ObjectMapper objectMapper;
+
     /**
      * Processes the HTTP request to extract authentication headers and set up security context.
      * 
@@ -88,6 +101,7 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
         if (hasAllRequiredHeaders(email, userId, role)) {
             if (isValidRole(role)) {
                 setAuthenticationContext(email, userId, role, requestUri);
+                attachUserProfile(request, email, role);
             } else {
                 log.warn("Invalid role '{}' in header for request: {}", role, requestUri);
             }
@@ -100,6 +114,33 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Decodes the profile snapshot header, if present, and stores it as a request attribute.
+     * 
+     * @param request the HTTP servlet request
+     * @param email the authenticated user's email
+     * @param role the authenticated user's role
+     */
+    private void attachUserProfile(HttpServletRequest request, String email, String role) {
+        String encodedProfile = request.getHeader(USER_PROFILE_HEADER);
+        if (!StringUtils.hasText(encodedProfile)) {
+            return;
+        }
+
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(encodedProfile);
+            UserProfile profile = objectMapper.readValue(json, UserProfile.class);
+            profile.setEmail(email);
+            profile.setRole(role.toUpperCase());
+            request.setAttribute(UserProfile.REQUEST_ATTRIBUTE, profile);
+
+            log.debug("Profile snapshot attached for user: {} (version: {})", email, profile.getVersion());
+
+        } catch (Exception e) {
+            log.warn("Ignoring malformed profile snapshot for user: {} - {}", email, e.getMessage());
+        }
+    }
+
     /**
      * Checks if all required authentication headers are present and non-empty.
      * 
@@ -18,6 +18,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  *   <li>X-USER-ID - The authenticated user's ID</li>
  *   <li>X-USER-EMAIL - The authenticated user's email</li>
  *   <li>X-USER-ROLE - The authenticated user's role</li>
+ *   <li>X-USER-PROFILE - The profile snapshot issued with the user's token</li>
  * </ul>
  */
 @Component
@@ -47,6 +48,7 @@ public class FeignAuthInterceptor implements RequestInterceptor {
         String userId = request.getHeader("X-USER-ID");
         String email = request.getHeader("X-USER-EMAIL");
         String role = request.getHeader("X-USER-ROLE");
+        String profile = request.getHeader("X-USER-PROFILE");
 
         if (userId != null) {
             template.header("X-USER-ID", userId);
@@ -57,6 +59,9 @@ public class FeignAuthInterceptor implements RequestInterceptor {
         if (role != null) {
             template.header("X-USER-ROLE", role);
         }
+        if (profile != null) {
+            template.header("X-USER-PROFILE", profile);
+        }
     }
 
 }
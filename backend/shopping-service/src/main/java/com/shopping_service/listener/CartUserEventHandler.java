@@ -0,0 +1,51 @@
+package com.shopping_service.listener;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import com.shopping_service.dto.UserEventMessage;
+import com.shopping_service.entity.Cart;
+import com.shopping_service.repository.CartRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the user email copied into carts in sync with Auth Service.
+ * 
+ * <p>Carts store the owner's email when they are created. When a user's email
+ * changes, the stored copy is refreshed from the UPDATED event so the cart does
+ * not keep pointing at a stale address.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CartUserEventHandler implements UserChangeHandler {
+
+    private final CartRepository cartRepository;
+
+    /**
+     * Refreshes the cart email for UPDATED events.
+     * 
+     * @param event the user event received from Auth Service
+     */
+    @Override
+    @Transactional
+    public void onUserChanged(UserEventMessage event) {
+        if (!UserEventMessage.UPDATED.equals(event.getEventType()) || !StringUtils.hasText(event.getEmail())) {
+            return;
+        }
+
+        Cart cart = cartRepository.findByIdUser(event.getUserId());
+        if (cart == null || event.getEmail().equals(cart.getEmail())) {
+            return;
+        }
+
+        cart.setEmail(event.getEmail());
+        cartRepository.save(cart);
+
+        log.info("Cart email refreshed for user ID: {}", event.getUserId());
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.shopping_service.listener;
+
+import java.util.List;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.shopping_service.dto.UserEventMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Kafka listener for user lifecycle events published by Auth Service.
+ * 
+ * <p>This component:
+ * <ul>
+ *   <li>Listens to the {@code user-events} topic</li>
+ *   <li>Dispatches each event to every {@link UserChangeHandler} bean</li>
+ * </ul>
+ * 
+ * <p>Each service instance consumes with its own consumer group (see
+ * {@code user-events.group-id}), so every instance sees every event and can
+ * invalidate its local caches. A failing handler is logged and does not prevent
+ * the remaining handlers from running.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventListener {
+
+    private final List<UserChangeHandler> handlers;
+
+    /**
+     * Consumes user events from Kafka and notifies the registered handlers.
+     * 
+     * @param event the user event message from Kafka
+     */
+    @KafkaListener(topics = "${user-events.topic:user-events}", groupId = "${user-events.group-id}")
+    public void consumeUserEvent(UserEventMessage event) {
+        if (event == null || event.getUserId() == null) {
+            log.warn("Ignoring invalid user event: {}", event);
+            return;
+        }
+
+        log.debug("Received {} event {} for user ID: {} (version: {})",
+                event.getEventType(), event.getEventId(), event.getUserId(), event.getVersion());
+
+        for (UserChangeHandler handler : handlers) {
+            try {
+                handler.onUserChanged(event);
+            } catch (Exception e) {
+                log.error("User change handler {} failed for event {} - {}",
+                        handler.getClass().getSimpleName(), event.getEventId(), e.getMessage(), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.shopping_service.service;
+
+import com.shopping_service.dto.ProductResponse;
+
+/**
+ * Service interface for reading products from the Product Service.
+ * 
+ * <p>Implementations should throw ProductNotFoundException when the product does
+ * not exist or the response cannot be used.
+ */
+public interface ProductLookupService {
+
+    /**
+     * Retrieves the current state of a product, including its stock.
+     * 
+     * @param idProduct the product ID
+     * @return the product
+     */
+    ProductResponse findProduct(Long idProduct);
+
+}
@@ -0,0 +1,113 @@
+package com.shopping_service.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.shopping_service.client.ProductServiceClient;
+import com.shopping_service.dto.ApiResponse;
+import com.shopping_service.dto.ProductResponse;
+import com.shopping_service.exception.ProductNotFoundException;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the ProductLookupService interface.
+ * 
+ * <p>The last product returned for each ID is kept with its ETag. Later lookups
+ * send the tag in If-None-Match; the Product Service then checks the product's
+ * version and stock without loading it and answers 304 Not Modified with no body
+ * when the kept copy is still current. The tag covers the stock, so a copy that
+ * is reused never carries outdated stock.
+ * 
+ * <p>Configuration properties:
+ * <ul>
+ *   <li>{@code product-lookup.max-entries}: maximum number of products kept for revalidation</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductLookupServiceImpl implements ProductLookupService {
+
+    private final ProductServiceClient productServiceClient;
+    private final int maxEntries;
+
+    private final Map<Long, CachedProduct> products = new ConcurrentHashMap<>();
+
+    /**
+     * A product as last returned by the Product Service, with its ETag.
+     */
+    private record CachedProduct(String etag, ProductResponse product) {
+    }
+
+    /**
+     * Constructs the product lookup service.
+     * 
+     * @param productServiceClient the Feign client of the Product Service
+     * @param maxEntries maximum number of products kept for revalidation
+     */
+    public ProductLookupServiceImpl(ProductServiceClient productServiceClient,
+                                    @Value("${product-lookup.max-entries:10000}") int maxEntries) {
+        this.productServiceClient = productServiceClient;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Retrieves the current state of a product, revalidating the kept copy if there is one.
+     * 
+     * @param idProduct the product ID
+     * @return a copy of the product
+     * @throws ProductNotFoundException if the product does not exist or the response is invalid
+     */
+    @Override
+    public ProductResponse findProduct(Long idProduct) {
+        CachedProduct cached = products.get(idProduct);
+
+        ResponseEntity<ApiResponse<ProductResponse>> response;
+        try {
+            response = productServiceClient.findProductById(idProduct, cached != null ? cached.etag() : null);
+
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                log.debug("Product ID: {} not modified since ETag {}", idProduct, cached.etag());
+                return copy(cached.product());
+            }
+            products.remove(idProduct);
+            throw e;
+        }
+
+        ApiResponse<ProductResponse> body = response.getBody();
+        if (body == null) {
+            log.warn("Null response from Product Service for product ID: {}", idProduct);
+            throw new ProductNotFoundException(idProduct);
+        }
+        if (!body.isSuccess() || body.getData() == null) {
+            log.warn("Product not found with ID: {} - {}", idProduct, body.getMessage());
+            products.remove(idProduct);
+            throw new ProductNotFoundException(idProduct);
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (etag != null && (cached != null || products.size() < maxEntries)) {
+            products.put(idProduct, new CachedProduct(etag, copy(body.getData())));
+        }
+        return body.getData();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private static ProductResponse copy(ProductResponse product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .category(product.getCategory())
+                .stock(product.getStock())
+                .build();
+    }
+
+}
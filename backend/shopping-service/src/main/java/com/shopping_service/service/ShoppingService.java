@@ -1,6 +1,7 @@
 package com.shopping_service.service;
 
 import com.shopping_service.entity.Cart;
+import com.shopping_service.model.UserProfile;
 
 /**
  * Service interface for shopping cart operations.
@@ -20,12 +21,16 @@ public interface ShoppingService {
     /**
      * Adds a product to the user's shopping cart.
      * 
+     * <p>When a profile snapshot is supplied, the cart is associated with the user's
+     * email without calling the auth-service.
+     * 
      * @param idUser the user ID
+     * @param profile the profile snapshot forwarded by the gateway (may be null)
      * @param idProduct the product ID to add
      * @param quantity the quantity to add
      * @return the updated cart
      */
-    Cart addToCart(Long idUser, Long idProduct, Integer quantity);
+    Cart addToCart(Long idUser, UserProfile profile, Long idProduct, Integer quantity);
 
     /**
      * Removes a product from the user's shopping cart.
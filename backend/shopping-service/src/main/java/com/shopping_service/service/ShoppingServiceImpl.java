@@ -1,6 +1,7 @@
 package com.shopping_service.service;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import com.shopping_service.dto.ApiResponse;
 import com.shopping_service.exception.CartNotFoundException;
@@ -11,12 +12,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import com.shopping_service.client.ProductServiceClient;
 import com.shopping_service.client.UserServiceClient;
 import com.shopping_service.dto.ProductResponse;
+import com.shopping_service.dto.StockBatchRequest;
+import com.shopping_service.dto.StockBatchResult;
+import com.shopping_service.dto.StockLineRequest;
+import com.shopping_service.dto.StockLineResult;
 import com.shopping_service.dto.UserResponse;
 import com.shopping_service.entity.Cart;
 import com.shopping_service.entity.CartItem;
+import com.shopping_service.model.UserProfile;
 import com.shopping_service.repository.CartRepository;
 
 /**
@@ -39,6 +46,7 @@ public class ShoppingServiceImpl implements ShoppingService {
 
     private final ProductServiceClient productServiceClient;
     private final UserServiceClient userServiceClient;
+    private final ProductLookupService productLookupService;
     private final CartRepository cartRepository;
 
     /**
@@ -47,13 +55,15 @@ public class ShoppingServiceImpl implements ShoppingService {
      * <p>This method:
      * <ul>
      *   <li>Validates product existence and stock availability</li>
-     *   <li>Creates a new cart if user doesn't have one</li>
+     *   <li>Creates a new cart if user doesn't have one, taking the email from the
+     *       profile snapshot or, if absent, from the User Service</li>
      *   <li>Updates quantity if product already exists in cart</li>
      *   <li>Updates product stock via Product Service</li>
      *   <li>Recalculates cart total</li>
      * </ul>
      * 
      * @param idUser the user ID
+     * @param profile the profile snapshot forwarded by the gateway (may be null)
      * @param idProduct the product ID to add
      * @param quantity the quantity to add
      * @return the updated cart
@@ -63,7 +73,7 @@ public class ShoppingServiceImpl implements ShoppingService {
      */
     @Override
     @Transactional
-    public Cart addToCart(Long idUser, Long idProduct, Integer quantity) {
+    public Cart addToCart(Long idUser, UserProfile profile, Long idProduct, Integer quantity) {
         log.debug("Adding product to cart - User ID: {}, Product ID: {}, Quantity: {}",
                 idUser, idProduct, quantity);
 
@@ -87,22 +97,13 @@ public class ShoppingServiceImpl implements ShoppingService {
                             product.getName(), stock, quantity));
         }
 
-        // Fetch and validate user
-        UserResponse user = userServiceClient.getUserById(idUser);
-        if (user == null) {
-            log.warn("User not found with ID: {}", idUser);
-            throw new UserNotFoundException(idUser);
-        }
-
-        log.debug("User found: {} ({})", user.getName(), user.getEmail());
-
         // Get or create cart
         Cart cart = cartRepository.findByIdUser(idUser);
         if (cart == null) {
             log.debug("Creating new cart for user ID: {}", idUser);
             cart = Cart.builder()
-                    .idUser(user.getId())
-                    .email(user.getEmail())
+                    .idUser(idUser)
+                    .email(resolveEmail(idUser, profile))
                     .total(0.0)
                     .cartItems(new ArrayList<>())
                     .build();
@@ -243,8 +244,8 @@ public class ShoppingServiceImpl implements ShoppingService {
     /**
      * Clears all items from the user's shopping cart.
      * 
-     * <p>This method removes all items, restores product stock, 
-     * and resets the cart total to zero.
+     * <p>This method removes all items, restores product stock in a single
+     * best-effort batch, and resets the cart total to zero.
      * 
      * @param idUser the user ID
      * @throws CartNotFoundException if the user's cart does not exist
@@ -260,16 +261,9 @@ public class ShoppingServiceImpl implements ShoppingService {
             throw new CartNotFoundException(idUser);
         }
 
-        // Restore stock for all items in the cart
-        for (CartItem item : cart.getCartItems()) {
-            try {
-                productServiceClient.restoreStockProduct(item.getIdProduct(), item.getQuantity());
-                log.debug("Stock restored for product ID: {}, quantity: {}", 
-                        item.getIdProduct(), item.getQuantity());
-            } catch (Exception e) {
-                log.error("Failed to restore stock for product ID: {}", item.getIdProduct(), e);
-                // Continue with clearing even if stock restore fails
-            }
+        // Restore stock for all items in the cart with a single batch call
+        if (!cart.getCartItems().isEmpty()) {
+            restoreCartStock(cart.getCartItems());
         }
 
         int itemCount = cart.getCartItems().size();
@@ -283,26 +277,81 @@ public class ShoppingServiceImpl implements ShoppingService {
     // ==================== Private Helper Methods ====================
 
     /**
-     * Fetches a product from the Product Service and unwraps the API response.
+     * Restores the stock of all given cart items through one batch call to the Product Service.
+     * 
+     * <p>The batch runs in best-effort mode so one missing product does not prevent
+     * the others from being restored. Failures are logged and do not stop the cart
+     * from being cleared.
+     * 
+     * @param items the cart items whose stock should be restored
+     */
+    private void restoreCartStock(List<CartItem> items) {
+        List<StockLineRequest> lines = items.stream()
+                .map(item -> new StockLineRequest(item.getIdProduct(), item.getQuantity()))
+                .toList();
+
+        try {
+            ApiResponse<StockBatchResult> response = productServiceClient.restoreStockBatch(
+                    new StockBatchRequest(StockBatchRequest.Mode.BEST_EFFORT, lines));
+
+            if (response == null || response.getData() == null) {
+                log.error("Failed to restore stock for {} cart item(s): empty response", lines.size());
+                return;
+            }
+
+            for (StockLineResult result : response.getData().getResults()) {
+                if (result.isSuccess()) {
+                    log.debug("Stock restored for product ID: {}, quantity: {}",
+                            result.getIdProduct(), result.getQuantity());
+                } else {
+                    log.error("Failed to restore stock for product ID: {} - {}",
+                            result.getIdProduct(), result.getMessage());
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to restore stock for {} cart item(s)", lines.size(), e);
+            // Continue with clearing even if stock restore fails
+        }
+    }
+
+    /**
+     * Fetches a product from the Product Service; an unchanged product is
+     * revalidated by ETag instead of being transferred again.
      * 
      * @param idProduct the product ID to fetch
      * @return the product response
      * @throws ProductNotFoundException if the product does not exist or response is invalid
      */
     private ProductResponse fetchProduct(Long idProduct) {
-        ApiResponse<ProductResponse> response = productServiceClient.findProductById(idProduct);
+        return productLookupService.findProduct(idProduct);
+    }
 
-        if (response == null) {
-            log.warn("Null response from Product Service for product ID: {}", idProduct);
-            throw new ProductNotFoundException(idProduct);
+    /**
+     * Resolves the email to associate with a new cart.
+     * 
+     * <p>The email in the profile snapshot comes from the verified token, so it is
+     * used directly; the User Service is only called when no snapshot is available.
+     * 
+     * @param idUser the user ID
+     * @param profile the profile snapshot (may be null)
+     * @return the user's email
+     * @throws UserNotFoundException if the user does not exist
+     */
+    private String resolveEmail(Long idUser, UserProfile profile) {
+        if (profile != null && StringUtils.hasText(profile.getEmail())) {
+            return profile.getEmail();
         }
 
-        if (!response.isSuccess() || response.getData() == null) {
-            log.warn("Product not found with ID: {} - {}", idProduct, response.getMessage());
-            throw new ProductNotFoundException(idProduct);
+        UserResponse user = userServiceClient.getUserById(idUser);
+        if (user == null) {
+            log.warn("User not found with ID: {}", idUser);
+            throw new UserNotFoundException(idUser);
         }
 
-        return response.getData();
+        log.debug("User found: {} ({})", user.getName(), user.getEmail());
+
+        return user.getEmail();
     }
 
     /**
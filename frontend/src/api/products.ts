@@ -1,5 +1,5 @@
 import apiClient from './client';
-import type { Product } from './types';
+import type { CatalogChangePage, Product, ProductPage, ProductPageParams } from './types';
 
 interface ApiResponse<T> {
   status: string;
@@ -8,9 +8,29 @@ interface ApiResponse<T> {
 }
 
 export const productsApi = {
+  getPage: async (params: ProductPageParams = {}): Promise<ProductPage> => {
+    const response = await apiClient.get<ApiResponse<ProductPage>>('/product', { params });
+    return response.data.data;
+  },
+
+  // Walks the whole catalog page by page with keyset cursors; the storefront grid uses getPage
   getAll: async (): Promise<Product[]> => {
-    const response = await apiClient.get<ApiResponse<Product[]>>('/product');
-    return response.data.data || [];
+    const products: Product[] = [];
+    let cursor: string | undefined;
+    do {
+      const page = await productsApi.getPage({ size: 100, cursor });
+      products.push(...(page?.items || []));
+      cursor = page?.nextCursor || undefined;
+    } while (cursor);
+    return products;
+  },
+
+  // Products changed after a change sequence number; poll again with nextSince
+  getChanges: async (since: number, size = 100): Promise<CatalogChangePage> => {
+    const response = await apiClient.get<ApiResponse<CatalogChangePage>>('/product/changes', {
+      params: { since, size },
+    });
+    return response.data.data;
   },
 
   getById: async (id: number): Promise<Product> => {
@@ -46,6 +46,43 @@ export interface Product {
   stock: number;
   category: ProductCategory;
   imageUrl?: string;
+  version?: number;
+  updatedAt?: string;
+}
+
+export interface ProductPage {
+  items: Product[];
+  size: number;
+  page: number | null;
+  nextCursor: string | null;
+  totalElements: number | null;
+  totalPages: number | null;
+}
+
+export interface CatalogChange {
+  seq: number;
+  idProduct: number;
+  deleted: boolean;
+  product: Product | null;
+}
+
+export interface CatalogChangePage {
+  items: CatalogChange[];
+  nextSince: number;
+  hasMore: boolean;
+}
+
+export interface ProductPageParams {
+  category?: ProductCategory;
+  minPrice?: number;
+  maxPrice?: number;
+  inStock?: boolean;
+  sort?: 'id' | 'price' | 'name';
+  direction?: 'asc' | 'desc';
+  size?: number;
+  page?: number;
+  cursor?: string;
+  includeTotal?: boolean;
 }
 
 export interface CartItem {
@@ -1,4 +1,4 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { productsApi } from '../api/products';
 import type { Product } from '../api/types';
 
@@ -9,6 +9,16 @@ export function useProducts() {
   });
 }
 
+// Catalog pages fetched on demand, following the keyset cursor of the last page
+export function useProductPages(size = 24) {
+  return useInfiniteQuery({
+    queryKey: ['products', 'pages', size],
+    queryFn: ({ pageParam }) => productsApi.getPage({ size, cursor: pageParam }),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage?.nextCursor || undefined,
+  });
+}
+
 export function useProduct(id: number) {
   return useQuery({
     queryKey: ['products', id],
@@ -1,9 +1,10 @@
-import { useProducts } from '../hooks/useProducts';
+import { useProductPages } from '../hooks/useProducts';
 import { ProductCard } from '../components/ProductCard';
-import { PageLoader } from '../components/LoadingSpinner';
+import { PageLoader, LoadingSpinner } from '../components/LoadingSpinner';
 
 export function Products() {
-  const { data: products, isLoading, error } = useProducts();
+  const { data, isLoading, error, hasNextPage, fetchNextPage, isFetchingNextPage } = useProductPages();
+  const products = data?.pages.flatMap((page) => page?.items || []);
 
   if (isLoading) return <PageLoader />;
 
@@ -29,11 +30,31 @@ export function Products() {
       </div>
 
       {products && products.length > 0 ? (
-        <div className="grid grid-cols-2 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-3 sm:gap-6">
-          {products.map((product) => (
-            <ProductCard key={product.id} product={product} />
-          ))}
-        </div>
+        <>
+          <div className="grid grid-cols-2 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-3 sm:gap-6">
+            {products.map((product) => (
+              <ProductCard key={product.id} product={product} />
+            ))}
+          </div>
+          {hasNextPage && (
+            <div className="mt-8 sm:mt-12 flex justify-center">
+              <button
+                onClick={() => fetchNextPage()}
+                disabled={isFetchingNextPage}
+                className="px-6 sm:px-8 py-3 rounded-xl font-display font-semibold text-ivory bg-navy hover:bg-navy-deep hover:shadow-lg transition-all disabled:opacity-50 flex items-center justify-center gap-2 text-sm sm:text-base"
+              >
+                {isFetchingNextPage ? (
+                  <>
+                    <LoadingSpinner size="sm" />
+                    Loading...
+                  </>
+                ) : (
+                  'Load more'
+                )}
+              </button>
+            </div>
+          )}
+        </>
       ) : (
         <div className="text-center py-16 sm:py-20">
           <div className="text-5xl sm:text-6xl mb-4">📦</div>